@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link DurationStatisticsTracker} implementations recording durations from multiple threads into
+ * a single tracker, which is the typical use for commit and notification latencies.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class DurationStatisticsTrackerBenchmark {
+
+    /**
+     * Per-thread source of durations. Durations are spread over several orders of magnitude, so that both the
+     * histogram buckets and longest/shortest updates are exercised.
+     */
+    @State(Scope.Thread)
+    public static class Durations {
+        private long seed = System.nanoTime();
+
+        long next() {
+            // xorshift, cheap enough not to dominate the measurement
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            return (seed & 0xFFFFF) << (seed >>> 60);
+        }
+    }
+
+    @Param({ "concurrent", "synchronized", "histogram" })
+    public String implementation;
+
+    private DurationStatisticsTracker tracker;
+
+    @Setup
+    public void setUp() {
+        switch (implementation) {
+            case "concurrent":
+                tracker = DurationStatisticsTracker.createConcurrent();
+                break;
+            case "synchronized":
+                tracker = DurationStatisticsTracker.createSynchronized();
+                break;
+            case "histogram":
+                tracker = DurationStatisticsTracker.createHistogram();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + DurationStatisticsTrackerBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void addDurationUncontended(final Durations durations) {
+        tracker.addDuration(durations.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addDurationContended4(final Durations durations) {
+        tracker.addDuration(durations.next());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void addDurationContended16(final Durations durations) {
+        tracker.addDuration(durations.next());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link QueuedNotificationManager} dispatch modes with many listeners. Each invocation delivers
+ * a fixed number of notifications and waits until all of them have been processed. With skewed load, a tenth of
+ * the listeners receive most of the notifications, which is where time-slicing should keep the quiet listeners
+ * from waiting behind the busy ones.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class QueuedNotificationManagerBenchmark {
+    private static final int NOTIFICATION_COUNT = 100000;
+    private static final int THREAD_COUNT = 4;
+    private static final long LISTENER_WORK = 100;
+
+    private static final class Listener {
+        volatile CountDownLatch latch;
+    }
+
+    private static final QueuedNotificationManager.Invoker<Listener, Integer> INVOKER =
+            new QueuedNotificationManager.Invoker<Listener, Integer>() {
+                @Override
+                public void invokeListener(final Listener listener, final Integer notification) {
+                    Blackhole.consumeCPU(LISTENER_WORK);
+                    listener.latch.countDown();
+                }
+            };
+
+    /**
+     * Dispatch mode: drain each listener's queue in one run, slice runs on a thread pool, or slice runs on
+     * a ForkJoinPool.
+     */
+    @Param({ "drain", "sliced", "sliced-forkjoin" })
+    public String dispatch;
+
+    @Param({ "100", "1000" })
+    public int listenerCount;
+
+    @Param({ "uniform", "skewed" })
+    public String load;
+
+    private ExecutorService executor;
+    private QueuedNotificationManager<Listener, Integer> manager;
+    private Listener[] listeners;
+    private int[] targets;
+    private CountDownLatch done;
+
+    @Setup
+    public void setUp() {
+        switch (dispatch) {
+            case "drain":
+                executor = Executors.newFixedThreadPool(THREAD_COUNT);
+                manager = new QueuedNotificationManager<>(executor, INVOKER, 1000, "benchmark");
+                break;
+            case "sliced":
+                executor = Executors.newFixedThreadPool(THREAD_COUNT);
+                manager = new QueuedNotificationManager<>(executor, INVOKER, 1000, 16, "benchmark");
+                break;
+            case "sliced-forkjoin":
+                executor = new ForkJoinPool(THREAD_COUNT, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null,
+                    true);
+                manager = new QueuedNotificationManager<>(executor, INVOKER, 1000, 16, "benchmark");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown dispatch mode " + dispatch);
+        }
+
+        listeners = new Listener[listenerCount];
+        for (int i = 0; i < listenerCount; ++i) {
+            listeners[i] = new Listener();
+        }
+
+        // Pre-compute the listener receiving each notification, so the benchmark measures dispatch only
+        targets = new int[NOTIFICATION_COUNT];
+        final int busyCount = Math.max(1, listenerCount / 10);
+        for (int i = 0; i < NOTIFICATION_COUNT; ++i) {
+            if ("skewed".equals(load) && i % 10 != 0) {
+                // 90% of notifications go to 10% of listeners
+                targets[i] = i % busyCount;
+            } else {
+                targets[i] = i % listenerCount;
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        done = new CountDownLatch(NOTIFICATION_COUNT);
+        for (Listener listener : listeners) {
+            listener.latch = done;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + QueuedNotificationManagerBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void deliverNotifications() {
+        for (int i = 0; i < NOTIFICATION_COUNT; ++i) {
+            manager.submitNotification(listeners[targets[i]], i);
+        }
+
+        Uninterruptibles.awaitUninterruptibly(done);
+    }
+}
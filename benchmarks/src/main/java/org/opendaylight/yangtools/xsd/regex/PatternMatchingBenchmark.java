@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.xsd.regex;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of matching values against the patterns of ietf-inet-types (RFC 6021) with {@link Pattern},
+ * {@link RegularExpression} and {@link DeterministicAutomaton}. Each invocation matches a mix of valid and invalid
+ * values.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class PatternMatchingBenchmark {
+    private static final String IPV4_ADDRESS = "(([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])\\.){3}"
+            + "([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])"
+            + "(%[\\p{N}\\p{L}]+)?";
+    private static final String IPV6_ADDRESS = "((:|[0-9a-fA-F]{0,4}):)([0-9a-fA-F]{0,4}:){0,5}"
+            + "((([0-9a-fA-F]{0,4}:)?(:|[0-9a-fA-F]{0,4}))|"
+            + "(((25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])\\.){3}"
+            + "(25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])))"
+            + "(%[\\p{N}\\p{L}]+)?";
+    private static final String IPV4_PREFIX = "(([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])\\.){3}"
+            + "([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])"
+            + "/(([0-9])|([1-2][0-9])|(3[0-2]))";
+    private static final String IPV6_PREFIX = "((:|[0-9a-fA-F]{0,4}):)([0-9a-fA-F]{0,4}:){0,5}"
+            + "((([0-9a-fA-F]{0,4}:)?(:|[0-9a-fA-F]{0,4}))|"
+            + "(((25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])\\.){3}"
+            + "(25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])))"
+            + "(/(([0-9])|([0-9]{2})|(1[0-1][0-9])|(12[0-8])))";
+    private static final String DOMAIN_NAME = "((([a-zA-Z0-9_]([a-zA-Z0-9\\-_]){0,61})?[a-zA-Z0-9]\\.)*"
+            + "([a-zA-Z0-9_]([a-zA-Z0-9\\-_]){0,61})?[a-zA-Z0-9]\\.?)"
+            + "|\\.";
+
+    private static final Map<String, String> PATTERNS = ImmutableMap.<String, String>builder()
+            .put("ipv4-address", IPV4_ADDRESS)
+            .put("ipv6-address", IPV6_ADDRESS)
+            .put("ipv4-prefix", IPV4_PREFIX)
+            .put("ipv6-prefix", IPV6_PREFIX)
+            .put("domain-name", DOMAIN_NAME)
+            .build();
+
+    private static final Map<String, String[]> VALUES = ImmutableMap.<String, String[]>builder()
+            .put("ipv4-address", new String[] { "192.0.2.1", "10.255.255.254%eth0", "198.51.100.256" })
+            .put("ipv6-address", new String[] { "2001:db8:85a3::8a2e:370:7334", "fe80::1%eth0",
+                "::ffff:192.0.2.1", "2001:db8:85a3:0:0:8a2e:370g:7334" })
+            .put("ipv4-prefix", new String[] { "192.0.2.0/24", "10.0.0.0/8", "198.51.100.0/33" })
+            .put("ipv6-prefix", new String[] { "2001:db8::/32", "fe80::/10", "2001:db8:0:0:0:0:0:0/129" })
+            .put("domain-name", new String[] { "www.example.com", "a-very-long-label-of-a-host.example.org.",
+                "invalid-.example.com" })
+            .build();
+
+    @Param({ "ipv4-address", "ipv6-address", "ipv4-prefix", "ipv6-prefix", "domain-name" })
+    public String type;
+
+    private String[] values;
+    private Pattern pattern;
+    private RegularExpression regularExpression;
+    private DeterministicAutomaton automaton;
+
+    public static void main(final String... args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + PatternMatchingBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setUp() throws ParseException {
+        final String regex = PATTERNS.get(type);
+        values = VALUES.get(type);
+        pattern = Pattern.compile("^" + regex + "$");
+        regularExpression = new RegularExpression(regex, "X");
+        automaton = DeterministicAutomaton.compile(regex);
+    }
+
+    @Benchmark
+    public int javaPattern() {
+        int ret = 0;
+        for (String value : values) {
+            if (pattern.matcher(value).matches()) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public int regularExpression() {
+        int ret = 0;
+        for (String value : values) {
+            if (regularExpression.matches(value)) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public int automaton() {
+        int ret = 0;
+        for (String value : values) {
+            if (automaton.matches(value)) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+}
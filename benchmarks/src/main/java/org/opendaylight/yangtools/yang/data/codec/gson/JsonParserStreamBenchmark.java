@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import com.google.common.io.CharStreams;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of the default and streaming modes of {@link JsonParserStream}. A large list payload is transcoded
+ * into JSON which is discarded, so that the parser's own buffering dominates heap usage. Run with
+ * {@code -prof gc} to compare allocation rates, or with a small heap to observe the difference in footprint.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JsonParserStreamBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int OUTER_LIST_SIZE = 20000;
+    private static final int INNER_LIST_SIZE = 10;
+
+    private SchemaContext schemaContext;
+    private JSONCodecFactory codecFactory;
+    private String input;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + JsonParserStreamBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    private static String createInput() {
+        final StringBuilder sb = new StringBuilder("{\"odl-datastore-test:test\":{\"outer-list\":[");
+        for (int i = 0; i < OUTER_LIST_SIZE; ++i) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"one\":\"one ").append(i).append("\",\"inner-list\":[");
+            for (int j = 0; j < INNER_LIST_SIZE; ++j) {
+                if (j != 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"name\":").append(j).append(",\"value\":\"value ").append(j).append("\"}");
+            }
+            sb.append("]}");
+        }
+        return sb.append("]}}").toString();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws ReactorException {
+        schemaContext = BenchmarkModel.createTestContext();
+        codecFactory = JSONCodecFactory.create(schemaContext);
+        input = createInput();
+    }
+
+    @TearDown
+    public void tearDown() {
+        schemaContext = null;
+        codecFactory = null;
+        input = null;
+    }
+
+    private void transcode(final boolean streaming) throws IOException {
+        final NormalizedNodeStreamWriter writer = JSONNormalizedNodeStreamWriter.createExclusiveWriter(codecFactory,
+            SchemaPath.ROOT, null, JsonWriterFactory.createJsonWriter(CharStreams.nullWriter()));
+        final JsonParserStream parser = streaming ? JsonParserStream.createStreaming(writer, schemaContext)
+                : JsonParserStream.create(writer, schemaContext);
+        parser.parse(new JsonReader(new StringReader(input)));
+        writer.close();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void transcodeLargeListBenchmark() throws IOException {
+        transcode(false);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void transcodeLargeListStreamingBenchmark() throws IOException {
+        transcode(true);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of leafref validation of a candidate which writes a large number of leafrefs along with their targets.
+ * Validation is performed both through {@link LeafRefValidatation#validate(DataTreeCandidate, LeafRefContext)}, which
+ * reports violations as a formatted message, and through
+ * {@link LeafRefValidatation#findViolations(DataTreeCandidate, LeafRefContext)}, which reports them as objects. Each
+ * flavor is exercised with a valid candidate and with a candidate where every tenth leafref is dangling.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class LeafRefValidationBenchmark {
+    private static final int INVALID_RATIO = 10;
+
+    @Param({ "1000", "10000" })
+    public int entries;
+
+    private LeafRefContext leafRefContext;
+    private DataTreeCandidate validCandidate;
+    private DataTreeCandidate invalidCandidate;
+
+    public static void main(final String... args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + LeafRefValidationBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setUp() throws ReactorException, DataValidationFailedException {
+        final SchemaContext schemaContext = BenchmarkModel.createLeafRefTestContext();
+        leafRefContext = LeafRefContext.create(schemaContext);
+
+        final DataTree dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(schemaContext);
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> interfaces = ImmutableNodes.mapNodeBuilder(
+            BenchmarkModel.INTERFACE_QNAME);
+        for (int i = 0; i < entries; ++i) {
+            interfaces.withChild(ImmutableNodes.mapEntry(BenchmarkModel.INTERFACE_QNAME,
+                BenchmarkModel.INTERFACE_NAME_QNAME, "eth" + i));
+        }
+
+        validCandidate = prepare(dataTree, interfaces.build(), createBindings(false));
+        invalidCandidate = prepare(dataTree, interfaces.build(), createBindings(true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        leafRefContext = null;
+        validCandidate = null;
+        invalidCandidate = null;
+    }
+
+    private MapNode createBindings(final boolean withInvalid) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> bindings = ImmutableNodes.mapNodeBuilder(
+            BenchmarkModel.BINDING_QNAME);
+        for (int i = 0; i < entries; ++i) {
+            final String name = withInvalid && i % INVALID_RATIO == 0 ? "missing" + i : "eth" + i;
+            bindings.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.BINDING_QNAME,
+                BenchmarkModel.BINDING_ID_QNAME, i)
+                .withChild(ImmutableNodes.leafNode(BenchmarkModel.BINDING_INTERFACE_QNAME, name)).build());
+        }
+        return bindings.build();
+    }
+
+    private static DataTreeCandidate prepare(final DataTree dataTree, final MapNode interfaces,
+            final MapNode bindings) throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(BenchmarkModel.INTERFACES_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(BenchmarkModel.INTERFACES_QNAME))
+            .withChild(interfaces).build());
+        mod.write(BenchmarkModel.BINDINGS_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(BenchmarkModel.BINDINGS_QNAME))
+            .withChild(bindings).build());
+        mod.ready();
+        dataTree.validate(mod);
+        return dataTree.prepare(mod);
+    }
+
+    private static int validate(final DataTreeCandidate candidate, final LeafRefContext context) {
+        try {
+            LeafRefValidatation.validate(candidate, context);
+            return 0;
+        } catch (LeafRefDataValidationFailedException e) {
+            return e.getValidationsErrorsCount();
+        }
+    }
+
+    @Benchmark
+    public int validateValid() {
+        return validate(validCandidate, leafRefContext);
+    }
+
+    @Benchmark
+    public int findViolationsValid() {
+        return LeafRefValidatation.findViolations(validCandidate, leafRefContext).size();
+    }
+
+    @Benchmark
+    public int validateInvalid() {
+        return validate(invalidCandidate, leafRefContext);
+    }
+
+    @Benchmark
+    public int findViolationsInvalid() {
+        return LeafRefValidatation.findViolations(invalidCandidate, leafRefContext).size();
+    }
+}
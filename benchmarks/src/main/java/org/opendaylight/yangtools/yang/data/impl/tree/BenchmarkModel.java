@@ -33,8 +33,20 @@ public class BenchmarkModel {
     public static final QName VALUE_QNAME = QName.create(TEST_QNAME, "value");
     private static final String DATASTORE_TEST_YANG = "/odl-datastore-test.yang";
 
+    public static final QName INTERFACES_QNAME = QName.create("urn:opendaylight:params:xml:ns:yang:leafref:benchmark",
+        "2016-05-30", "interfaces");
+    public static final QName INTERFACE_QNAME = QName.create(INTERFACES_QNAME, "interface");
+    public static final QName INTERFACE_NAME_QNAME = QName.create(INTERFACES_QNAME, "name");
+    public static final QName BINDINGS_QNAME = QName.create(INTERFACES_QNAME, "bindings");
+    public static final QName BINDING_QNAME = QName.create(INTERFACES_QNAME, "binding");
+    public static final QName BINDING_ID_QNAME = QName.create(INTERFACES_QNAME, "id");
+    public static final QName BINDING_INTERFACE_QNAME = QName.create(INTERFACES_QNAME, "interface");
+    private static final String LEAFREF_TEST_YANG = "/leafref-benchmark.yang";
+
     public static final YangInstanceIdentifier TEST_PATH = YangInstanceIdentifier.of(TEST_QNAME);
     public static final YangInstanceIdentifier OUTER_LIST_PATH = YangInstanceIdentifier.builder(TEST_PATH).node(OUTER_LIST_QNAME).build();
+    public static final YangInstanceIdentifier INTERFACES_PATH = YangInstanceIdentifier.of(INTERFACES_QNAME);
+    public static final YangInstanceIdentifier BINDINGS_PATH = YangInstanceIdentifier.of(BINDINGS_QNAME);
 
     public static final InputStream getDatastoreBenchmarkInputStream() {
         return getInputStream(DATASTORE_TEST_YANG);
@@ -52,4 +64,9 @@ public class BenchmarkModel {
         return schemaContext;
     }
 
+    public static SchemaContext createLeafRefTestContext() throws SourceException, ReactorException {
+        CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        return reactor.buildEffective(Collections.singletonList(getInputStream(LEAFREF_TEST_YANG)));
+    }
+
 }
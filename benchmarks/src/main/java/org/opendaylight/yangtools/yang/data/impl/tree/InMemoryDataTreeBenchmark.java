@@ -51,6 +51,8 @@ public class InMemoryDataTreeBenchmark {
     private static final int OUTER_LIST_50K = 50000;
     private static final int OUTER_LIST_10K = 10000;
 
+    private static final int PARALLEL_THRESHOLD = 1000;
+
     private static final YangInstanceIdentifier[] OUTER_LIST_100K_PATHS = initOuterListPaths(OUTER_LIST_100K);
     private static final YangInstanceIdentifier[] OUTER_LIST_50K_PATHS = initOuterListPaths(OUTER_LIST_50K);
     private static final YangInstanceIdentifier[] OUTER_LIST_10K_PATHS = initOuterListPaths(OUTER_LIST_10K);
@@ -99,6 +101,7 @@ public class InMemoryDataTreeBenchmark {
 
     private SchemaContext schemaContext;
     private DataTree datastore;
+    private DataTree parallelDatastore;
 
     public static void main(String... args) throws IOException, RunnerException {
         Options opt = new OptionsBuilder()
@@ -115,25 +118,31 @@ public class InMemoryDataTreeBenchmark {
         final InMemoryDataTreeFactory factory = InMemoryDataTreeFactory.getInstance();
         datastore = factory.create();
         datastore.setSchemaContext(schemaContext);
-        final DataTreeSnapshot snapshot = datastore.takeSnapshot();
-        initTestNode(snapshot);
+        initTestNode(datastore);
+
+        parallelDatastore = factory.create(new DataTreeConfiguration.Builder(TreeType.CONFIGURATION)
+            .setParallelThreshold(PARALLEL_THRESHOLD).build());
+        parallelDatastore.setSchemaContext(schemaContext);
+        initTestNode(parallelDatastore);
     }
 
     @TearDown
     public void tearDown() {
         schemaContext = null;
         datastore = null;
+        parallelDatastore = null;
     }
 
-    private void initTestNode(final DataTreeSnapshot snapshot) throws DataValidationFailedException {
-        final DataTreeModification modification = snapshot.newModification();
+    private void initTestNode(final DataTree tree) throws DataValidationFailedException {
+        final DataTreeModification modification = tree.takeSnapshot().newModification();
         final YangInstanceIdentifier testPath = YangInstanceIdentifier.builder(BenchmarkModel.TEST_PATH)
             .build();
 
         modification.write(testPath, provideOuterListNode());
-        datastore.validate(modification);
-        final DataTreeCandidate candidate = datastore.prepare(modification);
-        datastore.commit(candidate);
+        modification.ready();
+        tree.validate(modification);
+        final DataTreeCandidate candidate = tree.prepare(modification);
+        tree.commit(candidate);
     }
 
     private DataContainerChild<?, ?> provideOuterListNode() {
@@ -154,11 +163,27 @@ public class InMemoryDataTreeBenchmark {
         for (int outerListKey = 0; outerListKey < OUTER_LIST_100K; ++outerListKey) {
             modification.write(OUTER_LIST_100K_PATHS[outerListKey], OUTER_LIST_ONE_ITEM_INNER_LIST[outerListKey]);
         }
+        modification.ready();
         datastore.validate(modification);
         final DataTreeCandidate candidate = datastore.prepare(modification);
         datastore.commit(candidate);
     }
 
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write100KSingleNodeWithOneInnerItemInOneParallelCommitBenchmark() throws Exception {
+        final DataTreeSnapshot snapshot = parallelDatastore.takeSnapshot();
+        final DataTreeModification modification = snapshot.newModification();
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_100K; ++outerListKey) {
+            modification.write(OUTER_LIST_100K_PATHS[outerListKey], OUTER_LIST_ONE_ITEM_INNER_LIST[outerListKey]);
+        }
+        modification.ready();
+        parallelDatastore.validate(modification);
+        final DataTreeCandidate candidate = parallelDatastore.prepare(modification);
+        parallelDatastore.commit(candidate);
+    }
+
     @Benchmark
     @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
     @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
@@ -167,6 +192,7 @@ public class InMemoryDataTreeBenchmark {
         for (int outerListKey = 0; outerListKey < OUTER_LIST_100K; ++outerListKey) {
             final DataTreeModification modification = snapshot.newModification();
             modification.write(OUTER_LIST_100K_PATHS[outerListKey], OUTER_LIST_ONE_ITEM_INNER_LIST[outerListKey]);
+            modification.ready();
             datastore.validate(modification);
             final DataTreeCandidate candidate = datastore.prepare(modification);
             datastore.commit(candidate);
@@ -182,6 +208,7 @@ public class InMemoryDataTreeBenchmark {
         for (int outerListKey = 0; outerListKey < OUTER_LIST_50K; ++outerListKey) {
             modification.write(OUTER_LIST_50K_PATHS[outerListKey], OUTER_LIST_TWO_ITEM_INNER_LIST[outerListKey]);
         }
+        modification.ready();
         datastore.validate(modification);
         final DataTreeCandidate candidate = datastore.prepare(modification);
         datastore.commit(candidate);
@@ -195,6 +222,7 @@ public class InMemoryDataTreeBenchmark {
         for (int outerListKey = 0; outerListKey < OUTER_LIST_50K; ++outerListKey) {
             final DataTreeModification modification = snapshot.newModification();
             modification.write(OUTER_LIST_50K_PATHS[outerListKey], OUTER_LIST_TWO_ITEM_INNER_LIST[outerListKey]);
+            modification.ready();
             datastore.validate(modification);
             final DataTreeCandidate candidate = datastore.prepare(modification);
             datastore.commit(candidate);
@@ -210,6 +238,7 @@ public class InMemoryDataTreeBenchmark {
         for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
             modification.write(OUTER_LIST_10K_PATHS[outerListKey], OUTER_LIST_TEN_ITEM_INNER_LIST[outerListKey]);
         }
+        modification.ready();
         datastore.validate(modification);
         final DataTreeCandidate candidate = datastore.prepare(modification);
         datastore.commit(candidate);
@@ -223,6 +252,7 @@ public class InMemoryDataTreeBenchmark {
         for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
             final DataTreeModification modification = snapshot.newModification();
             modification.write(OUTER_LIST_10K_PATHS[outerListKey], OUTER_LIST_TEN_ITEM_INNER_LIST[outerListKey]);
+            modification.ready();
             datastore.validate(modification);
             final DataTreeCandidate candidate = datastore.prepare(modification);
             datastore.commit(candidate);
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.opendaylight.yangtools.util.MapAdaptor;
+
+/**
+ * Runs {@link InMemoryDataTreeBenchmark} with large children maps backed by a persistent hash array mapped trie
+ * instead of a TrieMap, so the results of the two can be compared directly.
+ */
+@Fork(value = 1, jvmArgsAppend = "-D" + MapAdaptor.USE_HASH_TRIE_PROP + "=true")
+public class InMemoryDataTreeHashTrieBenchmark extends InMemoryDataTreeBenchmark {
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + InMemoryDataTreeHashTrieBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.StreamSupport;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of exporting a large list from a {@link DataTreeSnapshot}. Each entry is visited and folded into
+ * a checksum, which stands in for serialization. Sequential baselines read each entry by its path or iterate over
+ * the list, while the parallel variants split the snapshot's spliterators across the common ForkJoinPool.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class SnapshotExportBenchmark {
+    private static final ToLongFunction<NormalizedNode<?, ?>> ENTRY_CHECKSUM =
+            new ToLongFunction<NormalizedNode<?, ?>>() {
+                @Override
+                public long applyAsLong(final NormalizedNode<?, ?> value) {
+                    return checksum(value);
+                }
+            };
+
+    private static final ToLongFunction<NormalizedNode<?, ?>> NODE_CHECKSUM =
+            new ToLongFunction<NormalizedNode<?, ?>>() {
+                @Override
+                public long applyAsLong(final NormalizedNode<?, ?> value) {
+                    return value.getIdentifier().hashCode();
+                }
+            };
+
+    @Param({ "100000", "1000000" })
+    public int entries;
+
+    private DataTree dataTree;
+    private YangInstanceIdentifier[] paths;
+
+    public static void main(final String... args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + SnapshotExportBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setUp() throws ReactorException, DataValidationFailedException {
+        final MapNode innerList = ImmutableNodes.mapNodeBuilder(BenchmarkModel.INNER_LIST_QNAME)
+                .withChild(ImmutableNodes.mapEntry(BenchmarkModel.INNER_LIST_QNAME, BenchmarkModel.NAME_QNAME, 1))
+                .build();
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList = ImmutableNodes.mapNodeBuilder(
+            BenchmarkModel.OUTER_LIST_QNAME);
+        paths = new YangInstanceIdentifier[entries];
+        for (int i = 0; i < entries; ++i) {
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME,
+                BenchmarkModel.ID_QNAME, i).withChild(innerList).build());
+            paths[i] = YangInstanceIdentifier.builder(BenchmarkModel.OUTER_LIST_PATH)
+                    .nodeWithKey(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i).build();
+        }
+
+        dataTree = InMemoryDataTreeFactory.getInstance().create();
+        dataTree.setSchemaContext(BenchmarkModel.createTestContext());
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(BenchmarkModel.TEST_PATH, ImmutableNodes.containerNode(BenchmarkModel.TEST_QNAME));
+        mod.write(BenchmarkModel.OUTER_LIST_PATH, outerList.build());
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataTree = null;
+        paths = null;
+    }
+
+    // Stands in for serialization: every node in the entry's subtree is visited
+    private static long checksum(final NormalizedNode<?, ?> node) {
+        long ret = node.getIdentifier().hashCode();
+        if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                ret += checksum(child);
+            }
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public long readEntriesByPath() {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        long ret = 0;
+        for (YangInstanceIdentifier path : paths) {
+            ret += checksum(snapshot.readNode(path).get());
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public long iterateEntries() {
+        final MapNode list = (MapNode) dataTree.takeSnapshot().readNode(BenchmarkModel.OUTER_LIST_PATH).get();
+        long ret = 0;
+        for (MapEntryNode entry : list.getValue()) {
+            ret += checksum(entry);
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public long parallelEntries() {
+        return StreamSupport.stream(dataTree.takeSnapshot().childSpliterator(BenchmarkModel.OUTER_LIST_PATH), true)
+                .mapToLong(ENTRY_CHECKSUM).sum();
+    }
+
+    @Benchmark
+    public long parallelSubtree() {
+        return StreamSupport.stream(dataTree.takeSnapshot().subtreeSpliterator(BenchmarkModel.OUTER_LIST_PATH), true)
+                .mapToLong(NODE_CHECKSUM).sum();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of tree node version representations. The tree is populated with a 100k-entry list, each entry
+ * written by its own commit, so that every entry carries a distinct version. JMH measures the time it takes to
+ * populate the tree, while {@link #main(String...)} additionally reports the heap retained by the populated tree.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TreeNodeVersionBenchmark {
+    private static final int OUTER_LIST_100K = 100000;
+    private static final YangInstanceIdentifier[] PATHS = new YangInstanceIdentifier[OUTER_LIST_100K];
+    private static final MapEntryNode[] ENTRIES = new MapEntryNode[OUTER_LIST_100K];
+
+    static {
+        for (int i = 0; i < OUTER_LIST_100K; ++i) {
+            PATHS[i] = YangInstanceIdentifier.builder(BenchmarkModel.OUTER_LIST_PATH)
+                    .nodeWithKey(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i).build();
+            ENTRIES[i] = ImmutableNodes.mapEntry(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i);
+        }
+    }
+
+    @Param({ "false", "true" })
+    public boolean compactVersions;
+
+    private SchemaContext schemaContext;
+
+    public static void main(final String... args) throws Exception {
+        for (boolean compact : new boolean[] { false, true }) {
+            System.out.format("Retained heap with compact versions %s: %d bytes%n", compact, retainedHeap(compact));
+        }
+
+        final Options opt = new OptionsBuilder()
+            .include(".*" + TreeNodeVersionBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    private static long retainedHeap(final boolean compact) throws ReactorException, DataValidationFailedException {
+        final SchemaContext schemaContext = BenchmarkModel.createTestContext();
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        final long before = usedHeap(memory);
+        final DataTree tree = populate(schemaContext, compact);
+        final long after = usedHeap(memory);
+
+        // Keep the tree reachable until the measurement has been taken
+        tree.takeSnapshot();
+        return after - before;
+    }
+
+    private static long usedHeap(final MemoryMXBean memory) {
+        for (int i = 0; i < 5; ++i) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static DataTree populate(final SchemaContext schemaContext, final boolean compact)
+            throws DataValidationFailedException {
+        final DataTree tree = InMemoryDataTreeFactory.getInstance().create(
+            new DataTreeConfiguration.Builder(TreeType.OPERATIONAL).setCompactVersions(compact).build());
+        tree.setSchemaContext(schemaContext);
+
+        DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(BenchmarkModel.TEST_PATH, ImmutableNodes.containerNode(BenchmarkModel.TEST_QNAME));
+        mod.write(BenchmarkModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST_QNAME)
+            .build());
+        commit(tree, mod);
+
+        for (int i = 0; i < OUTER_LIST_100K; ++i) {
+            mod = tree.takeSnapshot().newModification();
+            mod.write(PATHS[i], ENTRIES[i]);
+            commit(tree, mod);
+        }
+        return tree;
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    @Setup
+    public void setUp() throws ReactorException {
+        schemaContext = BenchmarkModel.createTestContext();
+    }
+
+    @Benchmark
+    public DataTree populate100KInCommitPerWrite() throws DataValidationFailedException {
+        return populate(schemaContext, compactVersions);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.jaxen;
+
+import com.google.common.base.Converter;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.Maps;
+import java.util.concurrent.TimeUnit;
+import javax.xml.xpath.XPathExpressionException;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.xpath.XPathBooleanResult;
+import org.opendaylight.yangtools.yang.data.api.schema.xpath.XPathDocument;
+import org.opendaylight.yangtools.yang.data.api.schema.xpath.XPathExpression;
+import org.opendaylight.yangtools.yang.data.api.schema.xpath.XPathResult;
+import org.opendaylight.yangtools.yang.data.api.schema.xpath.XPathSchemaContext;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of evaluating a must-style XPath expression at every entry of a large list. The expression is either
+ * compiled once for all entries, or compiled again for each entry, as a validator working on individual data nodes
+ * would do.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MustExpressionBenchmark {
+    private static final String MUST_EXPRESSION = "id >= 0 and inner-list/name = id";
+    private static final SchemaPath OUTER_LIST_SCHEMA_PATH = SchemaPath.create(true, BenchmarkModel.TEST_QNAME,
+        BenchmarkModel.OUTER_LIST_QNAME);
+
+    @Param({ "100000" })
+    public int entries;
+
+    private XPathSchemaContext xpathSchemaContext;
+    private Converter<String, QNameModule> prefixes;
+    private XPathDocument document;
+    private YangInstanceIdentifier[] paths;
+
+    public static void main(final String... args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(".*" + MustExpressionBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setUp() throws ReactorException {
+        final SchemaContext schemaContext = BenchmarkModel.createTestContext();
+        xpathSchemaContext = new JaxenSchemaContextFactory().createContext(schemaContext);
+        prefixes = Maps.asConverter(ImmutableBiMap.of("store-test", BenchmarkModel.TEST_QNAME.getModule()));
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerList = ImmutableNodes.mapNodeBuilder(
+            BenchmarkModel.OUTER_LIST_QNAME);
+        paths = new YangInstanceIdentifier[entries];
+        for (int i = 0; i < entries; ++i) {
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME,
+                BenchmarkModel.ID_QNAME, i)
+                .withChild(ImmutableNodes.mapNodeBuilder(BenchmarkModel.INNER_LIST_QNAME)
+                    .withChild(ImmutableNodes.mapEntry(BenchmarkModel.INNER_LIST_QNAME, BenchmarkModel.NAME_QNAME, i))
+                    .build())
+                .build());
+            paths[i] = YangInstanceIdentifier.builder(BenchmarkModel.OUTER_LIST_PATH)
+                .nodeWithKey(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i).build();
+        }
+
+        document = xpathSchemaContext.createDocument(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+            .withChild(Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(BenchmarkModel.TEST_QNAME))
+                .withChild(outerList.build()).build())
+            .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        xpathSchemaContext = null;
+        prefixes = null;
+        document = null;
+        paths = null;
+    }
+
+    private int evaluate(final XPathExpression expression, final YangInstanceIdentifier path)
+            throws XPathExpressionException {
+        final Optional<? extends XPathResult<?>> result = expression.evaluate(document, path);
+        return result.isPresent() && ((XPathBooleanResult) result.get()).getValue() ? 1 : 0;
+    }
+
+    @Benchmark
+    public int compileOnce() throws XPathExpressionException {
+        final XPathExpression expression = xpathSchemaContext.compileExpression(OUTER_LIST_SCHEMA_PATH, prefixes,
+            MUST_EXPRESSION);
+
+        int ret = 0;
+        for (YangInstanceIdentifier path : paths) {
+            ret += evaluate(expression, path);
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public int compilePerEntry() throws XPathExpressionException {
+        int ret = 0;
+        for (YangInstanceIdentifier path : paths) {
+            ret += evaluate(xpathSchemaContext.compileExpression(OUTER_LIST_SCHEMA_PATH, prefixes, MUST_EXPRESSION),
+                path);
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of end-to-end {@link SchemaContext} assembly from a large set of generated YANG modules, with sources
+ * being parsed either on the calling thread or on a thread pool.
+ *
+ * @see <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class SchemaContextAssemblyBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int MODULE_COUNT = 250;
+    private static final int IMPORT_COUNT = 3;
+    private static final int CONTAINER_COUNT = 10;
+
+    @Param({ "1", "4" })
+    private int parserThreads;
+
+    private List<ByteSource> sources;
+    private ExecutorService executor;
+
+    public static void main(final String... args) throws IOException, RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + SchemaContextAssemblyBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    private static String moduleName(final int index) {
+        return "bench-module-" + index;
+    }
+
+    private static String createModule(final int index) {
+        final String name = moduleName(index);
+        final StringBuilder sb = new StringBuilder();
+        sb.append("module ").append(name).append(" {\n");
+        sb.append("  namespace \"urn:opendaylight:benchmark:").append(name).append("\";\n");
+        sb.append("  prefix m").append(index).append(";\n");
+        sb.append("  revision 2016-01-01;\n");
+
+        final int firstImport = Math.max(0, index - IMPORT_COUNT);
+        for (int i = firstImport; i < index; ++i) {
+            sb.append("  import ").append(moduleName(i)).append(" { prefix m").append(i)
+                .append("; revision-date 2016-01-01; }\n");
+        }
+
+        sb.append("  typedef counter { type uint32 { range \"0..1000000\"; } }\n");
+        sb.append("  grouping entry {\n");
+        sb.append("    leaf name { type string { length \"1..64\"; } }\n");
+        sb.append("    leaf value { type counter; }\n");
+        sb.append("  }\n");
+
+        for (int i = 0; i < CONTAINER_COUNT; ++i) {
+            sb.append("  container cont").append(i).append(" {\n");
+            sb.append("    leaf enabled { type boolean; default true; }\n");
+            sb.append("    list entry { key name; uses entry; }\n");
+            sb.append("  }\n");
+        }
+
+        if (index > 0) {
+            final int target = index - 1;
+            sb.append("  augment \"/m").append(target).append(":cont0\" {\n");
+            sb.append("    leaf augmented").append(index).append(" { type m").append(target).append(":counter; }\n");
+            sb.append("  }\n");
+        }
+
+        return sb.append("}\n").toString();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sources = new ArrayList<>(MODULE_COUNT);
+        for (int i = 0; i < MODULE_COUNT; ++i) {
+            sources.add(ByteSource.wrap(createModule(i).getBytes(Charsets.UTF_8)));
+        }
+        executor = Executors.newFixedThreadPool(parserThreads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+        executor = null;
+        sources = null;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public SchemaContext assembleSchemaContext() throws IOException, ReactorException {
+        final BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        if (parserThreads > 1) {
+            reactor.setSourceExecutor(executor);
+        }
+        return reactor.buildEffective(sources);
+    }
+}
@@ -57,6 +57,16 @@ public abstract class DurationStatisticsTracker {
         return new SynchronizedDurationStatsTracker();
     }
 
+    /**
+     * Create a {@link HistogramDurationStatisticsTracker}, which performs well
+     * in contended environments and can report percentiles.
+     *
+     * @return A new instance.
+     */
+    public static HistogramDurationStatisticsTracker createHistogram() {
+        return new HistogramDurationStatisticsTracker();
+    }
+
     /**
      * Add a duration to track.
      *
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
+/**
+ * A node of a persistent hash array mapped trie. Each level of the trie consumes 5 bits of the key's hash, hence
+ * lookups and updates touch O(log32 N) nodes. Updates copy the nodes on the path to the modified mapping and share
+ * the rest of the trie with the original.
+ *
+ * <p>
+ * Nodes which carry an owner token are private to the map holding that token. Such a map updates them in place rather
+ * than copying them, which makes bulk updates cheap. A map relinquishes ownership of its nodes by switching to a new
+ * token, after which the nodes are immutable and can be shared.
+ *
+ * <p>
+ * Keys and values may not be null.
+ */
+abstract class HashTrieNode {
+    /**
+     * Outcome of an update operation, reported alongside the resulting node.
+     */
+    static final class Result {
+        Object oldValue;
+        boolean sizeChanged;
+    }
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    static final HashTrieNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+    final Object owner;
+
+    HashTrieNode(final Object owner) {
+        this.owner = owner;
+    }
+
+    static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bitpos(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    final boolean isOwnedBy(final Object editor) {
+        return editor != null && editor == owner;
+    }
+
+    /**
+     * Look up the value mapped to a key.
+     *
+     * @return Mapped value, or null if the key is not present
+     */
+    abstract Object get(Object key, int hash, int shift);
+
+    /**
+     * Map a key to a value.
+     *
+     * @return The updated node, which is this node if nothing has changed or if the node was updated in place
+     */
+    abstract HashTrieNode put(Object editor, int shift, int hash, Object key, Object value, Result result);
+
+    /**
+     * Remove the mapping for a key.
+     *
+     * @return The updated node, which is this node if nothing has changed or if the node was updated in place, or null
+     *         if the node has become empty
+     */
+    abstract HashTrieNode remove(Object editor, int shift, int hash, Object key, Result result);
+
+    /**
+     * Return the backing array of keys and values. A null key marks a slot holding a child node.
+     */
+    abstract Object[] array();
+
+    abstract int slotCount();
+
+    private static HashTrieNode createNode(final Object editor, final int shift, final Object key1,
+            final Object value1, final int hash2, final Object key2, final Object value2) {
+        final int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(editor, hash1, new Object[] { key1, value1, key2, value2 });
+        }
+
+        final Result ignored = new Result();
+        return EMPTY.put(editor, shift, hash1, key1, value1, ignored).put(editor, shift, hash2, key2, value2, ignored);
+    }
+
+    private static final class BitmapNode extends HashTrieNode {
+        private int bitmap;
+        private Object[] array;
+
+        BitmapNode(final Object owner, final int bitmap, final Object[] array) {
+            super(owner);
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        @Override
+        int slotCount() {
+            return Integer.bitCount(bitmap);
+        }
+
+        @Override
+        Object get(final Object key, final int hash, final int shift) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final int idx = index(bit);
+            final Object k = array[2 * idx];
+            final Object v = array[2 * idx + 1];
+            if (k == null) {
+                return ((HashTrieNode) v).get(key, hash, shift + BITS);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        private HashTrieNode withSlot(final Object editor, final int offset, final Object value) {
+            if (isOwnedBy(editor)) {
+                array[offset] = value;
+                return this;
+            }
+
+            final Object[] newArray = array.clone();
+            newArray[offset] = value;
+            return new BitmapNode(editor, bitmap, newArray);
+        }
+
+        private HashTrieNode withArray(final Object editor, final int newBitmap, final Object[] newArray) {
+            if (isOwnedBy(editor)) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(editor, newBitmap, newArray);
+        }
+
+        @Override
+        HashTrieNode put(final Object editor, final int shift, final int hash, final Object key, final Object value,
+                final Result result) {
+            final int bit = bitpos(hash, shift);
+            final int idx = index(bit);
+
+            if ((bitmap & bit) != 0) {
+                final Object k = array[2 * idx];
+                final Object v = array[2 * idx + 1];
+                if (k == null) {
+                    final HashTrieNode child = (HashTrieNode) v;
+                    final HashTrieNode newChild = child.put(editor, shift + BITS, hash, key, value, result);
+                    return newChild == child ? this : withSlot(editor, 2 * idx + 1, newChild);
+                }
+                if (key.equals(k)) {
+                    result.oldValue = v;
+                    return v == value ? this : withSlot(editor, 2 * idx + 1, value);
+                }
+
+                // Two keys share this slot, push both of them down a level
+                result.sizeChanged = true;
+                final HashTrieNode child = createNode(editor, shift + BITS, k, v, hash, key, value);
+                if (isOwnedBy(editor)) {
+                    array[2 * idx] = null;
+                    array[2 * idx + 1] = child;
+                    return this;
+                }
+
+                final Object[] newArray = array.clone();
+                newArray[2 * idx] = null;
+                newArray[2 * idx + 1] = child;
+                return new BitmapNode(editor, bitmap, newArray);
+            }
+
+            result.sizeChanged = true;
+            final Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            newArray[2 * idx] = key;
+            newArray[2 * idx + 1] = value;
+            System.arraycopy(array, 2 * idx, newArray, 2 * idx + 2, array.length - 2 * idx);
+            return withArray(editor, bitmap | bit, newArray);
+        }
+
+        @Override
+        HashTrieNode remove(final Object editor, final int shift, final int hash, final Object key,
+                final Result result) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int idx = index(bit);
+            final Object k = array[2 * idx];
+            final Object v = array[2 * idx + 1];
+            if (k == null) {
+                final HashTrieNode child = (HashTrieNode) v;
+                final HashTrieNode newChild = child.remove(editor, shift + BITS, hash, key, result);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return withSlot(editor, 2 * idx + 1, newChild);
+                }
+            } else if (key.equals(k)) {
+                result.oldValue = v;
+                result.sizeChanged = true;
+            } else {
+                return this;
+            }
+
+            // The slot has become empty
+            if (bitmap == bit) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            System.arraycopy(array, 2 * idx + 2, newArray, 2 * idx, newArray.length - 2 * idx);
+            return withArray(editor, bitmap ^ bit, newArray);
+        }
+    }
+
+    /**
+     * A node holding keys whose hashes are identical.
+     */
+    private static final class CollisionNode extends HashTrieNode {
+        private final int hash;
+        private Object[] array;
+
+        CollisionNode(final Object owner, final int hash, final Object[] array) {
+            super(owner);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        @Override
+        int slotCount() {
+            return array.length / 2;
+        }
+
+        private int find(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(final Object key, final int hash, final int shift) {
+            final int i = find(key);
+            return i == -1 ? null : array[i + 1];
+        }
+
+        private HashTrieNode withArray(final Object editor, final Object[] newArray) {
+            if (isOwnedBy(editor)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(editor, hash, newArray);
+        }
+
+        @Override
+        HashTrieNode put(final Object editor, final int shift, final int hash, final Object key, final Object value,
+                final Result result) {
+            if (hash != this.hash) {
+                // Nest this node in a bitmap node, which can tell the hashes apart
+                return new BitmapNode(editor, bitpos(this.hash, shift), new Object[] { null, this })
+                        .put(editor, shift, hash, key, value, result);
+            }
+
+            final int i = find(key);
+            if (i != -1) {
+                result.oldValue = array[i + 1];
+                if (array[i + 1] == value) {
+                    return this;
+                }
+
+                final Object[] newArray = isOwnedBy(editor) ? array : array.clone();
+                newArray[i + 1] = value;
+                return withArray(editor, newArray);
+            }
+
+            result.sizeChanged = true;
+            final Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return withArray(editor, newArray);
+        }
+
+        @Override
+        HashTrieNode remove(final Object editor, final int shift, final int hash, final Object key,
+                final Result result) {
+            final int i = find(key);
+            if (i == -1) {
+                return this;
+            }
+
+            result.oldValue = array[i + 1];
+            result.sizeChanged = true;
+            if (array.length == 2) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+            return withArray(editor, newArray);
+        }
+    }
+
+    /**
+     * Depth-first iterator over the mappings held in a trie. The trie must not be updated in place while it is being
+     * iterated.
+     */
+    static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> offsets = new ArrayDeque<>();
+        private Object[] array;
+        private int offset;
+
+        EntryIterator(final HashTrieNode root) {
+            array = root.array();
+            offset = 0;
+            advance();
+        }
+
+        // Position on the next key-value pair, descending into child nodes and returning from exhausted ones
+        private void advance() {
+            while (array != null) {
+                while (offset < array.length) {
+                    if (array[offset] != null) {
+                        return;
+                    }
+
+                    arrays.push(array);
+                    offsets.push(offset + 2);
+                    array = ((HashTrieNode) array[offset + 1]).array();
+                    offset = 0;
+                }
+
+                array = arrays.poll();
+                offset = array == null ? 0 : offsets.pop();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return array != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (array == null) {
+                throw new NoSuchElementException();
+            }
+
+            final Entry<K, V> ret = new SimpleImmutableEntry<>((K) array[offset], (V) array[offset + 1]);
+            offset += 2;
+            advance();
+            return ret;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link DurationStatisticsTracker} which, in addition to the basic statistics, records durations in a histogram,
+ * so that percentiles can be reported. The histogram is log-linear: each power-of-two range of durations is split into
+ * 16 equally-sized buckets, hence reported percentiles are within roughly 6% of the real
+ * value.
+ *
+ * <p>
+ * Recording a duration does not allocate. To reduce contention, buckets are striped by thread. The tracker starts with
+ * a single stripe and adds more only when concurrent recording is observed, so that trackers which are not contended
+ * do not carry buckets for each core. The longest and shortest durations are only updated when they change, which is
+ * rare after warm-up. Statistics are combined from stripes when read, via {@link #snapshot()} or the methods inherited
+ * from {@link DurationStatisticsTracker}. Plain reads are not atomic with respect to concurrent recording, so a reading
+ * may miss durations which are being recorded at the same time. {@link #snapshotAndReset()} is atomic: it swaps in
+ * a fresh set of statistics and waits for recordings into the old set to finish before reading it.
+ */
+@Beta
+public final class HistogramDurationStatisticsTracker extends DurationStatisticsTracker {
+    /**
+     * An immutable point-in-time view of a {@link HistogramDurationStatisticsTracker}.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long totalDurations;
+        private final long sum;
+        private final long longest;
+        private final long shortest;
+
+        Snapshot(final long[] counts, final long sum, final long longest, final long shortest) {
+            this.counts = counts;
+            this.sum = sum;
+            this.longest = longest;
+            this.shortest = shortest;
+
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalDurations = total;
+        }
+
+        /**
+         * Returns the total number of tracked durations.
+         */
+        public long getTotalDurations() {
+            return totalDurations;
+        }
+
+        /**
+         * Returns the average duration in nanoseconds.
+         */
+        public double getAverageDuration() {
+            return totalDurations == 0 ? 0 : (double) sum / totalDurations;
+        }
+
+        /**
+         * Returns the longest duration in nanoseconds.
+         */
+        public long getLongestDuration() {
+            return longest;
+        }
+
+        /**
+         * Returns the shortest duration in nanoseconds.
+         */
+        public long getShortestDuration() {
+            return shortest;
+        }
+
+        /**
+         * Returns the duration in nanoseconds, at or below which the specified percentage of durations lie.
+         * The returned value is the upper bound of the bucket holding the percentile, capped at the longest
+         * duration.
+         *
+         * @param percentile percentile to report, in range 0.0 - 100.0
+         * @return Duration at percentile, or 0 if no durations have been recorded
+         * @throws IllegalArgumentException if percentile is out of range
+         */
+        public long getDurationAtPercentile(final double percentile) {
+            Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Invalid percentile %s", percentile);
+            if (totalDurations == 0) {
+                return 0;
+            }
+
+            final long target = Math.max(1, (long) Math.ceil(totalDurations * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.max(shortest, Math.min(longest, bucketUpperBound(i)));
+                }
+            }
+            return longest;
+        }
+    }
+
+    /**
+     * Durations recorded by a subset of threads.
+     */
+    private static final class Stripe {
+        final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        final AtomicLong sum = new AtomicLong();
+        // Number of threads recording into this stripe
+        final AtomicInteger writers = new AtomicInteger();
+    }
+
+    /**
+     * A set of statistics, which is replaced as a whole on reset.
+     */
+    private static final class Recording {
+        final AtomicReference<Stripe[]> stripes;
+        final AtomicLong longest = new AtomicLong(Long.MIN_VALUE);
+        final AtomicLong shortest = new AtomicLong(Long.MAX_VALUE);
+        volatile long timeOfLongest;
+        volatile long timeOfShortest;
+
+        Recording(final int stripeCount) {
+            final Stripe[] array = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; ++i) {
+                array[i] = new Stripe();
+            }
+            stripes = new AtomicReference<>(array);
+        }
+
+        /**
+         * Double the number of stripes, keeping the existing ones.
+         */
+        void grow(final Stripe[] current) {
+            final Stripe[] grown = Arrays.copyOf(current, current.length * 2);
+            for (int i = current.length; i < grown.length; ++i) {
+                grown[i] = new Stripe();
+            }
+            stripes.compareAndSet(current, grown);
+        }
+    }
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Durations below SUB_BUCKET_COUNT are recorded exactly, larger ones in SUB_BUCKET_COUNT buckets per magnitude
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicReference<Recording> current = new AtomicReference<>(new Recording(1));
+    private final int maxStripes;
+
+    HistogramDurationStatisticsTracker() {
+        this(MAX_STRIPES);
+    }
+
+    HistogramDurationStatisticsTracker(final int maxStripes) {
+        Preconditions.checkArgument(maxStripes > 0, "Maximum stripe count must be positive");
+        this.maxStripes = Integer.highestOneBit(maxStripes);
+    }
+
+    static int bucketIndex(final long duration) {
+        if (duration < SUB_BUCKET_COUNT) {
+            return (int) duration;
+        }
+
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(duration) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) (duration >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long top = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    @Override
+    public void addDuration(final long duration) {
+        final long nonNegative = Math.max(0, duration);
+        final int threadHash = (int) Thread.currentThread().getId();
+
+        Recording recording;
+        Stripe stripe;
+        while (true) {
+            recording = current.get();
+            final Stripe[] stripes = recording.stripes.get();
+            stripe = stripes[threadHash & (stripes.length - 1)];
+            stripe.writers.incrementAndGet();
+            if (recording == current.get()) {
+                break;
+            }
+
+            // Reset in the meantime, the old recording may have been read already
+            stripe.writers.decrementAndGet();
+        }
+
+        try {
+            final long sum = stripe.sum.get();
+            if (!stripe.sum.compareAndSet(sum, sum + nonNegative)) {
+                // Another thread is recording into the same stripe, spread threads over more stripes
+                final Stripe[] stripes = recording.stripes.get();
+                if (stripes.length < maxStripes) {
+                    recording.grow(stripes);
+                }
+                stripe.sum.addAndGet(nonNegative);
+            }
+            stripe.counts.incrementAndGet(bucketIndex(nonNegative));
+
+            // Timestamps are updated separately, hence they may be slightly off under contention
+            long value = recording.longest.get();
+            while (nonNegative > value) {
+                if (recording.longest.compareAndSet(value, nonNegative)) {
+                    recording.timeOfLongest = System.currentTimeMillis();
+                    break;
+                }
+                value = recording.longest.get();
+            }
+
+            value = recording.shortest.get();
+            while (nonNegative < value) {
+                if (recording.shortest.compareAndSet(value, nonNegative)) {
+                    recording.timeOfShortest = System.currentTimeMillis();
+                    break;
+                }
+                value = recording.shortest.get();
+            }
+        } finally {
+            stripe.writers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public double getAverageDuration() {
+        long sum = 0;
+        long count = 0;
+        for (Stripe stripe : current.get().stripes.get()) {
+            sum += stripe.sum.get();
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                count += stripe.counts.get(i);
+            }
+        }
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    @Override
+    public long getTotalDurations() {
+        long count = 0;
+        for (Stripe stripe : current.get().stripes.get()) {
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                count += stripe.counts.get(i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the duration in nanoseconds, at or below which the specified percentage of durations lie.
+     *
+     * @param percentile percentile to report, in range 0.0 - 100.0
+     * @return Duration at percentile, or 0 if no durations have been recorded
+     * @see Snapshot#getDurationAtPercentile(double)
+     */
+    public long getDurationAtPercentile(final double percentile) {
+        return snapshot().getDurationAtPercentile(percentile);
+    }
+
+    /**
+     * Take a snapshot of current statistics.
+     *
+     * @return A snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot(current.get());
+    }
+
+    /**
+     * Take a snapshot of current statistics and reset them. Each duration recorded concurrently is accounted either
+     * in the snapshot or in the statistics after reset, but not in both.
+     *
+     * @return A snapshot
+     */
+    public Snapshot snapshotAndReset() {
+        // Keep the number of stripes, as contention is not going to change with a reset
+        final Recording recording = current.getAndSet(new Recording(current.get().stripes.get().length));
+
+        // Wait for threads which have started recording before the swap
+        for (Stripe stripe : recording.stripes.get()) {
+            while (stripe.writers.get() != 0) {
+                Thread.yield();
+            }
+        }
+        return snapshot(recording);
+    }
+
+    private static Snapshot snapshot(final Recording recording) {
+        final long max = recording.longest.get();
+        final long min = recording.shortest.get();
+
+        final long[] counts = new long[BUCKET_COUNT];
+        long sum = 0;
+        for (Stripe stripe : recording.stripes.get()) {
+            sum += stripe.sum.get();
+            for (int i = 0; i < BUCKET_COUNT; ++i) {
+                counts[i] += stripe.counts.get(i);
+            }
+        }
+
+        return new Snapshot(counts, sum, max == Long.MIN_VALUE ? 0 : max, min == Long.MAX_VALUE ? 0 : min);
+    }
+
+    @Override
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    @Override
+    protected DurationWithTime getShortest() {
+        final Recording recording = current.get();
+        final long value = recording.shortest.get();
+        return value == Long.MAX_VALUE ? null : new DurationWithTime(value, recording.timeOfShortest);
+    }
+
+    @Override
+    protected DurationWithTime getLongest() {
+        final Recording recording = current.get();
+        final long value = recording.longest.get();
+        return value == Long.MIN_VALUE ? null : new DurationWithTime(value, recording.timeOfLongest);
+    }
+}
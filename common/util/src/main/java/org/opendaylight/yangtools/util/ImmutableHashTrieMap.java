@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+/**
+ * An unmodifiable map backed by a persistent hash array mapped trie. This is what MapAdaptor.optimize() gives out for
+ * large maps. Unlike {@link ReadOnlyTrieMap}, it does not need to take a snapshot: {@link #toModifiableMap()} is an
+ * O(1) operation and the returned map shares all of its structure with this map until it is modified.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class ImmutableHashTrieMap<K, V> extends AbstractMap<K, V> implements UnmodifiableMapPhase<K, V> {
+    private final HashTrieNode root;
+    private final int size;
+    private transient Set<Entry<K, V>> entrySet;
+
+    ImmutableHashTrieMap(final HashTrieNode root, final int size) {
+        this.root = Preconditions.checkNotNull(root);
+        this.size = size;
+    }
+
+    static <K, V> ImmutableHashTrieMap<K, V> copyOf(final Map<K, V> map) {
+        if (map instanceof ImmutableHashTrieMap) {
+            return (ImmutableHashTrieMap<K, V>) map;
+        }
+        if (map instanceof MutableHashTrieMap) {
+            return ((MutableHashTrieMap<K, V>) map).toUnmodifiableMap();
+        }
+
+        final MutableHashTrieMap<K, V> ret = new MutableHashTrieMap<>();
+        ret.putAll(map);
+        return ret.toUnmodifiableMap();
+    }
+
+    @Nonnull
+    @Override
+    public MutableHashTrieMap<K, V> toModifiableMap() {
+        return new MutableHashTrieMap<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return key == null ? null : (V) root.get(key, HashTrieNode.hash(key), 0);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> ret = entrySet;
+        if (ret == null) {
+            ret = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new HashTrieNode.EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = ret;
+        }
+        return ret;
+    }
+}
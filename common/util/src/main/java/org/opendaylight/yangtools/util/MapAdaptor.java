@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.util;
 
+import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
@@ -29,18 +30,24 @@ public final class MapAdaptor {
     public static final int DEFAULT_PERSIST_MIN_ITEMS = 50;
     public static final String PERSIST_MIN_ITEMS_PROP = "org.opendaylight.yangtools.util.mapadaptor.minpersist";
 
+    public static final boolean DEFAULT_USE_HASH_TRIE = false;
+    public static final String USE_HASH_TRIE_PROP = "org.opendaylight.yangtools.util.mapadaptor.hashtrie";
+
     private static final Logger LOG = LoggerFactory.getLogger(MapAdaptor.class);
     private static final MapAdaptor DEFAULT_INSTANCE;
 
     private final boolean useSingleton;
     private final int persistMinItems;
     private final int copyMaxItems;
+    private final boolean useHashTrie;
 
     static {
         DEFAULT_INSTANCE = new MapAdaptor(true,
                 getProperty(COPY_MAX_ITEMS_MAX_PROP, DEFAULT_COPY_MAX_ITEMS),
-                getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS));
-        LOG.debug("Configured HashMap/TrieMap cutoff at {}/{} entries",
+                getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS),
+                getProperty(USE_HASH_TRIE_PROP, DEFAULT_USE_HASH_TRIE));
+        LOG.debug("Configured HashMap/{} cutoff at {}/{} entries",
+                DEFAULT_INSTANCE.useHashTrie ? "HashTrieMap" : "TrieMap",
                 DEFAULT_INSTANCE.persistMinItems, DEFAULT_INSTANCE.copyMaxItems);
     }
 
@@ -65,10 +72,24 @@ public final class MapAdaptor {
         return defaultValue;
     }
 
-    private MapAdaptor(final boolean useSingleton, final int copyMaxItems, final int persistMinItems) {
+    private static boolean getProperty(final String name, final boolean defaultValue) {
+        try {
+            final String p = System.getProperty(name);
+            if (p != null) {
+                return Boolean.parseBoolean(p);
+            }
+        } catch (Exception e) {
+            LOG.debug("Failed to get {}", name, e);
+        }
+        return defaultValue;
+    }
+
+    private MapAdaptor(final boolean useSingleton, final int copyMaxItems, final int persistMinItems,
+            final boolean useHashTrie) {
         this.useSingleton = useSingleton;
         this.copyMaxItems = copyMaxItems;
         this.persistMinItems = persistMinItems;
+        this.useHashTrie = useHashTrie;
     }
 
     /**
@@ -81,10 +102,27 @@ public final class MapAdaptor {
     }
 
     public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems, final int persistMinItems) {
+        return getInstance(useSingleton, copyMaxItems, persistMinItems, DEFAULT_USE_HASH_TRIE);
+    }
+
+    /**
+     * Return an instance with specified cutoffs, which uses a persistent hash array mapped trie instead of a TrieMap
+     * for maps larger than copyMaxItems. Such maps do not need to be snapshotted when they are handed out, and their
+     * modifiable copies share structure with the original.
+     *
+     * @param useSingleton use singleton maps for single-entry maps
+     * @param copyMaxItems maximum size of maps which are copied on modification
+     * @param persistMinItems minimum size of maps which retain the persistent implementation
+     * @param useHashTrie true if a hash array mapped trie should be used as the persistent implementation
+     * @return a new instance
+     */
+    @Beta
+    public static MapAdaptor getInstance(final boolean useSingleton, final int copyMaxItems, final int persistMinItems,
+            final boolean useHashTrie) {
         Preconditions.checkArgument(copyMaxItems >= 0, "copyMaxItems has to be a non-negative integer");
         Preconditions.checkArgument(persistMinItems >= 0, "persistMinItems has to be a positive integer");
         Preconditions.checkArgument(persistMinItems <= copyMaxItems, "persistMinItems must be less than or equal to copyMaxItems");
-        return new MapAdaptor(useSingleton, copyMaxItems, persistMinItems);
+        return new MapAdaptor(useSingleton, copyMaxItems, persistMinItems, useHashTrie);
     }
 
     /**
@@ -97,7 +135,7 @@ public final class MapAdaptor {
     public <K, V> Map<K, V> initialSnapshot(final int expectedSize) {
         Preconditions.checkArgument(expectedSize >= 0);
         if (expectedSize > persistMinItems) {
-            return new ReadWriteTrieMap<>();
+            return useHashTrie ? new MutableHashTrieMap<>() : new ReadWriteTrieMap<>();
         }
 
         if (expectedSize < 2) {
@@ -120,6 +158,9 @@ public final class MapAdaptor {
         if (input instanceof ReadOnlyTrieMap) {
             return ((ReadOnlyTrieMap<K, V>)input).toReadWrite();
         }
+        if (input instanceof ImmutableHashTrieMap) {
+            return ((ImmutableHashTrieMap<K, V>)input).toModifiableMap();
+        }
 
         LOG.trace("Converting input {} to a HashMap", input);
 
@@ -193,6 +234,9 @@ public final class MapAdaptor {
         if (input instanceof ReadWriteTrieMap && size >= persistMinItems) {
             return ((ReadWriteTrieMap<K, V>)input).toReadOnly();
         }
+        if (input instanceof MutableHashTrieMap && size >= persistMinItems) {
+            return ((MutableHashTrieMap<K, V>)input).toUnmodifiableMap();
+        }
 
         /*
          * If the user opted to use singleton maps, use them. Except for the case
@@ -220,6 +264,16 @@ public final class MapAdaptor {
             return ret;
         }
 
+        if (useHashTrie) {
+            /*
+             * Favor isolation speed: use a persistent trie, which shares structure with its modifiable copies.
+             */
+            LOG.trace("Copying input {} to a HashTrieMap ({} entries)", input, size);
+            final Map<K, V> ret = ImmutableHashTrieMap.copyOf(input);
+            LOG.trace("Read-only HashTrieMap is {}", ret);
+            return ret;
+        }
+
         /*
          * Favor isolation speed: use a TrieMap and perform snapshots
          *
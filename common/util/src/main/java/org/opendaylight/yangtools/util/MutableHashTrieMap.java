@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+/**
+ * A modifiable map backed by a persistent hash array mapped trie. Trie nodes created by this map are owned by it and
+ * are updated in place, nodes shared with an {@link ImmutableHashTrieMap} are copied on their first modification.
+ * {@link #toUnmodifiableMap()} is an O(1) operation, which relinquishes ownership of all nodes.
+ *
+ * <p>
+ * Like {@link ReadWriteTrieMap}, this map does not support modification via the keySet()/values()/entrySet() views.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class MutableHashTrieMap<K, V> extends AbstractMap<K, V> implements ModifiableMapPhase<K, V> {
+    private final HashTrieNode.Result result = new HashTrieNode.Result();
+    private HashTrieNode root;
+    private Object owner;
+    private int size;
+
+    MutableHashTrieMap() {
+        this(HashTrieNode.EMPTY, 0);
+    }
+
+    MutableHashTrieMap(final HashTrieNode root, final int size) {
+        this.root = Preconditions.checkNotNull(root);
+        this.size = size;
+        this.owner = new Object();
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableHashTrieMap<K, V> toUnmodifiableMap() {
+        // Any further modification must not touch the nodes we are handing out
+        owner = new Object();
+        return new ImmutableHashTrieMap<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return key == null ? null : (V) root.get(key, HashTrieNode.hash(key), 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(value);
+
+        final HashTrieNode newRoot = root.put(owner, 0, HashTrieNode.hash(key), key, value, result);
+        root = newRoot;
+        if (result.sizeChanged) {
+            size++;
+        }
+        return (V) consumeOldValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        if (key == null) {
+            return null;
+        }
+
+        final HashTrieNode newRoot = root.remove(owner, 0, HashTrieNode.hash(key), key, result);
+        root = newRoot == null ? HashTrieNode.EMPTY : newRoot;
+        if (result.sizeChanged) {
+            size--;
+        }
+        return (V) consumeOldValue();
+    }
+
+    private Object consumeOldValue() {
+        final Object ret = result.oldValue;
+        result.oldValue = null;
+        result.sizeChanged = false;
+        return ret;
+    }
+
+    @Override
+    public void clear() {
+        root = HashTrieNode.EMPTY;
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                // Iteration must not observe in-place updates, hence make sure any update copies the nodes
+                owner = new Object();
+                return new HashTrieNode.EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Spliterator;
 import javax.annotation.Nonnull;
 
 /**
@@ -74,6 +75,15 @@ public final class UnmodifiableCollection<E> implements Collection<E>, Serializa
         return Iterators.unmodifiableIterator(delegate.iterator());
     }
 
+    /*
+     * Spliterators cannot modify the collection, so the delegate's can be exposed. This retains its ability to split
+     * efficiently, which the default iterator-based implementation lacks.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return delegate.spliterator();
+    }
+
     @Override
     public int size() {
         return delegate.size();
@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.ListenerKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link NotificationManager} which queues notifications on a per-listener basis and dispatches them serially to
+ * each listener via an {@link Executor}, like {@link QueuedNotificationManager}, but without taking any locks.
+ * Notifications are queued in a lock-free bounded array queue and are delivered to the listener in batches of up to
+ * a configured size, amortizing the per-invocation overhead of the {@link BatchInvoker}.
+ *
+ * <p>
+ * What happens when a listener's queue is full is governed by a {@link BackpressurePolicy}. Unlike
+ * {@link QueuedNotificationManager}, which makes the producer wait for up to ten minutes, this allows a slow listener
+ * to be isolated from producers.
+ *
+ * <p>
+ * As with {@link QueuedNotificationManager}, a queue and task are only maintained for a listener while it has
+ * pending notifications. The queues of retired tasks are kept in a small pool, so that listeners which receive
+ * notifications in short bursts do not allocate a full-capacity queue for each of them.
+ *
+ * @param <L> the listener type
+ * @param <N> the notification type
+ */
+@Beta
+public class BatchingNotificationManager<L, N> implements NotificationManager<L, N> {
+    /**
+     * Interface implemented by clients that does the work of invoking listeners with batches of notifications.
+     *
+     * @param <L> the listener type
+     * @param <N> the notification type
+     */
+    public interface BatchInvoker<L, N> {
+        /**
+         * Called to invoke a listener with a batch of notifications.
+         *
+         * @param listener the listener to invoke
+         * @param notifications the notifications to send, in the order in which they were submitted. The list
+         *        is only valid for the duration of the call.
+         */
+        void invokeListener(L listener, List<N> notifications);
+    }
+
+    /**
+     * Interface implemented by clients that know how to merge two notifications into one.
+     *
+     * @param <N> the notification type
+     */
+    public interface Coalescer<N> {
+        /**
+         * Merge two notifications into one, which has the combined effect of both.
+         *
+         * @param older the notification submitted first
+         * @param newer the notification submitted second
+         * @return Combined notification
+         */
+        N coalesce(N older, N newer);
+    }
+
+    /**
+     * Policy applied when a notification is submitted to a listener whose queue is full.
+     */
+    public enum BackpressurePolicy {
+        /**
+         * The producer waits until there is space in the queue.
+         */
+        BLOCK,
+        /**
+         * The oldest queued notification is discarded to make space.
+         */
+        DROP_OLDEST,
+        /**
+         * Notifications are merged, using a {@link Coalescer}, into a single notification, which is delivered after
+         * the queued notifications. Notifications submitted while such a notification is pending are merged into it,
+         * too, so that ordering is preserved.
+         */
+        COALESCE,
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingNotificationManager.class);
+    private static final long MIN_BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_IDLE_QUEUES = 8;
+
+    private final ConcurrentMap<ListenerKey<L>, NotificationTask> listenerCache = new ConcurrentHashMap<>();
+    private final BoundedConcurrentQueue<BoundedConcurrentQueue<N>> idleQueues =
+            new BoundedConcurrentQueue<>(MAX_IDLE_QUEUES);
+    private final AtomicLong droppedNotifications = new AtomicLong();
+    private final Executor executor;
+    private final BatchInvoker<L, N> listenerInvoker;
+    private final BackpressurePolicy policy;
+    private final Coalescer<N> coalescer;
+    private final int maxQueueCapacity;
+    private final int maxBatchSize;
+    private final String name;
+
+    private BatchingNotificationManager(final Executor executor, final BatchInvoker<L, N> listenerInvoker,
+            final int maxQueueCapacity, final int maxBatchSize, final BackpressurePolicy policy,
+            final Coalescer<N> coalescer, final String name) {
+        this.executor = Preconditions.checkNotNull(executor);
+        this.listenerInvoker = Preconditions.checkNotNull(listenerInvoker);
+        Preconditions.checkArgument(maxQueueCapacity > 0, "maxQueueCapacity must be > 0");
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be > 0");
+        this.maxQueueCapacity = maxQueueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.policy = Preconditions.checkNotNull(policy);
+        this.coalescer = coalescer;
+        this.name = Preconditions.checkNotNull(name);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchInvoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param maxBatchSize the maximum number of notifications delivered in a single invocation
+     * @param policy the policy to apply when a listener queue is full, must not be
+     *        {@link BackpressurePolicy#COALESCE}
+     * @param name the name of this instance for logging info
+     */
+    public BatchingNotificationManager(final Executor executor, final BatchInvoker<L, N> listenerInvoker,
+            final int maxQueueCapacity, final int maxBatchSize, final BackpressurePolicy policy, final String name) {
+        this(executor, listenerInvoker, maxQueueCapacity, maxBatchSize, policy, null, name);
+        Preconditions.checkArgument(policy != BackpressurePolicy.COALESCE, "Coalescing policy requires a Coalescer");
+    }
+
+    /**
+     * Constructor for an instance using {@link BackpressurePolicy#COALESCE}.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchInvoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param maxBatchSize the maximum number of notifications delivered in a single invocation
+     * @param coalescer the {@link Coalescer} to use for merging notifications which do not fit into the queue
+     * @param name the name of this instance for logging info
+     */
+    public BatchingNotificationManager(final Executor executor, final BatchInvoker<L, N> listenerInvoker,
+            final int maxQueueCapacity, final int maxBatchSize, final Coalescer<N> coalescer, final String name) {
+        this(executor, listenerInvoker, maxQueueCapacity, maxBatchSize, BackpressurePolicy.COALESCE,
+            Preconditions.checkNotNull(coalescer), name);
+    }
+
+    /**
+     * Adapt a {@link QueuedNotificationManager.Invoker} to a {@link BatchInvoker}, which invokes the listener
+     * with each notification in turn.
+     *
+     * @param invoker the invoker to adapt
+     * @return A {@link BatchInvoker}
+     */
+    public static <L, N> BatchInvoker<L, N> batchInvoker(final QueuedNotificationManager.Invoker<L, N> invoker) {
+        Preconditions.checkNotNull(invoker);
+        return new BatchInvoker<L, N>() {
+            @Override
+            public void invokeListener(final L listener, final List<N> notifications) {
+                for (N notification : notifications) {
+                    invoker.invokeListener(listener, notification);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void submitNotification(final L listener, final N notification) {
+        if (notification == null) {
+            return;
+        }
+
+        submitNotifications(listener, Collections.singletonList(notification));
+    }
+
+    @Override
+    public void submitNotifications(final L listener, final Iterable<N> notifications) {
+        if (notifications == null || listener == null) {
+            return;
+        }
+
+        LOG.trace("{}: submitNotifications for listener {}: {}", name, listener, notifications);
+
+        final ListenerKey<L> key = new ListenerKey<>(listener);
+        final Iterator<N> it = notifications.iterator();
+        N notification = nextNotification(it);
+        long parkNanos = MIN_BLOCK_PARK_NANOS;
+        while (notification != null) {
+            final NotificationTask task = acquireTask(key);
+            try {
+                // Queue as many notifications as we can. If the queue is full with BackpressurePolicy.BLOCK, we need
+                // to release the task, so it gets scheduled and can make room for us.
+                while (notification != null && task.enqueue(notification)) {
+                    notification = nextNotification(it);
+                    parkNanos = MIN_BLOCK_PARK_NANOS;
+                }
+            } finally {
+                releaseTask(task);
+            }
+
+            if (notification != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Somebody's probably telling us to quit.
+                    LOG.debug("{}: Interrupted trying to add to {} listener's queue", name, listener);
+                    return;
+                }
+
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_BLOCK_PARK_NANOS);
+            }
+        }
+    }
+
+    private static <N> N nextNotification(final Iterator<N> it) {
+        while (it.hasNext()) {
+            final N notification = it.next();
+            if (notification != null) {
+                return notification;
+            }
+        }
+        return null;
+    }
+
+    private NotificationTask acquireTask(final ListenerKey<L> key) {
+        while (true) {
+            NotificationTask task = listenerCache.get(key);
+            if (task == null) {
+                final NotificationTask newTask = new NotificationTask(key, takeQueue());
+                task = listenerCache.putIfAbsent(key, newTask);
+                if (task == null) {
+                    task = newTask;
+                } else {
+                    // Lost the race, the queue has never been used
+                    idleQueues.offer(newTask.queue);
+                }
+            }
+
+            if (task.acquire()) {
+                return task;
+            }
+
+            // The task is exiting, make sure it is gone and try again
+            listenerCache.remove(key, task);
+        }
+    }
+
+    private BoundedConcurrentQueue<N> takeQueue() {
+        final BoundedConcurrentQueue<N> queue = idleQueues.poll();
+        return queue != null ? queue : new BoundedConcurrentQueue<N>(maxQueueCapacity);
+    }
+
+    private void releaseTask(final NotificationTask task) {
+        if (task.release()) {
+            LOG.debug("{}: Submitting NotificationTask for listener {}", name, task.listenerKey);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.retire();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns {@link ListenerNotificationQueueStats} instances for each current listener
+     * notification task in progress.
+     */
+    public List<ListenerNotificationQueueStats> getListenerNotificationQueueStats() {
+        final List<ListenerNotificationQueueStats> statsList = new ArrayList<>(listenerCache.size());
+        for (NotificationTask task : listenerCache.values()) {
+            statsList.add(new ListenerNotificationQueueStats(task.listenerKey.toString(), task.queue.size()));
+        }
+        return statsList;
+    }
+
+    /**
+     * Returns the number of notifications dropped because of {@link BackpressurePolicy#DROP_OLDEST}.
+     */
+    public long getDroppedNotificationCount() {
+        return droppedNotifications.get();
+    }
+
+    /**
+     * Returns the maximum listener queue capacity.
+     */
+    public int getMaxQueueCapacity() {
+        return maxQueueCapacity;
+    }
+
+    /**
+     * Returns the maximum number of notifications delivered in a single invocation.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Returns the {@link BackpressurePolicy} applied to full listener queues.
+     */
+    public BackpressurePolicy getBackpressurePolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the {@link Executor} to used for notification tasks.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Executor task for a single listener that queues notifications and sends them in batches to the listener.
+     *
+     * <p>
+     * Task lifecycle is tracked in a single atomic state word. Bit 0 indicates the task is scheduled on the executor,
+     * bit 1 indicates a producer has queued notifications since the task last checked and the remaining bits count
+     * producers which are in the process of queueing notifications. Once the task finds its queue empty and there
+     * are no producers, it retires, which prevents any further producers from using it. At that point its queue is
+     * empty and no longer reachable by producers, hence it is handed back to the pool of idle queues. Tasks retired
+     * on failure do not give their queue back, as it may still be in use.
+     */
+    private final class NotificationTask implements Runnable {
+        private static final int RETIRED = -1;
+        private static final int SCHEDULED = 1;
+        private static final int DIRTY = 2;
+        private static final int PRODUCER = 4;
+
+        private final AtomicInteger state = new AtomicInteger();
+        private final AtomicReference<N> coalesced = new AtomicReference<>();
+        private final BoundedConcurrentQueue<N> queue;
+        private final ListenerKey<L> listenerKey;
+
+        NotificationTask(final ListenerKey<L> listenerKey, final BoundedConcurrentQueue<N> queue) {
+            this.listenerKey = listenerKey;
+            this.queue = queue;
+        }
+
+        boolean acquire() {
+            while (true) {
+                final int current = state.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current + PRODUCER)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Release a producer reference.
+         *
+         * @return true if the task needs to be submitted to the executor
+         */
+        boolean release() {
+            while (true) {
+                final int current = state.get();
+                if (current == RETIRED) {
+                    // Retired on failure while we were queueing
+                    return false;
+                }
+                if (state.compareAndSet(current, current - PRODUCER | SCHEDULED | DIRTY)) {
+                    return (current & SCHEDULED) == 0;
+                }
+            }
+        }
+
+        void retire() {
+            state.set(RETIRED);
+            listenerCache.remove(listenerKey, this);
+        }
+
+        /**
+         * Queue a notification.
+         *
+         * @return false if the queue is full and the notification needs to be retried
+         */
+        boolean enqueue(final N notification) {
+            switch (policy) {
+                case BLOCK:
+                    return queue.offer(notification);
+                case DROP_OLDEST:
+                    while (!queue.offer(notification)) {
+                        if (queue.poll() != null) {
+                            droppedNotifications.incrementAndGet();
+                            LOG.debug("{}: Dropped a notification for listener {}", name, listenerKey);
+                        }
+                    }
+                    return true;
+                case COALESCE:
+                    // Once a coalesced notification is pending, newer ones have to be merged into it
+                    if (coalesced.get() != null || !queue.offer(notification)) {
+                        coalesce(notification);
+                    }
+                    return true;
+                default:
+                    throw new IllegalStateException("Unhandled policy " + policy);
+            }
+        }
+
+        private void coalesce(final N notification) {
+            while (true) {
+                final N current = coalesced.get();
+                final N next = current == null ? notification : coalescer.coalesce(current, notification);
+                if (coalesced.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            final List<N> batch = new ArrayList<>(Math.min(maxBatchSize, maxQueueCapacity));
+            try {
+                while (true) {
+                    drain(batch);
+
+                    final int current = state.get();
+                    if (current >= PRODUCER) {
+                        // Producers are active, unschedule ourselves and let the last one resubmit us
+                        if (state.compareAndSet(current, current & ~SCHEDULED)) {
+                            return;
+                        }
+                    } else if ((current & DIRTY) != 0) {
+                        // Notifications have been queued since we last looked, clear the flag and loop back up
+                        state.compareAndSet(current, current & ~DIRTY);
+                    } else if (state.compareAndSet(SCHEDULED, RETIRED)) {
+                        listenerCache.remove(listenerKey, this);
+                        idleQueues.offer(queue);
+                        return;
+                    }
+                }
+            } catch (Error e) {
+                // A JVM Error is severe - best practice is to throw them up the chain. Retire so no new
+                // notifications can be added to this task as we're about to bail.
+                retire();
+                throw e;
+            }
+        }
+
+        private void drain(final List<N> batch) {
+            while (true) {
+                N notification = queue.poll();
+                while (notification != null) {
+                    batch.add(notification);
+                    if (batch.size() >= maxBatchSize) {
+                        notifyListener(batch);
+                    }
+                    notification = queue.poll();
+                }
+
+                // The queue is empty, deliver the coalesced notification, if any, after everything that was queued
+                final N pending = coalesced.getAndSet(null);
+                if (pending == null) {
+                    notifyListener(batch);
+                    return;
+                }
+
+                batch.add(pending);
+                notifyListener(batch);
+            }
+        }
+
+        private void notifyListener(final List<N> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            LOG.debug("{}: Invoking listener {} with {} notification(s)", name, listenerKey, batch.size());
+            try {
+                listenerInvoker.invokeListener(listenerKey.getListener(), Collections.unmodifiableList(batch));
+            } catch (RuntimeException e) {
+                // We'll let a RuntimeException from the listener slide and keep sending any
+                // remaining notifications.
+                LOG.error("{}: Error notifying listener {}", name, listenerKey, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
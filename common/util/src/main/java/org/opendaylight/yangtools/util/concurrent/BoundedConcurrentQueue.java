@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free, bounded queue backed by an array. This is Dmitry Vyukov's bounded MPMC queue: each slot carries
+ * a sequence number, which tells producers and consumers whether the slot is ready for them. Producers and consumers
+ * only contend on their respective index, so they do not interfere with each other unless the queue is nearly
+ * empty or full.
+ *
+ * <p>
+ * Multiple consumers are supported, so that producers can evict the oldest element when the queue is full.
+ *
+ * @param <E> the element type
+ */
+final class BoundedConcurrentQueue<E> {
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final int capacity;
+
+    BoundedConcurrentQueue(final int capacity) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be > 0");
+        this.capacity = capacity;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Append an element to the queue.
+     *
+     * @param element element to append
+     * @return true if the element was appended, false if the queue is full
+     */
+    boolean offer(final E element) {
+        Preconditions.checkNotNull(element);
+
+        long pos = tail.get();
+        while (true) {
+            final int index = (int) (pos % capacity);
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.lazySet(index, element);
+                    // Publishes the element to consumers
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // The slot has not been consumed since the previous lap
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the element at the head of the queue.
+     *
+     * @return Removed element, or null if the queue is empty
+     */
+    E poll() {
+        long pos = head.get();
+        while (true) {
+            final int index = (int) (pos % capacity);
+            final long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    final E ret = elements.get(index);
+                    elements.lazySet(index, null);
+                    // Hands the slot over to producers on their next lap
+                    sequences.set(index, pos + capacity);
+                    return ret;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // The slot has not been filled yet
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Return an estimate of the number of elements in the queue. The estimate is exact if there are no concurrent
+     * operations on the queue.
+     *
+     * @return Number of elements
+     */
+    int size() {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -12,7 +12,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import com.google.common.util.concurrent.ForwardingListenableFuture;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -36,14 +39,14 @@ import javax.annotation.Nullable;
  * the client code which is blocked waiting for the submitted task to complete. Thus, deadlock has
  * occurred.
  * <p>
- * This class prevents this scenario via the use of a ThreadLocal variable. When a task is invoked,
- * the ThreadLocal is set and, when a task completes, the ThreadLocal is cleared. Futures returned
- * from this class override the <code>get</code> methods to check if the ThreadLocal is set. If it is,
- * an ExecutionException is thrown with a custom cause.
- *
- * Note that the ThreadLocal is not removed automatically, so some state may be left hanging off of
- * threads which have encountered this class. If you need to clean that state up, use
- * {@link #cleanStateForCurrentThread()}.
+ * This class prevents this scenario by tracking the threads which are executing its tasks. When a
+ * task is invoked, the executing thread is recorded and, when a task completes, it is removed.
+ * Futures returned from this class override the <code>get</code> methods to check if the calling
+ * thread is recorded. If it is, an ExecutionException is thrown with a custom cause.
+ * <p>
+ * No state is attached to the threads themselves, hence this class works equally well with pooled
+ * threads and with executors which start a new, possibly virtual, thread for each task, such as
+ * those created by {@link SpecialExecutors#newBoundedThreadPerTaskExecutor}.
  *
  * @author Thomas Pantelis
  * @author Robert Varga
@@ -54,7 +57,8 @@ public class DeadlockDetectingListeningExecutorService extends AsyncNotifyingLis
      * tasks may be submitted to underlay and some to overlay service -- and the two cases need to
      * be discerned reliably.
      */
-    private final SettableBooleanThreadLocal deadlockDetector = new SettableBooleanThreadLocal();
+    private final Set<Thread> executingThreads =
+            Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
     private final Supplier<Exception> deadlockExceptionFunction;
 
     /**
@@ -106,29 +110,31 @@ public class DeadlockDetectingListeningExecutorService extends AsyncNotifyingLis
     }
 
     /**
-     * Remove the state this instance may have attached to the calling thread. If no state
-     * was attached this method does nothing.
+     * Remove the state this instance may have attached to the calling thread. This instance no
+     * longer attaches any state to threads, hence this method does nothing.
+     *
+     * @deprecated No state is attached to threads, there is nothing to clean up.
      */
+    @Deprecated
     public void cleanStateForCurrentThread() {
-        deadlockDetector.remove();
+        // No-op
     }
 
-    private SettableBoolean primeDetector() {
-        final SettableBoolean b = deadlockDetector.get();
-        Preconditions.checkState(!b.isSet(), "Detector for {} has already been primed", this);
-        b.set();
-        return b;
+    private Thread primeDetector() {
+        final Thread thread = Thread.currentThread();
+        Preconditions.checkState(executingThreads.add(thread), "Detector for %s has already been primed", this);
+        return thread;
     }
 
     private Runnable wrapRunnable(final Runnable task) {
         return new Runnable() {
             @Override
             public void run() {
-                final SettableBoolean b = primeDetector();
+                final Thread thread = primeDetector();
                 try {
                     task.run();
                 } finally {
-                    b.reset();
+                    executingThreads.remove(thread);
                 }
             }
         };
@@ -138,11 +144,11 @@ public class DeadlockDetectingListeningExecutorService extends AsyncNotifyingLis
         return new Callable<T>() {
             @Override
             public T call() throws Exception {
-                final SettableBoolean b = primeDetector();
+                final Thread thread = primeDetector();
                 try {
                     return delagate.call();
                 } finally {
-                    b.reset();
+                    executingThreads.remove(thread);
                 }
             }
         };
@@ -151,7 +157,7 @@ public class DeadlockDetectingListeningExecutorService extends AsyncNotifyingLis
     private <T> ListenableFuture<T> wrapListenableFuture(final ListenableFuture<T> delegate) {
         /*
          * This creates a forwarding Future that overrides calls to get(...) to check, via the
-         * ThreadLocal, if the caller is doing a blocking call on a thread from this executor. If
+         * set of executing threads, if the caller is doing a blocking call on a thread from this executor. If
          * so, we detect this as a deadlock and throw an ExecutionException even though it may not
          * be a deadlock if there are more than 1 thread in the pool. Either way, there's bad
          * practice somewhere, either on the client side for doing a blocking call or in the
@@ -172,7 +178,7 @@ public class DeadlockDetectingListeningExecutorService extends AsyncNotifyingLis
             }
 
             void checkDeadLockDetectorTL() throws ExecutionException {
-                if (deadlockDetector.get().isSet()) {
+                if (executingThreads.contains(Thread.currentThread())) {
                     throw new ExecutionException("A potential deadlock was detected.",
                             deadlockExceptionFunction.get());
                 }
@@ -21,11 +21,34 @@ public class ListenerNotificationQueueStats {
 
     private final String listenerClassName;
     private final int currentQueueSize;
+    private final int maxQueueSize;
+    private final long totalNotifications;
+    private final double notificationRate;
+    private final long averageInvocationTime;
+    private final long longestInvocationTime;
+    private final long averageQueueTime;
+    private final long longestQueueTime;
 
     @ConstructorProperties({ "listenerClassName","currentQueueSize" })
     public ListenerNotificationQueueStats( final String listenerClassName, final int currentQueueSize ) {
+        this( listenerClassName, currentQueueSize, 0, 0, 0, 0, 0, 0, 0 );
+    }
+
+    @ConstructorProperties({ "listenerClassName","currentQueueSize","maxQueueSize","totalNotifications",
+        "notificationRate","averageInvocationTime","longestInvocationTime","averageQueueTime","longestQueueTime" })
+    public ListenerNotificationQueueStats( final String listenerClassName, final int currentQueueSize,
+            final int maxQueueSize, final long totalNotifications, final double notificationRate,
+            final long averageInvocationTime, final long longestInvocationTime, final long averageQueueTime,
+            final long longestQueueTime ) {
         this.listenerClassName = listenerClassName;
         this.currentQueueSize = currentQueueSize;
+        this.maxQueueSize = maxQueueSize;
+        this.totalNotifications = totalNotifications;
+        this.notificationRate = notificationRate;
+        this.averageInvocationTime = averageInvocationTime;
+        this.longestInvocationTime = longestInvocationTime;
+        this.averageQueueTime = averageQueueTime;
+        this.longestQueueTime = longestQueueTime;
     }
 
     /**
@@ -41,4 +64,54 @@ public class ListenerNotificationQueueStats {
     public int getCurrentQueueSize() {
         return currentQueueSize;
     }
+
+    /**
+     * Returns the maximum notification queue size observed. This and the other metrics are only
+     * available when metrics are enabled on the manager, otherwise they are reported as zero.
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Returns the total number of notifications delivered to the listener.
+     */
+    public long getTotalNotifications() {
+        return totalNotifications;
+    }
+
+    /**
+     * Returns the average number of notifications delivered to the listener per second.
+     */
+    public double getNotificationRate() {
+        return notificationRate;
+    }
+
+    /**
+     * Returns the average time, in nanoseconds, the listener took to process a notification.
+     */
+    public long getAverageInvocationTime() {
+        return averageInvocationTime;
+    }
+
+    /**
+     * Returns the longest time, in nanoseconds, the listener took to process a notification.
+     */
+    public long getLongestInvocationTime() {
+        return longestInvocationTime;
+    }
+
+    /**
+     * Returns the average time, in nanoseconds, a notification spent in the queue.
+     */
+    public long getAverageQueueTime() {
+        return averageQueueTime;
+    }
+
+    /**
+     * Returns the longest time, in nanoseconds, a notification spent in the queue.
+     */
+    public long getLongestQueueTime() {
+        return longestQueueTime;
+    }
 }
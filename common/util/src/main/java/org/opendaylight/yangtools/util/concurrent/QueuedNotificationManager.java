@@ -11,22 +11,29 @@ package org.opendaylight.yangtools.util.concurrent;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.concurrent.GuardedBy;
 
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * This class manages queuing and dispatching notifications for multiple listeners concurrently.
@@ -39,13 +46,29 @@ import com.google.common.base.Preconditions;
  * listener. Any subsequent notifications that occur before all previous notifications have been
  * dispatched are appended to the existing queue. When all notifications have been dispatched, the
  * queue and task are discarded.
+ * <p>
+ * Per-listener metrics, such as invocation latency, time spent in the queue, maximum queue depth and
+ * notification rate, can be enabled via {@link #setMetricsEnabled(boolean)}. They are exposed through
+ * {@link #getListenerNotificationMetrics()} and, since this class implements
+ * {@link QueuedNotificationManagerMXBean}, through JMX. When disabled, they incur no overhead beyond a
+ * single field check when a listener's notification task is created.
+ * <p>
+ * By default a listener's task runs until its queue is drained, hence a listener which keeps receiving
+ * notifications can occupy an executor thread indefinitely. If a maximum number of notifications per run
+ * is specified, a task yields after dispatching that many notifications and re-submits itself, so other
+ * listeners' tasks get their turn. Since a listener has at most one task, notifications are still delivered
+ * in order. If the executor is a {@link ForkJoinPool} and the task runs on one of its workers, it is re-submitted
+ * to that worker's local queue, so that the listener tends to stay on the same worker, while idle workers can
+ * still steal it. Such pools should be created in asynchronous (FIFO) mode, so that tasks in a worker's local
+ * queue take turns.
  *
  * @author Thomas Pantelis
  *
  * @param <L> the listener type
  * @param <N> the notification type
  */
-public class QueuedNotificationManager<L,N> implements NotificationManager<L,N> {
+public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>,
+        QueuedNotificationManagerMXBean {
 
     /**
      * Interface implemented by clients that does the work of invoking listeners with notifications.
@@ -80,8 +103,14 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
     private final ConcurrentMap<ListenerKey<L>,NotificationTask>
                                                           listenerCache = new ConcurrentHashMap<>();
 
+    // Keyed by listener identity, so metrics do not prevent listeners from being garbage-collected
+    private final Cache<L,ListenerMetrics> listenerMetrics = CacheBuilder.newBuilder().weakKeys().build();
+
     private final String name;
     private final int maxQueueCapacity;
+    private final int maxNotificationsPerRun;
+
+    private volatile boolean metricsEnabled = false;
 
     /**
      * Constructor.
@@ -93,10 +122,27 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
      */
     public QueuedNotificationManager( Executor executor, Invoker<L,N> listenerInvoker,
             int maxQueueCapacity, String name ) {
+        this( executor, listenerInvoker, maxQueueCapacity, Integer.MAX_VALUE, name );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link Invoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param maxNotificationsPerRun the maximum number of notifications a listener's task dispatches
+     *            before it yields its executor thread to other tasks
+     * @param name the name of this instance for logging info
+     */
+    public QueuedNotificationManager( Executor executor, Invoker<L,N> listenerInvoker,
+            int maxQueueCapacity, int maxNotificationsPerRun, String name ) {
         this.executor = Preconditions.checkNotNull( executor );
         this.listenerInvoker = Preconditions.checkNotNull( listenerInvoker );
         Preconditions.checkArgument( maxQueueCapacity > 0, "maxQueueCapacity must be > 0 " );
+        Preconditions.checkArgument( maxNotificationsPerRun > 0, "maxNotificationsPerRun must be > 0 " );
         this.maxQueueCapacity = maxQueueCapacity;
+        this.maxNotificationsPerRun = maxNotificationsPerRun;
         this.name = Preconditions.checkNotNull( name );
     }
 
@@ -194,23 +240,69 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
      * Returns {@link ListenerNotificationQueueStats} instances for each current listener
      * notification task in progress.
      */
+    @Override
     public List<ListenerNotificationQueueStats> getListenerNotificationQueueStats() {
         List<ListenerNotificationQueueStats> statsList = new ArrayList<>( listenerCache.size() );
         for (NotificationTask task: listenerCache.values()) {
-            statsList.add( new ListenerNotificationQueueStats(
-                    task.listenerKey.toString(), task.notificationQueue.size() ) );
+            int queueSize = task.notificationQueue.size();
+            if (task.metrics != null) {
+                statsList.add( task.metrics.toStats( task.listenerKey.toString(), queueSize ) );
+            } else {
+                statsList.add( new ListenerNotificationQueueStats( task.listenerKey.toString(), queueSize ) );
+            }
         }
 
         return statsList ;
     }
 
+    @Override
+    public List<ListenerNotificationQueueStats> getListenerNotificationMetrics() {
+        Map<L,ListenerMetrics> metrics = listenerMetrics.asMap();
+        List<ListenerNotificationQueueStats> statsList = new ArrayList<>( metrics.size() );
+        for (Map.Entry<L,ListenerMetrics> e: metrics.entrySet()) {
+            NotificationTask task = listenerCache.get( new ListenerKey<>( e.getKey() ) );
+            int queueSize = task != null ? task.notificationQueue.size() : 0;
+            statsList.add( e.getValue().toStats( e.getKey().toString(), queueSize ) );
+        }
+
+        return statsList;
+    }
+
+    @Override
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    @Override
+    public void setMetricsEnabled( boolean enabled ) {
+        metricsEnabled = enabled;
+        if (!enabled) {
+            listenerMetrics.invalidateAll();
+        }
+    }
+
+    @Override
+    public void resetMetrics() {
+        for (ListenerMetrics metrics: listenerMetrics.asMap().values()) {
+            metrics.reset();
+        }
+    }
+
     /**
      * Returns the maximum listener queue capacity.
      */
+    @Override
     public int getMaxQueueCapacity(){
         return maxQueueCapacity;
     }
 
+    /**
+     * Returns the maximum number of notifications a listener's task dispatches before it yields.
+     */
+    public int getMaxNotificationsPerRun(){
+        return maxNotificationsPerRun;
+    }
+
     /**
      * Returns the {@link Executor} to used for notification tasks.
      */
@@ -225,11 +317,11 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
      * equals implementation that just blindly casts the other Object to compare instead of checking
      * for instanceof.
      */
-    private static class ListenerKey<L> {
+    static final class ListenerKey<L> {
 
         private final L listener;
 
-        public ListenerKey( L listener ) {
+        ListenerKey( L listener ) {
             this.listener = listener;
         }
 
@@ -261,13 +353,76 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
         }
     }
 
+    private ListenerMetrics metricsFor( L listener ) {
+        ListenerMetrics metrics = listenerMetrics.getIfPresent( listener );
+        if (metrics == null) {
+            ListenerMetrics newMetrics = new ListenerMetrics();
+            metrics = listenerMetrics.asMap().putIfAbsent( listener, newMetrics );
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Metrics collected for a single listener. They outlive the listener's notification tasks.
+     */
+    private static final class ListenerMetrics {
+        final DurationStatisticsTracker invocationTime = DurationStatisticsTracker.createConcurrent();
+        final DurationStatisticsTracker queueTime = DurationStatisticsTracker.createConcurrent();
+        final AtomicInteger maxQueueSize = new AtomicInteger();
+        volatile long startNanos = System.nanoTime();
+
+        void updateQueueSize( int queueSize ) {
+            int current = maxQueueSize.get();
+            while (queueSize > current && !maxQueueSize.compareAndSet( current, queueSize )) {
+                current = maxQueueSize.get();
+            }
+        }
+
+        void reset() {
+            invocationTime.reset();
+            queueTime.reset();
+            maxQueueSize.set( 0 );
+            startNanos = System.nanoTime();
+        }
+
+        ListenerNotificationQueueStats toStats( String listenerName, int currentQueueSize ) {
+            long total = invocationTime.getTotalDurations();
+            long elapsed = System.nanoTime() - startNanos;
+            double rate = elapsed > 0 ? total * (double) TimeUnit.SECONDS.toNanos( 1 ) / elapsed : 0;
+
+            return new ListenerNotificationQueueStats( listenerName, currentQueueSize, maxQueueSize.get(),
+                    total, rate, (long) invocationTime.getAverageDuration(), invocationTime.getLongestDuration(),
+                    (long) queueTime.getAverageDuration(), queueTime.getLongestDuration() );
+        }
+    }
+
+    /**
+     * A notification along with the time it was queued, used in place of the bare notification when
+     * metrics are enabled.
+     */
+    private static final class TimedNotification {
+        final Object notification;
+        final long queuedNanos;
+
+        TimedNotification( Object notification ) {
+            this.notification = notification;
+            this.queuedNanos = System.nanoTime();
+        }
+    }
+
     /**
      * Executor task for a single listener that queues notifications and sends them serially to the
      * listener.
      */
     private class NotificationTask implements Runnable {
 
-        private final BlockingQueue<N> notificationQueue;
+        // Holds either notifications or, if metrics is non-null, TimedNotifications
+        private final BlockingQueue<Object> notificationQueue;
+
+        private final ListenerMetrics metrics;
 
         private volatile boolean done = false;
 
@@ -282,12 +437,20 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
 
             this.listenerKey = listenerKey;
             this.notificationQueue = new LinkedBlockingQueue<>( maxQueueCapacity );
+            this.metrics = metricsEnabled ? metricsFor( listenerKey.getListener() ) : null;
 
             for (N notification: notifications) {
-                this.notificationQueue.add( notification );
+                this.notificationQueue.add( queued( notification ) );
+            }
+            if (metrics != null) {
+                metrics.updateQueueSize( notificationQueue.size() );
             }
         }
 
+        private Object queued( N notification ) {
+            return metrics == null ? notification : new TimedNotification( notification );
+        }
+
         boolean submitNotifications( Iterable<N> notifications ) throws InterruptedException {
 
             queuingLock.lock();
@@ -313,7 +476,10 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
                         }
 
                         if (notificationOfferAttemptSuccess = notificationQueue.offer(
-                                notification, 1, TimeUnit.MINUTES)) {
+                                queued( notification ), 1, TimeUnit.MINUTES)) {
+                            if (metrics != null) {
+                                metrics.updateQueueSize( notificationQueue.size() );
+                            }
                             break;
                         }
 
@@ -350,15 +516,29 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
         @Override
         public void run() {
 
+            boolean yielded = false;
+            int dispatched = 0;
             try {
                 // Loop until we've dispatched all the notifications in the queue.
 
                 while (true) {
 
+                    // If we've used up our share and there's more to do, give other tasks a
+                    // chance. The resubmitted task may start running immediately, so we must not
+                    // touch any state once it's been handed off.
+
+                    if (dispatched >= maxNotificationsPerRun && !notificationQueue.isEmpty()) {
+                        yielded = resubmit();
+                        if (yielded) {
+                            return;
+                        }
+                        dispatched = 0;
+                    }
+
                     // Get the notification at the head of the queue, waiting a little bit for one
                     // to get offered.
 
-                    N notification = notificationQueue.poll( 10, TimeUnit.MILLISECONDS );
+                    Object notification = notificationQueue.poll( 10, TimeUnit.MILLISECONDS );
                     if (notification == null) {
 
                         // The queue is empty - try to get the queuingLock. If we can't get the lock
@@ -390,7 +570,10 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
                         }
                     }
 
-                    notifyListener( notification );
+                    if (notification != null) {
+                        dispatch( notification );
+                        dispatched++;
+                    }
                 }
             } catch( InterruptedException e ) {
 
@@ -400,18 +583,61 @@ public class QueuedNotificationManager<L,N> implements NotificationManager<L,N>
             } finally {
 
                 // We're exiting, gracefully or not - either way make sure we always remove
-                // ourselves from the cache.
+                // ourselves from the cache, unless we've handed over to our resubmitted self.
 
-                listenerCache.remove( listenerKey );
+                if (!yielded) {
+                    listenerCache.remove( listenerKey );
+                }
             }
         }
 
-        private void notifyListener( N notification ) {
+        private boolean resubmit() {
+
+            try {
+                if (ForkJoinTask.getPool() == executor) {
+
+                    // Forking pushes us onto the current worker's queue, which keeps the listener
+                    // on this worker unless an idle one steals us.
+
+                    ForkJoinTask.adapt( this ).fork();
+                } else {
+                    executor.execute( this );
+                }
+
+                return true;
+            } catch( RejectedExecutionException e ) {
+
+                // Carry on in this thread, as there's nobody else to dispatch our queue.
 
-            if (notification == null) {
+                LOG.debug( "{}: Failed to resubmit task for listener {}, continuing", name,
+                           listenerKey.toString(), e );
+                return false;
+            }
+        }
+
+        private void dispatch( Object queued ) {
+
+            if (metrics == null) {
+                @SuppressWarnings("unchecked")
+                final N notification = (N) queued;
+                notifyListener( notification );
                 return;
             }
 
+            final TimedNotification timed = (TimedNotification) queued;
+            final long startNanos = System.nanoTime();
+            metrics.queueTime.addDuration( startNanos - timed.queuedNanos );
+            try {
+                @SuppressWarnings("unchecked")
+                final N notification = (N) timed.notification;
+                notifyListener( notification );
+            } finally {
+                metrics.invocationTime.addDuration( System.nanoTime() - startNanos );
+            }
+        }
+
+        private void notifyListener( N notification ) {
+
             try {
 
                 if (LOG.isDebugEnabled()) {
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.util.concurrent;
+
+import java.util.List;
+
+/**
+ * MXBean interface exposing the listener queue statistics and metrics of a {@link QueuedNotificationManager}.
+ * An instance can be registered with an MBeanServer directly.
+ *
+ * @see QueuedNotificationManager
+ */
+public interface QueuedNotificationManagerMXBean {
+
+    /**
+     * Returns {@link ListenerNotificationQueueStats} instances for each current listener
+     * notification task in progress.
+     */
+    List<ListenerNotificationQueueStats> getListenerNotificationQueueStats();
+
+    /**
+     * Returns {@link ListenerNotificationQueueStats} instances, including metrics, for each listener
+     * which has been notified since metrics were enabled, regardless of whether it has a notification
+     * task in progress. Returns an empty list when metrics are disabled.
+     */
+    List<ListenerNotificationQueueStats> getListenerNotificationMetrics();
+
+    /**
+     * Returns whether per-listener metrics are being collected.
+     */
+    boolean isMetricsEnabled();
+
+    /**
+     * Enables or disables collection of per-listener metrics. This affects listeners as they get new
+     * notification tasks, i.e. when they are notified after draining their queue.
+     */
+    void setMetricsEnabled(boolean enabled);
+
+    /**
+     * Resets all per-listener metrics.
+     */
+    void resetMetrics();
+
+    /**
+     * Returns the maximum listener queue capacity.
+     */
+    int getMaxQueueCapacity();
+}
@@ -150,4 +150,59 @@ public final class SpecialExecutors {
         return new FastThreadPoolExecutor( 1, maximumQueueSize, Long.MAX_VALUE, TimeUnit.SECONDS,
                 threadPrefix );
     }
+
+    /**
+     * Creates an ExecutorService which starts a new thread for each task. On JVMs which support virtual
+     * threads, tasks run on virtual threads, so that a large number of tasks can block concurrently at low
+     * cost. On other JVMs, platform daemon threads are used and the concurrency limit should be chosen
+     * accordingly.
+     * <p>
+     * At most maximumConcurrency tasks execute at any given time. Up to maximumQueueSize additional tasks
+     * are accepted and wait for a running task to complete. If this capacity is reached, subsequent tasks
+     * will be rejected.
+     * <p>
+     * Since threads are not pooled, state attached to threads, for example via ThreadLocals, does not
+     * carry over from one task to another.
+     *
+     * @param maximumConcurrency
+     *            the maximum number of tasks executing concurrently.
+     * @param maximumQueueSize
+     *            the maximum number of accepted tasks waiting to execute.
+     * @param threadPrefix
+     *            the name prefix for threads created by this executor.
+     * @return a new ExecutorService with the specified configuration.
+     */
+    public static ExecutorService newBoundedThreadPerTaskExecutor( int maximumConcurrency,
+            int maximumQueueSize, String threadPrefix ) {
+        return new ThreadPerTaskExecutor( maximumConcurrency, maximumQueueSize, threadPrefix, false );
+    }
+
+    /**
+     * Creates an ExecutorService similar to {@link #newBoundedThreadPerTaskExecutor } except that
+     * when its capacity is reached, the caller submitting a task is blocked until a previously
+     * accepted task completes. In this manner, tasks are never rejected unless the executor has
+     * been shut down or the caller is interrupted while waiting.
+     *
+     * @param maximumConcurrency
+     *            the maximum number of tasks executing concurrently.
+     * @param maximumQueueSize
+     *            the maximum number of accepted tasks waiting to execute.
+     * @param threadPrefix
+     *            the name prefix for threads created by this executor.
+     * @return a new ExecutorService with the specified configuration.
+     */
+    public static ExecutorService newBlockingBoundedThreadPerTaskExecutor( int maximumConcurrency,
+            int maximumQueueSize, String threadPrefix ) {
+        return new ThreadPerTaskExecutor( maximumConcurrency, maximumQueueSize, threadPrefix, true );
+    }
+
+    /**
+     * Checks whether executors created by {@link #newBoundedThreadPerTaskExecutor } and
+     * {@link #newBlockingBoundedThreadPerTaskExecutor } use virtual threads.
+     *
+     * @return true if the JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return ThreadPerTaskExecutor.isVirtualThreadSupported();
+    }
 }
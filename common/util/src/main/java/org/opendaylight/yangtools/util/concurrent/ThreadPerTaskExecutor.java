@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An ExecutorService which starts a new thread for each task. Threads are virtual when the JVM supports them
+ * and platform daemon threads otherwise.
+ *
+ * <p>
+ * Concurrency is bounded by two semaphores: one limits the number of tasks which are executing, the other limits
+ * the number of tasks which have been accepted, i.e. executing or queued. When the latter runs out, tasks are either
+ * rejected or the submitting thread is blocked until a task completes. A thread is started only once a task is
+ * allowed to execute, hence queued tasks do not hold on to a thread and the number of threads never exceeds the
+ * maximum concurrency.
+ *
+ * <p>
+ * See {@link SpecialExecutors#newBoundedThreadPerTaskExecutor} for more details.
+ */
+final class ThreadPerTaskExecutor extends AbstractExecutorService {
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadPerTaskExecutor.class);
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            LOG.debug("Virtual threads are not available, platform threads will be used", e);
+            ofVirtual = null;
+            name = null;
+            factory = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+    }
+
+    private final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+    private final Object terminationLock = new Object();
+    private final ThreadFactory threadFactory;
+    private final Semaphore executing;
+    private final Semaphore accepted;
+    private final int maximumConcurrency;
+    private final int maximumQueueSize;
+    private final String threadPrefix;
+    private final boolean blocking;
+
+    private volatile boolean shutdown;
+
+    ThreadPerTaskExecutor(final int maximumConcurrency, final int maximumQueueSize, final String threadPrefix,
+            final boolean blocking) {
+        this(maximumConcurrency, maximumQueueSize, threadPrefix, blocking, createThreadFactory(threadPrefix));
+    }
+
+    ThreadPerTaskExecutor(final int maximumConcurrency, final int maximumQueueSize, final String threadPrefix,
+            final boolean blocking, final ThreadFactory threadFactory) {
+        Preconditions.checkArgument(maximumConcurrency > 0, "Maximum concurrency must be positive");
+        Preconditions.checkArgument(maximumQueueSize >= 0, "Maximum queue size must not be negative");
+        Preconditions.checkArgument(maximumQueueSize <= Integer.MAX_VALUE - maximumConcurrency,
+            "Maximum concurrency and queue size are too large");
+
+        this.maximumConcurrency = maximumConcurrency;
+        this.maximumQueueSize = maximumQueueSize;
+        this.threadPrefix = Preconditions.checkNotNull(threadPrefix);
+        this.blocking = blocking;
+        this.executing = new Semaphore(maximumConcurrency);
+        this.accepted = new Semaphore(maximumConcurrency + maximumQueueSize);
+        this.threadFactory = Preconditions.checkNotNull(threadFactory);
+    }
+
+    /**
+     * Check whether tasks run on virtual threads.
+     *
+     * @return True if virtual threads are supported by the JVM
+     */
+    static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    private static ThreadFactory createThreadFactory(final String threadPrefix) {
+        if (OF_VIRTUAL != null) {
+            try {
+                final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), threadPrefix + '-', 0L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.warn("Failed to create a virtual thread factory, falling back to platform threads", e);
+            }
+        }
+
+        return new ThreadFactoryBuilder().setDaemon(true).setNameFormat(threadPrefix + "-%d").build();
+    }
+
+    int getMaximumConcurrency() {
+        return maximumConcurrency;
+    }
+
+    int getMaximumQueueSize() {
+        return maximumQueueSize;
+    }
+
+    int getActiveCount() {
+        return maximumConcurrency - executing.availablePermits();
+    }
+
+    int getThreadCount() {
+        return threads.size();
+    }
+
+    private int getAcceptedCount() {
+        return maximumConcurrency + maximumQueueSize - accepted.availablePermits();
+    }
+
+    long getRejectedTaskCount() {
+        return rejectedTaskCount.get();
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Preconditions.checkNotNull(command);
+        if (shutdown) {
+            reject(command, "Executor has been shut down");
+        }
+
+        if (blocking) {
+            try {
+                accepted.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(command, "Interrupted while waiting for capacity");
+            }
+        } else if (!accepted.tryAcquire()) {
+            reject(command, "Task limit reached");
+        }
+
+        // Re-check, so that a concurrent shutdown either sees the task as accepted or we back out
+        if (shutdown) {
+            taskFinished();
+            reject(command, "Executor has been shut down");
+        }
+
+        queue.add(command);
+        dispatch();
+    }
+
+    /**
+     * Start threads for queued tasks, as long as there are permits to execute them. This is invoked both when a task
+     * is queued and when a task completes, so a queued task is always picked up by one of them. The task dispatched
+     * may be a different one than the task being queued or completed, hence a failure to start a thread is not
+     * propagated to the caller, but fails the task for which the thread was being started.
+     */
+    private void dispatch() {
+        while (!queue.isEmpty() && executing.tryAcquire()) {
+            final Runnable command = queue.poll();
+            if (command == null) {
+                // Raced with another dispatcher
+                executing.release();
+                continue;
+            }
+
+            Thread thread = null;
+            try {
+                thread = threadFactory.newThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        runTask(command);
+                    }
+                });
+                // Registered before starting, so shutdownNow() accounts for it
+                threads.add(thread);
+                thread.start();
+            } catch (RuntimeException | Error e) {
+                LOG.error("Failed to start a thread for task {}, task will not be executed", command, e);
+                if (thread != null) {
+                    threads.remove(thread);
+                }
+                executing.release();
+                taskFailed(command);
+            }
+        }
+    }
+
+    private void reject(final Runnable command, final String reason) {
+        rejectedTaskCount.incrementAndGet();
+        throw new RejectedExecutionException(String.format("Task %s rejected by %s: %s", command, threadPrefix,
+            reason));
+    }
+
+    private void runTask(final Runnable command) {
+        try {
+            command.run();
+        } finally {
+            threads.remove(Thread.currentThread());
+            executing.release();
+            taskFinished();
+            dispatch();
+        }
+    }
+
+    private void taskFailed(final Runnable command) {
+        rejectedTaskCount.incrementAndGet();
+        if (command instanceof Future) {
+            // Do not leave submitters waiting for a task which is never going to run
+            ((Future<?>) command).cancel(false);
+        }
+        taskFinished();
+    }
+
+    private void taskFinished() {
+        accepted.release();
+        if (isTerminated()) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (isTerminated()) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+
+        final List<Runnable> ret = new ArrayList<>();
+        for (Runnable command = queue.poll(); command != null; command = queue.poll()) {
+            ret.add(command);
+            taskFinished();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+
+        return ret;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && getAcceptedCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("Thread Prefix", threadPrefix)
+                .add("Virtual Threads", isVirtualThreadSupported())
+                .add("Maximum Concurrency", maximumConcurrency)
+                .add("Maximum Queue Size", maximumQueueSize)
+                .add("Active Tasks", getActiveCount())
+                .add("Accepted Tasks", getAcceptedCount())
+                .add("Queued Tasks", queue.size())
+                .add("Rejected Tasks", getRejectedTaskCount())
+                .add("Shutdown", shutdown).toString();
+    }
+}
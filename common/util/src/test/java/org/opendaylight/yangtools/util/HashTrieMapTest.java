@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.Test;
+
+public class HashTrieMapTest {
+    /**
+     * Key with a controlled hash code, used to force collisions.
+     */
+    private static final class Key {
+        private final int hash;
+        private final String name;
+
+        Key(final int hash, final String name) {
+            this.hash = hash;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && hash == ((Key) obj).hash && name.equals(((Key) obj).name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        final MutableHashTrieMap<Integer, String> map = new MutableHashTrieMap<>();
+        final Map<Integer, String> expected = new HashMap<>();
+        final Random random = new Random(1);
+
+        for (int i = 0; i < 10000; ++i) {
+            final Integer key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                final String value = String.valueOf(i);
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        for (Integer key : expected.keySet()) {
+            assertTrue(map.containsKey(key));
+        }
+        assertFalse(map.containsKey(2000));
+        assertNull(map.get(null));
+
+        for (Integer key : expected.keySet()) {
+            assertEquals(expected.get(key), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testCollisions() {
+        final MutableHashTrieMap<Key, String> map = new MutableHashTrieMap<>();
+        final Key a = new Key(42, "a");
+        final Key b = new Key(42, "b");
+        final Key c = new Key(42, "c");
+        final Key d = new Key(43, "d");
+
+        map.put(a, "a");
+        map.put(b, "b");
+        map.put(c, "c");
+        map.put(d, "d");
+        assertEquals(4, map.size());
+        assertEquals("b", map.get(b));
+        assertNull(map.get(new Key(42, "e")));
+
+        final ImmutableHashTrieMap<Key, String> frozen = map.toUnmodifiableMap();
+        assertEquals("b", map.put(b, "bb"));
+        assertEquals("a", map.remove(a));
+        assertNull(map.remove(a));
+        assertEquals(3, map.size());
+        assertEquals("bb", map.get(b));
+
+        assertEquals(4, frozen.size());
+        assertEquals("a", frozen.get(a));
+        assertEquals("b", frozen.get(b));
+
+        assertEquals("bb", map.remove(b));
+        assertEquals("c", map.remove(c));
+        assertEquals(1, map.size());
+        assertEquals("d", map.get(d));
+        assertEquals(4, frozen.size());
+    }
+
+    @Test
+    public void testPhaseIsolation() {
+        final MutableHashTrieMap<Integer, Integer> map = new MutableHashTrieMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            map.put(i, i);
+        }
+
+        final ImmutableHashTrieMap<Integer, Integer> first = map.toUnmodifiableMap();
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove(i);
+        }
+        map.put(1, -1);
+
+        final ImmutableHashTrieMap<Integer, Integer> second = map.toUnmodifiableMap();
+        final MutableHashTrieMap<Integer, Integer> copy = first.toModifiableMap();
+        copy.clear();
+        copy.put(5000, 5000);
+
+        assertEquals(1000, first.size());
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(Integer.valueOf(i), first.get(i));
+        }
+
+        assertEquals(500, second.size());
+        assertEquals(Integer.valueOf(-1), second.get(1));
+        assertNull(second.get(0));
+        assertEquals(Integer.valueOf(3), second.get(3));
+
+        assertEquals(1, copy.size());
+        assertEquals(second, map);
+    }
+
+    @Test
+    public void testIteration() {
+        final MutableHashTrieMap<Integer, Integer> map = new MutableHashTrieMap<>();
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, i);
+        }
+
+        final Iterator<Entry<Integer, Integer>> it = map.entrySet().iterator();
+        final Map<Integer, Integer> seen = new HashMap<>();
+        while (it.hasNext()) {
+            final Entry<Integer, Integer> e = it.next();
+            seen.put(e.getKey(), e.getValue());
+
+            // In-place updates must not be visible to the iterator
+            map.put(e.getKey() + 1000, e.getValue());
+        }
+
+        assertEquals(100, seen.size());
+        assertEquals(200, map.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        new MutableHashTrieMap<>().put("foo", null);
+    }
+
+    @Test
+    public void testMapAdaptor() {
+        final MapAdaptor adaptor = MapAdaptor.getInstance(true, 10, 5, true);
+
+        final Map<String, String> initial = adaptor.initialSnapshot(20);
+        assertTrue(initial instanceof MutableHashTrieMap);
+        for (int i = 0; i < 20; ++i) {
+            initial.put(String.valueOf(i), "");
+        }
+
+        final Map<String, String> optimized = adaptor.optimize(initial);
+        assertTrue(optimized instanceof ImmutableHashTrieMap);
+
+        final Map<String, String> snapshot = adaptor.takeSnapshot(optimized);
+        assertTrue(snapshot instanceof MutableHashTrieMap);
+        snapshot.remove("0");
+        assertEquals(20, optimized.size());
+        assertEquals(19, snapshot.size());
+
+        final Map<String, String> large = new HashMap<>(initial);
+        assertTrue(adaptor.optimize(large) instanceof ImmutableHashTrieMap);
+        assertSame(optimized, ImmutableHashTrieMap.copyOf(optimized));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.HistogramDurationStatisticsTracker.Snapshot;
+
+public class HistogramDurationStatisticsTrackerTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 100000; ++value) {
+            assertBucket(value);
+        }
+        for (long value = Long.MAX_VALUE; value > 0; value /= 3) {
+            assertBucket(value);
+        }
+    }
+
+    private static void assertBucket(final long value) {
+        final int index = HistogramDurationStatisticsTracker.bucketIndex(value);
+        final long upper = HistogramDurationStatisticsTracker.bucketUpperBound(index);
+        assertTrue("Value " + value + " above bound " + upper, value <= upper);
+        assertEquals(index, HistogramDurationStatisticsTracker.bucketIndex(upper));
+        if (upper != Long.MAX_VALUE) {
+            assertEquals(index + 1, HistogramDurationStatisticsTracker.bucketIndex(upper + 1));
+        }
+    }
+
+    @Test
+    public void testBasicStatistics() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        assertEquals(0, tracker.getTotalDurations());
+        assertEquals(0, tracker.getLongestDuration());
+        assertEquals(0, tracker.getDurationAtPercentile(50));
+
+        tracker.addDuration(10000);
+        tracker.addDuration(30000);
+        tracker.addDuration(5000);
+        assertEquals(3, tracker.getTotalDurations());
+        assertEquals(15000.0, tracker.getAverageDuration(), 0.1);
+        assertEquals(30000, tracker.getLongestDuration());
+        assertEquals(5000, tracker.getShortestDuration());
+        assertTrue(tracker.getTimeOfLongestDuration() > 0);
+        assertTrue(tracker.getDisplayableLongestDuration().startsWith("30.0"));
+
+        tracker.reset();
+        assertEquals(0, tracker.getTotalDurations());
+        assertEquals(0.0, tracker.getAverageDuration(), 0.1);
+        assertEquals(0, tracker.getLongestDuration());
+        assertEquals(0, tracker.getShortestDuration());
+    }
+
+    @Test
+    public void testPercentiles() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        for (long i = 1; i <= 100000; ++i) {
+            tracker.addDuration(i * 1000);
+        }
+
+        final Snapshot snapshot = tracker.snapshot();
+        assertEquals(100000, snapshot.getTotalDurations());
+        assertPercentile(50000000, snapshot.getDurationAtPercentile(50));
+        assertPercentile(99000000, snapshot.getDurationAtPercentile(99));
+        assertPercentile(99900000, snapshot.getDurationAtPercentile(99.9));
+        assertPercentile(1000, snapshot.getDurationAtPercentile(0));
+        assertEquals(100000000, snapshot.getDurationAtPercentile(100));
+    }
+
+    private static void assertPercentile(final long expected, final long actual) {
+        assertTrue("Expected " + expected + " actual " + actual, Math.abs(actual - expected) <= expected * 0.07);
+    }
+
+    @Test
+    public void testSnapshotAndReset() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        tracker.addDuration(100);
+        tracker.addDuration(200);
+
+        final Snapshot snapshot = tracker.snapshotAndReset();
+        assertEquals(2, snapshot.getTotalDurations());
+        assertEquals(150.0, snapshot.getAverageDuration(), 0.1);
+        assertEquals(200, snapshot.getLongestDuration());
+        assertEquals(100, snapshot.getShortestDuration());
+        assertEquals(0, tracker.getTotalDurations());
+
+        tracker.addDuration(50);
+        assertEquals(50, tracker.getLongestDuration());
+        assertEquals(2, snapshot.getTotalDurations());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final HistogramDurationStatisticsTracker tracker = new HistogramDurationStatisticsTracker(4);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            final int offset = i;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 100000; ++j) {
+                        tracker.addDuration(offset * 100000 + j);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800000, tracker.getTotalDurations());
+        assertEquals(799999, tracker.getLongestDuration());
+        assertEquals(0, tracker.getShortestDuration());
+        assertEquals(399999.5, tracker.getAverageDuration(), 0.1);
+    }
+
+    @Test
+    public void testConcurrentSnapshotAndReset() throws InterruptedException {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 200000; ++j) {
+                        tracker.addDuration(10);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        // Each snapshot has to be consistent and no duration may be lost or counted twice
+        long total = 0;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread thread : threads) {
+                running |= thread.isAlive();
+            }
+
+            final Snapshot snapshot = tracker.snapshotAndReset();
+            if (snapshot.getTotalDurations() != 0) {
+                assertEquals(10.0, snapshot.getAverageDuration(), 0.0);
+                assertEquals(10, snapshot.getLongestDuration());
+                assertEquals(10, snapshot.getShortestDuration());
+            }
+            total += snapshot.getTotalDurations();
+        }
+
+        assertEquals(800000, total);
+        assertEquals(0, tracker.getTotalDurations());
+    }
+}
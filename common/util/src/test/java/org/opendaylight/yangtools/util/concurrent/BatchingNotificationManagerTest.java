@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.concurrent.BatchingNotificationManager.BackpressurePolicy;
+import org.opendaylight.yangtools.util.concurrent.BatchingNotificationManager.BatchInvoker;
+import org.opendaylight.yangtools.util.concurrent.BatchingNotificationManager.Coalescer;
+
+public class BatchingNotificationManagerTest {
+    private static final class TestListener {
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile CountDownLatch expected;
+        volatile boolean fail;
+
+        TestListener(final int expectedCount) {
+            expected = new CountDownLatch(expectedCount);
+        }
+
+        void onNotifications(final List<Integer> notifications) {
+            entered.countDown();
+            Uninterruptibles.awaitUninterruptibly(gate);
+            batchSizes.add(notifications.size());
+            received.addAll(notifications);
+            for (int i = 0; i < notifications.size(); ++i) {
+                expected.countDown();
+            }
+            if (fail) {
+                fail = false;
+                throw new IllegalStateException("Mock failure");
+            }
+        }
+
+        void await() {
+            assertTrue("Timed out waiting for notifications, received " + received,
+                Uninterruptibles.awaitUninterruptibly(expected, 10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static final BatchInvoker<TestListener, Integer> INVOKER = new BatchInvoker<TestListener, Integer>() {
+        @Override
+        public void invokeListener(final TestListener listener, final List<Integer> notifications) {
+            listener.onNotifications(notifications);
+        }
+    };
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<Integer> range(final int from, final int to) {
+        final List<Integer> ret = new ArrayList<>(to - from);
+        for (int i = from; i < to; ++i) {
+            ret.add(i);
+        }
+        return ret;
+    }
+
+    /**
+     * Submit the first notification and wait until the listener is stuck processing it.
+     */
+    private static void blockListener(final BatchingNotificationManager<TestListener, Integer> manager,
+            final TestListener listener) {
+        listener.gate = new CountDownLatch(1);
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.awaitUninterruptibly(listener.entered);
+    }
+
+    @Test
+    public void testBatchedDelivery() {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 100, 10, BackpressurePolicy.BLOCK, "TestMgr");
+        final TestListener listener = new TestListener(51);
+
+        blockListener(manager, listener);
+        manager.submitNotifications(listener, range(1, 51));
+        assertEquals(50, manager.getListenerNotificationQueueStats().get(0).getCurrentQueueSize());
+        listener.gate.countDown();
+        listener.await();
+
+        assertEquals(range(0, 51), listener.received);
+        assertEquals(ImmutableList.of(1, 10, 10, 10, 10, 10), listener.batchSizes);
+    }
+
+    @Test
+    public void testBlock() throws InterruptedException {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 5, 2, BackpressurePolicy.BLOCK, "TestMgr");
+        final TestListener listener = new TestListener(21);
+
+        blockListener(manager, listener);
+        final Thread producer = new Thread() {
+            @Override
+            public void run() {
+                manager.submitNotifications(listener, range(1, 21));
+            }
+        };
+        producer.start();
+
+        // The producer has to wait for the listener
+        producer.join(100);
+        assertTrue(producer.isAlive());
+
+        listener.gate.countDown();
+        producer.join(10000);
+        assertFalse(producer.isAlive());
+        listener.await();
+        assertEquals(range(0, 21), listener.received);
+    }
+
+    @Test
+    public void testDropOldest() {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 5, 10, BackpressurePolicy.DROP_OLDEST, "TestMgr");
+        final TestListener listener = new TestListener(6);
+
+        blockListener(manager, listener);
+        manager.submitNotifications(listener, range(1, 21));
+        assertEquals(15, manager.getDroppedNotificationCount());
+
+        listener.gate.countDown();
+        listener.await();
+        assertEquals(ImmutableList.of(0, 16, 17, 18, 19, 20), listener.received);
+    }
+
+    @Test
+    public void testQueueReuse() {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 5, 10, BackpressurePolicy.DROP_OLDEST, "TestMgr");
+        final TestListener first = new TestListener(3);
+        manager.submitNotifications(first, range(0, 3));
+        first.await();
+        awaitRetired(manager);
+
+        // The second listener picks up the first listener's queue, which has been used partially
+        final TestListener second = new TestListener(6);
+        blockListener(manager, second);
+        manager.submitNotifications(second, range(1, 21));
+        assertEquals(15, manager.getDroppedNotificationCount());
+
+        second.gate.countDown();
+        second.await();
+        assertEquals(ImmutableList.of(0, 16, 17, 18, 19, 20), second.received);
+        assertEquals(range(0, 3), first.received);
+    }
+
+    @Test
+    public void testCoalesce() {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 3, 10, new Coalescer<Integer>() {
+                @Override
+                public Integer coalesce(final Integer older, final Integer newer) {
+                    return older + newer;
+                }
+            }, "TestMgr");
+        final TestListener listener = new TestListener(5);
+
+        blockListener(manager, listener);
+        manager.submitNotifications(listener, range(1, 11));
+
+        listener.gate.countDown();
+        listener.await();
+        // 1, 2 and 3 fit into the queue, the rest is merged, so the listener observes the same total
+        assertEquals(ImmutableList.of(0, 1, 2, 3, 4 + 5 + 6 + 7 + 8 + 9 + 10), listener.received);
+    }
+
+    @Test
+    public void testListenerFailure() {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 10, 1, BackpressurePolicy.BLOCK, "TestMgr");
+        final TestListener listener = new TestListener(3);
+        listener.fail = true;
+
+        manager.submitNotifications(listener, range(0, 3));
+        listener.await();
+        assertEquals(range(0, 3), listener.received);
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        final BatchingNotificationManager<TestListener, Integer> manager = new BatchingNotificationManager<>(
+            executor, INVOKER, 16, 8, BackpressurePolicy.BLOCK, "TestMgr");
+        final int count = 10000;
+        final List<TestListener> listeners = new ArrayList<>();
+        final List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            final TestListener listener = new TestListener(count);
+            listeners.add(listener);
+            producers.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < count; ++j) {
+                        manager.submitNotification(listener, j);
+                    }
+                }
+            });
+        }
+
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join(10000);
+        }
+        for (TestListener listener : listeners) {
+            listener.await();
+            assertEquals(range(0, count), listener.received);
+        }
+
+        // Tasks retire once their listeners have caught up
+        awaitRetired(manager);
+    }
+
+    private static void awaitRetired(final BatchingNotificationManager<TestListener, Integer> manager) {
+        for (int i = 0; i < 100 && !manager.getListenerNotificationQueueStats().isEmpty(); ++i) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(manager.getListenerNotificationQueueStats().isEmpty());
+    }
+}
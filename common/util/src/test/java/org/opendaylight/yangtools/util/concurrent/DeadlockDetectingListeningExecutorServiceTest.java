@@ -183,6 +183,20 @@ public class DeadlockDetectingListeningExecutorServiceTest {
         testBlockingSubmitOnExecutorThread( EXECUTE, SUBMIT_CALLABLE );
     }
 
+    @Test
+    public void testBlockingSubmitOnThreadPerTaskExecutor() throws Exception {
+
+        executor = new DeadlockDetectingListeningExecutorService(
+                SpecialExecutors.newBoundedThreadPerTaskExecutor( 1, 10, "TestPool" ),
+                DEADLOCK_EXECUTOR_SUPPLIER );
+
+        testBlockingSubmitOnExecutorThread( SUBMIT, SUBMIT_CALLABLE );
+        testBlockingSubmitOnExecutorThread( SUBMIT, SUBMIT_RUNNABLE );
+        testBlockingSubmitOnExecutorThread( SUBMIT, SUBMIT_RUNNABLE_WITH_RESULT );
+
+        testBlockingSubmitOnExecutorThread( EXECUTE, SUBMIT_CALLABLE );
+    }
+
     void testBlockingSubmitOnExecutorThread( final InitialInvoker initialInvoker,
             final Invoker invoker ) throws Exception {
 
@@ -10,17 +10,25 @@ package org.opendaylight.yangtools.util.concurrent;
 
 import static org.junit.Assert.fail;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
 import org.junit.After;
 import org.junit.Test;
 
@@ -297,4 +305,160 @@ public class QueuedNotificationManagerTest {
 
         listener.verifyNotifications();
     }
+
+    @Test(timeout=10000)
+    public void testTimeSlicing() {
+
+        queueExecutor = Executors.newSingleThreadExecutor();
+        NotificationManager<TestListener<Integer>, Integer> manager =
+                new QueuedNotificationManager<>( queueExecutor, new TestNotifier<>(),
+                100, 2, "TestMgr" );
+
+        final List<String> invocations = Collections.synchronizedList( Lists.<String>newArrayList() );
+        final CountDownLatch blockLatch = new CountDownLatch( 1 );
+        final CountDownLatch blockedLatch = new CountDownLatch( 1 );
+        TestListener<Integer> chatty = new TestListener<Integer>( 11, 1 ) {
+            @Override
+            void onNotification( Integer data ) {
+                blockedLatch.countDown();
+                Uninterruptibles.awaitUninterruptibly( blockLatch );
+                invocations.add( name );
+                super.onNotification( data );
+            }
+        };
+        TestListener<Integer> quiet = new TestListener<Integer>( 1, 2 ) {
+            @Override
+            void onNotification( Integer data ) {
+                invocations.add( name );
+                super.onNotification( data );
+            }
+        };
+
+        // Occupy the only thread with the chatty listener, then queue up behind it
+        manager.submitNotification( chatty, 0 );
+        Uninterruptibles.awaitUninterruptibly( blockedLatch );
+        List<Integer> expNotifications = Lists.newArrayList( 0 );
+        for (int i = 1; i <= 10; i++) {
+            expNotifications.add( i );
+        }
+        manager.submitNotifications( chatty, expNotifications.subList( 1, 11 ) );
+        manager.submitNotification( quiet, 1 );
+        blockLatch.countDown();
+
+        chatty.verifyNotifications( expNotifications );
+        quiet.verifyNotifications( Arrays.asList( 1 ) );
+
+        // The quiet listener got its turn after the chatty one used up its first share
+        assertEquals( 2, invocations.indexOf( quiet.name ) );
+    }
+
+    @Test
+    public void testTimeSlicingWithForkJoinPool() {
+
+        int nListeners = 20;
+        queueExecutor = new ForkJoinPool( 4, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true );
+        final NotificationManager<TestListener<Integer>, Integer> manager =
+                new QueuedNotificationManager<>( queueExecutor, new TestNotifier<>(),
+                1000, 16, "TestMgr" );
+
+        final int nNotifications = 10000;
+        final List<Integer> expNotifications = Lists.newArrayListWithCapacity( nNotifications );
+        for (int i = 1; i <= nNotifications; i++) {
+            expNotifications.add( i );
+        }
+
+        List<TestListener<Integer>> listeners = Lists.newArrayList();
+        List<Thread> producers = Lists.newArrayList();
+        for (int i = 1; i <= nListeners; i++) {
+            // Skew the load, so that some listeners are much busier than others
+            final int count = i % 5 == 0 ? nNotifications : nNotifications / 100;
+            final TestListener<Integer> listener = new TestListener<>( count, i );
+            listeners.add( listener );
+
+            producers.add( new Thread( new Runnable() {
+                @Override
+                public void run() {
+                    for (Integer n: expNotifications.subList( 0, count )) {
+                        manager.submitNotification( listener, n );
+                    }
+                }
+            } ) );
+        }
+
+        for (Thread producer: producers) {
+            producer.start();
+        }
+
+        for (TestListener<Integer> listener: listeners) {
+            listener.verifyNotifications( expNotifications.subList( 0, listener.expCount ) );
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testListenerMetrics() throws Exception {
+
+        queueExecutor = Executors.newFixedThreadPool( 2 );
+        QueuedNotificationManager<TestListener<Integer>, Integer> manager =
+                new QueuedNotificationManager<>( queueExecutor, new TestNotifier<>(),
+                10, "TestMgr" );
+        assertFalse( manager.isMetricsEnabled() );
+        assertTrue( manager.getListenerNotificationMetrics().isEmpty() );
+
+        manager.setMetricsEnabled( true );
+
+        TestListener<Integer> listener = new TestListener<>( 5, 1 );
+        listener.sleepTime = 10;
+        manager.submitNotifications( listener, Arrays.asList( 1, 2, 3, 4, 5 ) );
+        listener.verifyNotifications( Arrays.asList( 1, 2, 3, 4, 5 ) );
+
+        // The last invocation is accounted for after the listener returns
+        ListenerNotificationQueueStats stats = null;
+        while (stats == null || stats.getTotalNotifications() < 5) {
+            Uninterruptibles.sleepUninterruptibly( 10, TimeUnit.MILLISECONDS );
+            stats = manager.getListenerNotificationMetrics().get( 0 );
+        }
+
+        assertEquals( listener.toString(), stats.getListenerClassName() );
+        assertEquals( 5, stats.getMaxQueueSize() );
+        assertTrue( stats.getAverageInvocationTime() >= TimeUnit.MILLISECONDS.toNanos( 10 ) );
+        assertTrue( stats.getLongestInvocationTime() >= stats.getAverageInvocationTime() );
+        // The last notification waited for the first four to be processed
+        assertTrue( stats.getLongestQueueTime() >= TimeUnit.MILLISECONDS.toNanos( 40 ) );
+        assertTrue( stats.getNotificationRate() > 0 );
+
+        manager.resetMetrics();
+        assertEquals( 0, manager.getListenerNotificationMetrics().get( 0 ).getTotalNotifications() );
+
+        manager.setMetricsEnabled( false );
+        assertTrue( manager.getListenerNotificationMetrics().isEmpty() );
+    }
+
+    @Test
+    public void testMXBeanRegistration() throws Exception {
+
+        queueExecutor = Executors.newFixedThreadPool( 2 );
+        QueuedNotificationManager<TestListener<Integer>, Integer> manager =
+                new QueuedNotificationManager<>( queueExecutor, new TestNotifier<>(),
+                10, "TestMgr" );
+        manager.setMetricsEnabled( true );
+
+        TestListener<Integer> listener = new TestListener<>( 1, 1 );
+        manager.submitNotification( listener, 1 );
+        listener.verifyNotifications();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName( "org.opendaylight.yangtools.test:type=QueuedNotificationManager" );
+        server.registerMBean( manager, objectName );
+        try {
+            assertEquals( 10, server.getAttribute( objectName, "MaxQueueCapacity" ) );
+            assertEquals( Boolean.TRUE, server.getAttribute( objectName, "MetricsEnabled" ) );
+
+            CompositeData[] metrics = (CompositeData[]) server.getAttribute( objectName,
+                    "ListenerNotificationMetrics" );
+            assertEquals( 1, metrics.length );
+            assertEquals( listener.toString(), metrics[0].get( "listenerClassName" ) );
+        } finally {
+            server.unregisterMBean( objectName );
+        }
+    }
 }
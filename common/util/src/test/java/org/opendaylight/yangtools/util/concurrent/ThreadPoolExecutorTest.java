@@ -8,15 +8,21 @@
 package org.opendaylight.yangtools.util.concurrent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -96,6 +102,157 @@ public class ThreadPoolExecutorTest {
                 1000, null, 10 );
     }
 
+    @Test
+    public void testThreadPerTaskExecution() throws Exception {
+
+        final ThreadPerTaskExecutor threadPerTask = (ThreadPerTaskExecutor)
+                SpecialExecutors.newBoundedThreadPerTaskExecutor( 50, 100000, "TestPool" );
+
+        // Queued tasks must not hold on to threads
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicLong maxThreads = new AtomicLong();
+        final Thread sampler = new Thread() {
+            @Override
+            public void run() {
+                while (!done.get()) {
+                    maxThreads.set( Math.max( maxThreads.get(), threadPerTask.getThreadCount() ) );
+                    Thread.yield();
+                }
+            }
+        };
+        sampler.start();
+
+        try {
+            testThreadPoolExecution( threadPerTask, 10000, "TestPool", 10 );
+        } finally {
+            done.set( true );
+            sampler.join();
+        }
+
+        assertTrue( "Maximum of " + maxThreads.get() + " threads", maxThreads.get() <= 50 );
+        assertTrue( maxThreads.get() > 0 );
+    }
+
+    @Test(expected=RejectedExecutionException.class)
+    public void testThreadPerTaskRejectingTask() throws Exception {
+
+        executor = SpecialExecutors.newBoundedThreadPerTaskExecutor( 1, 1, "TestPool" );
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute( new Task( null, null, null, null,
+                    TimeUnit.MICROSECONDS.convert( 5, TimeUnit.SECONDS ) ) );
+        }
+    }
+
+    @Test
+    public void testBlockingThreadPerTaskExecution() throws Exception {
+
+        // With a queue capacity of 1, it should block at some point.
+        testThreadPoolExecution(
+                SpecialExecutors.newBlockingBoundedThreadPerTaskExecutor( 2, 1, "TestPool" ),
+                1000, null, 10 );
+    }
+
+    @Test
+    public void testThreadPerTaskConcurrencyLimit() throws Exception {
+
+        executor = SpecialExecutors.newBoundedThreadPerTaskExecutor( 2, 10, "TestPool" );
+
+        final AtomicLong running = new AtomicLong();
+        final AtomicLong maxRunning = new AtomicLong();
+        final CountDownLatch blockLatch = new CountDownLatch( 1 );
+        final CountDownLatch tasksRunLatch = new CountDownLatch( 12 );
+        for (int i = 0; i < 12; i++) {
+            executor.execute( new Runnable() {
+                @Override
+                public void run() {
+                    final long now = running.incrementAndGet();
+                    long max = maxRunning.get();
+                    while (now > max && !maxRunning.compareAndSet( max, now )) {
+                        max = maxRunning.get();
+                    }
+
+                    try {
+                        blockLatch.await();
+                    } catch( InterruptedException e ) {
+                    } finally {
+                        running.decrementAndGet();
+                        tasksRunLatch.countDown();
+                    }
+                }
+            } );
+        }
+
+        TimeUnit.MILLISECONDS.sleep( 100 );
+        assertEquals( 2, running.get() );
+        blockLatch.countDown();
+
+        assertEquals( true, tasksRunLatch.await( 5, TimeUnit.SECONDS ) );
+        assertEquals( 2, maxRunning.get() );
+
+        executor.shutdown();
+        assertEquals( true, executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    public void testThreadPerTaskThreadStartFailure() throws Exception {
+        // The second thread fails to start, which happens when the first task completes
+        final AtomicLong threadCount = new AtomicLong();
+        final ThreadFactory delegate = Executors.defaultThreadFactory();
+        final ThreadPerTaskExecutor threadPerTask = new ThreadPerTaskExecutor( 1, 10, "TestPool", false,
+            new ThreadFactory() {
+                @Override
+                public Thread newThread( final Runnable runnable ) {
+                    if (threadCount.incrementAndGet() == 2) {
+                        throw new IllegalStateException( "Mock failure" );
+                    }
+                    return delegate.newThread( runnable );
+                }
+            } );
+        executor = threadPerTask;
+
+        final CountDownLatch blockLatch = new CountDownLatch( 1 );
+        final Future<?> first = executor.submit( new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blockLatch.await();
+                } catch( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        } );
+        final Future<?> second = executor.submit( new Runnable() {
+            @Override
+            public void run() {
+                // Never executed
+            }
+        } );
+        blockLatch.countDown();
+
+        // The failure is neither reported by the first task nor does it affect tasks submitted later
+        first.get( 5, TimeUnit.SECONDS );
+        try {
+            second.get( 5, TimeUnit.SECONDS );
+            fail( "Task without a thread should have been cancelled" );
+        } catch (CancellationException e) {
+            // Expected
+        }
+        assertEquals( 1, threadPerTask.getRejectedTaskCount() );
+
+        final CountDownLatch thirdLatch = new CountDownLatch( 1 );
+        executor.execute( new Runnable() {
+            @Override
+            public void run() {
+                thirdLatch.countDown();
+            }
+        } );
+        assertTrue( thirdLatch.await( 5, TimeUnit.SECONDS ) );
+
+        executor.shutdown();
+        assertTrue( executor.awaitTermination( 5, TimeUnit.SECONDS ) );
+    }
+
     void testThreadPoolExecution( final ExecutorService executor,
             final int numTasksToRun, final String expThreadPrefix, final long taskDelay ) throws Exception {
 
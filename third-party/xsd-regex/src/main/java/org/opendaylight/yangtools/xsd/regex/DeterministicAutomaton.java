@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.xsd.regex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A deterministic finite automaton accepting the strings matched by an XML Schema regular expression. Unlike
+ * {@link RegularExpression}, which backtracks, an automaton takes a single pass over its input and performs a constant
+ * amount of work for each character, hence matching takes linear time regardless of the expression.
+ *
+ * <p>
+ * Characters are mapped to classes, each of which groups characters which are indistinguishable by the expression.
+ * Transitions are kept in a table indexed by state and class. Since the automaton is built up front, its size is
+ * bounded and expressions which would need too many states are rejected.
+ *
+ * <p>
+ * Instances are immutable and can be shared by multiple threads.
+ */
+public final class DeterministicAutomaton {
+    /**
+     * Default limit on the number of states of an automaton.
+     */
+    public static final int DEFAULT_MAX_STATES = 4096;
+
+    private static final int ASCII_LIMIT = 128;
+    private static final int DEAD = -1;
+    // Characters matched by '.', see RegularExpression.isEOLChar()
+    private static final int[] DOT_RANGES = { 0, 0x09, 0x0b, 0x0c, 0x0e, 0x2027, 0x202a, Token.UTF16_MAX };
+
+    private final int[] asciiClasses;
+    private final int[] intervalStarts;
+    private final int[] intervalClasses;
+    private final int classCount;
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    private DeterministicAutomaton(final int[] asciiClasses, final int[] intervalStarts, final int[] intervalClasses,
+            final int classCount, final int[] transitions, final boolean[] accepting) {
+        this.asciiClasses = asciiClasses;
+        this.intervalStarts = intervalStarts;
+        this.intervalClasses = intervalClasses;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.accepting = accepting;
+    }
+
+    /**
+     * Compile an XML Schema regular expression into an automaton with at most {@link #DEFAULT_MAX_STATES} states.
+     *
+     * @param regex Regular expression, matching the whole input
+     * @return An automaton
+     * @throws ParseException if the expression is not a valid XML Schema regular expression
+     * @throws IllegalArgumentException if the automaton would need too many states
+     */
+    public static DeterministicAutomaton compile(final String regex) throws ParseException {
+        return compile(regex, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Compile an XML Schema regular expression into an automaton.
+     *
+     * @param regex Regular expression, matching the whole input
+     * @param maxStates Maximum number of states of the automaton
+     * @return An automaton
+     * @throws ParseException if the expression is not a valid XML Schema regular expression
+     * @throws IllegalArgumentException if the automaton would need more than maxStates states
+     */
+    public static DeterministicAutomaton compile(final String regex, final int maxStates) throws ParseException {
+        final Token tree = new RegularExpression(regex, "X").tokentree;
+        return new Builder(maxStates).build(tree);
+    }
+
+    /**
+     * Check whether the automaton accepts a string.
+     *
+     * @param input String to match
+     * @return True if the whole string is matched by the expression.
+     */
+    public boolean matches(final CharSequence input) {
+        final int length = input.length();
+        int state = 0;
+        int offset = 0;
+        while (offset < length) {
+            final char ch = input.charAt(offset);
+            final int cls;
+            if (ch < ASCII_LIMIT) {
+                cls = asciiClasses[ch];
+                offset++;
+            } else {
+                final int codePoint = Character.codePointAt(input, offset);
+                cls = classOf(codePoint);
+                offset += Character.charCount(codePoint);
+            }
+
+            state = transitions[state * classCount + cls];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return accepting[state];
+    }
+
+    /**
+     * Return the number of states of this automaton.
+     *
+     * @return Number of states
+     */
+    public int getStateCount() {
+        return accepting.length;
+    }
+
+    private int classOf(final int codePoint) {
+        final int idx = Arrays.binarySearch(intervalStarts, codePoint);
+        return intervalClasses[idx >= 0 ? idx : -idx - 2];
+    }
+
+    /**
+     * Single-use builder. The expression is first translated into a nondeterministic automaton, whose states either
+     * consume a character from a set or have only epsilon transitions. Subset construction then yields the
+     * deterministic automaton.
+     */
+    private static final class Builder {
+        // Limit on the nondeterministic automaton, which grows with counted repetitions
+        private static final int MAX_NFA_STATES = 65536;
+
+        private final int maxStates;
+
+        // Nondeterministic automaton: per-state character set (as an atom index), target and epsilon transitions
+        private final List<int[]> epsilons = new ArrayList<>();
+        private final List<Integer> stateAtoms = new ArrayList<>();
+        private final List<Integer> stateTargets = new ArrayList<>();
+
+        // Character sets consumed by the automaton, as sorted and disjoint inclusive ranges
+        private final List<int[]> atoms = new ArrayList<>();
+        private final Map<Token, Integer> tokenAtoms = new IdentityHashMap<>();
+
+        Builder(final int maxStates) {
+            this.maxStates = maxStates;
+        }
+
+        DeterministicAutomaton build(final Token tree) {
+            final int acceptState = newState();
+            final int startState = compile(tree, acceptState);
+
+            // Partition characters into classes
+            final int[] boundaries = boundaries();
+            final BitSet[] signatures = new BitSet[boundaries.length];
+            for (int i = 0; i < signatures.length; ++i) {
+                signatures[i] = new BitSet();
+            }
+            for (int atom = 0; atom < atoms.size(); ++atom) {
+                final int[] ranges = atoms.get(atom);
+                for (int i = 0; i < ranges.length; i += 2) {
+                    for (int idx = Arrays.binarySearch(boundaries, ranges[i]);
+                            idx < boundaries.length && boundaries[idx] <= ranges[i + 1]; ++idx) {
+                        signatures[idx].set(atom);
+                    }
+                }
+            }
+
+            final Map<BitSet, Integer> classIds = new HashMap<>();
+            final int[] boundaryClasses = new int[boundaries.length];
+            for (int i = 0; i < boundaries.length; ++i) {
+                Integer cls = classIds.get(signatures[i]);
+                if (cls == null) {
+                    cls = classIds.size();
+                    classIds.put(signatures[i], cls);
+                }
+                boundaryClasses[i] = cls;
+            }
+            final int classCount = classIds.size();
+
+            final BitSet[] atomClasses = new BitSet[atoms.size()];
+            for (int i = 0; i < atomClasses.length; ++i) {
+                atomClasses[i] = new BitSet(classCount);
+            }
+            for (int i = 0; i < boundaries.length; ++i) {
+                final BitSet signature = signatures[i];
+                for (int atom = signature.nextSetBit(0); atom >= 0; atom = signature.nextSetBit(atom + 1)) {
+                    atomClasses[atom].set(boundaryClasses[i]);
+                }
+            }
+
+            // Subset construction
+            final Map<BitSet, Integer> stateIds = new HashMap<>();
+            final List<BitSet> states = new ArrayList<>();
+            final BitSet start = new BitSet();
+            start.set(startState);
+            closure(start);
+            stateIds.put(start, 0);
+            states.add(start);
+
+            int[] transitions = new int[classCount * 16];
+            final BitSet[] targets = new BitSet[classCount];
+            for (int dstate = 0; dstate < states.size(); ++dstate) {
+                final BitSet current = states.get(dstate);
+                for (int nstate = current.nextSetBit(0); nstate >= 0; nstate = current.nextSetBit(nstate + 1)) {
+                    final int atom = stateAtoms.get(nstate);
+                    if (atom != DEAD) {
+                        final BitSet classes = atomClasses[atom];
+                        for (int cls = classes.nextSetBit(0); cls >= 0; cls = classes.nextSetBit(cls + 1)) {
+                            if (targets[cls] == null) {
+                                targets[cls] = new BitSet();
+                            }
+                            targets[cls].set(stateTargets.get(nstate));
+                        }
+                    }
+                }
+
+                if ((dstate + 1) * classCount > transitions.length) {
+                    transitions = Arrays.copyOf(transitions, transitions.length * 2);
+                }
+                for (int cls = 0; cls < classCount; ++cls) {
+                    final BitSet target = targets[cls];
+                    if (target == null) {
+                        transitions[dstate * classCount + cls] = DEAD;
+                        continue;
+                    }
+
+                    targets[cls] = null;
+                    closure(target);
+                    Integer id = stateIds.get(target);
+                    if (id == null) {
+                        if (states.size() == maxStates) {
+                            throw new IllegalArgumentException("Expression requires more than " + maxStates
+                                + " states");
+                        }
+                        id = states.size();
+                        stateIds.put(target, id);
+                        states.add(target);
+                    }
+                    transitions[dstate * classCount + cls] = id;
+                }
+            }
+
+            final boolean[] accepting = new boolean[states.size()];
+            for (int i = 0; i < accepting.length; ++i) {
+                accepting[i] = states.get(i).get(acceptState);
+            }
+
+            final int[] asciiClasses = new int[ASCII_LIMIT];
+            int idx = 0;
+            for (int ch = 0; ch < ASCII_LIMIT; ++ch) {
+                while (idx + 1 < boundaries.length && boundaries[idx + 1] <= ch) {
+                    idx++;
+                }
+                asciiClasses[ch] = boundaryClasses[idx];
+            }
+
+            return new DeterministicAutomaton(asciiClasses, boundaries, boundaryClasses, classCount,
+                Arrays.copyOf(transitions, states.size() * classCount), accepting);
+        }
+
+        /**
+         * Return the sorted starts of the smallest intervals which are either fully contained in each atom, or
+         * disjoint from it. The first interval starts at zero.
+         */
+        private int[] boundaries() {
+            final BitSet starts = new BitSet();
+            starts.set(0);
+            for (final int[] ranges : atoms) {
+                for (int i = 0; i < ranges.length; i += 2) {
+                    starts.set(ranges[i]);
+                    if (ranges[i + 1] < Token.UTF16_MAX) {
+                        starts.set(ranges[i + 1] + 1);
+                    }
+                }
+            }
+
+            final int[] ret = new int[starts.cardinality()];
+            int idx = 0;
+            for (int ch = starts.nextSetBit(0); ch >= 0; ch = starts.nextSetBit(ch + 1)) {
+                ret[idx++] = ch;
+            }
+            return ret;
+        }
+
+        private void closure(final BitSet set) {
+            final Deque<Integer> pending = new ArrayDeque<>();
+            for (int state = set.nextSetBit(0); state >= 0; state = set.nextSetBit(state + 1)) {
+                pending.push(state);
+            }
+
+            while (!pending.isEmpty()) {
+                final int[] next = epsilons.get(pending.pop());
+                if (next != null) {
+                    for (final int state : next) {
+                        if (!set.get(state)) {
+                            set.set(state);
+                            pending.push(state);
+                        }
+                    }
+                }
+            }
+        }
+
+        private int newState() {
+            if (epsilons.size() == MAX_NFA_STATES) {
+                throw new IllegalArgumentException("Expression is too large");
+            }
+
+            epsilons.add(null);
+            stateAtoms.add(DEAD);
+            stateTargets.add(DEAD);
+            return epsilons.size() - 1;
+        }
+
+        private int newEpsilonState(final int... next) {
+            final int state = newState();
+            epsilons.set(state, next);
+            return state;
+        }
+
+        private int newCharState(final int atom, final int next) {
+            final int state = newState();
+            stateAtoms.set(state, atom);
+            stateTargets.set(state, next);
+            return state;
+        }
+
+        private int atomOf(final Token tok, final int[] ranges) {
+            Integer atom = tokenAtoms.get(tok);
+            if (atom == null) {
+                atom = atoms.size();
+                atoms.add(ranges);
+                tokenAtoms.put(tok, atom);
+            }
+            return atom;
+        }
+
+        private int charAtom(final int ch) {
+            final int atom = atoms.size();
+            atoms.add(new int[] { ch, ch });
+            return atom;
+        }
+
+        /**
+         * Translate a token into states matching it, followed by the specified state.
+         *
+         * @return The state starting the match
+         */
+        private int compile(final Token tok, final int next) {
+            switch (tok.type) {
+                case Token.CHAR:
+                    return newCharState(charAtom(tok.getChar()), next);
+                case Token.DOT:
+                    return newCharState(atomOf(tok, DOT_RANGES), next);
+                case Token.RANGE:
+                case Token.NRANGE:
+                    return newCharState(atomOf(tok, rangesOf((RangeToken) tok)), next);
+                case Token.STRING: {
+                    final String str = tok.getString();
+                    int ret = next;
+                    for (int i = str.length(); i > 0;) {
+                        final int ch = str.codePointBefore(i);
+                        ret = newCharState(charAtom(ch), ret);
+                        i -= Character.charCount(ch);
+                    }
+                    return ret;
+                }
+                case Token.CONCAT: {
+                    int ret = next;
+                    for (int i = tok.size() - 1; i >= 0; --i) {
+                        ret = compile(tok.getChild(i), ret);
+                    }
+                    return ret;
+                }
+                case Token.UNION: {
+                    final int[] alternatives = new int[tok.size()];
+                    for (int i = 0; i < alternatives.length; ++i) {
+                        alternatives[i] = compile(tok.getChild(i), next);
+                    }
+                    return newEpsilonState(alternatives);
+                }
+                case Token.PAREN:
+                    return compile(tok.getChild(0), next);
+                case Token.EMPTY:
+                    return next;
+                case Token.CLOSURE:
+                    return compileClosure(tok, next);
+                default:
+                    throw new IllegalArgumentException("Unsupported construct " + tok);
+            }
+        }
+
+        // Mirrors RegularExpression.compile()
+        private int compileClosure(final Token tok, final int next) {
+            final Token child = tok.getChild(0);
+            final int min = tok.getMin();
+            int max = tok.getMax();
+
+            int ret;
+            if (min >= 0 && min == max) {
+                ret = next;
+                for (int i = 0; i < min; ++i) {
+                    ret = compile(child, ret);
+                }
+                return ret;
+            }
+
+            if (min > 0 && max > 0) {
+                max -= min;
+            }
+            if (max > 0) {
+                // X{2,6} -> XX(X(X(XX?)?)?)?
+                ret = next;
+                for (int i = 0; i < max; ++i) {
+                    ret = newEpsilonState(compile(child, ret), next);
+                }
+            } else {
+                ret = newEpsilonState();
+                epsilons.set(ret, new int[] { compile(child, ret), next });
+            }
+
+            for (int i = 0; i < min; ++i) {
+                ret = compile(child, ret);
+            }
+            return ret;
+        }
+
+        private static int[] rangesOf(final RangeToken tok) {
+            final int[] ranges = sortedRanges(tok.ranges);
+            return tok.type == Token.NRANGE ? complement(ranges) : ranges;
+        }
+
+        /**
+         * Return a sorted copy of ranges with overlapping and adjacent ranges merged. Tokens may be shared, hence
+         * they are not normalized in place.
+         */
+        private static int[] sortedRanges(final int[] ranges) {
+            if (ranges == null || ranges.length == 0) {
+                return new int[0];
+            }
+
+            final long[] pairs = new long[ranges.length / 2];
+            for (int i = 0; i < pairs.length; ++i) {
+                pairs[i] = (long) ranges[2 * i] << 32 | ranges[2 * i + 1];
+            }
+            Arrays.sort(pairs);
+
+            final int[] ret = new int[ranges.length];
+            int len = 0;
+            for (final long pair : pairs) {
+                final int start = (int) (pair >>> 32);
+                final int end = (int) pair;
+                if (len != 0 && start <= ret[len - 1] + 1) {
+                    ret[len - 1] = Math.max(ret[len - 1], end);
+                } else {
+                    ret[len++] = start;
+                    ret[len++] = end;
+                }
+            }
+            return Arrays.copyOf(ret, len);
+        }
+
+        private static int[] complement(final int[] ranges) {
+            final int[] ret = new int[ranges.length + 2];
+            int len = 0;
+            int start = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] > start) {
+                    ret[len++] = start;
+                    ret[len++] = ranges[i] - 1;
+                }
+                start = ranges[i + 1] + 1;
+            }
+            if (start <= Token.UTF16_MAX) {
+                ret[len++] = start;
+                ret[len++] = Token.UTF16_MAX;
+            }
+            return Arrays.copyOf(ret, len);
+        }
+    }
+}
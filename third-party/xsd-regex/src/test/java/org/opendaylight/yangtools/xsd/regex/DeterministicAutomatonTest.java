@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.xsd.regex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeterministicAutomaton}, which must agree with {@link RegularExpression} on every input.
+ */
+public class DeterministicAutomatonTest {
+    private static final String IPV4_ADDRESS = "(([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])\\.){3}"
+            + "([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])"
+            + "(%[\\p{N}\\p{L}]+)?";
+    private static final String IPV6_ADDRESS = "((:|[0-9a-fA-F]{0,4}):)([0-9a-fA-F]{0,4}:){0,5}"
+            + "((([0-9a-fA-F]{0,4}:)?(:|[0-9a-fA-F]{0,4}))|"
+            + "(((25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])\\.){3}"
+            + "(25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])))"
+            + "(%[\\p{N}\\p{L}]+)?";
+    private static final String IPV4_PREFIX = "(([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])\\.){3}"
+            + "([0-9]|[1-9][0-9]|1[0-9][0-9]|2[0-4][0-9]|25[0-5])"
+            + "/(([0-9])|([1-2][0-9])|(3[0-2]))";
+    private static final String IPV6_PREFIX = "((:|[0-9a-fA-F]{0,4}):)([0-9a-fA-F]{0,4}:){0,5}"
+            + "((([0-9a-fA-F]{0,4}:)?(:|[0-9a-fA-F]{0,4}))|"
+            + "(((25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])\\.){3}"
+            + "(25[0-5]|2[0-4][0-9]|[01]?[0-9]?[0-9])))"
+            + "(/(([0-9])|([0-9]{2})|(1[0-1][0-9])|(12[0-8])))";
+
+    // U+1F600 and U+1F64F, outside of the Basic Multilingual Plane
+    private static final String GRINNING_FACE = new String(Character.toChars(0x1F600));
+    private static final String PRAYING_HANDS = new String(Character.toChars(0x1F64F));
+    // U+1D400, MATHEMATICAL BOLD CAPITAL A, a supplementary letter
+    private static final String BOLD_A = new String(Character.toChars(0x1D400));
+
+    private static void assertAgrees(final String regex, final String... inputs) throws ParseException {
+        final DeterministicAutomaton automaton = DeterministicAutomaton.compile(regex);
+        final RegularExpression expected = new RegularExpression(regex, "X");
+        for (String input : inputs) {
+            assertEquals("Regex <" + regex + "> input <" + input + ">", expected.matches(input),
+                automaton.matches(input));
+        }
+    }
+
+    /**
+     * Check agreement on all strings up to a certain length composed of the specified characters.
+     */
+    private static void assertAgreesExhaustive(final String regex, final String alphabet, final int maxLength)
+            throws ParseException {
+        final List<String> inputs = new ArrayList<>();
+        inputs.add("");
+        int start = 0;
+        for (int length = 1; length <= maxLength; ++length) {
+            final int end = inputs.size();
+            for (int i = start; i < end; ++i) {
+                for (int j = 0; j < alphabet.length(); ++j) {
+                    inputs.add(inputs.get(i) + alphabet.charAt(j));
+                }
+            }
+            start = end;
+        }
+
+        assertAgrees(regex, inputs.toArray(new String[inputs.size()]));
+    }
+
+    @Test
+    public void testLiterals() throws ParseException {
+        assertAgreesExhaustive("abc", "abcx", 4);
+        assertAgreesExhaustive("a|bc|", "abc", 3);
+        assertAgreesExhaustive("(ab|a)(c|bcd)", "abcd", 5);
+        assertAgreesExhaustive("\\.\\|\\*", ".|*a", 4);
+    }
+
+    @Test
+    public void testClosures() throws ParseException {
+        assertAgreesExhaustive("a*", "ab", 5);
+        assertAgreesExhaustive("a+b?", "ab", 5);
+        assertAgreesExhaustive("(ab)*|c+", "abc", 5);
+        assertAgreesExhaustive("(a*b*)*c", "abc", 5);
+    }
+
+    @Test
+    public void testCountedRepetition() throws ParseException {
+        assertAgreesExhaustive("a{3}", "ab", 5);
+        assertAgreesExhaustive("a{2,}", "ab", 5);
+        assertAgreesExhaustive("a{1,3}b", "ab", 5);
+        assertAgreesExhaustive("a{0}b", "ab", 3);
+        assertAgreesExhaustive("a{0,0}", "a", 2);
+        assertAgreesExhaustive("(ab|c){2,3}", "abc", 6);
+        assertAgreesExhaustive("x(a{0,2}b){2}", "abx", 6);
+        assertAgreesExhaustive("[ab]{0,4}", "abc", 5);
+    }
+
+    @Test
+    public void testCharacterClasses() throws ParseException {
+        assertAgreesExhaustive("[a-c]+", "abcd", 4);
+        assertAgreesExhaustive("[^a-c]+", "abcd-", 4);
+        assertAgreesExhaustive("[a-d-[bc]]*", "abcde", 4);
+        assertAgreesExhaustive("[a-z-[^aeiou]]+", "aebxz", 4);
+        assertAgreesExhaustive("[^ab-[c]]", "abcd", 2);
+        assertAgreesExhaustive("[\\-a]+", "-ab", 3);
+        assertAgreesExhaustive("\\d+\\s?\\D", "1a 9", 4);
+        assertAgrees("\\w+", "abc", "a_b", "a-b", "\u00e9t\u00e9", "");
+        assertAgrees("\\p{Lu}\\p{Ll}*", "Abc", "abc", "A", "\u00c9t\u00e9", "A1");
+        assertAgrees("\\P{L}+", "123", "1a", "--", "");
+        assertAgrees("[\\p{N}\\p{L}]+", "eth0", "\u0661\u0662", "a-b", "\u00b2");
+    }
+
+    @Test
+    public void testDot() throws ParseException {
+        assertAgreesExhaustive(".", "a\n\r.\t", 2);
+        assertAgreesExhaustive("a.c", "abc\n", 4);
+        assertAgreesExhaustive(".*", "a\n\r", 3);
+        assertAgrees(".{2}", GRINNING_FACE + "a", GRINNING_FACE, "ab", "a\n",
+            GRINNING_FACE + PRAYING_HANDS);
+    }
+
+    @Test
+    public void testSupplementaryCharacters() throws ParseException {
+        assertAgrees(GRINNING_FACE + "+", GRINNING_FACE, GRINNING_FACE + GRINNING_FACE, PRAYING_HANDS, "",
+            GRINNING_FACE.substring(0, 1));
+        assertAgrees("[" + GRINNING_FACE + "-" + PRAYING_HANDS + "]+", GRINNING_FACE + PRAYING_HANDS,
+            new String(Character.toChars(0x1F620)), new String(Character.toChars(0x1F650)), "a");
+        assertAgrees("[^" + GRINNING_FACE + "]", GRINNING_FACE, PRAYING_HANDS, "a", "ab");
+        assertAgrees("\\p{L}+", BOLD_A, "a" + BOLD_A, GRINNING_FACE);
+        assertAgrees(IPV4_ADDRESS, "192.0.2.1%" + BOLD_A, "192.0.2.1%" + GRINNING_FACE);
+    }
+
+    @Test
+    public void testInetTypes() throws ParseException {
+        assertAgrees(IPV4_ADDRESS, "192.0.2.1", "0.0.0.0", "255.255.255.255", "10.255.255.254%eth0",
+            "198.51.100.256", "1.2.3", "1.2.3.4.", "01.2.3.4", "1.2.3.4%", "");
+        assertAgrees(IPV6_ADDRESS, "2001:db8:85a3::8a2e:370:7334", "fe80::1%eth0", "::ffff:192.0.2.1", "::", "::1",
+            "2001:db8:85a3:0:0:8a2e:370g:7334", "1:2:3:4:5:6:7:8:9", ":::", "::256.0.0.1", "");
+        assertAgrees(IPV4_PREFIX, "192.0.2.0/24", "10.0.0.0/8", "0.0.0.0/0", "198.51.100.0/33",
+            "192.0.2.0", "192.0.2.0/", "192.0.2.0/024");
+        assertAgrees(IPV6_PREFIX, "2001:db8::/32", "fe80::/10", "::/0", "::/128", "2001:db8:0:0:0:0:0:0/129",
+            "2001:db8::", "2001:db8::/");
+    }
+
+    @Test
+    public void testStateLimit() throws ParseException {
+        // The DFA needs 2^n states to remember the last n characters
+        final String regex = "[ab]*a[ab]{10}";
+        final DeterministicAutomaton automaton = DeterministicAutomaton.compile(regex);
+        assertTrue(automaton.getStateCount() > 1024);
+        assertTrue(automaton.matches("aabababababa"));
+        assertFalse(automaton.matches("abababababab"));
+
+        try {
+            DeterministicAutomaton.compile(regex, 1024);
+            fail("State limit should have been exceeded");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Expression requires more than 1024"));
+        }
+    }
+
+    @Test
+    public void testNfaLimit() throws ParseException {
+        try {
+            DeterministicAutomaton.compile("a{70000}", Integer.MAX_VALUE);
+            fail("Expression should have been too large");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Expression is too large", e.getMessage());
+        }
+    }
+
+    @Test(expected = ParseException.class)
+    public void testInvalidExpression() throws ParseException {
+        DeterministicAutomaton.compile("[a-");
+    }
+}
@@ -16,6 +16,8 @@ import com.google.common.collect.Maps;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
@@ -94,6 +96,39 @@ public final class NormalizedNodes {
         return Optional.absent();
     }
 
+    /**
+     * Create a {@link Spliterator} over the direct children of a node. Normalized nodes are immutable, hence the
+     * returned spliterator can be safely used with parallel streams. Its ability to split depends on the collection
+     * holding the children.
+     *
+     * @param node Parent node
+     * @return Spliterator over children, empty if the node cannot have children
+     */
+    @SuppressWarnings("unchecked")
+    public static Spliterator<NormalizedNode<?, ?>> childSpliterator(@Nonnull final NormalizedNode<?, ?> node) {
+        checkNotNull(node, "Node must not be null");
+        // Children are only read, hence narrowing the element type is safe
+        if (node instanceof NormalizedNodeContainer<?, ?, ?>) {
+            return (Spliterator<NormalizedNode<?, ?>>) ((NormalizedNodeContainer<?, ?, ?>) node).getValue()
+                    .spliterator();
+        } else if (node instanceof OrderedNodeContainer<?>) {
+            return (Spliterator<NormalizedNode<?, ?>>) ((OrderedNodeContainer<?>) node).getValue().spliterator();
+        }
+        return Spliterators.emptySpliterator();
+    }
+
+    /**
+     * Create a {@link Spliterator} over a node and all of its descendants. Encounter order is not defined, which
+     * allows the spliterator to hand off whole subtrees when splitting, so that parallel streams can walk disjoint
+     * parts of the subtree concurrently.
+     *
+     * @param node Subtree root
+     * @return Spliterator over the subtree
+     */
+    public static Spliterator<NormalizedNode<?, ?>> subtreeSpliterator(@Nonnull final NormalizedNode<?, ?> node) {
+        return new SubtreeSpliterator(checkNotNull(node, "Node must not be null"));
+    }
+
     /**
      * Convert a data subtree under a node into a human-readable string format.
      *
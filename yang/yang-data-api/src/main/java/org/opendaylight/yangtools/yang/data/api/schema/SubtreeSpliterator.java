@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Depth-first {@link Spliterator} over a {@link NormalizedNode} subtree. It maintains a stack of child spliterators,
+ * one for each level of the subtree being visited. Splitting prefers the shallowest level, as that yields the largest
+ * independent pieces of work: either its spliterator splits, or it is handed off as a whole while this spliterator
+ * continues with the deeper levels.
+ */
+final class SubtreeSpliterator implements Spliterator<NormalizedNode<?, ?>> {
+    private static final int CHARACTERISTICS = Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    // First element is the deepest level, last element is the shallowest one
+    private final Deque<Spliterator<NormalizedNode<?, ?>>> levels = new ArrayDeque<>();
+
+    // Node which has not been reported yet, but whose children are already on the stack
+    private NormalizedNode<?, ?> pending;
+    private NormalizedNode<?, ?> current;
+
+    SubtreeSpliterator(final NormalizedNode<?, ?> root) {
+        pending = root;
+        pushChildren(root);
+    }
+
+    private SubtreeSpliterator(final Spliterator<NormalizedNode<?, ?>> level) {
+        levels.push(level);
+    }
+
+    private void pushChildren(final NormalizedNode<?, ?> node) {
+        if (node instanceof NormalizedNodeContainer<?, ?, ?> || node instanceof OrderedNodeContainer<?>) {
+            levels.push(NormalizedNodes.childSpliterator(node));
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super NormalizedNode<?, ?>> action) {
+        if (pending != null) {
+            final NormalizedNode<?, ?> node = pending;
+            pending = null;
+            action.accept(node);
+            return true;
+        }
+
+        while (!levels.isEmpty()) {
+            if (levels.peek().tryAdvance(this::setCurrent)) {
+                final NormalizedNode<?, ?> node = current;
+                current = null;
+                pushChildren(node);
+                action.accept(node);
+                return true;
+            }
+            levels.pop();
+        }
+        return false;
+    }
+
+    private void setCurrent(final NormalizedNode<?, ?> node) {
+        current = node;
+    }
+
+    @Override
+    public Spliterator<NormalizedNode<?, ?>> trySplit() {
+        final Spliterator<NormalizedNode<?, ?>> shallowest = levels.peekLast();
+        if (shallowest == null) {
+            return null;
+        }
+
+        final Spliterator<NormalizedNode<?, ?>> split = shallowest.trySplit();
+        if (split != null) {
+            return new SubtreeSpliterator(split);
+        }
+        if (levels.size() > 1) {
+            return new SubtreeSpliterator(levels.removeLast());
+        }
+        return null;
+    }
+
+    /*
+     * Only the nodes directly available in each level are accounted for, as counting descendants would require
+     * a traversal. The estimate is therefore low, but it is proportional to the amount of work which can be split off.
+     */
+    @Override
+    public long estimateSize() {
+        long size = pending != null ? 1 : 0;
+        for (Spliterator<NormalizedNode<?, ?>> level : levels) {
+            size += level.estimateSize();
+            if (size < 0) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A {@link DataTreeCandidateNode} which is the net effect of a sequence of consecutive modifications of a node,
+ * none of which replaced the node as a whole. Its children are the net effect of their respective modifications.
+ * A node without an identifier is a root node, which reports {@link #getIdentifier()} as illegal, just like the root
+ * nodes produced by data tree implementations.
+ */
+final class AggregatedDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final PathArgument identifier;
+    private final Optional<NormalizedNode<?, ?>> dataBefore;
+    private final Optional<NormalizedNode<?, ?>> dataAfter;
+    private final Map<PathArgument, DataTreeCandidateNode> children;
+    private final ModificationType modificationType;
+
+    private AggregatedDataTreeCandidateNode(@Nullable final PathArgument identifier,
+            final Optional<NormalizedNode<?, ?>> dataBefore, final Optional<NormalizedNode<?, ?>> dataAfter,
+            final Map<PathArgument, DataTreeCandidateNode> children) {
+        this.identifier = identifier;
+        this.dataBefore = dataBefore;
+        this.dataAfter = dataAfter;
+        this.children = children;
+
+        if (!dataBefore.isPresent()) {
+            modificationType = dataAfter.isPresent() ? ModificationType.APPEARED : ModificationType.UNMODIFIED;
+        } else if (!dataAfter.isPresent()) {
+            modificationType = ModificationType.DISAPPEARED;
+        } else {
+            modificationType = children.isEmpty() ? ModificationType.UNMODIFIED : ModificationType.SUBTREE_MODIFIED;
+        }
+    }
+
+    /**
+     * Aggregate a sequence of consecutive modifications of a single node into their net effect.
+     *
+     * @param identifier Identifier of the node, null for a root node
+     * @param nodes Modifications of the node, in the order in which they were applied
+     * @return Net modification, which may be {@link ModificationType#UNMODIFIED}
+     * @throws IllegalArgumentException if nodes are empty
+     */
+    static DataTreeCandidateNode aggregate(@Nullable final PathArgument identifier,
+            final List<DataTreeCandidateNode> nodes) {
+        Preconditions.checkArgument(!nodes.isEmpty(), "At least one node is required");
+
+        final List<DataTreeCandidateNode> modified = new ArrayList<>(nodes.size());
+        boolean replaced = false;
+        for (DataTreeCandidateNode node : nodes) {
+            switch (node.getModificationType()) {
+                case UNMODIFIED:
+                    break;
+                case WRITE:
+                case DELETE:
+                    replaced = true;
+                    modified.add(node);
+                    break;
+                default:
+                    modified.add(node);
+                    break;
+            }
+        }
+
+        switch (modified.size()) {
+            case 0:
+                return nodes.get(0);
+            case 1:
+                return modified.get(0);
+            default:
+                break;
+        }
+
+        final DataTreeCandidateNode first = modified.get(0);
+        final DataTreeCandidateNode last = modified.get(modified.size() - 1);
+        if (replaced) {
+            // The node's content has been replaced at some point, hence only the images matter
+            return new ImageDataTreeCandidateNode(identifier, first.getDataBefore(), last.getDataAfter());
+        }
+
+        // Children keep the order in which they were first modified
+        final Map<PathArgument, List<DataTreeCandidateNode>> childModifications = new LinkedHashMap<>();
+        for (DataTreeCandidateNode node : modified) {
+            for (DataTreeCandidateNode child : node.getChildNodes()) {
+                List<DataTreeCandidateNode> list = childModifications.get(child.getIdentifier());
+                if (list == null) {
+                    list = new ArrayList<>(2);
+                    childModifications.put(child.getIdentifier(), list);
+                }
+                list.add(child);
+            }
+        }
+
+        final Map<PathArgument, DataTreeCandidateNode> children = new LinkedHashMap<>();
+        for (Map.Entry<PathArgument, List<DataTreeCandidateNode>> e : childModifications.entrySet()) {
+            final DataTreeCandidateNode child = aggregate(e.getKey(), e.getValue());
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                children.put(e.getKey(), child);
+            }
+        }
+
+        return new AggregatedDataTreeCandidateNode(identifier, first.getDataBefore(), last.getDataAfter(), children);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        Preconditions.checkState(identifier != null, "Attempted to get identifier of the root node");
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return Collections.unmodifiableCollection(children.values());
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+        return children.get(childIdentifier);
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return modificationType;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return dataAfter;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return dataBefore;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("type", modificationType)
+                .add("children", children.values()).toString();
+    }
+}
@@ -9,10 +9,13 @@ package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +38,42 @@ public final class DataTreeCandidates {
         return new DefaultDataTreeCandidate(rootPath, new NormalizedNodeDataTreeCandidateNode(node));
     }
 
+    /**
+     * Aggregate a sequence of consecutive candidates into a single candidate with the same net effect. Each candidate
+     * must have been prepared on top of the state resulting from its predecessor, for example when they are delivered
+     * to a listener which has fallen behind. The result reports the data as it was before the first candidate and as
+     * it is after the last one:
+     * <ul>
+     * <li>a node which was created and then removed again is not reported,</li>
+     * <li>a node which was written multiple times is reported as a single write of its final value, or not at all
+     *     if a leaf ends up with its original value,</li>
+     * <li>a subtree which was modified only by some of the candidates is aggregated from those candidates only.</li>
+     * </ul>
+     * Hence processing the result, for example via {@link #applyToCursor(DataTreeModificationCursor,
+     * DataTreeCandidate)}, costs time proportional to the net change rather than to the sum of individual changes.
+     *
+     * @param candidates Candidates to aggregate, in the order in which they were produced
+     * @return Aggregated candidate
+     * @throws IllegalArgumentException if candidates are empty or do not share the same root path
+     */
+    public static DataTreeCandidate aggregate(@Nonnull final List<? extends DataTreeCandidate> candidates) {
+        Preconditions.checkArgument(!candidates.isEmpty(), "At least one candidate is required");
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        final YangInstanceIdentifier rootPath = candidates.get(0).getRootPath();
+        final List<DataTreeCandidateNode> nodes = new ArrayList<>(candidates.size());
+        for (DataTreeCandidate candidate : candidates) {
+            Preconditions.checkArgument(rootPath.equals(candidate.getRootPath()),
+                "Candidate %s does not have root path %s", candidate, rootPath);
+            nodes.add(candidate.getRootNode());
+        }
+
+        final PathArgument identifier = rootPath.isEmpty() ? null : rootPath.getLastPathArgument();
+        return new DefaultDataTreeCandidate(rootPath, AggregatedDataTreeCandidateNode.aggregate(identifier, nodes));
+    }
+
     public static void applyToCursor(final DataTreeModificationCursor cursor, final DataTreeCandidate candidate) {
         DataTreeCandidateNodes.applyToCursor(cursor, candidate.getRootNode());
     }
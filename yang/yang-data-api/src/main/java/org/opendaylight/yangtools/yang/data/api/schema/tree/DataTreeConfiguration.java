@@ -9,6 +9,8 @@ package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.concepts.Immutable;
 
 /**
@@ -19,6 +21,8 @@ import org.opendaylight.yangtools.concepts.Immutable;
  * <li>treeType</li>
  * <li>enable/disable unique indexes and unique constraint validation</li>
  * <li>enable/disable mandatory nodes validation</li>
+ * <li>enable/disable parallel validation and application of large modifications</li>
+ * <li>enable/disable packed storage of list entry leaf values in operational trees</li>
  * </ul>
  *
  * TreeConfig can be easily extended in order to support further data tree
@@ -36,19 +40,28 @@ import org.opendaylight.yangtools.concepts.Immutable;
 @Beta
 public class DataTreeConfiguration implements Immutable {
     public static final DataTreeConfiguration DEFAULT_CONFIGURATION = new DataTreeConfiguration(TreeType.CONFIGURATION,
-            false, true);
+            false, true, 0, null, false, false);
     public static final DataTreeConfiguration DEFAULT_OPERATIONAL = new DataTreeConfiguration(TreeType.OPERATIONAL,
-            false, true);
+            false, true, 0, null, false, false);
 
     private final TreeType treeType;
     private final boolean uniqueIndexes;
     private final boolean mandatoryNodesValidation;
+    private final int parallelThreshold;
+    private final ForkJoinPool parallelPool;
+    private final boolean compactVersions;
+    private final boolean packedLeaves;
 
     private DataTreeConfiguration(final TreeType treeType, final boolean uniqueIndexes,
-            final boolean mandatoryNodesValidation) {
+            final boolean mandatoryNodesValidation, final int parallelThreshold, final ForkJoinPool parallelPool,
+            final boolean compactVersions, final boolean packedLeaves) {
         this.treeType = Preconditions.checkNotNull(treeType);
         this.uniqueIndexes = uniqueIndexes;
         this.mandatoryNodesValidation = mandatoryNodesValidation;
+        this.parallelThreshold = parallelThreshold;
+        this.parallelPool = parallelPool;
+        this.compactVersions = compactVersions;
+        this.packedLeaves = packedLeaves;
     }
 
     public TreeType getTreeType() {
@@ -63,6 +76,43 @@ public class DataTreeConfiguration implements Immutable {
         return mandatoryNodesValidation;
     }
 
+    /**
+     * Return the minimum number of modified children a node needs to have for them to be validated and applied in
+     * parallel.
+     *
+     * @return Minimum number of modified children, 0 if parallel processing is disabled.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Return the pool used to process modified children in parallel.
+     *
+     * @return Pool to use for parallel processing.
+     */
+    @Nonnull public ForkJoinPool getParallelPool() {
+        return parallelPool != null ? parallelPool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Return whether tree nodes store their versions as primitive values.
+     *
+     * @return True if compact versions are used.
+     */
+    public boolean isCompactVersionsEnabled() {
+        return compactVersions;
+    }
+
+    /**
+     * Return whether list entries store the values of their leaves in packed form.
+     *
+     * @return True if packed leaves are used.
+     */
+    public boolean isPackedLeavesEnabled() {
+        return packedLeaves;
+    }
+
     public static DataTreeConfiguration getDefault(final TreeType treeType) {
         Preconditions.checkNotNull(treeType);
         switch (treeType) {
@@ -71,7 +121,7 @@ public class DataTreeConfiguration implements Immutable {
         case OPERATIONAL:
             return DEFAULT_OPERATIONAL;
         default:
-            return new DataTreeConfiguration(treeType, false, true);
+            return new DataTreeConfiguration(treeType, false, true, 0, null, false, false);
         }
     }
 
@@ -79,6 +129,10 @@ public class DataTreeConfiguration implements Immutable {
         private final TreeType treeType;
         private boolean uniqueIndexes;
         private boolean mandatoryNodesValidation;
+        private int parallelThreshold;
+        private ForkJoinPool parallelPool;
+        private boolean compactVersions;
+        private boolean packedLeaves;
 
         public Builder(final TreeType treeType) {
             this.treeType = Preconditions.checkNotNull(treeType);
@@ -94,8 +148,65 @@ public class DataTreeConfiguration implements Immutable {
             return this;
         }
 
+        /**
+         * Enable parallel validation and application of modifications. Children of a modified node are processed
+         * in parallel if the node has at least specified number of modified children. The resulting candidate is
+         * the same as if the modification were processed sequentially.
+         *
+         * @param parallelThreshold Minimum number of modified children, 0 to disable parallel processing
+         * @return This builder
+         * @throws IllegalArgumentException if parallelThreshold is negative
+         */
+        public Builder setParallelThreshold(final int parallelThreshold) {
+            Preconditions.checkArgument(parallelThreshold >= 0, "Invalid parallel threshold %s", parallelThreshold);
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Set the pool used for parallel processing. If not set, {@link ForkJoinPool#commonPool()} is used.
+         *
+         * @param parallelPool Pool to use
+         * @return This builder
+         */
+        public Builder setParallelPool(final ForkJoinPool parallelPool) {
+            this.parallelPool = Preconditions.checkNotNull(parallelPool);
+            return this;
+        }
+
+        /**
+         * Make tree nodes store their versions as primitive values rather than references to version objects. This
+         * reduces the memory retained by trees which have seen many small commits, at the cost of an allocation when
+         * a version is accessed.
+         *
+         * @param compactVersions True to use compact versions
+         * @return This builder
+         */
+        public Builder setCompactVersions(final boolean compactVersions) {
+            this.compactVersions = compactVersions;
+            return this;
+        }
+
+        /**
+         * Make list entries store the values of their leaves in arrays laid out according to the list's schema,
+         * with numeric and boolean values held as primitives. Leaf nodes are instantiated when they are read. This
+         * reduces the footprint of operational trees holding many counters, at the cost of an allocation whenever
+         * such a leaf is accessed. It is available only for {@link TreeType#OPERATIONAL} trees.
+         *
+         * @param packedLeaves True to use packed leaves
+         * @return This builder
+         * @throws IllegalArgumentException if packed leaves are requested for a tree which is not operational
+         */
+        public Builder setPackedLeaves(final boolean packedLeaves) {
+            Preconditions.checkArgument(!packedLeaves || treeType == TreeType.OPERATIONAL,
+                "Packed leaves are not supported in %s trees", treeType);
+            this.packedLeaves = packedLeaves;
+            return this;
+        }
+
         public DataTreeConfiguration build() {
-            return new DataTreeConfiguration(treeType, uniqueIndexes, mandatoryNodesValidation);
+            return new DataTreeConfiguration(treeType, uniqueIndexes, mandatoryNodesValidation, parallelThreshold,
+                parallelPool, compactVersions, packedLeaves);
         }
     }
 }
\ No newline at end of file
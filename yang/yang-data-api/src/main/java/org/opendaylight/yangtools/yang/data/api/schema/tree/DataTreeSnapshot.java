@@ -7,10 +7,13 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-
-import com.google.common.base.Optional;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 
 /**
  * Read-only snapshot of a {@link DataTree}. The snapshot is stable and isolated,
@@ -33,4 +36,33 @@ public interface DataTreeSnapshot {
      * @return A new data tree modification
      */
     DataTreeModification newModification();
+
+    /**
+     * Create a {@link Spliterator} over the children of a particular node, such as the entries of a list. Since
+     * the snapshot is immutable, the spliterator can be split and traversed concurrently, for example by a stream
+     * created with {@link java.util.stream.StreamSupport#stream(Spliterator, boolean)}. Unlike a
+     * {@link DataTreeSnapshotCursor}, it does not need to be closed and any number of them can be in use at the same
+     * time.
+     *
+     * @param path Path of the parent node
+     * @return Spliterator over children, empty if the node is not present or it cannot have children
+     */
+    @Beta
+    default Spliterator<NormalizedNode<?, ?>> childSpliterator(final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> node = readNode(path);
+        return node.isPresent() ? NormalizedNodes.childSpliterator(node.get()) : Spliterators.emptySpliterator();
+    }
+
+    /**
+     * Create a {@link Spliterator} over a particular node and all of its descendants, with the same concurrency
+     * properties as {@link #childSpliterator(YangInstanceIdentifier)}. Encounter order is not defined.
+     *
+     * @param path Path of the subtree root
+     * @return Spliterator over the subtree, empty if the node is not present
+     */
+    @Beta
+    default Spliterator<NormalizedNode<?, ?>> subtreeSpliterator(final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> node = readNode(path);
+        return node.isPresent() ? NormalizedNodes.subtreeSpliterator(node.get()) : Spliterators.emptySpliterator();
+    }
 }
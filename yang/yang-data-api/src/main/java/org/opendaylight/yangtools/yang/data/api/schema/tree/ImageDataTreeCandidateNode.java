@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+
+/**
+ * A {@link DataTreeCandidateNode} derived solely from its before- and after-image. The modification type is
+ * {@link ModificationType#WRITE}, {@link ModificationType#DELETE} or {@link ModificationType#UNMODIFIED}, and
+ * children are computed on demand by comparing the images' children. A node without an identifier is a root node.
+ */
+final class ImageDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final PathArgument identifier;
+    private final Optional<NormalizedNode<?, ?>> dataBefore;
+    private final Optional<NormalizedNode<?, ?>> dataAfter;
+    private final ModificationType modificationType;
+
+    ImageDataTreeCandidateNode(@Nullable final PathArgument identifier, final Optional<NormalizedNode<?, ?>> dataBefore,
+            final Optional<NormalizedNode<?, ?>> dataAfter) {
+        this.identifier = identifier;
+        this.dataBefore = Preconditions.checkNotNull(dataBefore);
+        this.dataAfter = Preconditions.checkNotNull(dataAfter);
+        this.modificationType = modificationType(dataBefore, dataAfter);
+    }
+
+    private static ModificationType modificationType(final Optional<NormalizedNode<?, ?>> before,
+            final Optional<NormalizedNode<?, ?>> after) {
+        if (!before.isPresent()) {
+            return after.isPresent() ? ModificationType.WRITE : ModificationType.UNMODIFIED;
+        }
+        if (!after.isPresent()) {
+            return ModificationType.DELETE;
+        }
+        return sameData(before.get(), after.get()) ? ModificationType.UNMODIFIED : ModificationType.WRITE;
+    }
+
+    /*
+     * Containers are compared by identity, as a deep comparison could cost more than it saves. Leaves are cheap to
+     * compare and are commonly rewritten with the same value.
+     */
+    private static boolean sameData(final NormalizedNode<?, ?> before, final NormalizedNode<?, ?> after) {
+        if (before == after) {
+            return true;
+        }
+        if (before instanceof LeafNode || before instanceof LeafSetEntryNode) {
+            return before.equals(after);
+        }
+        return false;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Optional<NormalizedNode<?, ?>> child(final Optional<NormalizedNode<?, ?>> data,
+            final PathArgument identifier) {
+        if (data.isPresent() && data.get() instanceof NormalizedNodeContainer) {
+            return ((NormalizedNodeContainer) data.get()).getChild(identifier);
+        }
+        return Optional.absent();
+    }
+
+    private static Collection<? extends NormalizedNode<?, ?>> children(final Optional<NormalizedNode<?, ?>> data) {
+        if (data.isPresent() && data.get() instanceof NormalizedNodeContainer) {
+            return ((NormalizedNodeContainer<?, ?, ?>) data.get()).getValue();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        Preconditions.checkState(identifier != null, "Attempted to get identifier of the root node");
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        if (modificationType == ModificationType.UNMODIFIED) {
+            return Collections.emptyList();
+        }
+
+        final List<DataTreeCandidateNode> ret = new ArrayList<>();
+        for (NormalizedNode<?, ?> after : children(dataAfter)) {
+            final DataTreeCandidateNode node = new ImageDataTreeCandidateNode(after.getIdentifier(),
+                child(dataBefore, after.getIdentifier()), Optional.<NormalizedNode<?, ?>>of(after));
+            if (node.getModificationType() != ModificationType.UNMODIFIED) {
+                ret.add(node);
+            }
+        }
+        for (NormalizedNode<?, ?> before : children(dataBefore)) {
+            if (!child(dataAfter, before.getIdentifier()).isPresent()) {
+                ret.add(new ImageDataTreeCandidateNode(before.getIdentifier(),
+                    Optional.<NormalizedNode<?, ?>>of(before), Optional.<NormalizedNode<?, ?>>absent()));
+            }
+        }
+        return Collections.unmodifiableList(ret);
+    }
+
+    @Override
+    public DataTreeCandidateNode getModifiedChild(final PathArgument childIdentifier) {
+        if (modificationType == ModificationType.UNMODIFIED) {
+            return null;
+        }
+
+        final DataTreeCandidateNode node = new ImageDataTreeCandidateNode(childIdentifier,
+            child(dataBefore, childIdentifier), child(dataAfter, childIdentifier));
+        return node.getModificationType() == ModificationType.UNMODIFIED ? null : node;
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return modificationType;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return dataAfter;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return dataBefore;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("type", modificationType)
+                .toString();
+    }
+}
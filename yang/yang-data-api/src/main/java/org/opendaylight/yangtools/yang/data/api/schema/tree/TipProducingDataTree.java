@@ -7,11 +7,54 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A {@link DataTree} which produces {@link DataTreeCandidateTip} candidates,
  * thus allowing existence of multiple candidates, which can be {@link #commit(DataTreeCandidate)}ed
  * in sequence.
  */
 public interface TipProducingDataTree extends DataTree, TipProducingDataTreeTip {
+    /**
+     * Validate, prepare and commit a batch of modifications in one go. Each modification is validated and prepared
+     * on top of the candidate produced by its predecessor. The batch is all-or-nothing: if any of the modifications
+     * fails to validate, none of them are committed.
+     *
+     * <p>
+     * If the tree is concurrently updated while the batch is being prepared, the batch fails with a
+     * {@link ConflictingModificationAppliedException}, just as a {@link #commit(DataTreeCandidate)} of a stale
+     * candidate would fail.
+     *
+     * <p>
+     * The default implementation prepares all modifications and then commits the resulting candidates one by one,
+     * so the intermediate states may be observed by readers. Implementations are encouraged to install the
+     * resulting state atomically.
+     *
+     * @param modifications Sealed modifications, in the order in which they should be applied
+     * @return Candidate describing the combined effect of all modifications
+     * @throws DataValidationFailedException if any of the modifications is not valid
+     * @throws IllegalArgumentException if modifications is empty
+     */
+    @Beta
+    default DataTreeCandidate commitBatch(final List<? extends DataTreeModification> modifications)
+            throws DataValidationFailedException {
+        Preconditions.checkArgument(!modifications.isEmpty(), "Batch has to contain at least one modification");
+
+        final List<DataTreeCandidateTip> candidates = new ArrayList<>(modifications.size());
+        TipProducingDataTreeTip tip = this;
+        for (final DataTreeModification modification : modifications) {
+            tip.validate(modification);
+            final DataTreeCandidateTip candidate = tip.prepare(modification);
+            candidates.add(candidate);
+            tip = candidate;
+        }
 
+        for (final DataTreeCandidateTip candidate : candidates) {
+            commit(candidate);
+        }
+        return DataTreeCandidates.aggregate(candidates);
+    }
 }
@@ -17,8 +17,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
  * changed is tracked by the subtree version.
  */
 abstract class AbstractContainerNode extends AbstractTreeNode {
-    protected AbstractContainerNode(final NormalizedNode<?, ?> data, final Version version) {
-        super(data, version);
+    protected AbstractContainerNode(final NormalizedNode<?, ?> data) {
+        super(data);
     }
 
     @SuppressWarnings("unchecked")
@@ -19,11 +19,13 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  */
 abstract class AbstractModifiedContainerNode extends AbstractContainerNode {
     private final Map<PathArgument, TreeNode> children;
+    private final Version version;
     private final Version subtreeVersion;
 
     protected AbstractModifiedContainerNode(final NormalizedNode<?, ?> data, final Version version,
             final Map<PathArgument, TreeNode> children, final Version subtreeVersion) {
-        super(data, version);
+        super(data);
+        this.version = Preconditions.checkNotNull(version);
         this.subtreeVersion = Preconditions.checkNotNull(subtreeVersion);
         this.children = Preconditions.checkNotNull(children);
     }
@@ -36,6 +38,11 @@ abstract class AbstractModifiedContainerNode extends AbstractContainerNode {
         return MapAdaptor.getDefaultInstance().takeSnapshot(children);
     }
 
+    @Override
+    public final Version getVersion() {
+        return version;
+    }
+
     @Override
     public final Version getSubtreeVersion() {
         return subtreeVersion;
@@ -28,7 +28,8 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
     protected AbstractMutableContainerNode(final AbstractContainerNode parent, final Map<PathArgument, TreeNode> children) {
         this.data = parent.getData();
         this.version = parent.getVersion();
-        this.subtreeVersion = parent.getSubtreeVersion();
+        // Simple containers do not track their subtree version, do not instantiate a compact version twice
+        this.subtreeVersion = parent instanceof AbstractSimpleContainerNode ? version : parent.getSubtreeVersion();
         this.children = Preconditions.checkNotNull(children);
     }
 
@@ -88,7 +89,7 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
                 ret = new MaterializedContainerNode(data, version, newChildren, subtreeVersion);
             }
         } else {
-            ret = new SimpleContainerNode(data, version);
+            ret = version.createContainerNode(data);
         }
 
         // This forces a NPE if this class is accessed again. Better than corruption.
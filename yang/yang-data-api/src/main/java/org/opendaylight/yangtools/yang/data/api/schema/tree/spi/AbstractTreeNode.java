@@ -14,15 +14,13 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgum
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * A very basic data tree node. Contains some versioned data.
+ * A very basic data tree node. Contains some versioned data, the version itself is stored by subclasses.
  */
 abstract class AbstractTreeNode implements TreeNode {
     private final NormalizedNode<?, ?> data;
-    private final Version version;
 
-    protected AbstractTreeNode(final NormalizedNode<?, ?> data, final Version version) {
+    protected AbstractTreeNode(final NormalizedNode<?, ?> data) {
         this.data = Preconditions.checkNotNull(data);
-        this.version = Preconditions.checkNotNull(version);
     }
 
     @Override
@@ -30,11 +28,6 @@ abstract class AbstractTreeNode implements TreeNode {
         return data.getIdentifier();
     }
 
-    @Override
-    public final Version getVersion() {
-        return version;
-    }
-
     @Override
     public final NormalizedNode<?, ?> getData() {
         return data;
@@ -42,7 +35,7 @@ abstract class AbstractTreeNode implements TreeNode {
 
     @Override
     public final String toString() {
-        return addToStringAttributes(MoreObjects.toStringHelper(this).add("version", version)).toString();
+        return addToStringAttributes(MoreObjects.toStringHelper(this).add("version", getVersion())).toString();
     }
 
     protected abstract ToStringHelper addToStringAttributes(ToStringHelper helper);
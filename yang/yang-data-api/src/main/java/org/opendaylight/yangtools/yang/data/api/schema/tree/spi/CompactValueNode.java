@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version.CompactVersion;
+
+/**
+ * A leaf node which stores the sequence number of its {@link CompactVersion}.
+ */
+final class CompactValueNode extends AbstractValueNode implements CompactVersion.Node {
+    private final long version;
+
+    CompactValueNode(final NormalizedNode<?, ?> data, final long version) {
+        super(data);
+        this.version = version;
+    }
+
+    @Override
+    public Version getVersion() {
+        return CompactVersion.valueOf(version);
+    }
+
+    @Override
+    public long getSequence() {
+        return version;
+    }
+
+    @Override
+    public boolean hasSameVersion(final TreeNode other) {
+        return CompactVersion.isVersionOf(version, other);
+    }
+
+    @Override
+    public boolean hasSameSubtreeVersion(final TreeNode other) {
+        return CompactVersion.isSubtreeVersionOf(version, other);
+    }
+}
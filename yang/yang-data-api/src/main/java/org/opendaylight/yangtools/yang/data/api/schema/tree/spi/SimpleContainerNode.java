@@ -7,36 +7,22 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
-import com.google.common.base.MoreObjects.ToStringHelper;
-import com.google.common.base.Optional;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import com.google.common.base.Preconditions;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * A container node which has not seen a modification. All nodes underneath it share the same subtree version.
+ * An unmodified container node which keeps a reference to its version.
  */
-final class SimpleContainerNode extends AbstractContainerNode {
-    protected SimpleContainerNode(final NormalizedNode<?, ?> data, final Version version) {
-        super(data, version);
-    }
-
-    @Override
-    public Version getSubtreeVersion() {
-        return getVersion();
-    }
+final class SimpleContainerNode extends AbstractSimpleContainerNode {
+    private final Version version;
 
-    @Override
-    public Optional<TreeNode> getChild(final PathArgument child) {
-        return getChildFromData(child);
-    }
-
-    @Override
-    public MutableTreeNode mutable() {
-        return new LazyMutableContainerNode(this);
+    protected SimpleContainerNode(final NormalizedNode<?, ?> data, final Version version) {
+        super(data);
+        this.version = Preconditions.checkNotNull(version);
     }
 
     @Override
-    protected ToStringHelper addToStringAttributes(final ToStringHelper helper) {
-        return helper.add("data", getData());
+    public Version getVersion() {
+        return version;
     }
 }
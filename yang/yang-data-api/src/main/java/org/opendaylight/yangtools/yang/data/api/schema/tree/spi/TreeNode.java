@@ -11,6 +11,7 @@ import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.StoreTreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version.CompactVersion;
 
 /**
  * A very basic data tree node. It has a version (when it was last modified), a subtree version (when any of its
@@ -44,6 +45,36 @@ public interface TreeNode extends Identifiable<PathArgument>, StoreTreeNode<Tree
      */
     Version getSubtreeVersion();
 
+    /**
+     * Check whether this node has the same version as another node. This is equivalent to comparing their
+     * {@link #getVersion()}, except it does not need to instantiate versions of nodes which store them in a compact
+     * form.
+     *
+     * @param other Other node
+     * @return True if both nodes have the same version
+     */
+    default boolean hasSameVersion(final TreeNode other) {
+        if (other instanceof CompactVersion.Node) {
+            return other.hasSameVersion(this);
+        }
+        return getVersion().equals(other.getVersion());
+    }
+
+    /**
+     * Check whether this node has the same subtree version as another node. This is equivalent to comparing their
+     * {@link #getSubtreeVersion()}, except it does not need to instantiate versions of nodes which store them
+     * in a compact form.
+     *
+     * @param other Other node
+     * @return True if both nodes have the same subtree version
+     */
+    default boolean hasSameSubtreeVersion(final TreeNode other) {
+        if (other instanceof CompactVersion.Node) {
+            return other.hasSameSubtreeVersion(this);
+        }
+        return getSubtreeVersion().equals(other.getSubtreeVersion());
+    }
+
     /**
      * Get a read-only view of the underlying data.
      *
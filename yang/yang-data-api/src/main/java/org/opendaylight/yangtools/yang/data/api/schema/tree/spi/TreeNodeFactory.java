@@ -115,25 +115,17 @@ public final class TreeNodeFactory {
     }
 
     /**
-     * Create a new AbstractTreeNode from a data node.
+     * Create a new AbstractTreeNode from a data node. The implementation is selected by the version, see
+     * {@link Version#initialCompact()}.
      *
      * @param data data node
      * @param version data node version
      * @return new AbstractTreeNode instance, covering the data tree provided
      */
     public static TreeNode createTreeNode(final NormalizedNode<?, ?> data, final Version version) {
-        if (data instanceof NormalizedNodeContainer<?, ?, ?>) {
-            @SuppressWarnings("unchecked")
-            final NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>> container =
-                    (NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>>) data;
-            return new SimpleContainerNode(container, version);
-        }
-        if (data instanceof OrderedNodeContainer<?>) {
-            @SuppressWarnings("unchecked")
-            final OrderedNodeContainer<NormalizedNode<?, ?>> container =
-                    (OrderedNodeContainer<NormalizedNode<?, ?>>) data;
-            return new SimpleContainerNode(container, version);
+        if (data instanceof NormalizedNodeContainer<?, ?, ?> || data instanceof OrderedNodeContainer<?>) {
+            return version.createContainerNode(data);
         }
-        return new ValueNode(data, version);
+        return version.createValueNode(data);
     }
 }
@@ -7,12 +7,25 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
+import com.google.common.annotations.Beta;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
 /**
  * The concept of a version, either node version, or a subtree version. The
  * only interface contract this class has is that no two versions are the
  * same.
+ *
+ * <p>
+ * Versions come in two flavors, which determine the {@link TreeNode}
+ * implementations created by {@link TreeNodeFactory}. Versions obtained from
+ * {@link #initial()} are distinguished by identity and nodes keep references
+ * to them. Versions obtained from {@link #initialCompact()} are distinguished
+ * by a sequence number, which nodes store as a primitive value, so that
+ * versions do not need to be retained for as long as any node carries them.
+ * Each flavor produces only versions of the same flavor.
  */
-public final class Version {
+public abstract class Version {
     private Version() {
 
     }
@@ -22,10 +35,7 @@ public final class Version {
      *
      * @return a new version.
      */
-    @SuppressWarnings("static-method")
-    public Version next() {
-        return new Version();
-    }
+    public abstract Version next();
 
     /**
      * Create an initial version.
@@ -33,6 +43,122 @@ public final class Version {
      * @return a new version.
      */
     public static Version initial() {
-        return new Version();
+        return new IdentityVersion();
+    }
+
+    /**
+     * Create an initial version, whose nodes and successors store versions as
+     * primitive values.
+     *
+     * @return a new version.
+     */
+    @Beta
+    public static Version initialCompact() {
+        return CompactVersion.allocate();
+    }
+
+    /**
+     * Create a leaf node carrying this version.
+     */
+    abstract TreeNode createValueNode(NormalizedNode<?, ?> data);
+
+    /**
+     * Create an unmodified container node carrying this version.
+     */
+    abstract TreeNode createContainerNode(NormalizedNode<?, ?> data);
+
+    private static final class IdentityVersion extends Version {
+        @Override
+        public Version next() {
+            return new IdentityVersion();
+        }
+
+        @Override
+        TreeNode createValueNode(final NormalizedNode<?, ?> data) {
+            return new ValueNode(data, this);
+        }
+
+        @Override
+        TreeNode createContainerNode(final NormalizedNode<?, ?> data) {
+            return new SimpleContainerNode(data, this);
+        }
+    }
+
+    static final class CompactVersion extends Version {
+        /**
+         * A node which stores the sequence number of its version, which is also its subtree version. Versions
+         * of such nodes are compared via their sequence numbers, without instantiating them.
+         */
+        interface Node extends TreeNode {
+            long getSequence();
+        }
+
+        // Shared by all trees, which keeps versions unique even if they are mixed up
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        private final long sequence;
+
+        private CompactVersion(final long sequence) {
+            this.sequence = sequence;
+        }
+
+        static CompactVersion allocate() {
+            return new CompactVersion(SEQUENCE.incrementAndGet());
+        }
+
+        /**
+         * Re-create a version from its sequence number, as previously returned by {@link #getSequence()}.
+         */
+        static CompactVersion valueOf(final long sequence) {
+            return new CompactVersion(sequence);
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        static boolean isVersionOf(final long sequence, final TreeNode node) {
+            return node instanceof Node ? ((Node) node).getSequence() == sequence
+                    : hasSequence(node.getVersion(), sequence);
+        }
+
+        static boolean isSubtreeVersionOf(final long sequence, final TreeNode node) {
+            return node instanceof Node ? ((Node) node).getSequence() == sequence
+                    : hasSequence(node.getSubtreeVersion(), sequence);
+        }
+
+        private static boolean hasSequence(final Version version, final long sequence) {
+            return version instanceof CompactVersion && ((CompactVersion) version).sequence == sequence;
+        }
+
+        @Override
+        public Version next() {
+            return allocate();
+        }
+
+        @Override
+        TreeNode createValueNode(final NormalizedNode<?, ?> data) {
+            return new CompactValueNode(data, sequence);
+        }
+
+        @Override
+        TreeNode createContainerNode(final NormalizedNode<?, ?> data) {
+            return new CompactContainerNode(data, sequence);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(sequence);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof CompactVersion && sequence == ((CompactVersion) obj).sequence;
+        }
+
+        @Override
+        public String toString() {
+            return "Version{" + sequence + "}";
+        }
     }
 }
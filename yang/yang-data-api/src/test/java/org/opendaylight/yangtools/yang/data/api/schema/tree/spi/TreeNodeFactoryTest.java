@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
@@ -53,4 +55,59 @@ public class TreeNodeFactoryTest {
         assertTrue(node instanceof ValueNode);
         checkTreeNode(node, data, version);
     }
+
+    @Test
+    public void testCompactContainer() {
+        final ContainerNode data = Mockito.mock(ContainerNode.class);
+        final Version version = Version.initialCompact();
+        final TreeNode node = TreeNodeFactory.createTreeNode(data, version);
+
+        assertTrue(node instanceof CompactContainerNode);
+        assertSame(data, node.getData());
+        assertEquals(version, node.getVersion());
+        assertEquals(version, node.getSubtreeVersion());
+
+        // Unmodified node retains its representation
+        assertTrue(node.mutable().seal() instanceof CompactContainerNode);
+    }
+
+    @Test
+    public void testCompactLeaf() {
+        final LeafNode<?> data = Mockito.mock(LeafNode.class);
+        final Version version = Version.initialCompact();
+        final TreeNode node = TreeNodeFactory.createTreeNode(data, version);
+
+        assertTrue(node instanceof CompactValueNode);
+        assertSame(data, node.getData());
+        assertEquals(version, node.getVersion());
+        assertEquals(version, node.getSubtreeVersion());
+    }
+
+    @Test
+    public void testCompactVersionComparison() {
+        final LeafNode<?> data = Mockito.mock(LeafNode.class);
+        final Version version = Version.initialCompact();
+        final TreeNode leaf = TreeNodeFactory.createTreeNode(data, version);
+        final TreeNode container = TreeNodeFactory.createTreeNode(Mockito.mock(ContainerNode.class), version);
+        final TreeNode other = TreeNodeFactory.createTreeNode(data, version.next());
+        final TreeNode identity = TreeNodeFactory.createTreeNode(data, Version.initial());
+
+        assertTrue(leaf.hasSameVersion(container));
+        assertTrue(container.hasSameSubtreeVersion(leaf));
+        assertFalse(leaf.hasSameVersion(other));
+        assertFalse(other.hasSameSubtreeVersion(container));
+        assertFalse(leaf.hasSameVersion(identity));
+        assertFalse(identity.hasSameVersion(leaf));
+
+        // Modified containers carry version instances
+        final MutableTreeNode mutable = container.mutable();
+        final Version subtreeVersion = version.next();
+        mutable.setSubtreeVersion(subtreeVersion);
+        final TreeNode modified = mutable.seal();
+        assertTrue(modified.hasSameVersion(leaf));
+        assertTrue(leaf.hasSameVersion(modified));
+        assertFalse(modified.hasSameSubtreeVersion(leaf));
+        assertFalse(leaf.hasSameSubtreeVersion(modified));
+        assertTrue(modified.hasSameSubtreeVersion(TreeNodeFactory.createTreeNode(data, subtreeVersion)));
+    }
 }
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import org.junit.Test;
 
@@ -31,4 +32,16 @@ public class VersionTest {
         assertFalse(v3.equals(v4));
         assertFalse(v4.equals(v3));
     }
+
+    @Test
+    public void testCompact() {
+        final Version v1 = Version.initialCompact();
+        final Version v2 = v1.next();
+        final Version v3 = v1.next();
+
+        assertFalse(v1.equals(v2));
+        assertFalse(v2.equals(v3));
+        assertFalse(v1.equals(Version.initial()));
+        assertEquals(v2, Version.CompactVersion.valueOf(((Version.CompactVersion) v2).getSequence()));
+    }
 }
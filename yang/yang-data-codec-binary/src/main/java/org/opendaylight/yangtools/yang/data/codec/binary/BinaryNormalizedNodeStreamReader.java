@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binary;
+
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.readBytes;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.readCount;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.readString;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.readVarInt;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.readZigZag;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Reader of streams produced by {@link BinaryNormalizedNodeStreamWriter}. Nodes are read one at a time, either
+ * replaying their events into a {@link NormalizedNodeStreamWriter}, or into a {@link NormalizedNode}.
+ */
+@Beta
+public final class BinaryNormalizedNodeStreamReader {
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
+    // Counts read from the stream are not trusted to size collections beyond this
+    private static final int MAX_PRESIZE = 16;
+
+    static {
+        // Anyxml payloads come from the stream, hence we do not allow them to use DTDs or external entities
+        final DocumentBuilderFactory f = DocumentBuilderFactory.newInstance();
+        f.setNamespaceAware(true);
+        try {
+            f.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            f.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            f.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (ParserConfigurationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        f.setXIncludeAware(false);
+        f.setExpandEntityReferences(false);
+        DOCUMENT_BUILDER_FACTORY = f;
+    }
+
+    private final List<QNameModule> modules = new ArrayList<>();
+    private final List<QName> qnames = new ArrayList<>();
+    private final List<AugmentationIdentifier> augmentations = new ArrayList<>();
+    private final DataInput input;
+    private boolean headerRead;
+
+    private BinaryNormalizedNodeStreamReader(final DataInput input) {
+        this.input = Preconditions.checkNotNull(input);
+    }
+
+    /**
+     * Create a new reader backed by specified input.
+     *
+     * @param input Input from which the stream is read
+     * @return A new reader
+     */
+    public static BinaryNormalizedNodeStreamReader create(final DataInput input) {
+        return new BinaryNormalizedNodeStreamReader(input);
+    }
+
+    /**
+     * Read the next node from the stream and emit corresponding events into a writer.
+     *
+     * @param writer Writer receiving the events
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public void streamNormalizedNode(final NormalizedNodeStreamWriter writer) throws IOException {
+        if (!headerRead) {
+            final byte magic = input.readByte();
+            final byte version = input.readByte();
+            if (magic != BinaryTokens.MAGIC || version != BinaryTokens.VERSION) {
+                throw new IOException(String.format("Unsupported stream header %02x%02x", magic, version));
+            }
+            headerRead = true;
+        }
+
+        final byte nodeType = input.readByte();
+        if (nodeType == BinaryTokens.END_NODE) {
+            throw new IOException("Unexpected end of node");
+        }
+        streamNode(writer, nodeType);
+    }
+
+    /**
+     * Read the next node from the stream.
+     *
+     * @return Node read from the stream
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public NormalizedNode<?, ?> readNormalizedNode() throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+        streamNormalizedNode(writer);
+        writer.flush();
+        return result.getResult();
+    }
+
+    private void streamNode(final NormalizedNodeStreamWriter writer, final byte nodeType) throws IOException {
+        switch (nodeType) {
+            case BinaryTokens.LEAF:
+                writer.leafNode(readNodeIdentifier(), readValue());
+                return;
+            case BinaryTokens.LEAF_SET_ENTRY:
+                writer.leafSetEntryNode(readQName(), readValue());
+                return;
+            case BinaryTokens.ANYXML:
+                writer.anyxmlNode(readNodeIdentifier(), readDOMSource());
+                return;
+            case BinaryTokens.LEAF_SET:
+                writer.startLeafSet(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.ORDERED_LEAF_SET:
+                writer.startOrderedLeafSet(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.CONTAINER:
+                writer.startContainerNode(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.UNKEYED_LIST:
+                writer.startUnkeyedList(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.UNKEYED_LIST_ITEM:
+                writer.startUnkeyedListItem(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.MAP:
+                writer.startMapNode(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.MAP_ENTRY:
+                writer.startMapEntryNode(readPredicates(), readSizeHint());
+                break;
+            case BinaryTokens.ORDERED_MAP:
+                writer.startOrderedMapNode(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.CHOICE:
+                writer.startChoiceNode(readNodeIdentifier(), readSizeHint());
+                break;
+            case BinaryTokens.AUGMENTATION:
+                writer.startAugmentationNode(readAugmentationIdentifier());
+                break;
+            case BinaryTokens.YANG_MODELED_ANYXML:
+                writer.startYangModeledAnyXmlNode(readNodeIdentifier(), readSizeHint());
+                break;
+            default:
+                throw new IOException("Unknown node type " + nodeType);
+        }
+
+        for (byte childType = input.readByte(); childType != BinaryTokens.END_NODE; childType = input.readByte()) {
+            streamNode(writer, childType);
+        }
+        writer.endNode();
+    }
+
+    private int readSizeHint() throws IOException {
+        return readVarInt(input) - 1;
+    }
+
+    private NodeIdentifier readNodeIdentifier() throws IOException {
+        return NodeIdentifier.create(readQName());
+    }
+
+    private static <T> T lookup(final List<T> dictionary, final int code) throws IOException {
+        if (code < 1 || code > dictionary.size()) {
+            throw new IOException("Invalid dictionary reference " + code);
+        }
+        return dictionary.get(code - 1);
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int code = readVarInt(input);
+        if (code != BinaryTokens.NEW_DEFINITION) {
+            return lookup(modules, code);
+        }
+
+        final URI namespace = URI.create(readString(input));
+        final String revision = readString(input);
+        final QNameModule module = QNameModule.create(namespace,
+            revision.isEmpty() ? null : QName.parseRevision(revision)).intern();
+        modules.add(module);
+        return module;
+    }
+
+    private QName readQName() throws IOException {
+        final int code = readVarInt(input);
+        if (code != BinaryTokens.NEW_DEFINITION) {
+            return lookup(qnames, code);
+        }
+
+        final QNameModule module = readModule();
+        final QName qname = QName.create(module, readString(input)).intern();
+        qnames.add(qname);
+        return qname;
+    }
+
+    private AugmentationIdentifier readAugmentationIdentifier() throws IOException {
+        final int code = readVarInt(input);
+        if (code != BinaryTokens.NEW_DEFINITION) {
+            return lookup(augmentations, code);
+        }
+
+        final int size = readCount(input);
+        final ImmutableSet.Builder<QName> childNames = ImmutableSet.builder();
+        for (int i = 0; i < size; ++i) {
+            childNames.add(readQName());
+        }
+        final AugmentationIdentifier identifier = new AugmentationIdentifier(childNames.build());
+        augmentations.add(identifier);
+        return identifier;
+    }
+
+    private NodeIdentifierWithPredicates readPredicates() throws IOException {
+        final QName nodeType = readQName();
+        final int size = readCount(input);
+        final Map<QName, Object> keyValues = new LinkedHashMap<>(Math.min(size, MAX_PRESIZE));
+        for (int i = 0; i < size; ++i) {
+            final QName key = readQName();
+            keyValues.put(key, readValue());
+        }
+        return new NodeIdentifierWithPredicates(nodeType, keyValues);
+    }
+
+    private PathArgument readPathArgument() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case BinaryTokens.NODE_IDENTIFIER:
+                return readNodeIdentifier();
+            case BinaryTokens.NODE_IDENTIFIER_WITH_PREDICATES:
+                return readPredicates();
+            case BinaryTokens.NODE_WITH_VALUE:
+                final QName nodeType = readQName();
+                return new NodeWithValue<>(nodeType, readValue());
+            case BinaryTokens.AUGMENTATION_IDENTIFIER:
+                return readAugmentationIdentifier();
+            default:
+                throw new IOException("Unknown path argument type " + type);
+        }
+    }
+
+    private Object readValue() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case BinaryTokens.VALUE_NULL:
+                return null;
+            case BinaryTokens.VALUE_FALSE:
+                return Boolean.FALSE;
+            case BinaryTokens.VALUE_TRUE:
+                return Boolean.TRUE;
+            case BinaryTokens.VALUE_BYTE:
+                return input.readByte();
+            case BinaryTokens.VALUE_SHORT:
+                return (short) readZigZag(input);
+            case BinaryTokens.VALUE_INT:
+                return (int) readZigZag(input);
+            case BinaryTokens.VALUE_LONG:
+                return readZigZag(input);
+            case BinaryTokens.VALUE_BIG_INTEGER:
+                return new BigInteger(readBytes(input));
+            case BinaryTokens.VALUE_BIG_DECIMAL:
+                final int scale = (int) readZigZag(input);
+                return new BigDecimal(new BigInteger(readBytes(input)), scale);
+            case BinaryTokens.VALUE_STRING:
+                return readString(input);
+            case BinaryTokens.VALUE_BINARY:
+                return readBytes(input);
+            case BinaryTokens.VALUE_QNAME:
+                return readQName();
+            case BinaryTokens.VALUE_BITS:
+                final int bitCount = readCount(input);
+                final ImmutableSet.Builder<String> bits = ImmutableSet.builder();
+                for (int i = 0; i < bitCount; ++i) {
+                    bits.add(readString(input));
+                }
+                return bits.build();
+            case BinaryTokens.VALUE_INSTANCE_IDENTIFIER:
+                final int size = readCount(input);
+                final List<PathArgument> pathArguments = new ArrayList<>(Math.min(size, MAX_PRESIZE));
+                for (int i = 0; i < size; ++i) {
+                    pathArguments.add(readPathArgument());
+                }
+                return YangInstanceIdentifier.create(pathArguments);
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private DOMSource readDOMSource() throws IOException {
+        final Document doc;
+        try {
+            doc = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().parse(new InputSource(new StringReader(
+                readString(input))));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Failed to parse anyxml value", e);
+        }
+        doc.normalize();
+        return new DOMSource(doc.getDocumentElement());
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binary;
+
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.writeBytes;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.writeString;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.writeVarInt;
+import static org.opendaylight.yangtools.yang.data.codec.binary.BinaryTokens.writeZigZag;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.io.DataOutput;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * A {@link NormalizedNodeStreamWriter} which produces a compact binary encoding, which can be read back using
+ * {@link BinaryNormalizedNodeStreamReader}. Namespaces and QNames are written only once per stream and referenced
+ * afterwards, and values use a type-specific encoding. The encoding does not require a SchemaContext.
+ *
+ * <p>
+ * Multiple nodes can be written into a single stream, in which case they share the dictionary. Closing this writer
+ * does not close the underlying output.
+ */
+@Beta
+public final class BinaryNormalizedNodeStreamWriter implements NormalizedNodeStreamWriter {
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    private final Map<QNameModule, Integer> modules = new HashMap<>();
+    private final Map<QName, Integer> qnames = new HashMap<>();
+    private final Map<AugmentationIdentifier, Integer> augmentations = new HashMap<>();
+    private final DataOutput output;
+    private boolean headerWritten;
+
+    private BinaryNormalizedNodeStreamWriter(final DataOutput output) {
+        this.output = Preconditions.checkNotNull(output);
+    }
+
+    /**
+     * Create a new writer backed by specified output.
+     *
+     * @param output Output to which the stream is written
+     * @return A new writer
+     */
+    public static BinaryNormalizedNodeStreamWriter create(final DataOutput output) {
+        return new BinaryNormalizedNodeStreamWriter(output);
+    }
+
+    private void startNode(final byte nodeType) throws IOException {
+        if (!headerWritten) {
+            output.writeByte(BinaryTokens.MAGIC);
+            output.writeByte(BinaryTokens.VERSION);
+            headerWritten = true;
+        }
+        output.writeByte(nodeType);
+    }
+
+    private void startNode(final byte nodeType, final NodeIdentifier name, final int childSizeHint)
+            throws IOException {
+        startNode(nodeType);
+        writeQName(name.getNodeType());
+        // Shifted by one, so that UNKNOWN_SIZE is encoded in a single byte
+        writeVarInt(output, childSizeHint + 1);
+    }
+
+    @Override
+    public void leafNode(final NodeIdentifier name, final Object value) throws IOException {
+        startNode(BinaryTokens.LEAF);
+        writeQName(name.getNodeType());
+        writeValue(value);
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.LEAF_SET, name, childSizeHint);
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.ORDERED_LEAF_SET, name, childSizeHint);
+    }
+
+    @Override
+    public void leafSetEntryNode(final QName name, final Object value) throws IOException {
+        startNode(BinaryTokens.LEAF_SET_ENTRY);
+        writeQName(name);
+        writeValue(value);
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.CONTAINER, name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.UNKEYED_LIST, name, childSizeHint);
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.UNKEYED_LIST_ITEM, name, childSizeHint);
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.MAP, name, childSizeHint);
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        startNode(BinaryTokens.MAP_ENTRY);
+        writePredicates(identifier);
+        writeVarInt(output, childSizeHint + 1);
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.ORDERED_MAP, name, childSizeHint);
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.CHOICE, name, childSizeHint);
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        startNode(BinaryTokens.AUGMENTATION);
+        writeAugmentationIdentifier(identifier);
+    }
+
+    @Override
+    public void anyxmlNode(final NodeIdentifier name, final Object value) throws IOException {
+        Preconditions.checkArgument(value instanceof DOMSource, "AnyXML value must be DOMSource, not %s", value);
+        startNode(BinaryTokens.ANYXML);
+        writeQName(name.getNodeType());
+
+        final StringWriter writer = new StringWriter();
+        try {
+            TRANSFORMER_FACTORY.newTransformer().transform((DOMSource) value, new StreamResult(writer));
+        } catch (TransformerException e) {
+            throw new IOException("Failed to serialize anyxml " + name, e);
+        }
+        writeString(output, writer.toString());
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(BinaryTokens.YANG_MODELED_ANYXML, name, childSizeHint);
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        output.writeByte(BinaryTokens.END_NODE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (output instanceof Flushable) {
+            ((Flushable) output).flush();
+        }
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer code = modules.get(module);
+        if (code != null) {
+            writeVarInt(output, code);
+            return;
+        }
+
+        writeVarInt(output, BinaryTokens.NEW_DEFINITION);
+        writeString(output, module.getNamespace().toString());
+        writeString(output, module.getRevision() == null ? "" : module.getFormattedRevision());
+        modules.put(module, modules.size() + 1);
+    }
+
+    private void writeQName(final QName qname) throws IOException {
+        final Integer code = qnames.get(qname);
+        if (code != null) {
+            writeVarInt(output, code);
+            return;
+        }
+
+        writeVarInt(output, BinaryTokens.NEW_DEFINITION);
+        writeModule(qname.getModule());
+        writeString(output, qname.getLocalName());
+        qnames.put(qname, qnames.size() + 1);
+    }
+
+    private void writeAugmentationIdentifier(final AugmentationIdentifier identifier) throws IOException {
+        final Integer code = augmentations.get(identifier);
+        if (code != null) {
+            writeVarInt(output, code);
+            return;
+        }
+
+        writeVarInt(output, BinaryTokens.NEW_DEFINITION);
+        final Set<QName> childNames = identifier.getPossibleChildNames();
+        writeVarInt(output, childNames.size());
+        for (final QName childName : childNames) {
+            writeQName(childName);
+        }
+        augmentations.put(identifier, augmentations.size() + 1);
+    }
+
+    private void writePredicates(final NodeIdentifierWithPredicates identifier) throws IOException {
+        writeQName(identifier.getNodeType());
+        final Map<QName, Object> keyValues = identifier.getKeyValues();
+        writeVarInt(output, keyValues.size());
+        for (final Entry<QName, Object> entry : keyValues.entrySet()) {
+            writeQName(entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    private void writePathArgument(final PathArgument pathArgument) throws IOException {
+        if (pathArgument instanceof NodeIdentifier) {
+            output.writeByte(BinaryTokens.NODE_IDENTIFIER);
+            writeQName(pathArgument.getNodeType());
+        } else if (pathArgument instanceof NodeIdentifierWithPredicates) {
+            output.writeByte(BinaryTokens.NODE_IDENTIFIER_WITH_PREDICATES);
+            writePredicates((NodeIdentifierWithPredicates) pathArgument);
+        } else if (pathArgument instanceof NodeWithValue) {
+            output.writeByte(BinaryTokens.NODE_WITH_VALUE);
+            writeQName(pathArgument.getNodeType());
+            writeValue(((NodeWithValue<?>) pathArgument).getValue());
+        } else if (pathArgument instanceof AugmentationIdentifier) {
+            output.writeByte(BinaryTokens.AUGMENTATION_IDENTIFIER);
+            writeAugmentationIdentifier((AugmentationIdentifier) pathArgument);
+        } else {
+            throw new IllegalArgumentException("Unhandled path argument " + pathArgument);
+        }
+    }
+
+    private void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(BinaryTokens.VALUE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(BinaryTokens.VALUE_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? BinaryTokens.VALUE_TRUE : BinaryTokens.VALUE_FALSE);
+        } else if (value instanceof Byte) {
+            output.writeByte(BinaryTokens.VALUE_BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte(BinaryTokens.VALUE_SHORT);
+            writeZigZag(output, (Short) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(BinaryTokens.VALUE_INT);
+            writeZigZag(output, (Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(BinaryTokens.VALUE_LONG);
+            writeZigZag(output, (Long) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BinaryTokens.VALUE_BIG_INTEGER);
+            writeBytes(output, ((BigInteger) value).toByteArray());
+        } else if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal) value;
+            output.writeByte(BinaryTokens.VALUE_BIG_DECIMAL);
+            writeZigZag(output, decimal.scale());
+            writeBytes(output, decimal.unscaledValue().toByteArray());
+        } else if (value instanceof byte[]) {
+            output.writeByte(BinaryTokens.VALUE_BINARY);
+            writeBytes(output, (byte[]) value);
+        } else if (value instanceof QName) {
+            output.writeByte(BinaryTokens.VALUE_QNAME);
+            writeQName((QName) value);
+        } else if (value instanceof Set) {
+            output.writeByte(BinaryTokens.VALUE_BITS);
+            final Collection<?> bits = (Set<?>) value;
+            writeVarInt(output, bits.size());
+            for (final Object bit : bits) {
+                Preconditions.checkArgument(bit instanceof String, "Unexpected bit %s in %s", bit, value);
+                writeString(output, (String) bit);
+            }
+        } else if (value instanceof YangInstanceIdentifier) {
+            output.writeByte(BinaryTokens.VALUE_INSTANCE_IDENTIFIER);
+            final List<PathArgument> pathArguments = ((YangInstanceIdentifier) value).getPathArguments();
+            writeVarInt(output, pathArguments.size());
+            for (final PathArgument pathArgument : pathArguments) {
+                writePathArgument(pathArgument);
+            }
+        } else {
+            throw new IllegalArgumentException("Unhandled value type " + value.getClass());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tokens and primitive encodings shared by {@link BinaryNormalizedNodeStreamWriter} and
+ * {@link BinaryNormalizedNodeStreamReader}.
+ *
+ * <p>
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by any number of nodes. Each node is encoded as
+ * a node type, followed by its identifier and either its value or its children terminated by {@link #END_NODE}.
+ * Lengths, counts and dictionary references are encoded as unsigned variable-length integers, 7 bits per byte.
+ * QNameModules, QNames and AugmentationIdentifiers are encoded in full on their first occurrence within the stream
+ * and as a reference to that occurrence afterwards.
+ */
+final class BinaryTokens {
+    static final byte MAGIC = (byte) 0xAD;
+    static final byte VERSION = 1;
+
+    // Largest array allocated before its content has been read
+    private static final int READ_CHUNK_SIZE = 65536;
+
+    // Node types
+    static final byte LEAF = 1;
+    static final byte LEAF_SET = 2;
+    static final byte ORDERED_LEAF_SET = 3;
+    static final byte LEAF_SET_ENTRY = 4;
+    static final byte CONTAINER = 5;
+    static final byte UNKEYED_LIST = 6;
+    static final byte UNKEYED_LIST_ITEM = 7;
+    static final byte MAP = 8;
+    static final byte MAP_ENTRY = 9;
+    static final byte ORDERED_MAP = 10;
+    static final byte CHOICE = 11;
+    static final byte AUGMENTATION = 12;
+    static final byte ANYXML = 13;
+    static final byte YANG_MODELED_ANYXML = 14;
+    static final byte END_NODE = 15;
+
+    // Value types
+    static final byte VALUE_NULL = 0;
+    static final byte VALUE_FALSE = 1;
+    static final byte VALUE_TRUE = 2;
+    static final byte VALUE_BYTE = 3;
+    static final byte VALUE_SHORT = 4;
+    static final byte VALUE_INT = 5;
+    static final byte VALUE_LONG = 6;
+    static final byte VALUE_BIG_INTEGER = 7;
+    static final byte VALUE_BIG_DECIMAL = 8;
+    static final byte VALUE_STRING = 9;
+    static final byte VALUE_BINARY = 10;
+    static final byte VALUE_QNAME = 11;
+    static final byte VALUE_BITS = 12;
+    static final byte VALUE_INSTANCE_IDENTIFIER = 13;
+
+    // Path argument types
+    static final byte NODE_IDENTIFIER = 1;
+    static final byte NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    static final byte NODE_WITH_VALUE = 3;
+    static final byte AUGMENTATION_IDENTIFIER = 4;
+
+    // Dictionary reference to a definition which follows inline
+    static final int NEW_DEFINITION = 0;
+
+    private BinaryTokens() {
+        throw new UnsupportedOperationException();
+    }
+
+    static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    static int readVarInt(final DataInput in) throws IOException {
+        int ret = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            ret |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ret;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    static long readVarLong(final DataInput in) throws IOException {
+        long ret = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.readByte();
+            ret |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ret;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    static void writeZigZag(final DataOutput out, final long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readZigZag(final DataInput in) throws IOException {
+        final long raw = readVarLong(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    static void writeBytes(final DataOutput out, final byte[] bytes) throws IOException {
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static byte[] readBytes(final DataInput in) throws IOException {
+        final int length = readCount(in);
+
+        // The length has not been verified against the stream, hence allocate only as much as has actually been read
+        byte[] ret = new byte[Math.min(length, READ_CHUNK_SIZE)];
+        int offset = 0;
+        while (true) {
+            in.readFully(ret, offset, ret.length - offset);
+            offset = ret.length;
+            if (offset == length) {
+                return ret;
+            }
+            ret = Arrays.copyOf(ret, (int) Math.min(length, offset * 2L));
+        }
+    }
+
+    /**
+     * Read a count or a length, which has to be non-negative.
+     */
+    static int readCount(final DataInput in) throws IOException {
+        final int count = readVarInt(in);
+        if (count < 0) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    static void writeString(final DataOutput out, final String str) throws IOException {
+        writeBytes(out, str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String readString(final DataInput in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+}
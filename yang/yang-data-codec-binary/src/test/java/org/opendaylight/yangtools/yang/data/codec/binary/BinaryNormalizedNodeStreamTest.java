@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+public class BinaryNormalizedNodeStreamTest {
+    private static final QName TOP = QName.create("urn:test", "2016-06-01", "top");
+    private static final QName OTHER = QName.create("urn:other", "other");
+    private static final QName LIST = QName.create(TOP, "list");
+    private static final QName KEY = QName.create(TOP, "key");
+    private static final QName VALUE = QName.create(TOP, "value");
+    private static final QName LEAF_LIST = QName.create(TOP, "leaf-list");
+    private static final QName UNKEYED = QName.create(TOP, "unkeyed");
+    private static final QName CHOICE = QName.create(TOP, "choice");
+    private static final QName AUGMENTED = QName.create(OTHER, "augmented");
+    private static final QName ANYXML = QName.create(TOP, "anyxml");
+
+    private static byte[] write(final NormalizedNode<?, ?>... nodes) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final NormalizedNodeStreamWriter writer = BinaryNormalizedNodeStreamWriter.create(new DataOutputStream(bos));
+        final NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(writer);
+        for (final NormalizedNode<?, ?> node : nodes) {
+            nodeWriter.write(node);
+        }
+        nodeWriter.close();
+        return bos.toByteArray();
+    }
+
+    private static BinaryNormalizedNodeStreamReader reader(final byte[] bytes) {
+        return BinaryNormalizedNodeStreamReader.create(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private static LeafNode<Object> leaf(final String localName, final Object value) {
+        return ImmutableNodes.leafNode(QName.create(TOP, localName), value);
+    }
+
+    private static ContainerNode createTestNode() {
+        final YangInstanceIdentifier iid = YangInstanceIdentifier.builder().node(TOP).node(LIST)
+                .nodeWithKey(LIST, KEY, 5L).node(LEAF_LIST).node(new NodeWithValue<>(LEAF_LIST, "foo"))
+                .node(new AugmentationIdentifier(ImmutableSet.of(AUGMENTED))).node(AUGMENTED).build();
+
+        return Builders.containerBuilder().withNodeIdentifier(NodeIdentifier.create(TOP))
+                .withChild(leaf("null", null))
+                .withChild(leaf("boolean", Boolean.TRUE))
+                .withChild(leaf("byte", (byte) -8))
+                .withChild(leaf("short", (short) 1000))
+                .withChild(leaf("int", Integer.MIN_VALUE))
+                .withChild(leaf("long", Long.MAX_VALUE))
+                .withChild(leaf("uint64", new BigInteger("18446744073709551615")))
+                .withChild(leaf("decimal64", new BigDecimal("-1234.5678")))
+                .withChild(leaf("string", "žluťoučký kůň"))
+                .withChild(leaf("identityref", OTHER))
+                .withChild(leaf("bits", ImmutableSet.of("one", "three")))
+                .withChild(leaf("instance-identifier", iid))
+                .withChild(ImmutableNodes.mapNodeBuilder(LIST)
+                    .withChild(ImmutableNodes.mapEntryBuilder(LIST, KEY, 1L).withChild(leaf("value", "one")).build())
+                    .withChild(ImmutableNodes.mapEntryBuilder(LIST, KEY, 2L).withChild(leaf("value", "two")).build())
+                    .build())
+                .withChild(Builders.orderedMapBuilder().withNodeIdentifier(NodeIdentifier.create(VALUE))
+                    .withChild(ImmutableNodes.mapEntry(VALUE, KEY, "ordered")).build())
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(NodeIdentifier.create(LEAF_LIST))
+                    .withChildValue("foo").withChildValue("bar").build())
+                .withChild(Builders.unkeyedListBuilder().withNodeIdentifier(NodeIdentifier.create(UNKEYED))
+                    .withChild(Builders.unkeyedListEntryBuilder().withNodeIdentifier(NodeIdentifier.create(UNKEYED))
+                        .withChild(leaf("value", 1)).build()).build())
+                .withChild(Builders.choiceBuilder().withNodeIdentifier(NodeIdentifier.create(CHOICE))
+                    .withChild(leaf("in-case", "case")).build())
+                .withChild(Builders.augmentationBuilder()
+                    .withNodeIdentifier(new AugmentationIdentifier(ImmutableSet.of(AUGMENTED)))
+                    .withChild(ImmutableNodes.leafNode(AUGMENTED, "augmented")).build())
+                .build();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ContainerNode node = createTestNode();
+        assertEquals(node, reader(write(node)).readNormalizedNode());
+    }
+
+    @Test
+    public void testBinaryValue() throws IOException {
+        final byte[] value = new byte[] { 0, 1, 2, (byte) 0xff };
+        final LeafNode<?> read = (LeafNode<?>) reader(write(leaf("binary", value))).readNormalizedNode();
+        assertArrayEquals(value, (byte[]) read.getValue());
+    }
+
+    @Test
+    public void testLargeBinaryValue() throws IOException {
+        // Larger than the chunks in which values are read
+        final byte[] value = new byte[200000];
+        for (int i = 0; i < value.length; ++i) {
+            value[i] = (byte) i;
+        }
+        final LeafNode<?> read = (LeafNode<?>) reader(write(leaf("binary", value))).readNormalizedNode();
+        assertArrayEquals(value, (byte[]) read.getValue());
+    }
+
+    @Test
+    public void testAnyXml() throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(
+            "<anyxml xmlns=\"urn:test\"><foo xmlns:o=\"urn:other\" o:attr=\"value\">text</foo></anyxml>")));
+        final AnyXmlNode anyXml = Builders.anyXmlBuilder().withNodeIdentifier(NodeIdentifier.create(ANYXML))
+                .withValue(new DOMSource(doc.getDocumentElement())).build();
+
+        final AnyXmlNode read = (AnyXmlNode) reader(write(anyXml)).readNormalizedNode();
+        assertEquals(anyXml.getIdentifier(), read.getIdentifier());
+        assertTrue(doc.getDocumentElement().isEqualNode(read.getValue().getNode()));
+    }
+
+    private static void writeAnyXmlHeader(final DataOutputStream out) throws IOException {
+        out.writeByte(BinaryTokens.MAGIC);
+        out.writeByte(BinaryTokens.VERSION);
+        out.writeByte(BinaryTokens.ANYXML);
+        BinaryTokens.writeVarInt(out, BinaryTokens.NEW_DEFINITION);
+        BinaryTokens.writeVarInt(out, BinaryTokens.NEW_DEFINITION);
+        BinaryTokens.writeString(out, ANYXML.getNamespace().toString());
+        BinaryTokens.writeString(out, ANYXML.getFormattedRevision());
+        BinaryTokens.writeString(out, ANYXML.getLocalName());
+    }
+
+    @Test
+    public void testAnyXmlDoctypeRejected() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bos);
+        writeAnyXmlHeader(out);
+        BinaryTokens.writeString(out, "<!DOCTYPE anyxml [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+            + "<anyxml xmlns=\"urn:test\">&xxe;</anyxml>");
+        out.flush();
+
+        try {
+            reader(bos.toByteArray()).readNormalizedNode();
+            fail("Anyxml value with a DOCTYPE should have been rejected");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof SAXException);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegativeLength() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bos);
+        writeAnyXmlHeader(out);
+        BinaryTokens.writeVarInt(out, -1);
+        out.flush();
+
+        reader(bos.toByteArray()).readNormalizedNode();
+    }
+
+    @Test(expected = EOFException.class)
+    public void testTruncatedValue() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bos);
+        writeAnyXmlHeader(out);
+        // Claims a huge value, which must not be allocated before it is actually read
+        BinaryTokens.writeVarInt(out, Integer.MAX_VALUE);
+        out.write(new byte[] { 1, 2, 3 });
+        out.flush();
+
+        reader(bos.toByteArray()).readNormalizedNode();
+    }
+
+    @Test
+    public void testInvalidDictionaryReference() throws IOException {
+        for (int code : new int[] { -1, 1 }) {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bos);
+            out.writeByte(BinaryTokens.MAGIC);
+            out.writeByte(BinaryTokens.VERSION);
+            out.writeByte(BinaryTokens.LEAF);
+            BinaryTokens.writeVarInt(out, code);
+            out.flush();
+
+            try {
+                reader(bos.toByteArray()).readNormalizedNode();
+                fail("Reference " + code + " should have been rejected");
+            } catch (IOException e) {
+                assertEquals("Invalid dictionary reference " + code, e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testSharedDictionary() throws IOException {
+        final ContainerNode node = createTestNode();
+        final byte[] once = write(node);
+        final byte[] twice = write(node, node);
+
+        // The second copy refers to QNames defined by the first one
+        assertTrue(twice.length - once.length < once.length * 2 / 3);
+
+        final BinaryNormalizedNodeStreamReader reader = reader(twice);
+        assertEquals(node, reader.readNormalizedNode());
+        assertEquals(node, reader.readNormalizedNode());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidHeader() throws IOException {
+        reader(new byte[] { 1, 2, 3 }).readNormalizedNode();
+    }
+
+    @Test
+    public void testMapEntryPredicates() throws IOException {
+        final NodeIdentifierWithPredicates id = new NodeIdentifierWithPredicates(LIST, KEY, 1L);
+        final NormalizedNode<?, ?> read = reader(write(ImmutableNodes.mapNodeBuilder(LIST)
+            .withChild(ImmutableNodes.mapEntry(LIST, KEY, 1L)).build())).readNormalizedNode();
+        assertEquals(id, ((MapNode) read).getValue().iterator()
+            .next().getIdentifier());
+    }
+}
@@ -16,9 +16,14 @@ import com.google.common.cache.LoadingCache;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
@@ -32,6 +37,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Factory for creating JSON equivalents of codecs. Each instance of this object is bound to
  * a particular {@link SchemaContext}, but can be reused by multiple {@link JSONNormalizedNodeStreamWriter}s.
+ *
+ * <p>
+ * Instances obtained via {@link #getShared(SchemaContext)} are shared by all users of a particular context, so codecs
+ * are created only once. Instances obtained via {@link #create(SchemaContext)} are private to the caller.
  */
 @Beta
 public final class JSONCodecFactory {
@@ -59,28 +68,41 @@ public final class JSONCodecFactory {
         }
     };
 
-    private final LoadingCache<DataSchemaNode, JSONCodec<Object>> codecs =
-            CacheBuilder.newBuilder().softValues().build(new CacheLoader<DataSchemaNode, JSONCodec<Object>>() {
+
+    /*
+     * Shared factories are held weakly by their context, so that they do not prevent it from being garbage-collected,
+     * and softly by themselves, as they strongly reference their context.
+     */
+    private static final LoadingCache<SchemaContext, JSONCodecFactory> SHARED =
+            CacheBuilder.newBuilder().weakKeys().softValues().build(new CacheLoader<SchemaContext, JSONCodecFactory>() {
         @Override
-        public JSONCodec<Object> load(final DataSchemaNode key) throws Exception {
-            final TypeDefinition<?> type;
-            if (key instanceof LeafSchemaNode) {
-                type = ((LeafSchemaNode) key).getType();
-            } else if (key instanceof LeafListSchemaNode) {
-                type = ((LeafListSchemaNode) key).getType();
-            } else {
-                throw new IllegalArgumentException("Not supported node type " + key.getClass().getName());
-            }
-            return createCodec(key,type);
+        public JSONCodecFactory load(final SchemaContext key) {
+            return new JSONCodecFactory(key, CacheBuilder.newBuilder());
         }
     });
 
+    private final LoadingCache<DataSchemaNode, JSONCodec<Object>> codecs;
     private final SchemaContext schemaContext;
     private final JSONCodec<?> iidCodec;
+    private volatile boolean precomputed;
 
-    private JSONCodecFactory(final SchemaContext context) {
+    private JSONCodecFactory(final SchemaContext context, final CacheBuilder<Object, Object> cacheBuilder) {
         this.schemaContext = Preconditions.checkNotNull(context);
         iidCodec = new JSONStringInstanceIdentifierCodec(context, this);
+        codecs = cacheBuilder.build(new CacheLoader<DataSchemaNode, JSONCodec<Object>>() {
+            @Override
+            public JSONCodec<Object> load(final DataSchemaNode key) throws Exception {
+                final TypeDefinition<?> type;
+                if (key instanceof LeafSchemaNode) {
+                    type = ((LeafSchemaNode) key).getType();
+                } else if (key instanceof LeafListSchemaNode) {
+                    type = ((LeafListSchemaNode) key).getType();
+                } else {
+                    throw new IllegalArgumentException("Not supported node type " + key.getClass().getName());
+                }
+                return createCodec(key,type);
+            }
+        });
     }
 
     /**
@@ -90,7 +112,73 @@ public final class JSONCodecFactory {
      * @return A codec factory instance.
      */
     public static JSONCodecFactory create(final SchemaContext context) {
-        return new JSONCodecFactory(context);
+        return new JSONCodecFactory(context, CacheBuilder.newBuilder().softValues());
+    }
+
+    /**
+     * Get the codec factory shared by all users of a particular context. Codecs are created on first use and retained
+     * for as long as the factory is.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A shared codec factory instance.
+     */
+    public static JSONCodecFactory getShared(final SchemaContext context) {
+        return SHARED.getUnchecked(context);
+    }
+
+    /**
+     * Get the codec factory shared by all users of a particular context, making sure codecs for all leaf and leaf-list
+     * nodes defined in the context have been created, so that the first request does not have to pay for their
+     * creation.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A shared codec factory instance.
+     */
+    public static JSONCodecFactory getPrecomputed(final SchemaContext context) {
+        final JSONCodecFactory ret = getShared(context);
+        if (!ret.precomputed) {
+            ret.precompute();
+        }
+        return ret;
+    }
+
+    private synchronized void precompute() {
+        if (!precomputed) {
+            for (final DataSchemaNode node : schemaContext.getChildNodes()) {
+                precompute(node);
+            }
+            for (final RpcDefinition rpc : schemaContext.getOperations()) {
+                precompute(rpc.getInput());
+                precompute(rpc.getOutput());
+            }
+            for (final NotificationDefinition notification : schemaContext.getNotifications()) {
+                precomputeChildren(notification);
+            }
+            precomputed = true;
+        }
+    }
+
+    private void precompute(final DataSchemaNode node) {
+        if (node instanceof LeafSchemaNode || node instanceof LeafListSchemaNode) {
+            try {
+                codecs.getUnchecked(node);
+            } catch (RuntimeException e) {
+                // Report the failure when the codec is actually requested
+                LOG.debug("Failed to precompute codec for {}", node.getPath(), e);
+            }
+        } else if (node instanceof DataNodeContainer) {
+            precomputeChildren((DataNodeContainer) node);
+        } else if (node instanceof ChoiceSchemaNode) {
+            for (final ChoiceCaseNode caseNode : ((ChoiceSchemaNode) node).getCases()) {
+                precomputeChildren(caseNode);
+            }
+        }
+    }
+
+    private void precomputeChildren(final DataNodeContainer container) {
+        for (final DataSchemaNode child : container.getChildNodes()) {
+            precompute(child);
+        }
     }
 
     @SuppressWarnings("unchecked")
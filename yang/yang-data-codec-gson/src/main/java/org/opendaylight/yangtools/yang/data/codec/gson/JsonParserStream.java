@@ -13,6 +13,7 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.Closeable;
 import java.io.EOFException;
@@ -22,8 +23,14 @@ import java.net.URI;
 import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.AnyXmlNodeDataWithSchema;
@@ -37,10 +44,14 @@ import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.RpcAsContainer;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
 import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -50,6 +61,14 @@ import org.opendaylight.yangtools.yang.model.api.YangModeledAnyXmlSchemaNode;
 /**
  * This class parses JSON elements from a GSON JsonReader. It disallows multiple elements of the same name unlike the
  * default GSON JsonParser.
+ *
+ * <p>
+ * By default the entire document is parsed into an intermediate tree before any events are emitted to the writer.
+ * Instances created via {@link #createStreaming(NormalizedNodeStreamWriter, SchemaContext)} emit events as soon as
+ * the input allows, so that memory usage is proportional to nesting depth rather than to document size. Buffering
+ * is limited to where JSON member order does not provide enough information: members of a keyed list entry which
+ * precede its last key and members placed in an augmentation or a choice, which are emitted at the end of their
+ * JSON object.
  */
 @Beta
 public final class JsonParserStream implements Closeable, Flushable {
@@ -58,26 +77,61 @@ public final class JsonParserStream implements Closeable, Flushable {
     private final JSONCodecFactory codecs;
     private final SchemaContext schema;
     private final DataSchemaNode parentNode;
+    private final boolean streaming;
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
-            final DataSchemaNode parentNode) {
+            final DataSchemaNode parentNode, final boolean streaming) {
         this.schema = Preconditions.checkNotNull(schemaContext);
         this.writer = Preconditions.checkNotNull(writer);
-        this.codecs = JSONCodecFactory.create(schemaContext);
+        this.codecs = JSONCodecFactory.getShared(schemaContext);
         this.parentNode = parentNode;
+        this.streaming = streaming;
     }
 
-    public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
-            final SchemaNode parentNode ) {
+    private static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
+            final SchemaNode parentNode, final boolean streaming) {
         if (parentNode instanceof RpcDefinition) {
-            return new JsonParserStream(writer, schemaContext, new RpcAsContainer((RpcDefinition) parentNode));
+            return new JsonParserStream(writer, schemaContext, new RpcAsContainer((RpcDefinition) parentNode),
+                streaming);
         }
         Preconditions.checkArgument(parentNode instanceof DataSchemaNode, "Instance of DataSchemaNode class awaited.");
-        return new JsonParserStream(writer, schemaContext, (DataSchemaNode) parentNode);
+        return new JsonParserStream(writer, schemaContext, (DataSchemaNode) parentNode, streaming);
+    }
+
+    public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
+            final SchemaNode parentNode ) {
+        return create(writer, schemaContext, parentNode, false);
     }
 
     public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext) {
-        return new JsonParserStream(writer, schemaContext, schemaContext);
+        return new JsonParserStream(writer, schemaContext, schemaContext, false);
+    }
+
+    /**
+     * Create a parser which emits events to the writer while parsing the input, without building an intermediate
+     * representation of the whole document.
+     *
+     * @param writer Output writer
+     * @param schemaContext Schema context
+     * @param parentNode Schema node corresponding to the top-level JSON object
+     * @return A streaming parser
+     */
+    public static JsonParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final SchemaContext schemaContext, final SchemaNode parentNode) {
+        return create(writer, schemaContext, parentNode, true);
+    }
+
+    /**
+     * Create a parser which emits events to the writer while parsing the input, without building an intermediate
+     * representation of the whole document.
+     *
+     * @param writer Output writer
+     * @param schemaContext Schema context
+     * @return A streaming parser
+     */
+    public static JsonParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final SchemaContext schemaContext) {
+        return new JsonParserStream(writer, schemaContext, schemaContext, true);
     }
 
     public JsonParserStream parse(final JsonReader reader) {
@@ -89,9 +143,14 @@ public final class JsonParserStream implements Closeable, Flushable {
         try {
             reader.peek();
             isEmpty = false;
-            final CompositeNodeDataWithSchema compositeNodeDataWithSchema = new CompositeNodeDataWithSchema(parentNode);
-            read(reader, compositeNodeDataWithSchema);
-            compositeNodeDataWithSchema.write(writer);
+            if (streaming) {
+                streamObject(reader, parentNode, null);
+            } else {
+                final CompositeNodeDataWithSchema compositeNodeDataWithSchema =
+                        new CompositeNodeDataWithSchema(parentNode);
+                read(reader, compositeNodeDataWithSchema);
+                compositeNodeDataWithSchema.write(writer);
+            }
 
             return this;
         } catch (final EOFException e) {
@@ -221,6 +280,184 @@ public final class JsonParserStream implements Closeable, Flushable {
         return newChild;
     }
 
+    /**
+     * Stream a JSON object corresponding to a data node whose start event has already been emitted, if applicable.
+     * Members which are placed in an augmentation or a choice are buffered until the end of the object, as we cannot
+     * tell when all of their siblings have been seen.
+     *
+     * @param in Input reader
+     * @param nodeSchema Schema of the data node
+     * @param entry Keyed list entry whose start event is pending, null if there is no such entry
+     */
+    private void streamObject(final JsonReader in, final DataSchemaNode nodeSchema, final PendingListEntry entry)
+            throws IOException {
+        final CompositeNodeDataWithSchema deferred = new CompositeNodeDataWithSchema(nodeSchema);
+        final Set<String> namesakes = new HashSet<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final NamespaceAndName namespaceAndName = resolveNamespace(jsonElementName, nodeSchema);
+            final String localName = namespaceAndName.getName();
+            addNamespace(namespaceAndName.getUri());
+            if (!namesakes.add(jsonElementName)) {
+                throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
+            }
+
+            final Deque<DataSchemaNode> childDataSchemaNodes =
+                    ParserStreamUtils.findSchemaNodeByNameAndNamespace(nodeSchema, localName, getCurrentNamespace());
+            if (childDataSchemaNodes.isEmpty()) {
+                throw new IllegalStateException("Schema for node with name " + localName + " and namespace "
+                        + getCurrentNamespace() + " doesn't exist.");
+            }
+
+            final boolean pending = entry != null && !entry.isStarted();
+            if (pending || childDataSchemaNodes.size() > 1
+                    || isAugmenting(nodeSchema, childDataSchemaNodes.getFirst())) {
+                final AbstractNodeDataWithSchema newChild = deferred.addChild(childDataSchemaNodes);
+                readMember(in, newChild);
+                if (pending) {
+                    entry.addMember(newChild);
+                }
+            } else {
+                streamMember(in, nodeSchema, childDataSchemaNodes.getFirst());
+            }
+            removeNamespace();
+        }
+        in.endObject();
+
+        if (entry != null) {
+            entry.checkStarted();
+        }
+        deferred.write(writer);
+    }
+
+    private void streamMember(final JsonReader in, final DataSchemaNode parentSchema, final DataSchemaNode childSchema)
+            throws IOException {
+        if (childSchema instanceof ContainerSchemaNode) {
+            writer.nextDataSchemaNode(childSchema);
+            writer.startContainerNode(NodeIdentifier.create(childSchema.getQName()),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            streamObject(in, childSchema, null);
+            writer.endNode();
+        } else if (childSchema instanceof ListSchemaNode) {
+            streamList(in, (ListSchemaNode) childSchema);
+        } else {
+            // Leaves, leaf-lists and anyxmls are small enough to be read in one go
+            final AbstractNodeDataWithSchema child = new CompositeNodeDataWithSchema(parentSchema).addChild(
+                new ArrayDeque<>(Collections.singleton(childSchema)));
+            readMember(in, child);
+            child.write(writer);
+        }
+    }
+
+    private void readMember(final JsonReader in, final AbstractNodeDataWithSchema child) throws IOException {
+        /*
+         * FIXME: see read() on anyxml data being skipped.
+         */
+        if (child instanceof AnyXmlNodeDataWithSchema) {
+            in.skipValue();
+        } else {
+            read(in, child);
+        }
+    }
+
+    private void streamList(final JsonReader in, final ListSchemaNode listSchema) throws IOException {
+        final NodeIdentifier identifier = NodeIdentifier.create(listSchema.getQName());
+        writer.nextDataSchemaNode(listSchema);
+        if (listSchema.getKeyDefinition().isEmpty()) {
+            writer.startUnkeyedList(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else if (listSchema.isUserOrdered()) {
+            writer.startOrderedMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+
+        // Lists with a single entry are sometimes serialized without the wrapping array, see read()
+        if (in.peek() == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                streamListEntry(in, listSchema);
+            }
+            in.endArray();
+        } else {
+            streamListEntry(in, listSchema);
+        }
+
+        writer.endNode();
+    }
+
+    private void streamListEntry(final JsonReader in, final ListSchemaNode listSchema) throws IOException {
+        if (listSchema.getKeyDefinition().isEmpty()) {
+            writer.nextDataSchemaNode(listSchema);
+            writer.startUnkeyedListItem(NodeIdentifier.create(listSchema.getQName()),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            streamObject(in, listSchema, null);
+        } else {
+            streamObject(in, listSchema, new PendingListEntry(listSchema));
+        }
+        writer.endNode();
+    }
+
+    /**
+     * Check whether a child is placed in an augmentation of its parent. This mirrors how
+     * {@link CompositeNodeDataWithSchema} places its children.
+     */
+    private static boolean isAugmenting(final DataSchemaNode parent, final DataSchemaNode child) {
+        if (child.isAugmenting() && parent instanceof AugmentationTarget && !(parent instanceof ChoiceSchemaNode)) {
+            for (final AugmentationSchema augmentation : ((AugmentationTarget) parent).getAvailableAugmentations()) {
+                if (augmentation.getDataChildByName(child.getQName()) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A keyed list entry whose start event cannot be emitted until all of its keys have been seen. Members preceding
+     * the last key are buffered.
+     */
+    private final class PendingListEntry {
+        private final Map<QName, Object> keyValues = new HashMap<>();
+        private final ListSchemaNode listSchema;
+        private boolean started;
+
+        PendingListEntry(final ListSchemaNode listSchema) {
+            this.listSchema = Preconditions.checkNotNull(listSchema);
+        }
+
+        boolean isStarted() {
+            return started;
+        }
+
+        void addMember(final AbstractNodeDataWithSchema child) throws IOException {
+            final QName childName = child.getSchema().getQName();
+            if (child instanceof LeafNodeDataWithSchema && listSchema.getKeyDefinition().contains(childName)) {
+                keyValues.put(childName, ((LeafNodeDataWithSchema) child).getValue());
+                if (keyValues.size() == listSchema.getKeyDefinition().size()) {
+                    start();
+                }
+            }
+        }
+
+        void checkStarted() {
+            Preconditions.checkState(started, "Input is missing some of the keys of %s", listSchema.getQName());
+        }
+
+        private void start() throws IOException {
+            // Need to restore schema order...
+            final Map<QName, Object> predicates = new LinkedHashMap<>();
+            for (final QName qname : listSchema.getKeyDefinition()) {
+                predicates.put(qname, keyValues.get(qname));
+            }
+
+            writer.nextDataSchemaNode(listSchema);
+            writer.startMapEntryNode(new NodeIdentifierWithPredicates(listSchema.getQName(), predicates),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            started = true;
+        }
+    }
+
     private Object translateValueByType(final String value, final DataSchemaNode node) {
         if (node instanceof AnyXmlSchemaNode) {
             /*
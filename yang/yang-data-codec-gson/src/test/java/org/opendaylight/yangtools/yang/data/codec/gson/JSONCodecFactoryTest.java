@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadModules;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class JSONCodecFactoryTest {
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() throws IOException, URISyntaxException, ReactorException {
+        schemaContext = loadModules("/complexjson/yang");
+    }
+
+    @Test
+    public void testSharedFactory() throws IOException, URISyntaxException, ReactorException {
+        final JSONCodecFactory shared = JSONCodecFactory.getShared(schemaContext);
+        assertSame(shared, JSONCodecFactory.getShared(schemaContext));
+        assertSame(shared, JSONCodecFactory.getPrecomputed(schemaContext));
+        assertNotSame(shared, JSONCodecFactory.create(schemaContext));
+        assertNotSame(shared, JSONCodecFactory.getShared(loadModules("/complexjson/yang")));
+    }
+
+    @Test
+    public void testPrecomputedCodec() {
+        final DataSchemaNode lf11 = ((ContainerSchemaNode) schemaContext.getDataChildByName("cont1"))
+                .getDataChildByName("lf11");
+        final JSONCodec<Object> codec = JSONCodecFactory.getPrecomputed(schemaContext).codecFor(lf11);
+        assertSame(codec, JSONCodecFactory.getShared(schemaContext).codecFor(lf11));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadModules;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+/**
+ * Tests whether the streaming mode of {@link JsonParserStream} produces the same results as the default mode.
+ */
+public class StreamingJsonParserTest {
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() throws IOException, URISyntaxException, ReactorException {
+        schemaContext = loadModules("/complexjson/yang");
+    }
+
+    private static NormalizedNode<?, ?> parse(final String inputJson, final SchemaNode parentNode,
+            final boolean streaming) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final ImmutableNormalizedNodeStreamWriter streamWriter =
+                (ImmutableNormalizedNodeStreamWriter) ImmutableNormalizedNodeStreamWriter.from(result);
+        final JsonParserStream jsonParser = streaming
+                ? JsonParserStream.createStreaming(streamWriter, schemaContext, parentNode)
+                        : JsonParserStream.create(streamWriter, schemaContext, parentNode);
+        jsonParser.parse(new JsonReader(new StringReader(inputJson)));
+        return result.getResult();
+    }
+
+    private static void assertSameResult(final String inputJson, final SchemaNode parentNode) {
+        final NormalizedNode<?, ?> expected = parse(inputJson, parentNode, false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(inputJson, parentNode, true));
+    }
+
+    private static void assertSameResult(final String resource) throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile(resource), schemaContext);
+    }
+
+    @Test
+    public void testContainers() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/leaf-node-in-container.json");
+        assertSameResult("/complexjson/leaflist-node-in-container.json");
+        assertSameResult("/complexjson/missing-module-in-top-level.json");
+        assertSameResult("/complexjson/type-empty.json");
+    }
+
+    @Test
+    public void testLists() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/keyed-list-node-in-container.json");
+        assertSameResult("/complexjson/unkeyed-node-in-container.json");
+
+        final SchemaNode cont1 = schemaContext.getDataChildByName("cont1");
+        assertSameResult(loadTextFile("/complexjson/keyed-list-restconf-behaviour.json"), cont1);
+        assertSameResult(loadTextFile("/complexjson/keyed-list-yang-json-behaviour.json"), cont1);
+    }
+
+    @Test
+    public void testKeyAfterOtherMembers() {
+        assertSameResult("{\"lst11\": [{\"lf111\": \"lf111 value\", \"lf113\": \"lf113 value\","
+                + "\"key111\": \"key111 value\", \"lf112\": \"/complexjson:cont1/complexjson:lflst11[.='foo']\"},"
+                + "{\"key111\": \"key111 value2\", \"lf111\": \"lf111 value2\"}]}",
+            schemaContext.getDataChildByName("cont1"));
+    }
+
+    @Test
+    public void testMissingKey() {
+        try {
+            parse("{\"lst11\": [{\"lf111\": \"lf111 value\"}]}", schemaContext.getDataChildByName("cont1"), true);
+            fail("Missing key should have been detected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("Input is missing some of the keys"));
+        }
+    }
+
+    @Test
+    public void testAugmentationsAndChoices() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/leaf-node-via-augmentation-in-container.json");
+        assertSameResult("/complexjson/choice-node-in-container.json");
+        assertSameResult("/complexjson/choice-node-augmentation-in-container.json");
+        assertSameResult("/complexjson/case-node-augmentation-in-choice-in-container.json");
+        assertSameResult("/complexjson/case-node-external-augmentation-in-choice-in-container.json");
+        assertSameResult("/complexjson/multiple-choice-augmentation-in-container.json");
+    }
+
+    @Test
+    public void testComplexDocument() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/complex-json.json");
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import com.google.common.annotations.Beta;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Strategy for capturing the content of an anyxml node from an {@link XMLStreamReader}. The representation of the
+ * captured content is determined by the implementation, see {@link AnyXmlValueReaders} for the available ones.
+ */
+@Beta
+public interface AnyXmlValueReader {
+    /**
+     * Read the value of an anyxml node. The reader is positioned at the start of the anyxml element and this method
+     * is required to leave it positioned at the corresponding end of the element.
+     *
+     * @param reader StAX reader positioned at {@link javax.xml.stream.XMLStreamConstants#START_ELEMENT}
+     * @return Value of the anyxml node
+     * @throws XMLStreamException if the content cannot be read
+     */
+    Object readValue(XMLStreamReader reader) throws XMLStreamException;
+}
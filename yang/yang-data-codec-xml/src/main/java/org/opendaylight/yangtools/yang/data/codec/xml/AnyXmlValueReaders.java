@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import com.google.common.annotations.Beta;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import org.w3c.dom.Document;
+
+/**
+ * Available {@link AnyXmlValueReader} implementations.
+ */
+@Beta
+public final class AnyXmlValueReaders {
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    static {
+        final DocumentBuilderFactory f = DocumentBuilderFactory.newInstance();
+        f.setNamespaceAware(true);
+        DOCUMENT_BUILDER_FACTORY = f;
+    }
+
+    private static final AnyXmlValueReader DOM_SOURCE = new AnyXmlValueReader() {
+        @Override
+        public Object readValue(final XMLStreamReader reader) throws XMLStreamException {
+            return BufferedAnyXmlValue.read(reader).toDOMSource();
+        }
+    };
+
+    private static final AnyXmlValueReader BUFFERED = new AnyXmlValueReader() {
+        @Override
+        public Object readValue(final XMLStreamReader reader) throws XMLStreamException {
+            return BufferedAnyXmlValue.read(reader);
+        }
+    };
+
+    private AnyXmlValueReaders() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Return a reader which builds a {@link DOMSource} from the stream events, without serializing and re-parsing the
+     * content. This is the representation expected by {@link org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode}.
+     *
+     * @return A reader producing {@link DOMSource}s
+     */
+    public static AnyXmlValueReader domSource() {
+        return DOM_SOURCE;
+    }
+
+    /**
+     * Return a reader which captures the stream events into a {@link BufferedAnyXmlValue}. This is suitable for
+     * consumers which only forward the content to an {@link XMLStreamWriter}, such as
+     * {@link XMLStreamNormalizedNodeStreamWriter}, as no DOM is built.
+     *
+     * @return A reader producing {@link BufferedAnyXmlValue}s
+     */
+    public static AnyXmlValueReader buffered() {
+        return BUFFERED;
+    }
+
+    static Document newDocument() throws XMLStreamException {
+        try {
+            return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new XMLStreamException("Failed to instantiate a document builder", e);
+        }
+    }
+
+    static XMLStreamWriter newDOMWriter(final Document doc) throws XMLStreamException {
+        return XML_OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(doc));
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMSource;
+import org.w3c.dom.Document;
+
+/**
+ * Content of an anyxml node captured as a compact sequence of StAX events. It can be replayed into any
+ * {@link XMLStreamWriter} without building a DOM, or converted to a {@link DOMSource} when a DOM is actually needed.
+ * Instances are immutable and can be replayed any number of times.
+ */
+@Beta
+public final class BufferedAnyXmlValue {
+    /*
+     * Events are stored as their XMLStreamConstants type followed by their data:
+     * START_ELEMENT: prefix, namespace, local name, namespace count, (prefix, namespace)*, attribute count,
+     *                (prefix, namespace, local name, value)*
+     * END_ELEMENT: no data
+     * CHARACTERS, CDATA, COMMENT: text
+     * PROCESSING_INSTRUCTION: target, data
+     */
+    private final Object[] events;
+    private final String namespace;
+    private final String localName;
+
+    private BufferedAnyXmlValue(final Object[] events, final String namespace, final String localName) {
+        this.events = Preconditions.checkNotNull(events);
+        this.namespace = Preconditions.checkNotNull(namespace);
+        this.localName = Preconditions.checkNotNull(localName);
+    }
+
+    /**
+     * Capture the element at which the reader is positioned, leaving the reader at its end. The root element is always
+     * captured without a prefix, in the default namespace, so that consumers can identify it by its local name.
+     * Prefixes which the content uses, but which are declared by its ancestors, are declared on the root element, so
+     * the captured content is namespace-well-formed on its own.
+     *
+     * @param reader StAX reader positioned at {@link XMLStreamConstants#START_ELEMENT}
+     * @return Captured element
+     * @throws XMLStreamException if the content cannot be read
+     */
+    public static BufferedAnyXmlValue read(final XMLStreamReader reader) throws XMLStreamException {
+        Preconditions.checkState(reader.isStartElement(), "Reader is not positioned at the start of an element");
+        final String rootPrefix = Strings.nullToEmpty(reader.getPrefix());
+        final String rootNamespace = Strings.nullToEmpty(reader.getNamespaceURI());
+        final String rootLocalName = reader.getLocalName();
+        final List<Object> events = new ArrayList<>();
+
+        // Prefixes declared within the captured content and the number of them declared by each open element
+        final List<String> declared = new ArrayList<>();
+        final Deque<Integer> declaredCounts = new ArrayDeque<>();
+        // Prefixes used within the captured content, but declared outside of it
+        final Map<String, String> inherited = new LinkedHashMap<>();
+
+        int depth = 0;
+        do {
+            final int eventType = reader.getEventType();
+            switch (eventType) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final String prefix = depth == 0 ? "" : Strings.nullToEmpty(reader.getPrefix());
+                    final String elementNamespace = Strings.nullToEmpty(reader.getNamespaceURI());
+                    events.add(eventType);
+                    events.add(prefix);
+                    events.add(elementNamespace);
+                    events.add(reader.getLocalName());
+
+                    for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+                        declared.add(Strings.nullToEmpty(reader.getNamespacePrefix(i)));
+                    }
+                    declaredCounts.push(reader.getNamespaceCount());
+
+                    if (depth == 0) {
+                        // Inherited prefixes are added once the entire content has been read
+                        events.add(reader.getNamespaceCount() - (declaresPrefix(reader, "") ? 1 : 0) + 1);
+                        events.add("");
+                        events.add(elementNamespace);
+                    } else {
+                        final boolean redeclare = redeclaresDefault(reader, prefix, elementNamespace, rootPrefix,
+                            rootNamespace);
+                        events.add(reader.getNamespaceCount() + (redeclare ? 1 : 0));
+                        if (redeclare) {
+                            events.add("");
+                            events.add(elementNamespace);
+                        }
+                        addInherited(inherited, declared, prefix, elementNamespace);
+                    }
+                    for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+                        final String nsPrefix = Strings.nullToEmpty(reader.getNamespacePrefix(i));
+                        // The root's default namespace has been declared above
+                        if (depth != 0 || !nsPrefix.isEmpty()) {
+                            events.add(nsPrefix);
+                            events.add(Strings.nullToEmpty(reader.getNamespaceURI(i)));
+                        }
+                    }
+
+                    events.add(reader.getAttributeCount());
+                    for (int i = 0; i < reader.getAttributeCount(); ++i) {
+                        final String attributePrefix = Strings.nullToEmpty(reader.getAttributePrefix(i));
+                        final String attributeNamespace = Strings.nullToEmpty(reader.getAttributeNamespace(i));
+                        events.add(attributePrefix);
+                        events.add(attributeNamespace);
+                        events.add(reader.getAttributeLocalName(i));
+                        events.add(reader.getAttributeValue(i));
+                        addInherited(inherited, declared, attributePrefix, attributeNamespace);
+                    }
+                    ++depth;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    events.add(eventType);
+                    for (int i = declaredCounts.pop(); i > 0; --i) {
+                        declared.remove(declared.size() - 1);
+                    }
+                    --depth;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    events.add(XMLStreamConstants.CHARACTERS);
+                    events.add(reader.getText());
+                    break;
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.COMMENT:
+                    events.add(eventType);
+                    events.add(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    events.add(eventType);
+                    events.add(reader.getPITarget());
+                    events.add(Strings.nullToEmpty(reader.getPIData()));
+                    break;
+                default:
+                    break;
+            }
+        } while (depth != 0 && reader.hasNext() && reader.next() != XMLStreamConstants.END_DOCUMENT);
+
+        if (!inherited.isEmpty()) {
+            // Root element is [type, prefix, namespace, local name, namespace count, "", namespace, ...]
+            events.set(4, (Integer) events.get(4) + inherited.size());
+            final List<Object> declarations = new ArrayList<>(inherited.size() * 2);
+            for (Entry<String, String> entry : inherited.entrySet()) {
+                declarations.add(entry.getKey());
+                declarations.add(entry.getValue());
+            }
+            events.addAll(7, declarations);
+        }
+
+        return new BufferedAnyXmlValue(events.toArray(), rootNamespace, rootLocalName);
+    }
+
+    private static void addInherited(final Map<String, String> inherited, final List<String> declared,
+            final String prefix, final String namespace) {
+        // The 'xml' prefix is bound implicitly and must not be declared
+        if (!prefix.isEmpty() && !XMLConstants.XML_NS_PREFIX.equals(prefix) && !declared.contains(prefix)) {
+            inherited.put(prefix, namespace);
+        }
+    }
+
+    /**
+     * Check whether an unprefixed descendant of a prefixed root element needs its namespace declared. Writing the
+     * root in the default namespace shadows the default namespace the descendant would otherwise inherit.
+     */
+    private static boolean redeclaresDefault(final XMLStreamReader reader, final String prefix,
+            final String namespace, final String rootPrefix, final String rootNamespace) {
+        return prefix.isEmpty() && !rootPrefix.isEmpty() && !namespace.equals(rootNamespace)
+                && !declaresPrefix(reader, "");
+    }
+
+    private static boolean declaresPrefix(final XMLStreamReader reader, final String prefix) {
+        for (int i = 0; i < reader.getNamespaceCount(); ++i) {
+            if (prefix.equals(Strings.nullToEmpty(reader.getNamespacePrefix(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the namespace of the root element.
+     *
+     * @return Namespace URI, empty if the element is not in a namespace
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Return the local name of the root element.
+     *
+     * @return Local name
+     */
+    public String getLocalName() {
+        return localName;
+    }
+
+    /**
+     * Replay the captured events into a writer.
+     *
+     * @param writer Target writer
+     * @throws XMLStreamException if the writer fails
+     */
+    public void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+        int offset = 0;
+        while (offset < events.length) {
+            switch ((Integer) events[offset++]) {
+                case XMLStreamConstants.START_ELEMENT:
+                    writer.writeStartElement((String) events[offset], (String) events[offset + 2],
+                        (String) events[offset + 1]);
+                    offset += 3;
+
+                    final int namespaces = (Integer) events[offset++];
+                    for (int i = 0; i < namespaces; ++i) {
+                        writeNamespace(writer, (String) events[offset], (String) events[offset + 1]);
+                        offset += 2;
+                    }
+                    final int attributes = (Integer) events[offset++];
+                    for (int i = 0; i < attributes; ++i) {
+                        writeAttribute(writer, (String) events[offset], (String) events[offset + 1],
+                            (String) events[offset + 2], (String) events[offset + 3]);
+                        offset += 4;
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                    writer.writeCharacters((String) events[offset++]);
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData((String) events[offset++]);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment((String) events[offset++]);
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction((String) events[offset], (String) events[offset + 1]);
+                    offset += 2;
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled event at offset " + (offset - 1));
+            }
+        }
+    }
+
+    private static void writeNamespace(final XMLStreamWriter writer, final String prefix, final String namespace)
+            throws XMLStreamException {
+        if (prefix.isEmpty()) {
+            writer.writeDefaultNamespace(namespace);
+        } else {
+            writer.writeNamespace(prefix, namespace);
+        }
+    }
+
+    private static void writeAttribute(final XMLStreamWriter writer, final String prefix, final String namespace,
+            final String localName, final String value) throws XMLStreamException {
+        if (namespace.isEmpty()) {
+            writer.writeAttribute(localName, value);
+        } else {
+            writer.writeAttribute(prefix, namespace, localName, value);
+        }
+    }
+
+    /**
+     * Build a DOM representation of the captured content.
+     *
+     * @return A {@link DOMSource} holding the root element
+     * @throws XMLStreamException if the DOM cannot be built
+     */
+    public DOMSource toDOMSource() throws XMLStreamException {
+        final Document doc = AnyXmlValueReaders.newDocument();
+        final XMLStreamWriter writer = AnyXmlValueReaders.newDOMWriter(doc);
+        writeTo(writer);
+        writer.close();
+
+        doc.normalize();
+        return new DOMSource(doc.getDocumentElement());
+    }
+
+    @Override
+    public String toString() {
+        return BufferedAnyXmlValue.class.getSimpleName() + "{namespace=" + namespace + ", localName=" + localName
+                + ", events=" + events.length + "}";
+    }
+}
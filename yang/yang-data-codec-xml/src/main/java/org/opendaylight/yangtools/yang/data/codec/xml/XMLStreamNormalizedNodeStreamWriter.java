@@ -152,8 +152,18 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
     }
 
     void anyxmlNode(final QName qname, final Object value) throws IOException {
-        if (value != null) {
-            Preconditions.checkArgument(value instanceof DOMSource, "AnyXML value must be DOMSource, not %s", value);
+        if (value instanceof BufferedAnyXmlValue) {
+            final BufferedAnyXmlValue buffered = (BufferedAnyXmlValue) value;
+            Preconditions.checkArgument(buffered.getLocalName().equals(qname.getLocalName()));
+            Preconditions.checkArgument(buffered.getNamespace().equals(qname.getNamespace().toString()));
+            try {
+                buffered.writeTo(writer);
+            } catch (XMLStreamException e) {
+                throw new IOException("Unable to write anyXml(" + qname + ") value: " + value, e);
+            }
+        } else if (value != null) {
+            Preconditions.checkArgument(value instanceof DOMSource,
+                "AnyXML value must be DOMSource or BufferedAnyXmlValue, not %s", value);
             final DOMSource domSource = (DOMSource) value;
             Preconditions.checkNotNull(domSource.getNode());
             Preconditions.checkArgument(domSource.getNode().getNodeName().equals(qname.getLocalName()));
@@ -9,22 +9,26 @@
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
 import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.Map.Entry;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
@@ -35,6 +39,12 @@ import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Factory for creating XML equivalents of codecs. Each instance of this object is bound to a particular
+ * {@link SchemaContext}. Instances obtained via {@link #getShared(SchemaContext)} are shared by all users of that
+ * context, so codecs are created only once. Instances obtained via {@link #create(SchemaContext)} are private to the
+ * caller.
+ */
 @Beta
 @ThreadSafe
 public final class XmlCodecFactory {
@@ -59,29 +69,36 @@ public final class XmlCodecFactory {
         }
     };
 
-    private final LoadingCache<Entry<DataSchemaNode, NamespaceContext>, XmlCodec<?>> codecs =
-            CacheBuilder.newBuilder().softValues().build(
-                    new CacheLoader<Entry<DataSchemaNode, NamespaceContext>, XmlCodec<?>>() {
-                @Override
-                public XmlCodec<?> load(final Entry<DataSchemaNode, NamespaceContext> schemaNodeAndNamespaceCtxPair)
-                        throws Exception {
-                    final DataSchemaNode schemaNode = schemaNodeAndNamespaceCtxPair.getKey();
-                    final TypeDefinition<?> type;
-                    if (schemaNode instanceof LeafSchemaNode) {
-                        type = ((LeafSchemaNode) schemaNode).getType();
-                    } else if (schemaNode instanceof LeafListSchemaNode) {
-                        type = ((LeafListSchemaNode) schemaNode).getType();
-                    } else {
-                        throw new IllegalArgumentException("Not supported node type " + schemaNode.getClass().getName());
-                    }
-                    return createCodec(schemaNode,type, schemaNodeAndNamespaceCtxPair.getValue());
-                }
-            });
+    /*
+     * Shared factories are held weakly by their context, so that they do not prevent it from being garbage-collected,
+     * and softly by themselves, as they strongly reference their context.
+     */
+    private static final LoadingCache<SchemaContext, XmlCodecFactory> SHARED =
+            CacheBuilder.newBuilder().weakKeys().softValues().build(new CacheLoader<SchemaContext, XmlCodecFactory>() {
+        @Override
+        public XmlCodecFactory load(final SchemaContext key) {
+            return new XmlCodecFactory(key, CacheBuilder.newBuilder());
+        }
+    });
+
+    /*
+     * Codecs which do not depend on the namespace context of the document being processed, keyed by their schema node
+     * alone. Absent for identityrefs and instance identifiers, which are created for each request, as caching them
+     * would retain every document's namespace context for as long as the factory lives.
+     */
+    private final LoadingCache<DataSchemaNode, Optional<XmlCodec<?>>> contextFreeCodecs;
 
     private final SchemaContext schemaContext;
+    private volatile boolean precomputed;
 
-    private XmlCodecFactory(final SchemaContext context) {
+    private XmlCodecFactory(final SchemaContext context, final CacheBuilder<Object, Object> cacheBuilder) {
         this.schemaContext = Preconditions.checkNotNull(context);
+        contextFreeCodecs = cacheBuilder.build(new CacheLoader<DataSchemaNode, Optional<XmlCodec<?>>>() {
+            @Override
+            public Optional<XmlCodec<?>> load(final DataSchemaNode key) {
+                return createContextFreeCodec(key, getType(key));
+            }
+        });
     }
 
     /**
@@ -91,7 +108,93 @@ public final class XmlCodecFactory {
      * @return A codec factory instance.
      */
     public static XmlCodecFactory create(final SchemaContext context) {
-        return new XmlCodecFactory(context);
+        return new XmlCodecFactory(context, CacheBuilder.newBuilder().softValues());
+    }
+
+    /**
+     * Get the codec factory shared by all users of a particular context. Codecs are created on first use and retained
+     * for as long as the factory is.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A shared codec factory instance.
+     */
+    public static XmlCodecFactory getShared(final SchemaContext context) {
+        return SHARED.getUnchecked(context);
+    }
+
+    /**
+     * Get the codec factory shared by all users of a particular context, making sure codecs for all leaf and leaf-list
+     * nodes defined in the context have been created, so that the first request does not have to pay for their
+     * creation. Codecs for identityrefs and instance identifiers depend on the namespace context of each document and
+     * are therefore still created on demand.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A shared codec factory instance.
+     */
+    public static XmlCodecFactory getPrecomputed(final SchemaContext context) {
+        final XmlCodecFactory ret = getShared(context);
+        if (!ret.precomputed) {
+            ret.precompute();
+        }
+        return ret;
+    }
+
+    private synchronized void precompute() {
+        if (!precomputed) {
+            for (final DataSchemaNode node : schemaContext.getChildNodes()) {
+                precompute(node);
+            }
+            for (final RpcDefinition rpc : schemaContext.getOperations()) {
+                precompute(rpc.getInput());
+                precompute(rpc.getOutput());
+            }
+            for (final NotificationDefinition notification : schemaContext.getNotifications()) {
+                precomputeChildren(notification);
+            }
+            precomputed = true;
+        }
+    }
+
+    private void precompute(final DataSchemaNode node) {
+        if (node instanceof LeafSchemaNode || node instanceof LeafListSchemaNode) {
+            try {
+                contextFreeCodecs.getUnchecked(node);
+            } catch (RuntimeException e) {
+                // Report the failure when the codec is actually requested
+                LOG.debug("Failed to precompute codec for {}", node.getPath(), e);
+            }
+        } else if (node instanceof DataNodeContainer) {
+            precomputeChildren((DataNodeContainer) node);
+        } else if (node instanceof ChoiceSchemaNode) {
+            for (final ChoiceCaseNode caseNode : ((ChoiceSchemaNode) node).getCases()) {
+                precomputeChildren(caseNode);
+            }
+        }
+    }
+
+    private void precomputeChildren(final DataNodeContainer container) {
+        for (final DataSchemaNode child : container.getChildNodes()) {
+            precompute(child);
+        }
+    }
+
+    private static TypeDefinition<?> getType(final DataSchemaNode schemaNode) {
+        if (schemaNode instanceof LeafSchemaNode) {
+            return ((LeafSchemaNode) schemaNode).getType();
+        } else if (schemaNode instanceof LeafListSchemaNode) {
+            return ((LeafListSchemaNode) schemaNode).getType();
+        } else {
+            throw new IllegalArgumentException("Not supported node type " + schemaNode.getClass().getName());
+        }
+    }
+
+    private Optional<XmlCodec<?>> createContextFreeCodec(final DataSchemaNode key, final TypeDefinition<?> type) {
+        if (type instanceof LeafrefTypeDefinition) {
+            return createContextFreeCodec(key, resolveLeafref(key, (LeafrefTypeDefinition) type));
+        } else if (type instanceof IdentityrefTypeDefinition || type instanceof InstanceIdentifierTypeDefinition) {
+            return Optional.absent();
+        }
+        return Optional.<XmlCodec<?>>of(createFromSimpleType(type, null));
     }
 
     private XmlCodec<?> createCodec(final DataSchemaNode key, final TypeDefinition<?> type,
@@ -108,11 +211,15 @@ public final class XmlCodecFactory {
 
     private XmlCodec<?> createReferencedTypeCodec(final DataSchemaNode schema, final LeafrefTypeDefinition type,
                                                   final NamespaceContext namespaceContext) {
+        return createCodec(schema, resolveLeafref(schema, type), namespaceContext);
+    }
+
+    private TypeDefinition<?> resolveLeafref(final DataSchemaNode schema, final LeafrefTypeDefinition type) {
         // FIXME: Verify if this does indeed support leafref of leafref
         final TypeDefinition<?> referencedType =
                 SchemaContextUtil.getBaseTypeForLeafRef(type, getSchemaContext(), schema);
         Verify.verifyNotNull(referencedType, "Unable to find base type for leafref node '%s'.", schema.getPath());
-        return createCodec(schema, referencedType, namespaceContext);
+        return referencedType;
     }
 
     private XmlCodec<?> createFromSimpleType(final TypeDefinition<?> type, final NamespaceContext namespaceContext) {
@@ -138,6 +245,10 @@ public final class XmlCodecFactory {
     }
 
     XmlCodec<?> codecFor(final DataSchemaNode schema, final NamespaceContext namespaceContext) {
-        return codecs.getUnchecked(new SimpleImmutableEntry<>(schema, namespaceContext));
+        final Optional<XmlCodec<?>> contextFree = contextFreeCodecs.getUnchecked(schema);
+        if (contextFree.isPresent()) {
+            return contextFree.get();
+        }
+        return createCodec(schema, getType(schema), namespaceContext);
     }
 }
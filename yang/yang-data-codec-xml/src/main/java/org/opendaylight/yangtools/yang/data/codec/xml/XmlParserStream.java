@@ -13,7 +13,6 @@ import com.google.common.base.Preconditions;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
-import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Deque;
@@ -21,13 +20,11 @@ import java.util.HashSet;
 import java.util.Set;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.xml.namespace.NamespaceContext;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.Location;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
-import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.AnyXmlNodeDataWithSchema;
@@ -40,15 +37,11 @@ import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.RpcAsContainer;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
-import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.YangModeledAnyXmlSchemaNode;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 /**
@@ -59,36 +52,45 @@ import org.xml.sax.SAXException;
 @Beta
 @NotThreadSafe
 public final class XmlParserStream implements Closeable, Flushable {
-    private static final DocumentBuilderFactory FACTORY;
-
-    static {
-        DocumentBuilderFactory f = DocumentBuilderFactory.newInstance();
-        f.setNamespaceAware(true);
-        FACTORY = f;
-    }
-
     private final NormalizedNodeStreamWriter writer;
     private final XmlCodecFactory codecs;
     private final DataSchemaNode parentNode;
+    private final AnyXmlValueReader anyXmlReader;
 
     private XmlParserStream(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
-                             final DataSchemaNode parentNode) {
+                             final DataSchemaNode parentNode, final AnyXmlValueReader anyXmlReader) {
         this.writer = Preconditions.checkNotNull(writer);
-        this.codecs = XmlCodecFactory.create(schemaContext);
+        this.codecs = XmlCodecFactory.getShared(schemaContext);
         this.parentNode = parentNode;
+        this.anyXmlReader = Preconditions.checkNotNull(anyXmlReader);
     }
 
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
             final SchemaNode parentNode ) {
+        return create(writer, schemaContext, parentNode, AnyXmlValueReaders.domSource());
+    }
+
+    /**
+     * Create a parser which captures the values of anyxml nodes using specified reader.
+     *
+     * @param writer Writer receiving the events
+     * @param schemaContext Schema context
+     * @param parentNode Schema node corresponding to the root element
+     * @param anyXmlReader Reader producing anyxml values, which have to be understood by the writer
+     * @return A new parser instance
+     */
+    public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
+            final SchemaNode parentNode, final AnyXmlValueReader anyXmlReader) {
         if (parentNode instanceof RpcDefinition) {
-            return new XmlParserStream(writer, schemaContext, new RpcAsContainer((RpcDefinition) parentNode));
+            return new XmlParserStream(writer, schemaContext, new RpcAsContainer((RpcDefinition) parentNode),
+                anyXmlReader);
         }
         Preconditions.checkArgument(parentNode instanceof DataSchemaNode, "Instance of DataSchemaNode class awaited.");
-        return new XmlParserStream(writer, schemaContext, (DataSchemaNode) parentNode);
+        return new XmlParserStream(writer, schemaContext, (DataSchemaNode) parentNode, anyXmlReader);
     }
 
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext) {
-        return new XmlParserStream(writer, schemaContext, schemaContext);
+        return new XmlParserStream(writer, schemaContext, schemaContext, AnyXmlValueReaders.domSource());
     }
 
     /**
@@ -104,11 +106,11 @@ public final class XmlParserStream implements Closeable, Flushable {
      * @throws URISyntaxException
      *              if the namespace URI of an XML element contains a syntax error
      * @throws IOException
-     *              if an error occurs while parsing the value of an anyxml node
+     *              not thrown, retained for compatibility
      * @throws ParserConfigurationException
-     *              if an error occurs while parsing the value of an anyxml node
+     *              not thrown, retained for compatibility
      * @throws SAXException
-     *              if an error occurs while parsing the value of an anyxml node
+     *              not thrown, retained for compatibility
      */
     public XmlParserStream parse(final XMLStreamReader reader) throws XMLStreamException, URISyntaxException,
             IOException, ParserConfigurationException, SAXException {
@@ -122,33 +124,8 @@ public final class XmlParserStream implements Closeable, Flushable {
         return this;
     }
 
-    private static String readAnyXmlValue(final XMLStreamReader in) throws XMLStreamException {
-        final StringBuilder sb = new StringBuilder();
-        final String anyXmlElementName = in.getLocalName();
-        sb.append('<').append(anyXmlElementName).append(" xmlns=\"").append(in.getNamespaceURI()).append("\">");
-
-        while (in.hasNext()) {
-            final int eventType = in.next();
-
-            if (eventType == XMLStreamConstants.START_ELEMENT) {
-                sb.append('<').append(in.getLocalName()).append('>');
-            } else if (eventType == XMLStreamConstants.END_ELEMENT) {
-                sb.append("</").append(in.getLocalName()).append('>');
-
-                if (in.getLocalName().equals(anyXmlElementName)) {
-                    break;
-                }
-
-            } else if (eventType == XMLStreamConstants.CHARACTERS) {
-                sb.append(in.getText());
-            }
-        }
-
-        return sb.toString();
-    }
-
     private void read(final XMLStreamReader in, final AbstractNodeDataWithSchema parent, final String rootElement)
-            throws XMLStreamException, URISyntaxException, ParserConfigurationException, SAXException, IOException {
+            throws XMLStreamException, URISyntaxException {
         if (!in.hasNext()) {
             return;
         }
@@ -170,7 +147,10 @@ public final class XmlParserStream implements Closeable, Flushable {
         }
 
         if (parent instanceof AnyXmlNodeDataWithSchema) {
-            setValue(parent, readAnyXmlValue(in), in.getNamespaceContext());
+            final AnyXmlNodeDataWithSchema anyXml = (AnyXmlNodeDataWithSchema) parent;
+            Preconditions.checkArgument(anyXml.getValue() == null, "Node '%s' has already set its value to '%s'",
+                    anyXml.getSchema().getQName(), anyXml.getValue());
+            anyXml.setValue(anyXmlReader.readValue(in));
             in.nextTag();
             return;
         }
@@ -221,8 +201,7 @@ public final class XmlParserStream implements Closeable, Flushable {
         }
     }
 
-    private void setValue(final AbstractNodeDataWithSchema parent, final String value, final NamespaceContext nsContext)
-            throws ParserConfigurationException, SAXException, IOException {
+    private void setValue(final AbstractNodeDataWithSchema parent, final String value, final NamespaceContext nsContext) {
         Preconditions.checkArgument(parent instanceof SimpleNodeDataWithSchema, "Node %s is not a simple type",
                 parent.getSchema().getQName());
         final SimpleNodeDataWithSchema parentSimpleNode = (SimpleNodeDataWithSchema) parent;
@@ -232,21 +211,9 @@ public final class XmlParserStream implements Closeable, Flushable {
         parentSimpleNode.setValue(translateValueByType(value, parentSimpleNode.getSchema(), nsContext));
     }
 
-    private Object translateValueByType(final String value, final DataSchemaNode node, final NamespaceContext namespaceCtx)
-            throws IOException, SAXException, ParserConfigurationException {
-        if (node instanceof AnyXmlSchemaNode) {
-            /*
-             *  FIXME: Figure out some YANG extension dispatch, which will
-             *  reuse JSON parsing or XML parsing - anyxml is not well-defined in
-             * JSON.
-             */
-            final Document doc = FACTORY.newDocumentBuilder().parse(new InputSource(new StringReader(value)));
-            doc.normalize();
-
-            return new DOMSource(doc.getDocumentElement());
-        } else {
-            return codecs.codecFor(node, namespaceCtx).deserialize(value);
-        }
+    private Object translateValueByType(final String value, final DataSchemaNode node,
+            final NamespaceContext namespaceCtx) {
+        return codecs.codecFor(node, namespaceCtx).deserialize(value);
     }
 
     private static AbstractNodeDataWithSchema newEntryNode(final AbstractNodeDataWithSchema parent) {
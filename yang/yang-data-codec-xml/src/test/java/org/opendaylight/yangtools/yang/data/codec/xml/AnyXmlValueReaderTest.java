@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+public class AnyXmlValueReaderTest {
+    private static final String ANYXML = "<my-anyxml><my-element xmlns:x=\"x-namespace\" x:attr=\"attr value\">"
+            + "<x:my-sub-element plain=\"plain value\">sub-element value</x:my-sub-element>"
+            + "<!--comment--><![CDATA[cdata]]></my-element></my-anyxml>";
+    private static final String DOCUMENT = "<root xmlns=\"foo-namespace\"><parent-container><anyxml-container>"
+            + ANYXML + "</anyxml-container></parent-container></root>";
+
+    private static final String PREFIXED_DOCUMENT = "<root xmlns=\"foo-namespace\"><parent-container>"
+            + "<anyxml-container><f:my-anyxml xmlns:f=\"foo-namespace\" xmlns=\"other-namespace\">"
+            + "<plain>plain value</plain><f:prefixed>prefixed value</f:prefixed></f:my-anyxml>"
+            + "</anyxml-container></parent-container></root>";
+
+    private static final String ANCESTOR_PREFIXED_DOCUMENT = "<root xmlns=\"foo-namespace\" xmlns:x=\"x-namespace\">"
+            + "<parent-container><anyxml-container><my-anyxml x:root-attr=\"root\"><x:foo x:a=\"1\"/>"
+            + "<bar xmlns:x=\"other-namespace\"><x:baz/></bar></my-anyxml></anyxml-container></parent-container>"
+            + "</root>";
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSource(new YangStatementSourceImpl("/foo.yang", false));
+        schemaContext = reactor.buildEffective();
+    }
+
+    private static XMLStreamReader readerAtAnyXml() throws XMLStreamException {
+        return readerAtAnyXml(DOCUMENT);
+    }
+
+    private static XMLStreamReader readerAtAnyXml(final String document) throws XMLStreamException {
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(
+            new StringReader(document));
+        while (reader.next() != XMLStreamConstants.START_ELEMENT || !"my-anyxml".equals(reader.getLocalName())) {
+            // Skip to the anyxml element
+        }
+        return reader;
+    }
+
+    private static void assertAtEnd(final XMLStreamReader reader) {
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+        assertEquals("my-anyxml", reader.getLocalName());
+    }
+
+    @Test
+    public void testDOMSource() throws XMLStreamException {
+        final XMLStreamReader reader = readerAtAnyXml();
+        final DOMSource source = (DOMSource) AnyXmlValueReaders.domSource().readValue(reader);
+        assertAtEnd(reader);
+
+        final Element anyXml = (Element) source.getNode();
+        assertEquals("foo-namespace", anyXml.getNamespaceURI());
+        assertEquals("my-anyxml", anyXml.getLocalName());
+
+        final Element element = (Element) anyXml.getFirstChild();
+        assertEquals("attr value", element.getAttributeNS("x-namespace", "attr"));
+        final Element subElement = (Element) element.getFirstChild();
+        assertEquals("x-namespace", subElement.getNamespaceURI());
+        assertEquals("plain value", subElement.getAttribute("plain"));
+        assertEquals("sub-element value", subElement.getTextContent());
+    }
+
+    @Test
+    public void testBuffered() throws XMLStreamException {
+        final XMLStreamReader reader = readerAtAnyXml();
+        final BufferedAnyXmlValue buffered = (BufferedAnyXmlValue) AnyXmlValueReaders.buffered().readValue(reader);
+        assertAtEnd(reader);
+        assertEquals("foo-namespace", buffered.getNamespace());
+        assertEquals("my-anyxml", buffered.getLocalName());
+
+        final DOMSource expected = (DOMSource) AnyXmlValueReaders.domSource().readValue(readerAtAnyXml());
+        assertTrue(expected.getNode().isEqualNode(buffered.toDOMSource().getNode()));
+    }
+
+    @Test
+    public void testBufferedForwarding() throws Exception {
+        final StringWriter out = new StringWriter();
+        final XMLStreamWriter xmlWriter = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+        final NormalizedNodeStreamWriter writer = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
+            schemaContext);
+
+        final XmlParserStream parser = XmlParserStream.create(writer, schemaContext, schemaContext,
+            AnyXmlValueReaders.buffered());
+        parser.parse(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(DOCUMENT)));
+        parser.flush();
+
+        final String output = out.toString();
+        assertTrue(output, output.contains("x:attr=\"attr value\""));
+        assertTrue(output, output.contains(
+            "<x:my-sub-element plain=\"plain value\">sub-element value</x:my-sub-element>"));
+        assertTrue(output, output.contains("<!--comment-->"));
+    }
+
+    @Test
+    public void testPrefixedRoot() throws XMLStreamException {
+        final DOMSource source = (DOMSource) AnyXmlValueReaders.domSource().readValue(
+            readerAtAnyXml(PREFIXED_DOCUMENT));
+        assertPrefixedRoot((Element) source.getNode());
+
+        final BufferedAnyXmlValue buffered = (BufferedAnyXmlValue) AnyXmlValueReaders.buffered().readValue(
+            readerAtAnyXml(PREFIXED_DOCUMENT));
+        assertPrefixedRoot((Element) buffered.toDOMSource().getNode());
+    }
+
+    private static void assertPrefixedRoot(final Element anyXml) {
+        assertEquals("my-anyxml", anyXml.getNodeName());
+        assertEquals("foo-namespace", anyXml.getNamespaceURI());
+
+        final Element plain = (Element) anyXml.getFirstChild();
+        assertEquals("plain", plain.getLocalName());
+        assertEquals("other-namespace", plain.getNamespaceURI());
+        final Element prefixed = (Element) plain.getNextSibling();
+        assertEquals("prefixed", prefixed.getLocalName());
+        assertEquals("foo-namespace", prefixed.getNamespaceURI());
+    }
+
+    @Test
+    public void testPrefixedRootRoundTrip() throws Exception {
+        assertPrefixedRootRoundTrip(AnyXmlValueReaders.domSource());
+        assertPrefixedRootRoundTrip(AnyXmlValueReaders.buffered());
+    }
+
+    private static void assertPrefixedRootRoundTrip(final AnyXmlValueReader valueReader) throws Exception {
+        assertPrefixedRoot(roundTrip(PREFIXED_DOCUMENT, valueReader));
+    }
+
+    private static Element roundTrip(final String document, final AnyXmlValueReader valueReader) throws Exception {
+        final StringWriter out = new StringWriter();
+        final XMLStreamWriter xmlWriter = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+        final NormalizedNodeStreamWriter writer = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
+            schemaContext);
+
+        final XmlParserStream parser = XmlParserStream.create(writer, schemaContext, schemaContext, valueReader);
+        parser.parse(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(document)));
+        parser.flush();
+
+        final Element anyXml = (Element) parse(out.toString()).getElementsByTagNameNS("foo-namespace", "my-anyxml")
+                .item(0);
+        assertNotNull(out.toString(), anyXml);
+        return anyXml;
+    }
+
+    private static Document parse(final String str) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(str)));
+    }
+
+    @Test
+    public void testAncestorDeclaredPrefix() throws Exception {
+        final DOMSource source = (DOMSource) AnyXmlValueReaders.domSource().readValue(
+            readerAtAnyXml(ANCESTOR_PREFIXED_DOCUMENT));
+        assertAncestorDeclaredPrefix((Element) source.getNode());
+
+        final BufferedAnyXmlValue buffered = (BufferedAnyXmlValue) AnyXmlValueReaders.buffered().readValue(
+            readerAtAnyXml(ANCESTOR_PREFIXED_DOCUMENT));
+        assertAncestorDeclaredPrefix((Element) buffered.toDOMSource().getNode());
+
+        // A writer which does not repair namespaces writes exactly the captured declarations
+        final StringWriter out = new StringWriter();
+        final XMLStreamWriter xmlWriter = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+        buffered.writeTo(xmlWriter);
+        xmlWriter.close();
+        assertAncestorDeclaredPrefix(parse(out.toString()).getDocumentElement());
+
+        assertAncestorDeclaredPrefix(roundTrip(ANCESTOR_PREFIXED_DOCUMENT, AnyXmlValueReaders.domSource()));
+        assertAncestorDeclaredPrefix(roundTrip(ANCESTOR_PREFIXED_DOCUMENT, AnyXmlValueReaders.buffered()));
+    }
+
+    private static void assertAncestorDeclaredPrefix(final Element anyXml) {
+        assertEquals("my-anyxml", anyXml.getLocalName());
+        assertEquals("root", anyXml.getAttributeNS("x-namespace", "root-attr"));
+
+        final Element foo = (Element) anyXml.getFirstChild();
+        assertEquals("foo", foo.getLocalName());
+        assertEquals("x-namespace", foo.getNamespaceURI());
+        assertEquals("1", foo.getAttributeNS("x-namespace", "a"));
+
+        final Element baz = (Element) foo.getNextSibling().getFirstChild();
+        assertEquals("baz", baz.getLocalName());
+        assertEquals("other-namespace", baz.getNamespaceURI());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+
+public class XmlCodecFactoryTest {
+
+    private static SchemaContext schemaContext;
+    private static DataSchemaNode myLeaf3;
+
+    @BeforeClass
+    public static void setup() throws ReactorException {
+        schemaContext = buildContext();
+        final ContainerSchemaNode outerContainer =
+                (ContainerSchemaNode) schemaContext.getDataChildByName("outer-container");
+        final ContainerSchemaNode myContainer2 =
+                (ContainerSchemaNode) outerContainer.getDataChildByName("my-container-2");
+        myLeaf3 = myContainer2.getDataChildByName("my-leaf-3");
+    }
+
+    private static SchemaContext buildContext() throws ReactorException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSource(new YangStatementSourceImpl("/baz.yang", false));
+        return reactor.buildEffective();
+    }
+
+    @Test
+    public void testSharedFactory() throws ReactorException {
+        final XmlCodecFactory shared = XmlCodecFactory.getShared(schemaContext);
+        assertSame(shared, XmlCodecFactory.getShared(schemaContext));
+        assertSame(shared, XmlCodecFactory.getPrecomputed(schemaContext));
+        assertNotSame(shared, XmlCodecFactory.create(schemaContext));
+        assertNotSame(shared, XmlCodecFactory.getShared(buildContext()));
+    }
+
+    private static NamespaceContext newNamespaceContext() throws XMLStreamException {
+        return XMLInputFactory.newInstance().createXMLStreamReader(new StringReader("<foo/>")).getNamespaceContext();
+    }
+
+    @Test
+    public void testCodecReusedAcrossDocuments() throws XMLStreamException {
+        final XmlCodecFactory factory = XmlCodecFactory.getPrecomputed(schemaContext);
+        final XmlCodec<?> codec = factory.codecFor(myLeaf3, newNamespaceContext());
+        assertSame(codec, factory.codecFor(myLeaf3, newNamespaceContext()));
+    }
+
+    @Test
+    public void testNamespaceDependentCodecNotCached() throws ReactorException, XMLStreamException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSource(new YangStatementSourceImpl("/schema/test.yang", false));
+        final SchemaContext context = reactor.buildEffective();
+        final DataSchemaNode identityRef = ((ContainerSchemaNode) context.getDataChildByName("container"))
+                .getDataChildByName("identityRef");
+
+        // Each document has its own namespace context, so a cached codec would never be used again
+        final XmlCodecFactory factory = XmlCodecFactory.getPrecomputed(context);
+        assertNotSame(factory.codecFor(identityRef, newNamespaceContext()),
+            factory.codecFor(identityRef, newNamespaceContext()));
+    }
+}
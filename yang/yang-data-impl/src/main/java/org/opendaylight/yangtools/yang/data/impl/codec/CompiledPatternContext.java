@@ -9,26 +9,126 @@ package org.opendaylight.yangtools.yang.data.impl.codec;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.regex.Pattern;
+import org.opendaylight.yangtools.xsd.regex.DeterministicAutomaton;
+import org.opendaylight.yangtools.xsd.regex.ParseException;
 import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-class CompiledPatternContext {
+/**
+ * A compiled {@link PatternConstraint}. Patterns are compiled into {@link DeterministicAutomaton}s, which match in
+ * linear time. Patterns which cannot be compiled this way, for example because they use Java-specific syntax, are
+ * matched by a {@link Pattern}.
+ *
+ * <p>
+ * Compiled patterns are shared by all codecs using the same constraint.
+ */
+abstract class CompiledPatternContext {
+    private static final class AutomatonPatternContext extends CompiledPatternContext {
+        private final DeterministicAutomaton automaton;
+
+        AutomatonPatternContext(final PatternConstraint yangConstraint, final DeterministicAutomaton automaton) {
+            super(yangConstraint);
+            this.automaton = Preconditions.checkNotNull(automaton);
+        }
+
+        @Override
+        boolean matches(final String s) {
+            return automaton.matches(s);
+        }
+    }
+
+    private static final class JavaPatternContext extends CompiledPatternContext {
+        private final Pattern pattern;
+
+        JavaPatternContext(final PatternConstraint yangConstraint) {
+            super(yangConstraint);
+            pattern = Pattern.compile(regularExpression(yangConstraint));
+        }
+
+        @Override
+        boolean matches(final String s) {
+            return pattern.matcher(s).matches();
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledPatternContext.class);
+    private static final LoadingCache<PatternConstraint, CompiledPatternContext> CACHE = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<PatternConstraint, CompiledPatternContext>() {
+                @Override
+                public CompiledPatternContext load(final PatternConstraint key) {
+                    return create(key);
+                }
+            });
 
-    private final Pattern pattern;
     private final String errorMessage;
 
     CompiledPatternContext(final PatternConstraint yangConstraint) {
-        pattern = Pattern.compile("^" + yangConstraint.getRegularExpression() + "$");
         final String yangMessage = yangConstraint.getErrorMessage();
         if (Strings.isNullOrEmpty(yangMessage)) {
-            errorMessage = "Value %s does not match regular expression <" + pattern.pattern() + ">";
+            errorMessage = "Value %s does not match regular expression <" + regularExpression(yangConstraint) + ">";
         } else {
             errorMessage = yangMessage;
         }
     }
 
-    public void validate(final String s) {
-        Preconditions.checkArgument(pattern.matcher(s).matches(), errorMessage, s);
+    /**
+     * Return the compiled form of a constraint.
+     *
+     * @param yangConstraint Pattern constraint
+     * @return Compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the pattern cannot be compiled
+     */
+    static CompiledPatternContext forConstraint(final PatternConstraint yangConstraint) {
+        try {
+            return CACHE.getUnchecked(yangConstraint);
+        } catch (UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    private static CompiledPatternContext create(final PatternConstraint yangConstraint) {
+        final String xsdRegex = xsdRegularExpression(yangConstraint.getRegularExpression());
+        if (xsdRegex != null) {
+            try {
+                return new AutomatonPatternContext(yangConstraint, DeterministicAutomaton.compile(xsdRegex));
+            } catch (ParseException | IllegalArgumentException e) {
+                LOG.debug("Pattern {} cannot be compiled into an automaton, falling back to java.util.regex",
+                    yangConstraint, e);
+            }
+        }
+
+        return new JavaPatternContext(yangConstraint);
+    }
+
+    private static String regularExpression(final PatternConstraint yangConstraint) {
+        return "^" + yangConstraint.getRegularExpression() + "$";
     }
 
-}
\ No newline at end of file
+    /**
+     * Recover the XSD regular expression from the anchored Java regular expression held in a constraint.
+     *
+     * @return XSD regular expression, or null if the expression relies on anchors
+     */
+    private static String xsdRegularExpression(final String regex) {
+        if (regex.length() < 2 || regex.charAt(0) != '^' || regex.charAt(regex.length() - 1) != '$') {
+            return null;
+        }
+
+        // XSD expressions treat '^' and '$' as ordinary characters, while Java treats them as anchors
+        final String ret = regex.substring(1, regex.length() - 1);
+        return ret.replace("[^", "").indexOf('^') == -1 && ret.indexOf('$') == -1 ? ret : null;
+    }
+
+    abstract boolean matches(String s);
+
+    public final void validate(final String s) {
+        Preconditions.checkArgument(matches(s), errorMessage, s);
+    }
+}
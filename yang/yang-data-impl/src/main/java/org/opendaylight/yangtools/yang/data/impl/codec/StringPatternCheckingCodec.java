@@ -25,7 +25,7 @@ final class StringPatternCheckingCodec extends StringStringCodec {
         patterns = new ArrayList<>(typeDef.getPatternConstraints().size());
         for (final PatternConstraint yangPattern : typeDef.getPatternConstraints()) {
             try {
-                patterns.add(new CompiledPatternContext(yangPattern));
+                patterns.add(CompiledPatternContext.forConstraint(yangPattern));
             } catch (final PatternSyntaxException e) {
                 LOG.debug("Unable to compile {} pattern, excluding it from validation.", yangPattern, e);
             }
@@ -7,12 +7,16 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.leafref;
 
+import com.google.common.annotations.Beta;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +25,7 @@ import java.util.Set;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
@@ -47,7 +52,17 @@ public class LeafRefValidatation {
     private static final String SUCCESS = " -> OK";
 
     private final Set<LeafRefContext> validatedLeafRefCtx = new HashSet<>();
-    private final List<String> errorsMessages = new ArrayList<>();
+    private final List<LeafRefViolation> violations = new ArrayList<>();
+    /*
+     * Index of values found at a path, which do not depend on the node being validated. It is populated on first
+     * access to each path, hence the data tree is walked at most once per path, rather than once per leafref node.
+     */
+    private final Map<LeafRefPath, Set<Object>> pathValues = new HashMap<>();
+    /*
+     * Index of values found at a path with predicates, keyed by the path and the key values its predicates select.
+     */
+    private final Map<Entry<LeafRefPath, List<Map<QName, Set<?>>>>, Set<Object>> predicateValues =
+            new HashMap<>();
     private final DataTreeCandidate tree;
 
     private LeafRefValidatation(final DataTreeCandidate tree) {
@@ -56,10 +71,36 @@ public class LeafRefValidatation {
 
     public static void validate(final DataTreeCandidate tree, final LeafRefContext rootLeafRefCtx)
             throws LeafRefDataValidationFailedException {
-        new LeafRefValidatation(tree).validate0(rootLeafRefCtx);
+        final List<LeafRefViolation> violations = findViolations(tree, rootLeafRefCtx);
+        if (!violations.isEmpty()) {
+            final StringBuilder message = new StringBuilder();
+            for (final LeafRefViolation violation : violations) {
+                message.append(String.format("Invalid leafref value [%s] of LEAFREF node: %s leafRef target "
+                        + "path: %s%s", violation.getValue(), violation.getPath(), violation.getTargetPath(), FAILED));
+            }
+            throw new LeafRefDataValidationFailedException(message.toString(), violations.size());
+        }
     }
 
-    private void validate0(final LeafRefContext rootLeafRefCtx) throws LeafRefDataValidationFailedException {
+    /**
+     * Validate leafrefs affected by a candidate and report the leafref nodes whose values are not present at their
+     * target paths. Unlike {@link #validate(DataTreeCandidate, LeafRefContext)}, this method does not format any
+     * messages, hence it is cheaper to use when violations are processed programmatically.
+     *
+     * @param tree Candidate to validate
+     * @param rootLeafRefCtx Leafref context of the schema
+     * @return List of violations, empty if the candidate is valid.
+     */
+    @Beta
+    public static List<LeafRefViolation> findViolations(final DataTreeCandidate tree,
+            final LeafRefContext rootLeafRefCtx) {
+        final LeafRefValidatation validation = new LeafRefValidatation(tree);
+        validation.validate0(rootLeafRefCtx);
+        return validation.violations.isEmpty() ? ImmutableList.<LeafRefViolation>of()
+                : ImmutableList.copyOf(validation.violations);
+    }
+
+    private void validate0(final LeafRefContext rootLeafRefCtx) {
         for (final DataTreeCandidateNode dataTreeCandidateNode : tree.getRootNode().getChildNodes()) {
             if (dataTreeCandidateNode.getModificationType() != ModificationType.UNMODIFIED) {
                 final PathArgument identifier = dataTreeCandidateNode.getIdentifier();
@@ -74,16 +115,6 @@ public class LeafRefValidatation {
                 }
             }
         }
-
-        if (!errorsMessages.isEmpty()) {
-            final StringBuilder message = new StringBuilder();
-            int errCount = 0;
-            for (final String errorMessage : errorsMessages) {
-                message.append(errorMessage);
-                errCount++;
-            }
-            throw new LeafRefDataValidationFailedException(message.toString(), errCount);
-        }
     }
 
     private void validateNode(final DataTreeCandidateNode node, final LeafRefContext referencedByCtx,
@@ -305,98 +336,206 @@ public class LeafRefValidatation {
 
     private void validateLeafRefTargetNodeData(final NormalizedNode<?, ?> leaf, final LeafRefContext
             referencedByCtx, final ModificationType modificationType) {
-        final Map<LeafRefContext, Set<?>> leafRefsValues = new HashMap<>();
         if (validatedLeafRefCtx.contains(referencedByCtx)) {
-            leafRefTargetNodeDataLog(leaf, referencedByCtx, modificationType, leafRefsValues, null);
+            LOG.debug("Operation [{}] validate data of leafref TARGET node: name[{}] = value[{}] -> SKIP: Already "
+                    + "validated", modificationType, referencedByCtx.getNodeName(), leaf.getValue());
             return;
         }
 
         final Map<QName, LeafRefContext> allReferencedByLeafRefCtxs = referencedByCtx.getAllReferencedByLeafRefCtxs();
+        Set<Object> leafRefTargetNodeValues = null;
         for (final LeafRefContext leafRefContext : allReferencedByLeafRefCtxs.values()) {
             if (leafRefContext.isReferencing()) {
-                final Set<Object> values = new HashSet<>();
+                if (leafRefTargetNodeValues == null) {
+                    LOG.debug("Operation [{}] validate data of leafref TARGET node: name[{}] = value[{}]",
+                            modificationType, referencedByCtx.getNodeName(), leaf.getValue());
+                    final SchemaPath nodeSchemaPath = referencedByCtx.getCurrentNodePath();
+                    final LeafRefPath nodePath = LeafRefUtils.schemaPathToLeafRefPath(nodeSchemaPath, referencedByCtx
+                            .getLeafRefContextModule());
+                    leafRefTargetNodeValues = getValues(nodePath, null);
+                }
 
                 final SchemaPath leafRefNodeSchemaPath = leafRefContext.getCurrentNodePath();
                 final LeafRefPath leafRefNodePath = LeafRefUtils.schemaPathToLeafRefPath(leafRefNodeSchemaPath,
                                 leafRefContext.getLeafRefContextModule());
-                final Iterable<QNameWithPredicate> pathFromRoot = leafRefNodePath.getPathFromRoot();
-                addValues(values, tree.getRootNode().getDataAfter(), pathFromRoot, null, QNameWithPredicate.ROOT);
-                leafRefsValues.put(leafRefContext, values);
+                validateLeafRefValues(leafRefContext, leafRefNodePath, leafRefTargetNodeValues);
             }
         }
-
-        if (!leafRefsValues.isEmpty()) {
-            final Set<Object> leafRefTargetNodeValues = new HashSet<>();
-            final SchemaPath nodeSchemaPath = referencedByCtx.getCurrentNodePath();
-            final LeafRefPath nodePath = LeafRefUtils.schemaPathToLeafRefPath(nodeSchemaPath, referencedByCtx
-                    .getLeafRefContextModule());
-            addValues(leafRefTargetNodeValues, tree.getRootNode().getDataAfter(), nodePath.getPathFromRoot(), null,
-                    QNameWithPredicate.ROOT);
-            leafRefTargetNodeDataLog(leaf, referencedByCtx, modificationType, leafRefsValues,
-                    leafRefTargetNodeValues);
-        } else {
-            leafRefTargetNodeDataLog(leaf, referencedByCtx, modificationType, null, null);
-        }
         validatedLeafRefCtx.add(referencedByCtx);
     }
 
-    private void leafRefTargetNodeDataLog(final NormalizedNode<?, ?> leaf, final LeafRefContext referencedByCtx,
-            final ModificationType modificationType, final Map<LeafRefContext, Set<?>> leafRefsValues,
+    private void validateLeafRefValues(final LeafRefContext leafRefContext, final LeafRefPath leafRefNodePath,
             final Set<Object> leafRefTargetNodeValues) {
+        Set<Object> invalidValues = null;
+        for (final Object leafRefsValue : getValues(leafRefNodePath, null)) {
+            if (!leafRefTargetNodeValues.contains(leafRefsValue)) {
+                LOG.debug("Invalid leafref value [{}] by validation of leafref TARGET node, path of invalid LEAFREF "
+                        + "node: {} leafRef target path: {} {}", leafRefsValue, leafRefContext.getCurrentNodePath(),
+                        leafRefContext.getAbsoluteLeafRefTargetPath(), FAILED);
+                if (invalidValues == null) {
+                    invalidValues = new HashSet<>();
+                }
+                invalidValues.add(leafRefsValue);
+            } else if (LOG.isTraceEnabled()) {
+                LOG.trace("Valid leafref value [{}] {}", leafRefsValue, SUCCESS);
+            }
+        }
 
-        if (leafRefsValues != null && !leafRefsValues.isEmpty()) {
-            final Set<Entry<LeafRefContext, Set<?>>> entrySet = leafRefsValues.entrySet();
-            LOG.debug("Operation [{}] validate data of leafref TARGET node: name[{}] = value[{}]",
-                    modificationType, referencedByCtx.getNodeName(), leaf.getValue());
-            for (final Entry<LeafRefContext, Set<?>> entry : entrySet) {
-                final LeafRefContext leafRefContext = entry.getKey();
-                final Set<?> leafRefValuesSet = entry.getValue();
-                for (final Object leafRefsValue : leafRefValuesSet) {
-                    if (leafRefTargetNodeValues != null && !leafRefTargetNodeValues.contains(leafRefsValue)) {
-                        LOG.debug("Invalid leafref value [{}] allowed values {} by validation of leafref TARGET node:" +
-                                " {} path of invalid LEAFREF node: {} leafRef target path: {} {}", leafRefsValue,
-                                leafRefTargetNodeValues, leaf.getNodeType(), leafRefContext.getCurrentNodePath(),
-                                leafRefContext.getAbsoluteLeafRefTargetPath(), FAILED);
-                        errorsMessages.add(String.format("Invalid leafref value [%s] allowed values %s by validation " +
-                                        "of  leafref TARGET node: %s path of invalid LEAFREF node: %s leafRef target " +
-                                        "path: %s %s", leafRefsValue, leafRefTargetNodeValues, leaf.getNodeType(),
-                                leafRefContext.getCurrentNodePath(), leafRefContext.getAbsoluteLeafRefTargetPath(),
-                                FAILED));
-                    } else {
-                        LOG.debug("Valid leafref value [{}] {}", leafRefsValue, SUCCESS);
-                    }
+        if (invalidValues != null) {
+            // Values only tell which leafref nodes are invalid, find the nodes themselves
+            addViolations(tree.getRootNode().getDataAfter(), leafRefNodePath.getPathFromRoot(),
+                YangInstanceIdentifier.EMPTY, leafRefContext.getAbsoluteLeafRefTargetPath(), invalidValues);
+        }
+    }
+
+    private void addViolations(final Optional<? extends NormalizedNode<?, ?>> optDataNode,
+            final Iterable<QNameWithPredicate> path, final YangInstanceIdentifier current,
+            final LeafRefPath targetPath, final Set<Object> invalidValues) {
+        if (!optDataNode.isPresent()) {
+            return;
+        }
+        final NormalizedNode<?, ?> node = optDataNode.get();
+
+        if (node instanceof LeafNode) {
+            if (invalidValues.contains(node.getValue())) {
+                violations.add(new LeafRefViolation(current, targetPath, node.getValue()));
+            }
+            return;
+        } else if (node instanceof LeafSetNode<?>) {
+            for (final NormalizedNode<?, ?> entry : ((LeafSetNode<?>) node).getValue()) {
+                if (invalidValues.contains(entry.getValue())) {
+                    violations.add(new LeafRefViolation(current.node(entry.getIdentifier()), targetPath,
+                        entry.getValue()));
                 }
             }
-        } else if (leafRefsValues != null) {
-            LOG.debug("Operation [{}] validate data of leafref TARGET node: name[{}] = value[{}] -> SKIP: Already validated",
-                    modificationType, referencedByCtx.getNodeName(), leaf.getValue());
+            return;
+        }
+
+        final Iterator<QNameWithPredicate> iterator = path.iterator();
+        if (!iterator.hasNext()) {
+            return;
+        }
+        final PathArgument pathArgument = new NodeIdentifier(iterator.next().getQName());
+
+        if (node instanceof DataContainerNode) {
+            addViolations((DataContainerNode<?>) node, pathArgument, path, current, targetPath, invalidValues);
+        } else if (node instanceof MapNode) {
+            for (final MapEntryNode mapEntryNode : ((MapNode) node).getValue()) {
+                addViolations(mapEntryNode, pathArgument, path, current.node(mapEntryNode.getIdentifier()),
+                    targetPath, invalidValues);
+            }
+        }
+    }
+
+    private void addViolations(final DataContainerNode<?> node, final PathArgument pathArgument,
+            final Iterable<QNameWithPredicate> path, final YangInstanceIdentifier current,
+            final LeafRefPath targetPath, final Set<Object> invalidValues) {
+        final Optional<DataContainerChild<? extends PathArgument, ?>> child = node.getChild(pathArgument);
+        if (child.isPresent()) {
+            addViolations(child, nextLevel(path), current.node(pathArgument), targetPath, invalidValues);
+        } else {
+            for (final ChoiceNode choiceNode : getChoiceNodes(node)) {
+                addViolations(Optional.of(choiceNode), path, current.node(choiceNode.getIdentifier()), targetPath,
+                    invalidValues);
+            }
         }
     }
 
     private void validateLeafRefNodeData(final NormalizedNode<?, ?> leaf, final LeafRefContext referencingCtx,
             final ModificationType modificationType, final YangInstanceIdentifier current) {
-        final HashSet<Object> values = new HashSet<>();
-        final LeafRefPath targetPath = referencingCtx.getAbsoluteLeafRefTargetPath();
-        final Iterable<QNameWithPredicate> pathFromRoot = targetPath.getPathFromRoot();
-
-        addValues(values, tree.getRootNode().getDataAfter(), pathFromRoot, current, QNameWithPredicate.ROOT);
+        final Set<Object> values = getValues(referencingCtx.getAbsoluteLeafRefTargetPath(), current);
 
         if (!values.contains(leaf.getValue())) {
             LOG.debug("Operation [{}] validate data of LEAFREF node: name[{}] = value[{}] {}",
                     modificationType, referencingCtx.getNodeName(), leaf.getValue(), FAILED);
-            LOG.debug("Invalid leafref value [{}] allowed values {} of LEAFREF node: {} leafRef target path: {}",
-                    leaf.getValue(), values, leaf.getNodeType(), referencingCtx.getAbsoluteLeafRefTargetPath());
-            errorsMessages.add(String.format("Invalid leafref value [%s] allowed values %s of LEAFREF node: %s " +
-                            "leafRef  target path: %s", leaf.getValue(), values, leaf.getNodeType(), referencingCtx
-                    .getAbsoluteLeafRefTargetPath()));
-        } else {
+            // Leaf-list entries are validated with the path of their leaf-list
+            final YangInstanceIdentifier path = leaf instanceof LeafSetEntryNode ? current.node(leaf.getIdentifier())
+                    : current;
+            violations.add(new LeafRefViolation(path, referencingCtx.getAbsoluteLeafRefTargetPath(),
+                leaf.getValue()));
+        } else if (LOG.isDebugEnabled()) {
             LOG.debug("Operation [{}] validate data of LEAFREF node: name[{}] = value[{}] {}", modificationType,
                     referencingCtx.getNodeName(), leaf.getValue(), SUCCESS);
         }
     }
 
+    /**
+     * Return the values found at a path in the data after the modification.
+     *
+     * @param path Path to search
+     * @param current Node whose leafref path is being resolved, null if path predicates should be ignored
+     * @return Set of values, which must not be modified
+     */
+    private Set<Object> getValues(final LeafRefPath path, final YangInstanceIdentifier current) {
+        if (current == null || !hasPredicates(path)) {
+            Set<Object> values = pathValues.get(path);
+            if (values == null) {
+                values = new HashSet<>();
+                addValues(values, tree.getRootNode().getDataAfter(), path.getPathFromRoot(), null,
+                    QNameWithPredicate.ROOT);
+                pathValues.put(path, values);
+            }
+            return values;
+        }
+
+        /*
+         * Predicates select entries based on current node, hence the values are indexed by the values the predicates
+         * resolve to. Nodes referencing the same entries share the lookup.
+         */
+        final Map<QNameWithPredicate, Map<QName, Set<?>>> keyValues = getKeyValues(path, current);
+        final List<Map<QName, Set<?>>> resolved = new ArrayList<>();
+        for (final QNameWithPredicate qname : path.getPathFromRoot()) {
+            final Map<QName, Set<?>> stepValues = keyValues.get(qname);
+            if (stepValues != null) {
+                resolved.add(stepValues);
+            }
+        }
+
+        final Entry<LeafRefPath, List<Map<QName, Set<?>>>> key = new SimpleImmutableEntry<>(path, resolved);
+        Set<Object> values = predicateValues.get(key);
+        if (values == null) {
+            values = new HashSet<>();
+            addValues(values, tree.getRootNode().getDataAfter(), path.getPathFromRoot(), keyValues,
+                QNameWithPredicate.ROOT);
+            predicateValues.put(key, values);
+        }
+        return values;
+    }
+
+    private static boolean hasPredicates(final LeafRefPath path) {
+        for (final QNameWithPredicate qname : path.getPathFromRoot()) {
+            if (!qname.getQNamePredicates().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Resolve the key values selected by each predicated step of a path. Steps are compared by identity, as
+     * QNameWithPredicate equality does not consider predicates.
+     */
+    private Map<QNameWithPredicate, Map<QName, Set<?>>> getKeyValues(final LeafRefPath path,
+            final YangInstanceIdentifier current) {
+        final Optional<NormalizedNode<?, ?>> parent = findParentNode(tree.getRootNode().getDataAfter(), current);
+        final Map<QNameWithPredicate, Map<QName, Set<?>>> ret = new IdentityHashMap<>();
+        for (final QNameWithPredicate qname : path.getPathFromRoot()) {
+            final List<QNamePredicate> predicates = qname.getQNamePredicates();
+            if (!predicates.isEmpty() && !ret.containsKey(qname)) {
+                final Map<QName, Set<?>> keyValues = new HashMap<>();
+                for (final QNamePredicate predicate : predicates) {
+                    keyValues.put(predicate.getIdentifier(),
+                        getPathKeyExpressionValues(predicate.getPathKeyExpression(), parent));
+                }
+                ret.put(qname, keyValues);
+            }
+        }
+        return ret;
+    }
+
     private void addValues(final Set<Object> values, final Optional<? extends NormalizedNode<?, ?>> optDataNode,
-            final Iterable<QNameWithPredicate> path, final YangInstanceIdentifier current, final QNameWithPredicate previousQName) {
+            final Iterable<QNameWithPredicate> path, final Map<QNameWithPredicate, Map<QName, Set<?>>> keyValues,
+            final QNameWithPredicate previousQName) {
 
         if (!optDataNode.isPresent()) {
             return;
@@ -425,70 +564,68 @@ public class LeafRefValidatation {
         final PathArgument pathArgument = new NodeIdentifier(qName);
 
         if (node instanceof DataContainerNode) {
-            final DataContainerNode<?> dataContainerNode = (DataContainerNode<?>) node;
-            final Optional<DataContainerChild<? extends PathArgument, ?>> child = dataContainerNode
-                    .getChild(pathArgument);
-
-            if (child.isPresent()) {
-                addValues(values, child, nextLevel(path), current, qnameWithPredicate);
-            } else {
-                for (final ChoiceNode choiceNode : getChoiceNodes(dataContainerNode)) {
-                    addValues(values, Optional.of(choiceNode), path, current,
-                            qnameWithPredicate);
-                }
-            }
-
+            addValues(values, (DataContainerNode<?>) node, pathArgument, path, keyValues, qnameWithPredicate);
         } else if (node instanceof MapNode) {
             final MapNode map = (MapNode) node;
-            final List<QNamePredicate> qNamePredicates = previousQName.getQNamePredicates();
-            if (qNamePredicates.isEmpty() || current == null) {
-                final Iterable<MapEntryNode> value = map.getValue();
-                for (final MapEntryNode mapEntryNode : value) {
-                    final Optional<DataContainerChild<? extends PathArgument, ?>> child = mapEntryNode
-                            .getChild(pathArgument);
-
-                    if (child.isPresent()) {
-                        addValues(values, child, nextLevel(path), current, qnameWithPredicate);
-                    } else {
-                        for (final ChoiceNode choiceNode : getChoiceNodes(mapEntryNode)) {
-                            addValues(values, Optional.of(choiceNode), path, current, qnameWithPredicate);
-                        }
-                    }
+            final Map<QName, Set<?>> allowedKeyValues = keyValues == null ? null : keyValues.get(previousQName);
+            if (allowedKeyValues == null) {
+                for (final MapEntryNode mapEntryNode : map.getValue()) {
+                    addValues(values, mapEntryNode, pathArgument, path, keyValues, qnameWithPredicate);
                 }
-            } else {
-                final Map<QName, Set<?>> keyValues = new HashMap<>();
+                return;
+            }
 
-                final Iterator<QNamePredicate> predicates = qNamePredicates.iterator();
-                while (predicates.hasNext()) {
-                    final QNamePredicate predicate = predicates.next();
-                    final QName identifier = predicate.getIdentifier();
-                    final LeafRefPath predicatePathKeyExpression = predicate
-                            .getPathKeyExpression();
+            final MapEntryNode first = Iterables.getFirst(map.getValue(), null);
+            if (first == null) {
+                return;
+            }
 
-                    final Set<?> pathKeyExprValues = getPathKeyExpressionValues(
-                            predicatePathKeyExpression, current);
+            final Set<QName> keys = first.getIdentifier().getKeyValues().keySet();
+            final Map<QName, Object> entryKey = new HashMap<>();
+            for (final Entry<QName, Set<?>> entry : allowedKeyValues.entrySet()) {
+                if (keys.contains(entry.getKey())) {
+                    final Set<?> allowed = entry.getValue();
+                    if (allowed.isEmpty()) {
+                        // No entry can match
+                        return;
+                    }
+                    if (allowed.size() == 1) {
+                        entryKey.put(entry.getKey(), allowed.iterator().next());
+                    }
+                }
+            }
 
-                    keyValues.put(identifier, pathKeyExprValues);
+            if (keys.equals(entryKey.keySet())) {
+                // Predicates select a single entry, look it up directly instead of scanning the list
+                final Optional<MapEntryNode> entry = map.getChild(new NodeIdentifierWithPredicates(
+                    first.getNodeType(), entryKey));
+                if (entry.isPresent()) {
+                    addValues(values, entry.get(), pathArgument, path, keyValues, qnameWithPredicate);
                 }
+                return;
+            }
 
-                for (final MapEntryNode mapEntryNode : map.getValue()) {
-                    if (isMatchingPredicate(mapEntryNode, keyValues)) {
-                        final Optional<DataContainerChild<? extends PathArgument, ?>> child = mapEntryNode
-                                .getChild(pathArgument);
-
-                        if (child.isPresent()) {
-                            addValues(values, child, nextLevel(path), current, qnameWithPredicate);
-                        } else {
-                            for (final ChoiceNode choiceNode : getChoiceNodes(mapEntryNode)) {
-                                addValues(values, Optional.of(choiceNode),  path, current, qnameWithPredicate);
-                            }
-                        }
-                    }
+            for (final MapEntryNode mapEntryNode : map.getValue()) {
+                if (isMatchingPredicate(mapEntryNode, allowedKeyValues)) {
+                    addValues(values, mapEntryNode, pathArgument, path, keyValues, qnameWithPredicate);
                 }
             }
         }
     }
 
+    private void addValues(final Set<Object> values, final DataContainerNode<?> node, final PathArgument pathArgument,
+            final Iterable<QNameWithPredicate> path, final Map<QNameWithPredicate, Map<QName, Set<?>>> keyValues,
+            final QNameWithPredicate qnameWithPredicate) {
+        final Optional<DataContainerChild<? extends PathArgument, ?>> child = node.getChild(pathArgument);
+        if (child.isPresent()) {
+            addValues(values, child, nextLevel(path), keyValues, qnameWithPredicate);
+        } else {
+            for (final ChoiceNode choiceNode : getChoiceNodes(node)) {
+                addValues(values, Optional.of(choiceNode), path, keyValues, qnameWithPredicate);
+            }
+        }
+    }
+
     private static Iterable<ChoiceNode> getChoiceNodes(final DataContainerNode<?> dataContainerNode) {
         final List<ChoiceNode> choiceNodes = new ArrayList<>();
         for (final DataContainerChild<? extends PathArgument, ?> child : dataContainerNode.getValue()) {
@@ -511,9 +648,7 @@ public class LeafRefValidatation {
     }
 
     private Set<?> getPathKeyExpressionValues(final LeafRefPath predicatePathKeyExpression,
-            final YangInstanceIdentifier current) {
-
-        final Optional<NormalizedNode<?, ?>> parent = findParentNode(tree.getRootNode().getDataAfter(), current);
+            final Optional<NormalizedNode<?, ?>> parent) {
 
         final Iterable<QNameWithPredicate> predicatePathExpr = predicatePathKeyExpression.getPathFromRoot();
         final Iterable<QNameWithPredicate> predicatePath = nextLevel(predicatePathExpr);
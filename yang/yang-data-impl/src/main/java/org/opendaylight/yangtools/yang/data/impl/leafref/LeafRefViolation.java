@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * A leafref node whose value is not present at the leafref's target path.
+ */
+@Beta
+public final class LeafRefViolation implements Immutable {
+    private final YangInstanceIdentifier path;
+    private final LeafRefPath targetPath;
+    private final Object value;
+
+    LeafRefViolation(final YangInstanceIdentifier path, final LeafRefPath targetPath, final Object value) {
+        this.path = Preconditions.checkNotNull(path);
+        this.targetPath = Preconditions.checkNotNull(targetPath);
+        this.value = Preconditions.checkNotNull(value);
+    }
+
+    /**
+     * Return the path of the offending leafref node.
+     *
+     * @return Instance identifier of the leaf or leaf-list entry.
+     */
+    public YangInstanceIdentifier getPath() {
+        return path;
+    }
+
+    /**
+     * Return the absolute path which the leafref refers to.
+     *
+     * @return Leafref target path.
+     */
+    public LeafRefPath getTargetPath() {
+        return targetPath;
+    }
+
+    /**
+     * Return the value of the leafref node, which has not been found at the target path.
+     *
+     * @return Offending value.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, targetPath, value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LeafRefViolation)) {
+            return false;
+        }
+        final LeafRefViolation other = (LeafRefViolation) obj;
+        return path.equals(other.path) && targetPath.equals(other.targetPath) && value.equals(other.value);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("path", path).add("targetPath", targetPath).add("value", value)
+                .toString();
+    }
+}
@@ -22,6 +22,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.valid.DataValidationException;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerAttrNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,11 +55,14 @@ public class ImmutableMapEntryNodeBuilder extends AbstractImmutableDataContainer
     }
 
     public static DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> create(final MapEntryNode node) {
-        if (!(node instanceof ImmutableMapEntryNode)) {
-            throw new UnsupportedOperationException(String.format("Cannot initialize from class %s", node.getClass()));
+        if (node instanceof ImmutableMapEntryNode) {
+            return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
         }
 
-        return new ImmutableMapEntryNodeBuilder((ImmutableMapEntryNode)node);
+        // Other implementations are copied child by child
+        final Collection<DataContainerChild<? extends PathArgument, ?>> children = node.getValue();
+        return new ImmutableMapEntryNodeBuilder(children.size()).withNodeIdentifier(node.getIdentifier())
+                .withAttributes(node.getAttributes()).withValue(children);
     }
 
     private static void fillQnames(final Iterable<DataContainerChild<? extends PathArgument, ?>> iterable, final Map<QName, PathArgument> out) {
@@ -119,5 +123,33 @@ public class ImmutableMapEntryNodeBuilder extends AbstractImmutableDataContainer
                 final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children, final Map<QName, String> attributes) {
             super(children, nodeIdentifier, attributes);
         }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (super.equals(obj)) {
+                return true;
+            }
+
+            // Entries which store their children in some other way are equal if they have the same children
+            if (!(obj instanceof MapEntryNode) || obj instanceof AbstractImmutableNormalizedNode) {
+                return false;
+            }
+            final MapEntryNode other = (MapEntryNode) obj;
+            if (!getIdentifier().equals(other.getIdentifier())) {
+                return false;
+            }
+
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children = getChildren();
+            final Collection<DataContainerChild<? extends PathArgument, ?>> otherChildren = other.getValue();
+            if (children.size() != otherChildren.size()) {
+                return false;
+            }
+            for (final DataContainerChild<? extends PathArgument, ?> child : otherChildren) {
+                if (!child.equals(children.get(child.getIdentifier()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
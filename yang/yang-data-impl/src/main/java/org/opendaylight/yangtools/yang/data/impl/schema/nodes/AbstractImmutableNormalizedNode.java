@@ -45,7 +45,7 @@ public abstract class AbstractImmutableNormalizedNode<K extends PathArgument,V>
     protected abstract int valueHashCode();
 
     @Override
-    public final boolean equals(final Object obj) {
+    public boolean equals(final Object obj) {
         if (this == obj) {
             return true;
         }
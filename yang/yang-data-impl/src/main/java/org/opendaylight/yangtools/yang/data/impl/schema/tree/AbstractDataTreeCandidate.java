@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 import com.google.common.base.Preconditions;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 
 abstract class AbstractDataTreeCandidate extends AbstractDataTreeTip implements DataTreeCandidateTip {
     private final YangInstanceIdentifier rootPath;
@@ -22,4 +23,11 @@ abstract class AbstractDataTreeCandidate extends AbstractDataTreeTip implements
     public final YangInstanceIdentifier getRootPath() {
         return rootPath;
     }
+
+    /**
+     * Return the root node on which this candidate has been prepared.
+     *
+     * @return Root node before this candidate is applied.
+     */
+    abstract TreeNode getBeforeRoot();
 }
@@ -33,11 +33,15 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
 
     private final Class<? extends NormalizedNode<?, ?>> nodeClass;
     private final boolean verifyChildrenStructure;
+    private final ParallelChildOperations parallel;
+    private final boolean packedLeaves;
 
     protected AbstractNodeContainerModificationStrategy(final Class<? extends NormalizedNode<?, ?>> nodeClass,
             final DataTreeConfiguration treeConfig) {
         this.nodeClass = Preconditions.checkNotNull(nodeClass , "nodeClass");
         this.verifyChildrenStructure = (treeConfig.getTreeType() == TreeType.CONFIGURATION);
+        this.parallel = ParallelChildOperations.forConfig(treeConfig);
+        this.packedLeaves = treeConfig.isPackedLeavesEnabled();
     }
 
     @SuppressWarnings("rawtypes")
@@ -79,6 +83,32 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
         }
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Override
+    NormalizedNode<?, ?> packLeaves(final NormalizedNode<?, ?> value) {
+        if (!packedLeaves) {
+            return value;
+        }
+
+        // Rebuild this node only if some of its children have changed
+        NormalizedNodeContainerBuilder builder = null;
+        for (final Object child : ((NormalizedNodeContainer) value).getValue()) {
+            final NormalizedNode<?, ?> castedChild = (NormalizedNode<?, ?>) child;
+            final Optional<ModificationApplyOperation> childOp = getChild(castedChild.getIdentifier());
+            if (childOp.isPresent()) {
+                final NormalizedNode<?, ?> packed = childOp.get().packLeaves(castedChild);
+                if (packed != castedChild) {
+                    if (builder == null) {
+                        builder = createBuilder(value);
+                    }
+                    builder.addChild(packed);
+                }
+            }
+        }
+
+        return builder == null ? value : builder.build();
+    }
+
     @Override
     protected TreeNode applyWrite(final ModifiedNode modification,
             final Optional<TreeNode> currentMeta, final Version version) {
@@ -130,20 +160,21 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
-
-        for (final ModifiedNode mod : modifications) {
-            final YangInstanceIdentifier.PathArgument id = mod.getIdentifier();
-            final Optional<TreeNode> cm = meta.getChild(id);
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+
+        if (parallel != null && parallel.isParallel(modifications)) {
+            // Apply child modifications in parallel, then update the node in the original order
+            final Optional<TreeNode>[] results = parallel.apply(this, meta, nodeVersion, modifications);
+            int offset = 0;
+            for (final ModifiedNode mod : modifications) {
+                updateChild(meta, data, mod.getIdentifier(), results[offset++]);
+            }
+        } else {
+            for (final ModifiedNode mod : modifications) {
+                final YangInstanceIdentifier.PathArgument id = mod.getIdentifier();
+                final Optional<TreeNode> cm = meta.getChild(id);
 
-            final Optional<TreeNode> result = resolveChildOperation(id).apply(mod, cm, nodeVersion);
-            if (result.isPresent()) {
-                final TreeNode tn = result.get();
-                meta.addChild(tn);
-                data.addChild(tn.getData());
-            } else {
-                meta.removeChild(id);
-                data.removeChild(id);
+                updateChild(meta, data, id, resolveChildOperation(id).apply(mod, cm, nodeVersion));
             }
         }
 
@@ -151,6 +182,19 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
         return meta.seal();
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void updateChild(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final PathArgument id, final Optional<TreeNode> result) {
+        if (result.isPresent()) {
+            final TreeNode tn = result.get();
+            meta.addChild(tn);
+            data.addChild(tn.getData());
+        } else {
+            meta.removeChild(id);
+            data.removeChild(id);
+        }
+    }
+
     @Override
     protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
         /*
@@ -189,7 +233,7 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
         case NONE:
             // Fresh node, just record a MERGE with a value
                 recursivelyVerifyStructure(value);
-            modification.updateValue(LogicalOperation.MERGE, value);
+            modification.updateValue(LogicalOperation.MERGE, packLeaves(value));
             return;
         case TOUCH:
 
@@ -223,7 +267,7 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
                 }
             }
 
-            modification.updateValue(LogicalOperation.WRITE, value);
+            modification.updateValue(LogicalOperation.WRITE, packLeaves(value));
             return;
         case WRITE:
             // We are augmenting a previous write. We'll just walk value's children, get the corresponding ModifiedNode
@@ -297,7 +341,13 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
      */
     private void checkChildPreconditions(final YangInstanceIdentifier path, final NodeModification modification,
             final TreeNode current, final Version version) throws DataValidationFailedException {
-        for (final NodeModification childMod : modification.getChildren()) {
+        final Collection<? extends NodeModification> children = modification.getChildren();
+        if (parallel != null && parallel.isParallel(children)) {
+            parallel.checkApplicable(this, path, current, version, children);
+            return;
+        }
+
+        for (final NodeModification childMod : children) {
             final YangInstanceIdentifier.PathArgument childId = childMod.getIdentifier();
             final Optional<TreeNode> childMeta = current.getChild(childId);
 
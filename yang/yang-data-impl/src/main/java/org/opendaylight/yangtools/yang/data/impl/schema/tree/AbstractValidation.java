@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SchemaAwareApplyOperation} which delegates all of its operations to another operation, performing
+ * additional validation on the result of the delegate's operation. The resulting node is stashed in the
+ * {@link ModifiedNode}, so it can be reused when the operation is subsequently applied.
+ */
+abstract class AbstractValidation extends SchemaAwareApplyOperation {
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractValidation.class);
+
+    private final SchemaAwareApplyOperation delegate;
+
+    AbstractValidation(final SchemaAwareApplyOperation delegate) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+    }
+
+    @Override
+    public final Optional<ModificationApplyOperation> getChild(final PathArgument child) {
+        return delegate.getChild(child);
+    }
+
+    @Override
+    protected final ChildTrackingPolicy getChildPolicy() {
+        return delegate.getChildPolicy();
+    }
+
+    @Override
+    final void mergeIntoModifiedNode(final ModifiedNode node, final NormalizedNode<?, ?> value,
+            final Version version) {
+        delegate.mergeIntoModifiedNode(node, value, version);
+    }
+
+    @Override
+    protected final void checkTouchApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkTouchApplicable(path, modification, current, version);
+        validate(path, modification, current, version);
+    }
+
+    @Override
+    protected final void checkMergeApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkMergeApplicable(path, modification, current, version);
+        validate(path, modification, current, version);
+    }
+
+    @Override
+    protected final void checkWriteApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkWriteApplicable(path, modification, current, version);
+        validate(path, modification, current, version);
+    }
+
+    @Override
+    protected final void verifyStructure(final NormalizedNode<?, ?> modification, final boolean verifyChildren) {
+        delegate.verifyStructure(modification, verifyChildren);
+    }
+
+    @Override
+    final void recursivelyVerifyStructure(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyStructure(value);
+    }
+
+    @Override
+    final NormalizedNode<?, ?> packLeaves(final NormalizedNode<?, ?> value) {
+        return delegate.packLeaves(value);
+    }
+
+    @Override
+    protected final TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta,
+            final Version version) {
+        final TreeNode validated = modification.getValidatedNode(this, Optional.of(currentMeta));
+        if (validated != null) {
+            return validated;
+        }
+
+        // FIXME: the result moved, make sure we enforce again
+        return delegate.applyMerge(modification, currentMeta, version);
+    }
+
+    @Override
+    protected final TreeNode applyTouch(final ModifiedNode modification, final TreeNode currentMeta,
+            final Version version) {
+        final TreeNode validated = modification.getValidatedNode(this, Optional.of(currentMeta));
+        if (validated != null) {
+            return validated;
+        }
+
+        // FIXME: the result moved, make sure we enforce again
+        return delegate.applyTouch(modification, currentMeta, version);
+    }
+
+    @Override
+    protected final TreeNode applyWrite(final ModifiedNode modification, final Optional<TreeNode> currentMeta,
+            final Version version) {
+        final TreeNode validated = modification.getValidatedNode(this, currentMeta);
+        if (validated != null) {
+            return validated;
+        }
+
+        // FIXME: the result moved, make sure we enforce again
+        return delegate.applyWrite(modification, currentMeta, version);
+    }
+
+    private void validate(final YangInstanceIdentifier path, final NodeModification nodeMod,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        if (!(nodeMod instanceof ModifiedNode)) {
+            LOG.debug("Could not validate {}, does not implement expected class {}", nodeMod, ModifiedNode.class);
+            return;
+        }
+
+        final ModifiedNode modification = (ModifiedNode) nodeMod;
+
+        // We need to actually perform the operation to get deal with merge in a sane manner. We know the modification
+        // is immutable, so the result of validation will probably not change.
+        final Optional<TreeNode> maybeApplied = delegate.apply(modification, current, version);
+        Verify.verify(maybeApplied.isPresent());
+
+        final TreeNode applied = maybeApplied.get();
+        enforceOnTreeNode(path, modification, current, applied);
+
+        // Everything passed. We now have a snapshot of the result node, it would be too bad if we just threw it out.
+        // We know what the result of an apply operation is going to be *if* the following are kept unchanged:
+        // - the 'current' node
+        // - the schemacontext (therefore, the fact this object is associated with the modification)
+        //
+        // So let's stash the result. We will pick it up during apply operation.
+        modification.setValidatedNode(this, current, applied);
+    }
+
+    /**
+     * Enforce validation rules on the result of applying a modification.
+     *
+     * @param path Path to the node being validated
+     * @param modification Modification which has been applied
+     * @param current Tree node to which the modification has been applied
+     * @param applied Tree node resulting from the modification
+     * @throws DataValidationFailedException if the resulting node does not pass validation
+     */
+    abstract void enforceOnTreeNode(YangInstanceIdentifier path, ModifiedNode modification, Optional<TreeNode> current,
+            TreeNode applied) throws DataValidationFailedException;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+
+/**
+ * A candidate resulting from a sequence of candidates, each prepared on top of its predecessor. It reports the
+ * difference between the state before the first candidate and the state after the last one, as computed by
+ * {@link DataTreeCandidates#aggregate(List)}, and additionally tracks the roots needed to install it.
+ */
+final class AggregatedDataTreeCandidate extends AbstractDataTreeCandidate {
+    private final DataTreeCandidateNode root;
+    private final TreeNode beforeRoot;
+    private final TreeNode afterRoot;
+
+    AggregatedDataTreeCandidate(final YangInstanceIdentifier rootPath, final List<AbstractDataTreeCandidate> candidates) {
+        super(rootPath);
+        Preconditions.checkArgument(!candidates.isEmpty(), "At least one candidate is required");
+
+        this.beforeRoot = candidates.get(0).getBeforeRoot();
+        this.afterRoot = candidates.get(candidates.size() - 1).getTipRoot();
+        this.root = DataTreeCandidates.aggregate(candidates).getRootNode();
+    }
+
+    @Override
+    TreeNode getBeforeRoot() {
+        return beforeRoot;
+    }
+
+    @Override
+    @Nonnull
+    protected TreeNode getTipRoot() {
+        return afterRoot;
+    }
+
+    @Override
+    public DataTreeCandidateNode getRootNode() {
+        return root;
+    }
+}
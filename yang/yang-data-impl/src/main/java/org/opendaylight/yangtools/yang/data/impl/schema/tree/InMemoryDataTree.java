@@ -9,13 +9,19 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTreeTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
@@ -111,23 +117,76 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
             LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(c.getTipRoot().getData()));
         }
 
-        final TreeNode newRoot = c.getTipRoot();
+        final TreeNode oldRoot = c.getBeforeRoot();
+        if (!installRoot(oldRoot, c.getTipRoot())) {
+            final String oldStr = simpleToString(oldRoot);
+            final String currentStr = simpleToString(state.getRoot());
+            throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr + " differ.");
+        }
+    }
+
+    @Override
+    public DataTreeCandidate commitBatch(final List<? extends DataTreeModification> modifications)
+            throws DataValidationFailedException {
+        Preconditions.checkArgument(!modifications.isEmpty(), "Batch has to contain at least one modification");
+
+        final List<AbstractDataTreeCandidate> candidates = new ArrayList<>(modifications.size());
+        TipProducingDataTreeTip tip = this;
+        AbstractDataTreeCandidate last = null;
+        for (final DataTreeModification modification : modifications) {
+            tip.validate(modification);
+            last = (AbstractDataTreeCandidate) tip.prepare(modification);
+            if (!(last instanceof NoopDataTreeCandidate)) {
+                candidates.add(last);
+            }
+            tip = last;
+        }
+
+        final AbstractDataTreeCandidate result;
+        switch (candidates.size()) {
+            case 0:
+                // Nothing to install
+                return last;
+            case 1:
+                result = candidates.get(0);
+                break;
+            default:
+                result = new AggregatedDataTreeCandidate(last.getRootPath(), candidates);
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(result.getTipRoot().getData()));
+        }
+        if (!installRoot(result.getBeforeRoot(), result.getTipRoot())) {
+            throw new ConflictingModificationAppliedException(rootPath, "Data tree changed while preparing batch of "
+                    + modifications.size() + " modifications");
+        }
+        return result;
+    }
+
+    /**
+     * Install a new root node, provided the current root is the one on which it has been prepared.
+     *
+     * @param oldRoot Expected current root
+     * @param newRoot New root
+     * @return True if the root has been installed, false if the current root does not match.
+     */
+    private boolean installRoot(final TreeNode oldRoot, final TreeNode newRoot) {
         DataTreeState currentState, newState;
         do {
             currentState = state;
             final TreeNode currentRoot = currentState.getRoot();
             LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
 
-            final TreeNode oldRoot = c.getBeforeRoot();
             if (oldRoot != currentRoot) {
-                final String oldStr = simpleToString(oldRoot);
-                final String currentStr = simpleToString(currentRoot);
-                throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr + " differ.");
+                return false;
             }
 
             newState = currentState.withRoot(newRoot);
             LOG.trace("Updated state from {} to {}", currentState, newState);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+
+        return true;
     }
 
     private static String simpleToString(final Object o) {
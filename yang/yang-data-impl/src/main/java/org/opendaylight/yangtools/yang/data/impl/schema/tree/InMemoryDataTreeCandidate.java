@@ -41,6 +41,7 @@ final class InMemoryDataTreeCandidate extends AbstractDataTreeCandidate {
         return root.getNewMeta();
     }
 
+    @Override
     TreeNode getBeforeRoot() {
         return root.getOldMeta();
     }
@@ -48,8 +48,9 @@ public final class InMemoryDataTreeFactory implements DataTreeFactory {
 
     @Override
     public TipProducingDataTree create(final DataTreeConfiguration treeConfig) {
-        return new InMemoryDataTree(TreeNodeFactory.createTreeNode(rootContainer, Version.initial()),
-                treeConfig, YangInstanceIdentifier.EMPTY, null);
+        final Version version = treeConfig.isCompactVersionsEnabled() ? Version.initialCompact() : Version.initial();
+        return new InMemoryDataTree(TreeNodeFactory.createTreeNode(rootContainer, version), treeConfig,
+            YangInstanceIdentifier.EMPTY, null);
     }
 
     @Override
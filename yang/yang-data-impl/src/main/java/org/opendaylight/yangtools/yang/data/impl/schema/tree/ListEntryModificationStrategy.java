@@ -21,10 +21,13 @@ import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
 final class ListEntryModificationStrategy extends AbstractDataNodeContainerModificationStrategy<ListSchemaNode> {
     private final MandatoryLeafEnforcer enforcer;
+    // Null if entries are not packed
+    private final PackedLeafLayout packedLayout;
 
     ListEntryModificationStrategy(final ListSchemaNode schema, final DataTreeConfiguration treeConfig) {
         super(schema, MapEntryNode.class, treeConfig);
         enforcer = MandatoryLeafEnforcer.forContainer(schema, treeConfig);
+        packedLayout = treeConfig.isPackedLeavesEnabled() ? PackedLeafLayout.forSchema(schema) : null;
     }
 
     @Override
@@ -49,10 +52,19 @@ final class ListEntryModificationStrategy extends AbstractDataNodeContainerModif
         return ret;
     }
 
+    @Override
+    NormalizedNode<?, ?> packLeaves(final NormalizedNode<?, ?> value) {
+        final NormalizedNode<?, ?> ret = super.packLeaves(value);
+        return packedLayout == null ? ret : packedLayout.pack((MapEntryNode) ret);
+    }
+
     @Override
     @SuppressWarnings("rawtypes")
     protected DataContainerNodeBuilder createBuilder(final NormalizedNode<?, ?> original) {
         checkArgument(original instanceof MapEntryNode);
+        if (packedLayout != null) {
+            return new PackingMapEntryNodeBuilder(packedLayout, (MapEntryNode) original);
+        }
         return ImmutableMapEntryNodeBuilder.create((MapEntryNode) original);
     }
 
@@ -9,8 +9,6 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import com.google.common.base.Optional;
-import com.google.common.base.Preconditions;
-import com.google.common.base.Verify;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -18,22 +16,16 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.model.api.ConstraintDefinition;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-final class MinMaxElementsValidation extends SchemaAwareApplyOperation {
-
-    private static final Logger LOG = LoggerFactory.getLogger(MinMaxElementsValidation.class);
-    private final SchemaAwareApplyOperation delegate;
+final class MinMaxElementsValidation extends AbstractValidation {
     private final Integer minElements;
     private final Integer maxElements;
 
     private MinMaxElementsValidation(final SchemaAwareApplyOperation delegate, final Integer minElements,
             final Integer maxElements) {
-        this.delegate = Preconditions.checkNotNull(delegate);
+        super(delegate);
         this.minElements = minElements;
         this.maxElements = maxElements;
     }
@@ -62,32 +54,6 @@ final class MinMaxElementsValidation extends SchemaAwareApplyOperation {
         }
     }
 
-    private void checkMinMaxElements(final YangInstanceIdentifier path, final NodeModification nodeMod,
-            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
-        if (!(nodeMod instanceof ModifiedNode)) {
-            LOG.debug("Could not validate {}, does not implement expected class {}", nodeMod, ModifiedNode.class);
-            return;
-        }
-
-        final ModifiedNode modification = (ModifiedNode) nodeMod;
-
-        // We need to actually perform the operation to get deal with merge in a sane manner. We know the modification
-        // is immutable, so the result of validation will probably not change.
-        final Optional<TreeNode> maybeApplied = delegate.apply(modification, current, version);
-        Verify.verify(maybeApplied.isPresent());
-
-        final TreeNode applied = maybeApplied.get();
-        validateMinMaxElements(path, modification.getIdentifier(), applied.getData());
-
-        // Everything passed. We now have a snapshot of the result node, it would be too bad if we just threw it out.
-        // We know what the result of an apply operation is going to be *if* the following are kept unchanged:
-        // - the 'current' node
-        // - the schemacontext (therefore, the fact this object is associated with the modification)
-        //
-        // So let's stash the result. We will pick it up during apply operation.
-        modification.setValidatedNode(this, current, applied);
-    }
-
     private static int numOfChildrenFromValue(final NormalizedNode<?, ?> value) {
         if (value instanceof NormalizedNodeContainer) {
             return ((NormalizedNodeContainer<?, ?, ?>) value).getValue().size();
@@ -101,82 +67,8 @@ final class MinMaxElementsValidation extends SchemaAwareApplyOperation {
     }
 
     @Override
-    protected void checkTouchApplicable(final YangInstanceIdentifier path, final NodeModification modification,
-            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
-        delegate.checkTouchApplicable(path, modification, current, version);
-        checkMinMaxElements(path, modification, current, version);
-    }
-
-    @Override
-    protected void checkMergeApplicable(final YangInstanceIdentifier path, final NodeModification modification,
-            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
-        delegate.checkMergeApplicable(path, modification, current, version);
-        checkMinMaxElements(path, modification, current, version);
-    }
-
-    @Override
-    protected void checkWriteApplicable(final YangInstanceIdentifier path, final NodeModification modification,
-            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
-        delegate.checkWriteApplicable(path, modification, current, version);
-        checkMinMaxElements(path, modification, current, version);
-    }
-
-    @Override
-    public Optional<ModificationApplyOperation> getChild(final PathArgument child) {
-        return delegate.getChild(child);
-    }
-
-    @Override
-    protected void verifyStructure(final NormalizedNode<?, ?> modification, final boolean verifyChildren) {
-        delegate.verifyStructure(modification, verifyChildren);
-    }
-
-    @Override
-    protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
-        final TreeNode validated = modification.getValidatedNode(this, Optional.of(currentMeta));
-        if (validated != null) {
-            return validated;
-        }
-
-        // FIXME: the result moved, make sure we enforce again
-        return delegate.applyMerge(modification, currentMeta, version);
-    }
-
-    @Override
-    protected TreeNode applyTouch(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
-        final TreeNode validated = modification.getValidatedNode(this, Optional.of(currentMeta));
-        if (validated != null) {
-            return validated;
-        }
-
-        // FIXME: the result moved, make sure we enforce again
-        return delegate.applyTouch(modification, currentMeta, version);
-    }
-
-    @Override
-    protected TreeNode applyWrite(final ModifiedNode modification, final Optional<TreeNode> currentMeta,
-            final Version version) {
-        final TreeNode validated = modification.getValidatedNode(this, currentMeta);
-        if (validated != null) {
-            return validated;
-        }
-
-        // FIXME: the result moved, make sure we enforce again
-        return delegate.applyWrite(modification, currentMeta, version);
-    }
-
-    @Override
-    protected ChildTrackingPolicy getChildPolicy() {
-        return delegate.getChildPolicy();
-    }
-
-    @Override
-    void mergeIntoModifiedNode(final ModifiedNode node, final NormalizedNode<?, ?> value, final Version version) {
-        delegate.mergeIntoModifiedNode(node, value, version);
-    }
-
-    @Override
-    void recursivelyVerifyStructure(NormalizedNode<?, ?> value) {
-        delegate.recursivelyVerifyStructure(value);
+    void enforceOnTreeNode(final YangInstanceIdentifier path, final ModifiedNode modification,
+            final Optional<TreeNode> current, final TreeNode applied) throws DataValidationFailedException {
+        validateMinMaxElements(path, modification.getIdentifier(), applied.getData());
     }
 }
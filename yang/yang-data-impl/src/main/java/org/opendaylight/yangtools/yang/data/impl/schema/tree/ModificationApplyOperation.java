@@ -107,4 +107,16 @@ abstract class ModificationApplyOperation implements StoreTreeNode<ModificationA
     public abstract Optional<ModificationApplyOperation> getChild(PathArgument child);
 
     abstract void recursivelyVerifyStructure(NormalizedNode<?, ?> value);
+
+    /**
+     * Convert a value, which is about to be recorded in a modification, to the representation preferred by this
+     * operation and its children. This is done once, when the value is written or merged, rather than each time
+     * the modification is applied. Default implementation returns the value unchanged.
+     *
+     * @param value Value to convert
+     * @return Converted value, or the value itself if it does not need to be converted.
+     */
+    NormalizedNode<?, ?> packLeaves(final NormalizedNode<?, ?> value) {
+        return value;
+    }
 }
@@ -78,4 +78,9 @@ final class NoopDataTreeCandidate extends AbstractDataTreeCandidate {
     protected TreeNode getTipRoot() {
         return afterRoot;
     }
+
+    @Override
+    TreeNode getBeforeRoot() {
+        return afterRoot;
+    }
 }
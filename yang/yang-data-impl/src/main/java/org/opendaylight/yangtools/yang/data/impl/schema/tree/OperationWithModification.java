@@ -32,11 +32,12 @@ final class OperationWithModification {
     }
 
     void write(final NormalizedNode<?, ?> value) {
-        modification.write(value);
         /**
          * Fast validation of structure, full validation on written data will be run during seal.
          */
         applyOperation.verifyStructure(value, false);
+        // Converted once here, not each time the modification is applied
+        modification.write(applyOperation.packLeaves(value));
     }
 
     void merge(final NormalizedNode<?, ?> data, final Version version) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.util.ImmutableOffsetMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.BaseTypes;
+
+/**
+ * Assignment of the leaves of a list to slots in {@link PackedMapEntryNode}s. Slots follow the order in which leaves
+ * are defined in the list's schema. Leaves of boolean and integer types which fit into a long are stored as
+ * primitives, all other leaves are stored as references to their values.
+ */
+final class PackedLeafLayout {
+    /**
+     * Representation of a slot's value.
+     */
+    enum Kind {
+        BOOLEAN(Boolean.class) {
+            @Override
+            long encode(final Object value) {
+                return (Boolean) value ? 1 : 0;
+            }
+
+            @Override
+            Object decode(final long bits) {
+                return bits != 0;
+            }
+        },
+        BYTE(Byte.class) {
+            @Override
+            long encode(final Object value) {
+                return (Byte) value;
+            }
+
+            @Override
+            Object decode(final long bits) {
+                return (byte) bits;
+            }
+        },
+        SHORT(Short.class) {
+            @Override
+            long encode(final Object value) {
+                return (Short) value;
+            }
+
+            @Override
+            Object decode(final long bits) {
+                return (short) bits;
+            }
+        },
+        INTEGER(Integer.class) {
+            @Override
+            long encode(final Object value) {
+                return (Integer) value;
+            }
+
+            @Override
+            Object decode(final long bits) {
+                return (int) bits;
+            }
+        },
+        LONG(Long.class) {
+            @Override
+            long encode(final Object value) {
+                return (Long) value;
+            }
+
+            @Override
+            Object decode(final long bits) {
+                return bits;
+            }
+        },
+        OBJECT(Object.class) {
+            @Override
+            long encode(final Object value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            Object decode(final long bits) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        private final Class<?> valueClass;
+
+        Kind(final Class<?> valueClass) {
+            this.valueClass = valueClass;
+        }
+
+        final boolean accepts(final Object value) {
+            return valueClass.isInstance(value);
+        }
+
+        abstract long encode(Object value);
+
+        abstract Object decode(long bits);
+    }
+
+    // Presence of leaves is tracked in a single long
+    private static final int MAX_SLOTS = Long.SIZE;
+
+    private static final Map<QName, Kind> BASE_TYPE_KINDS = ImmutableMap.<QName, Kind>builder()
+            .put(BaseTypes.BOOLEAN_QNAME, Kind.BOOLEAN)
+            .put(BaseTypes.INT8_QNAME, Kind.BYTE)
+            .put(BaseTypes.INT16_QNAME, Kind.SHORT)
+            .put(BaseTypes.UINT8_QNAME, Kind.SHORT)
+            .put(BaseTypes.INT32_QNAME, Kind.INTEGER)
+            .put(BaseTypes.UINT16_QNAME, Kind.INTEGER)
+            .put(BaseTypes.INT64_QNAME, Kind.LONG)
+            .put(BaseTypes.UINT32_QNAME, Kind.LONG)
+            .build();
+
+    private final Map<PathArgument, Integer> slots;
+    private final NodeIdentifier[] identifiers;
+    private final Kind[] kinds;
+    // Offset of each slot in the primitive or object array, depending on its kind
+    private final int[] offsets;
+    private final int primitiveCount;
+    private final int objectCount;
+
+    private PackedLeafLayout(final List<LeafSchemaNode> leaves) {
+        final Map<PathArgument, Integer> map = new HashMap<>(leaves.size());
+        identifiers = new NodeIdentifier[leaves.size()];
+        kinds = new Kind[leaves.size()];
+        offsets = new int[leaves.size()];
+
+        int primitives = 0;
+        int objects = 0;
+        for (int i = 0; i < identifiers.length; ++i) {
+            final LeafSchemaNode leaf = leaves.get(i);
+            identifiers[i] = NodeIdentifier.create(leaf.getQName());
+            kinds[i] = kindOf(leaf.getType());
+            offsets[i] = kinds[i] == Kind.OBJECT ? objects++ : primitives++;
+            map.put(identifiers[i], i);
+        }
+
+        slots = ImmutableMap.copyOf(map);
+        primitiveCount = primitives;
+        objectCount = objects;
+    }
+
+    /**
+     * Create a layout for entries of a list.
+     *
+     * @param schema List schema
+     * @return A layout, or null if the list does not have any leaves.
+     */
+    static PackedLeafLayout forSchema(final ListSchemaNode schema) {
+        final List<LeafSchemaNode> leaves = new ArrayList<>();
+        for (final DataSchemaNode child : schema.getChildNodes()) {
+            // Augmenting leaves are held by augmentation nodes, not directly by the entry
+            if (child instanceof LeafSchemaNode && !child.isAugmenting()) {
+                leaves.add((LeafSchemaNode) child);
+                if (leaves.size() == MAX_SLOTS) {
+                    break;
+                }
+            }
+        }
+
+        return leaves.isEmpty() ? null : new PackedLeafLayout(leaves);
+    }
+
+    private static Kind kindOf(final TypeDefinition<?> type) {
+        TypeDefinition<?> base = type;
+        while (base.getBaseType() != null) {
+            base = base.getBaseType();
+        }
+
+        final Kind kind = BASE_TYPE_KINDS.get(base.getQName());
+        return kind != null ? kind : Kind.OBJECT;
+    }
+
+    /**
+     * Pack the leaves of an entry. Leaves which do not fit the layout, such as those carrying attributes or values of
+     * unexpected types, are retained as they are.
+     *
+     * @param entry Entry to pack
+     * @return Packed entry, or the entry itself if none of its leaves can be packed.
+     */
+    MapEntryNode pack(final MapEntryNode entry) {
+        if (entry instanceof PackedMapEntryNode && ((PackedMapEntryNode) entry).getLayout() == this) {
+            return entry;
+        }
+
+        final long[] primitives = primitiveCount == 0 ? null : new long[primitiveCount];
+        final Object[] objects = objectCount == 0 ? null : new Object[objectCount];
+        final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> others = new HashMap<>();
+        long present = 0;
+
+        for (final DataContainerChild<? extends PathArgument, ?> child : entry.getValue()) {
+            final Integer slot = slots.get(child.getIdentifier());
+            if (slot != null && child instanceof LeafNode && ((LeafNode<?>) child).getAttributes().isEmpty()) {
+                final Object value = child.getValue();
+                final Kind kind = kinds[slot];
+                if (kind.accepts(value)) {
+                    if (kind == Kind.OBJECT) {
+                        objects[offsets[slot]] = value;
+                    } else {
+                        primitives[offsets[slot]] = kind.encode(value);
+                    }
+                    present |= 1L << slot;
+                    continue;
+                }
+            }
+
+            others.put(child.getIdentifier(), child);
+        }
+
+        if (present == 0) {
+            return entry;
+        }
+
+        return new PackedMapEntryNode(this, entry.getIdentifier(), present, primitives, objects,
+            ImmutableOffsetMap.unorderedCopyOf(others), entry.getAttributes());
+    }
+
+    /**
+     * Return the slot assigned to a child.
+     *
+     * @return Slot number, or -1 if the child has no slot.
+     */
+    int slotOf(final PathArgument child) {
+        final Integer slot = slots.get(child);
+        return slot != null ? slot : -1;
+    }
+
+    int size() {
+        return identifiers.length;
+    }
+
+    NodeIdentifier getIdentifier(final int slot) {
+        return identifiers[slot];
+    }
+
+    Object getValue(final int slot, final long[] primitives, final Object[] objects) {
+        final Kind kind = kinds[slot];
+        return kind == Kind.OBJECT ? objects[offsets[slot]] : kind.decode(primitives[offsets[slot]]);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+/**
+ * A {@link MapEntryNode} which does not retain its leaves, but rather their values, packed according to a
+ * {@link PackedLeafLayout}. Leaf nodes are instantiated each time they are accessed.
+ */
+final class PackedMapEntryNode implements MapEntryNode, Immutable {
+    private final PackedLeafLayout layout;
+    private final NodeIdentifierWithPredicates identifier;
+    // Bit mask of slots which hold a value
+    private final long present;
+    private final long[] primitives;
+    private final Object[] objects;
+    private final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> others;
+    private final Map<QName, String> attributes;
+
+    PackedMapEntryNode(final PackedLeafLayout layout, final NodeIdentifierWithPredicates identifier,
+            final long present, final long[] primitives, final Object[] objects,
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> others,
+            final Map<QName, String> attributes) {
+        this.layout = Preconditions.checkNotNull(layout);
+        this.identifier = Preconditions.checkNotNull(identifier);
+        this.present = present;
+        this.primitives = primitives;
+        this.objects = objects;
+        this.others = Preconditions.checkNotNull(others);
+        this.attributes = Preconditions.checkNotNull(attributes);
+    }
+
+    PackedLeafLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public NodeIdentifierWithPredicates getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public QName getNodeType() {
+        return identifier.getNodeType();
+    }
+
+    @Override
+    public Map<QName, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Object getAttributeValue(final QName name) {
+        return attributes.get(name);
+    }
+
+    private boolean isPresent(final int slot) {
+        return (present & (1L << slot)) != 0;
+    }
+
+    private DataContainerChild<? extends PathArgument, ?> createLeaf(final int slot) {
+        return ImmutableNodes.leafNode(layout.getIdentifier(slot), layout.getValue(slot, primitives, objects));
+    }
+
+    @Override
+    public Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+        final int slot = layout.slotOf(child);
+        if (slot != -1 && isPresent(slot)) {
+            return Optional.<DataContainerChild<? extends PathArgument, ?>>of(createLeaf(slot));
+        }
+        return Optional.<DataContainerChild<? extends PathArgument, ?>>fromNullable(others.get(child));
+    }
+
+    @Override
+    public Collection<DataContainerChild<? extends PathArgument, ?>> getValue() {
+        final List<DataContainerChild<? extends PathArgument, ?>> ret =
+                new ArrayList<>(Long.bitCount(present) + others.size());
+        for (int slot = 0; slot < layout.size(); ++slot) {
+            if (isPresent(slot)) {
+                ret.add(createLeaf(slot));
+            }
+        }
+        ret.addAll(others.values());
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Hash code compatible with other {@link MapEntryNode} implementations, which hash their identifier and the map of
+     * their children.
+     */
+    @Override
+    public int hashCode() {
+        int children = others.hashCode();
+        for (int slot = 0; slot < layout.size(); ++slot) {
+            if (isPresent(slot)) {
+                children += layout.getIdentifier(slot).hashCode() ^ createLeaf(slot).hashCode();
+            }
+        }
+        return 31 * identifier.hashCode() + children;
+    }
+
+    /**
+     * Entries are compared by their identifier and children, hence a packed entry is equal to an unpacked entry
+     * with the same content.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MapEntryNode)) {
+            return false;
+        }
+        if (obj instanceof PackedMapEntryNode && samePacking((PackedMapEntryNode) obj)) {
+            return true;
+        }
+
+        final MapEntryNode other = (MapEntryNode) obj;
+        if (!identifier.equals(other.getIdentifier())) {
+            return false;
+        }
+        final Collection<DataContainerChild<? extends PathArgument, ?>> otherChildren = other.getValue();
+        if (otherChildren.size() != Long.bitCount(present) + others.size()) {
+            return false;
+        }
+        for (final DataContainerChild<? extends PathArgument, ?> child : otherChildren) {
+            final Optional<DataContainerChild<? extends PathArgument, ?>> ours = getChild(child.getIdentifier());
+            if (!ours.isPresent() || !child.equals(ours.get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Identical packing implies equal children, the reverse does not hold for values compared by content
+    private boolean samePacking(final PackedMapEntryNode other) {
+        return layout == other.layout && present == other.present && identifier.equals(other.identifier)
+                && Arrays.equals(primitives, other.primitives) && Arrays.equals(objects, other.objects)
+                && others.equals(other.others);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("nodeIdentifier", identifier).add("value", getValue())
+                .add("attributes", attributes).toString();
+    }
+}
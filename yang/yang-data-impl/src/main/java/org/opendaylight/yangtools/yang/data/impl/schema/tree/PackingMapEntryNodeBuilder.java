@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+
+/**
+ * A builder initialized from an existing entry, which packs the entry it builds according to a
+ * {@link PackedLeafLayout}.
+ */
+final class PackingMapEntryNodeBuilder extends ImmutableMapEntryNodeBuilder {
+    private final PackedLeafLayout layout;
+
+    PackingMapEntryNodeBuilder(final PackedLeafLayout layout, final MapEntryNode original) {
+        super(original.getValue().size());
+        this.layout = Preconditions.checkNotNull(layout);
+        withNodeIdentifier(original.getIdentifier());
+        withAttributes(original.getAttributes());
+        withValue(original.getValue());
+    }
+
+    @Override
+    public MapEntryNode build() {
+        return layout.pack(super.build());
+    }
+}
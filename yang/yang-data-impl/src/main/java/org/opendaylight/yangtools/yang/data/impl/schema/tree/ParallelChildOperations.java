@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.StoreTreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+
+/**
+ * Support for validating and applying child modifications of a single node in parallel. Each child modification
+ * forms an independent subtree, hence they can be processed concurrently as long as the results are collected in
+ * their original order. Tasks are executed in a {@link ForkJoinPool}, so nested nodes with many modified children
+ * are split further without blocking worker threads.
+ */
+final class ParallelChildOperations {
+    private abstract static class ChildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final ModifiedNode[] children;
+        private final int granularity;
+        private final int from;
+        private final int to;
+
+        ChildTask(final ModifiedNode[] children, final int granularity, final int from, final int to) {
+            this.children = children;
+            this.granularity = granularity;
+            this.from = from;
+            this.to = to;
+        }
+
+        final int granularity() {
+            return granularity;
+        }
+
+        @Override
+        protected final void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; ++i) {
+                    computeChild(i);
+                }
+            } else {
+                final int mid = (from + to) >>> 1;
+                ForkJoinTask.invokeAll(split(from, mid), split(mid, to));
+            }
+        }
+
+        abstract ChildTask split(int from, int to);
+
+        abstract void computeChild(int offset);
+    }
+
+    private static final class ApplyTask extends ChildTask {
+        private static final long serialVersionUID = 1L;
+
+        private final SchemaAwareApplyOperation parent;
+        private final StoreTreeNode<TreeNode> meta;
+        private final Version version;
+        private final Optional<TreeNode>[] results;
+
+        ApplyTask(final SchemaAwareApplyOperation parent, final StoreTreeNode<TreeNode> meta, final Version version,
+                final ModifiedNode[] children, final Optional<TreeNode>[] results, final int granularity,
+                final int from, final int to) {
+            super(children, granularity, from, to);
+            this.parent = parent;
+            this.meta = meta;
+            this.version = version;
+            this.results = results;
+        }
+
+        @Override
+        ChildTask split(final int from, final int to) {
+            return new ApplyTask(parent, meta, version, children, results, granularity(), from, to);
+        }
+
+        @Override
+        void computeChild(final int offset) {
+            final ModifiedNode mod = children[offset];
+            results[offset] = parent.resolveChildOperation(mod.getIdentifier()).apply(mod,
+                meta.getChild(mod.getIdentifier()), version);
+        }
+    }
+
+    private static final class CheckTask extends ChildTask {
+        private static final long serialVersionUID = 1L;
+
+        private final SchemaAwareApplyOperation parent;
+        private final YangInstanceIdentifier path;
+        private final TreeNode current;
+        private final Version version;
+        private final DataValidationFailedException[] failures;
+
+        CheckTask(final SchemaAwareApplyOperation parent, final YangInstanceIdentifier path, final TreeNode current,
+                final Version version, final ModifiedNode[] children, final DataValidationFailedException[] failures,
+                final int granularity, final int from, final int to) {
+            super(children, granularity, from, to);
+            this.parent = parent;
+            this.path = path;
+            this.current = current;
+            this.version = version;
+            this.failures = failures;
+        }
+
+        @Override
+        ChildTask split(final int from, final int to) {
+            return new CheckTask(parent, path, current, version, children, failures, granularity(), from, to);
+        }
+
+        @Override
+        void computeChild(final int offset) {
+            final ModifiedNode mod = children[offset];
+            try {
+                parent.resolveChildOperation(mod.getIdentifier()).checkApplicable(path.node(mod.getIdentifier()), mod,
+                    current.getChild(mod.getIdentifier()), version);
+            } catch (DataValidationFailedException e) {
+                failures[offset] = e;
+            }
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    private ParallelChildOperations(final ForkJoinPool pool, final int threshold) {
+        this.pool = Preconditions.checkNotNull(pool);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Create an instance based on tree configuration.
+     *
+     * @param treeConfig Tree configuration
+     * @return An instance, or null if parallel processing is not enabled.
+     */
+    static ParallelChildOperations forConfig(final DataTreeConfiguration treeConfig) {
+        final int threshold = treeConfig.getParallelThreshold();
+        return threshold > 0 ? new ParallelChildOperations(treeConfig.getParallelPool(), threshold) : null;
+    }
+
+    boolean isParallel(final Collection<?> children) {
+        return children.size() >= threshold;
+    }
+
+    /**
+     * Number of children processed sequentially by a single task. The threshold only decides whether to fan out,
+     * the children are then split into a few tasks per worker, so that work-stealing can balance subtrees of
+     * different sizes.
+     */
+    private int granularity(final int count) {
+        return Math.max(1, count / (pool.getParallelism() * 4));
+    }
+
+    /**
+     * Apply child modifications.
+     *
+     * @param parent Operation of the parent node
+     * @param meta Parent tree node
+     * @param version New subtree version
+     * @param children Child modifications
+     * @return Results of apply operations, in the same order as children
+     */
+    @SuppressWarnings("unchecked")
+    Optional<TreeNode>[] apply(final SchemaAwareApplyOperation parent, final StoreTreeNode<TreeNode> meta,
+            final Version version, final Collection<ModifiedNode> children) {
+        final ModifiedNode[] mods = children.toArray(new ModifiedNode[children.size()]);
+        final Optional<TreeNode>[] results = new Optional[mods.length];
+        invoke(new ApplyTask(parent, meta, version, mods, results, granularity(mods.length), 0, mods.length));
+        return results;
+    }
+
+    /**
+     * Check applicability of child modifications. If multiple children fail validation, the failure of the first
+     * child is reported, just as if the children were checked sequentially.
+     *
+     * @param parent Operation of the parent node
+     * @param path Path of the parent node
+     * @param current Current parent tree node
+     * @param version Modification version
+     * @param children Child modifications
+     * @throws DataValidationFailedException if any of the child modifications is not applicable
+     */
+    void checkApplicable(final SchemaAwareApplyOperation parent, final YangInstanceIdentifier path,
+            final TreeNode current, final Version version, final Collection<? extends NodeModification> children)
+                    throws DataValidationFailedException {
+        final ModifiedNode[] mods = children.toArray(new ModifiedNode[children.size()]);
+        final DataValidationFailedException[] failures = new DataValidationFailedException[mods.length];
+        invoke(new CheckTask(parent, path, current, version, mods, failures, granularity(mods.length), 0,
+            mods.length));
+
+        for (DataValidationFailedException e : failures) {
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+
+    private void invoke(final ChildTask task) {
+        if (ForkJoinTask.getPool() == pool) {
+            // Nested invocation from one of our workers, just fork the task
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+}
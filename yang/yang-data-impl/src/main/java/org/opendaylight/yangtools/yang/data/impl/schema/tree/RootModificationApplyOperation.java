@@ -104,6 +104,11 @@ abstract class RootModificationApplyOperation extends ModificationApplyOperation
         getDelegate().recursivelyVerifyStructure(value);
     }
 
+    @Override
+    final NormalizedNode<?, ?> packLeaves(final NormalizedNode<?, ?> value) {
+        return getDelegate().packLeaves(value);
+    }
+
     @Override
     final ChildTrackingPolicy getChildPolicy() {
         return getDelegate().getChildPolicy();
@@ -85,9 +85,11 @@ abstract class SchemaAwareApplyOperation extends ModificationApplyOperation {
         if (keyDefinition == null || keyDefinition.isEmpty()) {
             op = new UnkeyedListModificationStrategy(schemaNode, treeConfig);
         } else if (schemaNode.isUserOrdered()) {
-            op =  new OrderedMapModificationStrategy(schemaNode, treeConfig);
+            op = UniqueValidation.from(new OrderedMapModificationStrategy(schemaNode, treeConfig), schemaNode,
+                treeConfig);
         } else {
-            op = new UnorderedMapModificationStrategy(schemaNode, treeConfig);
+            op = UniqueValidation.from(new UnorderedMapModificationStrategy(schemaNode, treeConfig), schemaNode,
+                treeConfig);
         }
         return MinMaxElementsValidation.from(op, schemaNode);
     }
@@ -103,9 +105,9 @@ abstract class SchemaAwareApplyOperation extends ModificationApplyOperation {
     }
 
     protected static void checkNotConflicting(final YangInstanceIdentifier path, final TreeNode original, final TreeNode current) throws ConflictingModificationAppliedException {
-        checkConflicting(path, original.getVersion().equals(current.getVersion()),
+        checkConflicting(path, original.hasSameVersion(current),
                 "Node was replaced by other transaction.");
-        checkConflicting(path, original.getSubtreeVersion().equals(current.getSubtreeVersion()),
+        checkConflicting(path, original.hasSameSubtreeVersion(current),
                 "Node children was modified by other transaction");
     }
 
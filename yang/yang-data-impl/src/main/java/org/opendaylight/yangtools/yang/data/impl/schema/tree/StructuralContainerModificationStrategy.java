@@ -110,6 +110,11 @@ final class StructuralContainerModificationStrategy extends ModificationApplyOpe
         delegate.recursivelyVerifyStructure(value);
     }
 
+    @Override
+    NormalizedNode<?, ?> packLeaves(final NormalizedNode<?, ?> value) {
+        return delegate.packLeaves(value);
+    }
+
     @Override
     ChildTrackingPolicy getChildPolicy() {
         return delegate.getChildPolicy();
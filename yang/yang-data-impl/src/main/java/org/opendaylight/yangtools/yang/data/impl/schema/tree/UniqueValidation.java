@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.util.MapAdaptor;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UniqueConstraint;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Relative;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Enforcement of YANG 'unique' constraints on keyed lists. For each list instance we maintain a secondary index, which
+ * maps the combined values of the leaves specified by each constraint to the entry holding them. The index is
+ * associated with the list's data node, so that a subsequent modification of the same list only needs to update
+ * index entries pertaining to entries touched by the modification, without scanning the entire list.
+ *
+ * Individual index maps are managed through {@link MapAdaptor}, hence deriving a new index from its predecessor is
+ * cheap even for very large lists.
+ *
+ * Note that, similar to {@link MinMaxElementsValidation}, the constraints are not checked if the list is written as
+ * part of its parent node.
+ */
+final class UniqueValidation extends AbstractValidation {
+    /**
+     * Immutable secondary index of a single list instance. Contains one map for each unique constraint.
+     */
+    private static final class UniqueIndex {
+        private final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps;
+
+        UniqueIndex(final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps) {
+            this.maps = Preconditions.checkNotNull(maps);
+        }
+
+        Map<List<Object>, NodeIdentifierWithPredicates> get(final int offset) {
+            return maps.get(offset);
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(UniqueValidation.class);
+
+    // Indexes are keyed by the list data node identity. TreeNodes may be instantiated on demand, hence we cannot use
+    // them as keys.
+    private final Cache<NormalizedNode<?, ?>, UniqueIndex> indexes = CacheBuilder.newBuilder().weakKeys().build();
+    private final List<List<YangInstanceIdentifier>> constraints;
+
+    private UniqueValidation(final SchemaAwareApplyOperation delegate,
+            final List<List<YangInstanceIdentifier>> constraints) {
+        super(delegate);
+        this.constraints = Preconditions.checkNotNull(constraints);
+    }
+
+    static SchemaAwareApplyOperation from(final SchemaAwareApplyOperation delegate, final ListSchemaNode schema,
+            final DataTreeConfiguration treeConfig) {
+        if (!treeConfig.isUniqueIndexEnabled()) {
+            return delegate;
+        }
+        final Collection<UniqueConstraint> uniques = schema.getUniqueConstraints();
+        if (uniques.isEmpty()) {
+            return delegate;
+        }
+
+        final ImmutableList.Builder<List<YangInstanceIdentifier>> builder = ImmutableList.builder();
+        for (final UniqueConstraint unique : uniques) {
+            final ImmutableList.Builder<YangInstanceIdentifier> paths = ImmutableList.builder();
+            for (final Relative tag : unique.getTag()) {
+                paths.add(toDataPath(schema, tag));
+            }
+            builder.add(paths.build());
+        }
+
+        final List<List<YangInstanceIdentifier>> constraints = builder.build();
+        LOG.debug("Enforcing unique constraints {} on {}", constraints, schema.getQName());
+        return new UniqueValidation(delegate, constraints);
+    }
+
+    /**
+     * Convert a descendant schema node identifier into a path in the data tree. Choice nodes are present in data,
+     * case nodes are not.
+     */
+    private static YangInstanceIdentifier toDataPath(final ListSchemaNode schema, final Relative tag) {
+        final List<PathArgument> args = new ArrayList<>();
+        Object parent = schema;
+        for (final QName qname : tag.getPathFromRoot()) {
+            DataSchemaNode child = null;
+            if (parent instanceof DataNodeContainer) {
+                child = ((DataNodeContainer) parent).getDataChildByName(qname);
+            } else if (parent instanceof ChoiceSchemaNode) {
+                child = ((ChoiceSchemaNode) parent).getCaseNodeByName(qname);
+            }
+            Preconditions.checkArgument(child != null, "Unique constraint %s of %s does not resolve at %s", tag,
+                schema.getQName(), qname);
+
+            if (!(child instanceof ChoiceCaseNode)) {
+                args.add(NodeIdentifier.create(qname));
+            }
+            parent = child;
+        }
+
+        return YangInstanceIdentifier.create(args);
+    }
+
+    @Override
+    void enforceOnTreeNode(final YangInstanceIdentifier path, final ModifiedNode modification,
+            final Optional<TreeNode> current, final TreeNode applied) throws DataValidationFailedException {
+        final NormalizedNode<?, ?> data = applied.getData();
+        final UniqueIndex index;
+        if (!current.isPresent() || modification.getOperation() == LogicalOperation.WRITE) {
+            // The entire list has been replaced, there is nothing to update
+            index = buildIndex(path, data);
+        } else {
+            index = updateIndex(path, modification, current.get().getData(), data);
+        }
+
+        indexes.put(data, index);
+    }
+
+    private UniqueIndex lookupIndex(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data)
+            throws DataValidationFailedException {
+        final UniqueIndex existing = indexes.getIfPresent(data);
+        if (existing != null) {
+            return existing;
+        }
+
+        LOG.debug("Building unique index for {}", path);
+        final UniqueIndex ret = buildIndex(path, data);
+        indexes.put(data, ret);
+        return ret;
+    }
+
+    private UniqueIndex buildIndex(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data)
+            throws DataValidationFailedException {
+        final Collection<MapEntryNode> entries = entriesOf(data);
+        final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps = new ArrayList<>(constraints.size());
+        for (int i = 0; i < constraints.size(); ++i) {
+            final List<YangInstanceIdentifier> constraint = constraints.get(i);
+            final Map<List<Object>, NodeIdentifierWithPredicates> map =
+                    MapAdaptor.getDefaultInstance().initialSnapshot(entries.size());
+            for (final MapEntryNode entry : entries) {
+                indexEntry(path, constraint, map, entry);
+            }
+            maps.add(MapAdaptor.getDefaultInstance().optimize(map));
+        }
+
+        return new UniqueIndex(maps);
+    }
+
+    private UniqueIndex updateIndex(final YangInstanceIdentifier path, final ModifiedNode modification,
+            final NormalizedNode<?, ?> before, final NormalizedNode<?, ?> after) throws DataValidationFailedException {
+        final UniqueIndex base = lookupIndex(path, before);
+        final Collection<ModifiedNode> children = modification.getChildren();
+
+        final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps = new ArrayList<>(constraints.size());
+        for (int i = 0; i < constraints.size(); ++i) {
+            final List<YangInstanceIdentifier> constraint = constraints.get(i);
+            final Map<List<Object>, NodeIdentifierWithPredicates> map =
+                    MapAdaptor.getDefaultInstance().takeSnapshot(base.get(i));
+
+            // Remove all entries which have been modified first, so values can be moved between entries
+            for (final ModifiedNode child : children) {
+                if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                    final Optional<MapEntryNode> entry = entryOf(before, child.getIdentifier());
+                    if (entry.isPresent()) {
+                        final List<Object> values = valuesOf(constraint, entry.get());
+                        if (values != null && entry.get().getIdentifier().equals(map.get(values))) {
+                            map.remove(values);
+                        }
+                    }
+                }
+            }
+
+            // ... and then add their current state
+            for (final ModifiedNode child : children) {
+                if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                    final Optional<MapEntryNode> entry = entryOf(after, child.getIdentifier());
+                    if (entry.isPresent()) {
+                        indexEntry(path, constraint, map, entry.get());
+                    }
+                }
+            }
+
+            maps.add(MapAdaptor.getDefaultInstance().optimize(map));
+        }
+
+        return new UniqueIndex(maps);
+    }
+
+    private static void indexEntry(final YangInstanceIdentifier path, final List<YangInstanceIdentifier> constraint,
+            final Map<List<Object>, NodeIdentifierWithPredicates> map, final MapEntryNode entry)
+                    throws DataValidationFailedException {
+        final List<Object> values = valuesOf(constraint, entry);
+        if (values != null) {
+            final NodeIdentifierWithPredicates id = entry.getIdentifier();
+            final NodeIdentifierWithPredicates prev = map.put(values, id);
+            if (prev != null && !prev.equals(id)) {
+                throw new DataValidationFailedException(path, String.format(
+                    "%s violates unique constraint on %s, values %s are already used by %s", id, constraint, values,
+                    prev));
+            }
+        }
+    }
+
+    /**
+     * Extract the values of leaves specified by a constraint from an entry.
+     *
+     * @return List of values, or null if any of the leaves is not present.
+     */
+    private static List<Object> valuesOf(final List<YangInstanceIdentifier> constraint, final MapEntryNode entry) {
+        final Object[] values = new Object[constraint.size()];
+        for (int i = 0; i < values.length; ++i) {
+            final Optional<NormalizedNode<?, ?>> leaf = NormalizedNodes.findNode(entry, constraint.get(i));
+            if (!leaf.isPresent() || !(leaf.get() instanceof LeafNode)) {
+                return null;
+            }
+            values[i] = leaf.get().getValue();
+        }
+        return Arrays.asList(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<MapEntryNode> entriesOf(final NormalizedNode<?, ?> data) {
+        return ((NormalizedNodeContainer<?, ?, MapEntryNode>) data).getValue();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Optional<MapEntryNode> entryOf(final NormalizedNode<?, ?> data, final PathArgument id) {
+        return ((NormalizedNodeContainer) data).getChild(id);
+    }
+
+    @Override
+    public String toString() {
+        return "UniqueValidation [constraints=" + constraints + "]";
+    }
+}
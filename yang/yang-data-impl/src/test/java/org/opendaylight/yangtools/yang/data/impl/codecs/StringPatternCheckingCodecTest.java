@@ -69,5 +69,30 @@ public class StringPatternCheckingCodecTest {
             LOG.debug("IllegalArgumentException was thrown as expected: {}", ex);
             assertTrue(ex.getMessage().contains("is not valid regular expression. [abcd]"));
         }
+
+        testLeaf = (LeafSchemaNode) testContainer.getDataChildByName(
+                QName.create(testModuleQName, "ipv4-address-leaf"));
+        codec = getCodec(testLeaf.getType(), StringCodec.class);
+        assertEquals("192.0.2.1", codec.deserialize("192.0.2.1"));
+        assertEquals("192.0.2.1%eth0", codec.deserialize("192.0.2.1%eth0"));
+        assertInvalid(codec, "192.0.2.256");
+        assertInvalid(codec, "192.0.2");
+        assertInvalid(codec, "192.0.2.1%");
+
+        // Anchors are not part of XSD regular expressions, such patterns are retained in their Java form
+        testLeaf = (LeafSchemaNode) testContainer.getDataChildByName(
+                QName.create(testModuleQName, "anchored-pattern-leaf"));
+        codec = getCodec(testLeaf.getType(), StringCodec.class);
+        assertEquals("123", codec.deserialize("123"));
+        assertInvalid(codec, "^123$");
+    }
+
+    private static void assertInvalid(final StringCodec<String> codec, final String value) {
+        try {
+            codec.deserialize(value);
+            fail("Exception should have been thrown for " + value);
+        } catch (IllegalArgumentException ex) {
+            LOG.debug("IllegalArgumentException was thrown as expected: {}", ex);
+        }
     }
 }
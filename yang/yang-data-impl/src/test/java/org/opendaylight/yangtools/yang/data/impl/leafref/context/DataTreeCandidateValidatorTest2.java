@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import org.apache.log4j.BasicConfigurator;
 import org.junit.BeforeClass;
@@ -34,6 +35,7 @@ import org.opendaylight.yangtools.yang.data.impl.TestUtils;
 import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefContext;
 import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefDataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefValidatation;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefViolation;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
@@ -113,6 +115,14 @@ public class DataTreeCandidateValidatorTest2 {
         LOG.debug("*************************");
         LOG.debug(inMemoryDataTree.toString());
 
+        final List<LeafRefViolation> violations = LeafRefValidatation.findViolations(writeDevicesCandidate,
+            rootLeafRefContext);
+        assertEquals(4, violations.size());
+        for (final LeafRefViolation violation : violations) {
+            assertTrue(devicesPath.contains(violation.getPath()));
+            assertEquals(violation.getValue(), writeModification.readNode(violation.getPath()).get().getValue());
+        }
+
         boolean exception = false;
         try {
             LeafRefValidatation.validate(writeDevicesCandidate, rootLeafRefContext);
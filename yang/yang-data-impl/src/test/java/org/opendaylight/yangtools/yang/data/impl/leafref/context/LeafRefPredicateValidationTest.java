@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.TestUtils;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefContext;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefValidatation;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefViolation;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Validation of leafrefs whose path predicates select list entries based on the referencing node.
+ */
+public class LeafRefPredicateValidationTest {
+    private static final QNameModule MODULE = QNameModule.create(URI.create("leafref.validation3"),
+        SimpleDateFormatUtil.DEFAULT_DATE_REV);
+    private static final QName DEVICE_TYPES = QName.create(MODULE, "device_types");
+    private static final QName DEVICE_TYPE = QName.create(MODULE, "device_type");
+    private static final QName TYPE1 = QName.create(MODULE, "type1");
+    private static final QName TYPE2 = QName.create(MODULE, "type2");
+    private static final QName TYPE3 = QName.create(MODULE, "type3");
+    private static final QName DESC = QName.create(MODULE, "desc");
+    private static final QName DEVICES = QName.create(MODULE, "devices");
+    private static final QName DEVICE = QName.create(MODULE, "device");
+    private static final QName TYPE_TEXT1 = QName.create(MODULE, "type_text1");
+    private static final QName TYPE_TEXT2 = QName.create(MODULE, "type_text2");
+    private static final QName TYPE_TEXT3 = QName.create(MODULE, "type_text3");
+    private static final QName DEV_DESC = QName.create(MODULE, "dev_desc");
+    private static final QName SN = QName.create(MODULE, "sn");
+
+    private static SchemaContext context;
+    private static LeafRefContext rootLeafRefContext;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        context = TestUtils.parseYangSources(new File(LeafRefPredicateValidationTest.class.getResource(
+            "/leafref-validation/leafref-validation3.yang").toURI()));
+        rootLeafRefContext = LeafRefContext.create(context);
+    }
+
+    @Test
+    public void testPredicateDependentValues() {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(context);
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(YangInstanceIdentifier.of(DEVICE_TYPES), Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(DEVICE_TYPES))
+            .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(DEVICE_TYPE))
+                .withChild(deviceType("1", "typedesc1"))
+                .withChild(deviceType("2", "typedesc2"))
+                .withChild(deviceType("3", "typedesc3"))
+                .build())
+            .build());
+
+        // The same description is valid for the first device only, the last device does not match any device type
+        final MapNode deviceMap = Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(DEVICE))
+            .withChild(device("1", "1", "1", "typedesc1", 1))
+            .withChild(device("2", "2", "2", "typedesc1", 2))
+            .withChild(device("2", "2", "2", "typedesc2", 3))
+            .withChild(device("3", "3", "1", "typedesc3", 4))
+            .build();
+        modification.write(YangInstanceIdentifier.of(DEVICES), Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(DEVICES)).withChild(deviceMap).build());
+        modification.ready();
+
+        final Set<YangInstanceIdentifier> paths = new HashSet<>();
+        for (final LeafRefViolation violation : LeafRefValidatation.findViolations(dataTree.prepare(modification),
+                rootLeafRefContext)) {
+            assertTrue(paths.add(violation.getPath()));
+        }
+
+        assertEquals(ImmutableSet.of(deviceDescPath("2", 2), deviceDescPath("3", 4)), paths);
+    }
+
+    private static MapEntryNode deviceType(final String suffix, final String desc) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(DEVICE_TYPE,
+            ImmutableMap.<QName, Object>of(TYPE1, "dev_type1_" + suffix, TYPE2, "dev_type2_" + suffix, TYPE3,
+                "dev_type3_" + suffix)))
+            .withChild(ImmutableNodes.leafNode(TYPE1, "dev_type1_" + suffix))
+            .withChild(ImmutableNodes.leafNode(TYPE2, "dev_type2_" + suffix))
+            .withChild(ImmutableNodes.leafNode(TYPE3, "dev_type3_" + suffix))
+            .withChild(ImmutableNodes.leafNode(DESC, desc))
+            .build();
+    }
+
+    private static MapEntryNode device(final String type1, final String type2, final String type3,
+            final String desc, final int sn) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(deviceId("dev_type1_" + type1, sn))
+            .withChild(ImmutableNodes.leafNode(TYPE_TEXT1, "dev_type1_" + type1))
+            .withChild(ImmutableNodes.leafNode(TYPE_TEXT2, "dev_type2_" + type2))
+            .withChild(ImmutableNodes.leafNode(TYPE_TEXT3, "dev_type3_" + type3))
+            .withChild(ImmutableNodes.leafNode(DEV_DESC, desc))
+            .withChild(ImmutableNodes.leafNode(SN, sn))
+            .build();
+    }
+
+    private static NodeIdentifierWithPredicates deviceId(final String typeText1, final int sn) {
+        return new NodeIdentifierWithPredicates(DEVICE, ImmutableMap.<QName, Object>of(TYPE_TEXT1, typeText1, SN, sn));
+    }
+
+    private static YangInstanceIdentifier deviceDescPath(final String type1, final int sn) {
+        return YangInstanceIdentifier.of(DEVICES).node(DEVICE).node(deviceId("dev_type1_" + type1, sn)).node(DEV_DESC);
+    }
+}
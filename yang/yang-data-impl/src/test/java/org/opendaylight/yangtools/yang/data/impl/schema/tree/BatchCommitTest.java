@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class BatchCommitTest {
+    private static final NodeIdentifier OUTER_LIST_ID = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+
+    private TipProducingDataTree dataTree;
+
+    @Before
+    public void setUp() throws ReactorException, DataValidationFailedException {
+        final SchemaContext schemaContext = TestModel.createTestContext();
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(schemaContext);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)).build());
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(entryId(id));
+    }
+
+    private DataTreeModification writeEntry(final int id) {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        mod.ready();
+        return mod;
+    }
+
+    private DataTreeModification deleteEntry(final int id) {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(entryPath(id));
+        mod.ready();
+        return mod;
+    }
+
+    private NormalizedNode<?, ?> readOuterList() {
+        return dataTree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+    }
+
+    @Test
+    public void testAggregatedCandidate() throws DataValidationFailedException {
+        final NormalizedNode<?, ?> before = readOuterList();
+        final DataTreeCandidate candidate = dataTree.commitBatch(ImmutableList.of(writeEntry(2), writeEntry(3),
+            deleteEntry(1), deleteEntry(3)));
+
+        final NormalizedNode<?, ?> after = readOuterList();
+        assertEquals(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2)).build(), after);
+
+        final DataTreeCandidateNode list = candidate.getRootNode()
+                .getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME)).getModifiedChild(OUTER_LIST_ID);
+        assertNotNull(list);
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+        assertSame(before, list.getDataBefore().get());
+        assertSame(after, list.getDataAfter().get());
+
+        // Entry 3 has been created and removed, hence it is not reported
+        assertEquals(2, list.getChildNodes().size());
+        assertNull(list.getModifiedChild(entryId(3)));
+        assertEquals(ModificationType.WRITE, list.getModifiedChild(entryId(2)).getModificationType());
+        assertEquals(ModificationType.DELETE, list.getModifiedChild(entryId(1)).getModificationType());
+        assertFalse(list.getModifiedChild(entryId(1)).getDataAfter().isPresent());
+    }
+
+    @Test
+    public void testSameAsSequential() throws DataValidationFailedException {
+        final DataTreeModification first = writeEntry(2);
+        final DataTreeModification second = deleteEntry(1);
+        dataTree.validate(first);
+        dataTree.commit(dataTree.prepare(first));
+        dataTree.validate(second);
+        dataTree.commit(dataTree.prepare(second));
+        final NormalizedNode<?, ?> expected = readOuterList();
+
+        dataTree.commitBatch(ImmutableList.of(writeEntry(1), deleteEntry(2)));
+        dataTree.commitBatch(ImmutableList.of(writeEntry(2), deleteEntry(1)));
+        assertEquals(expected, readOuterList());
+    }
+
+    @Test
+    public void testFailedBatchNotCommitted() {
+        final NormalizedNode<?, ?> before = readOuterList();
+
+        // Second modification touches a node removed by the first one
+        final DataTreeModification touch = dataTree.takeSnapshot().newModification();
+        touch.merge(entryPath(1).node(TestModel.INNER_LIST_QNAME),
+            ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME).build());
+        touch.ready();
+
+        try {
+            dataTree.commitBatch(ImmutableList.of(writeEntry(2), deleteEntry(1), touch));
+            fail("Batch should have failed to validate");
+        } catch (DataValidationFailedException e) {
+            assertEquals(entryPath(1), e.getPath());
+        }
+
+        assertSame(before, readOuterList());
+    }
+
+    @Test
+    public void testStaleSnapshot() throws DataValidationFailedException {
+        // Prepared against a snapshot which is stale by the time the batch is committed
+        final DataTreeModification batched = writeEntry(2);
+        final DataTreeModification concurrent = writeEntry(3);
+        dataTree.validate(concurrent);
+        dataTree.commit(dataTree.prepare(concurrent));
+
+        dataTree.commitBatch(ImmutableList.of(batched));
+        assertEquals(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3)).build(),
+            readOuterList());
+    }
+
+    @Test
+    public void testDefaultCommitBatch() throws DataValidationFailedException {
+        // Only implements the methods which TipProducingDataTree had before commitBatch() was added
+        final TipProducingDataTree delegating = new TipProducingDataTree() {
+            @Override
+            public DataTreeSnapshot takeSnapshot() {
+                return dataTree.takeSnapshot();
+            }
+
+            @Override
+            public void setSchemaContext(final SchemaContext newSchemaContext) {
+                dataTree.setSchemaContext(newSchemaContext);
+            }
+
+            @Override
+            public void commit(final DataTreeCandidate candidate) {
+                dataTree.commit(candidate);
+            }
+
+            @Override
+            public YangInstanceIdentifier getRootPath() {
+                return dataTree.getRootPath();
+            }
+
+            @Override
+            public void validate(final DataTreeModification modification) throws DataValidationFailedException {
+                dataTree.validate(modification);
+            }
+
+            @Override
+            public DataTreeCandidateTip prepare(final DataTreeModification modification) {
+                return dataTree.prepare(modification);
+            }
+        };
+
+        final DataTreeCandidate candidate = delegating.commitBatch(ImmutableList.of(writeEntry(2), deleteEntry(1)));
+        assertEquals(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2)).build(),
+            readOuterList());
+
+        final DataTreeCandidateNode list = candidate.getRootNode()
+                .getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME)).getModifiedChild(OUTER_LIST_ID);
+        assertEquals(ModificationType.WRITE, list.getModifiedChild(entryId(2)).getModificationType());
+        assertEquals(ModificationType.DELETE, list.getModifiedChild(entryId(1)).getModificationType());
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+
+/**
+ * Runs conflict detection tests on a tree which stores versions as primitive values.
+ */
+public class CompactVersionsConcurrentTreeModificationTest extends ConcurrentTreeModificationTest {
+    @Override
+    protected DataTree createDataTree() {
+        return InMemoryDataTreeFactory.getInstance().create(new DataTreeConfiguration.Builder(TreeType.OPERATIONAL)
+            .setCompactVersions(true).build());
+    }
+}
@@ -22,6 +22,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
@@ -64,10 +65,14 @@ public class ConcurrentTreeModificationTest {
     public void prepare() throws ReactorException {
         schemaContext = TestModel.createTestContext();
         assertNotNull("Schema context must not be null.", schemaContext);
-        inMemoryDataTree = (InMemoryDataTree) InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        inMemoryDataTree = (InMemoryDataTree) createDataTree();
         inMemoryDataTree.setSchemaContext(schemaContext);
     }
 
+    protected DataTree createDataTree() {
+        return InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+    }
+
     private static ContainerNode createFooTestContainerNode() {
         return ImmutableContainerNodeBuilder
                 .create()
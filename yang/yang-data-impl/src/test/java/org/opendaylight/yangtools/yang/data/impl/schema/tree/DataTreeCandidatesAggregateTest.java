@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class DataTreeCandidatesAggregateTest {
+    private static final NodeIdentifier TEST_ID = new NodeIdentifier(TestModel.TEST_QNAME);
+    private static final NodeIdentifier OUTER_LIST_ID = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+    private static final NodeIdentifier INNER_CONTAINER_ID = new NodeIdentifier(TestModel.INNER_CONTAINER_QNAME);
+    private static final NodeIdentifier VALUE_ID = new NodeIdentifier(TestModel.VALUE_QNAME);
+
+    private SchemaContext schemaContext;
+    private DataTree dataTree;
+    private final List<DataTreeCandidate> candidates = new ArrayList<>();
+
+    @Before
+    public void setUp() throws ReactorException, DataValidationFailedException {
+        schemaContext = TestModel.createTestContext();
+        dataTree = createDataTree();
+        candidates.clear();
+    }
+
+    private DataTree createDataTree() throws DataValidationFailedException {
+        final DataTree tree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        tree.setSchemaContext(schemaContext);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)).build());
+        mod.write(TestModel.INNER_VALUE_PATH.getParent(), ImmutableNodes.containerNode(TestModel.INNER_CONTAINER_QNAME));
+        mod.write(TestModel.INNER_VALUE_PATH, ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "initial"));
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        return tree;
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(
+            new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        dataTree.commit(candidate);
+        candidates.add(candidate);
+    }
+
+    private void writeEntry(final int id) throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(entryPath(id), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        commit(mod);
+    }
+
+    private void deleteEntry(final int id) throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(entryPath(id));
+        commit(mod);
+    }
+
+    private void writeValue(final String value) throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.INNER_VALUE_PATH, ImmutableNodes.leafNode(TestModel.VALUE_QNAME, value));
+        commit(mod);
+    }
+
+    private static DataTreeCandidateNode child(final DataTreeCandidate candidate, final NodeIdentifier... path) {
+        DataTreeCandidateNode node = candidate.getRootNode();
+        for (NodeIdentifier id : path) {
+            node = node.getModifiedChild(id);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    @Test
+    public void testSingleCandidate() throws DataValidationFailedException {
+        writeEntry(2);
+        assertSame(candidates.get(0), DataTreeCandidates.aggregate(candidates));
+    }
+
+    @Test
+    public void testWriteThenDelete() throws DataValidationFailedException {
+        writeEntry(2);
+        deleteEntry(2);
+
+        final DataTreeCandidate aggregated = DataTreeCandidates.aggregate(candidates);
+        assertEquals(ModificationType.UNMODIFIED, aggregated.getRootNode().getModificationType());
+        assertNull(child(aggregated, TEST_ID, OUTER_LIST_ID));
+    }
+
+    @Test
+    public void testRepeatedLeafWrites() throws DataValidationFailedException {
+        writeValue("first");
+        writeValue("second");
+
+        final DataTreeCandidate aggregated = DataTreeCandidates.aggregate(candidates);
+        final DataTreeCandidateNode value = child(aggregated, TEST_ID, INNER_CONTAINER_ID, VALUE_ID);
+        assertNotNull(value);
+        assertEquals(ModificationType.WRITE, value.getModificationType());
+        assertEquals("initial", value.getDataBefore().get().getValue());
+        assertEquals("second", value.getDataAfter().get().getValue());
+
+        // Writing back the original value cancels out
+        writeValue("initial");
+        assertEquals(ModificationType.UNMODIFIED,
+            DataTreeCandidates.aggregate(candidates).getRootNode().getModificationType());
+    }
+
+    @Test
+    public void testUntouchedSubtrees() throws DataValidationFailedException {
+        writeEntry(2);
+        writeValue("changed");
+        deleteEntry(1);
+
+        final DataTreeCandidate aggregated = DataTreeCandidates.aggregate(candidates);
+        final DataTreeCandidateNode test = child(aggregated, TEST_ID);
+        assertEquals(ModificationType.SUBTREE_MODIFIED, test.getModificationType());
+        assertEquals(2, test.getChildNodes().size());
+
+        final DataTreeCandidateNode list = test.getModifiedChild(OUTER_LIST_ID);
+        assertEquals(ModificationType.SUBTREE_MODIFIED, list.getModificationType());
+        assertEquals(2, list.getChildNodes().size());
+        assertEquals(ModificationType.WRITE,
+            list.getModifiedChild(entryPath(2).getLastPathArgument()).getModificationType());
+        assertEquals(ModificationType.DELETE,
+            list.getModifiedChild(entryPath(1).getLastPathArgument()).getModificationType());
+    }
+
+    @Test
+    public void testReplayMatchesSequential() throws DataValidationFailedException {
+        final DataTree replica = createDataTree();
+
+        writeEntry(2);
+        writeEntry(3);
+        writeValue("changed");
+        deleteEntry(1);
+        deleteEntry(3);
+        final DataTreeModification remove = dataTree.takeSnapshot().newModification();
+        remove.delete(TestModel.INNER_VALUE_PATH.getParent());
+        commit(remove);
+
+        final DataTreeModification mod = replica.takeSnapshot().newModification();
+        DataTreeCandidates.applyToModification(mod, DataTreeCandidates.aggregate(candidates));
+        mod.ready();
+        replica.validate(mod);
+        replica.commit(replica.prepare(mod));
+
+        final NormalizedNode<?, ?> expected = dataTree.takeSnapshot().readNode(TestModel.TEST_PATH).get();
+        assertEquals(expected, replica.takeSnapshot().readNode(TestModel.TEST_PATH).get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmpty() {
+        DataTreeCandidates.aggregate(Collections.<DataTreeCandidate>emptyList());
+    }
+}
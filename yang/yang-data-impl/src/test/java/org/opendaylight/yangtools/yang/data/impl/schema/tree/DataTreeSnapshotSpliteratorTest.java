@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class DataTreeSnapshotSpliteratorTest {
+    private static final int ENTRY_COUNT = 1000;
+
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() throws ReactorException, DataValidationFailedException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            list.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, list.build());
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static Set<Object> entryIds(final DataTreeSnapshot snapshot) {
+        return StreamSupport.stream(snapshot.childSpliterator(TestModel.OUTER_LIST_PATH), true)
+                .map(entry -> ((MapEntryNode) entry).getIdentifier().getKeyValues().get(TestModel.ID_QNAME))
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testParallelChildren() {
+        final Set<Object> expected = IntStream.range(0, ENTRY_COUNT).boxed().collect(Collectors.toSet());
+        assertEquals(expected, entryIds(dataTree.takeSnapshot()));
+    }
+
+    @Test
+    public void testParallelSubtree() {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        // The list, its entries and their key leaves
+        assertEquals(1 + 2 * ENTRY_COUNT,
+            StreamSupport.stream(snapshot.subtreeSpliterator(TestModel.OUTER_LIST_PATH), false).count());
+        assertEquals(1 + 2 * ENTRY_COUNT,
+            StreamSupport.stream(snapshot.subtreeSpliterator(TestModel.OUTER_LIST_PATH), true).distinct().count());
+        // Test container adds itself
+        assertEquals(2 + 2 * ENTRY_COUNT,
+            StreamSupport.stream(snapshot.subtreeSpliterator(TestModel.TEST_PATH), true).count());
+    }
+
+    @Test
+    public void testSnapshotIsolation() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(TestModel.OUTER_LIST_PATH);
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+
+        assertEquals(ENTRY_COUNT, entryIds(snapshot).size());
+        assertEquals(0, entryIds(dataTree.takeSnapshot()).size());
+    }
+
+    @Test
+    public void testLeaf() {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final MapNode list = (MapNode) snapshot.readNode(TestModel.OUTER_LIST_PATH).get();
+        final YangInstanceIdentifier leafPath = TestModel.OUTER_LIST_PATH
+                .node(list.getValue().iterator().next().getIdentifier()).node(TestModel.ID_QNAME);
+
+        assertFalse(snapshot.childSpliterator(leafPath).tryAdvance(node -> { }));
+        assertEquals(1, StreamSupport.stream(snapshot.subtreeSpliterator(leafPath), true).count());
+        assertEquals(0, StreamSupport.stream(snapshot.subtreeSpliterator(TestModel.INNER_VALUE_PATH), true).count());
+    }
+}
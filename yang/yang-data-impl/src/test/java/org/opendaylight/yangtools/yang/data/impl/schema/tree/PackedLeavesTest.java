@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class PackedLeavesTest {
+    private static final YangInstanceIdentifier ENTRY_PATH = TestModel.OUTER_LIST_PATH
+            .node(new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+    private static final YangInstanceIdentifier INNER_ENTRY_PATH = ENTRY_PATH.node(TestModel.INNER_LIST_QNAME)
+            .node(new NodeIdentifierWithPredicates(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "foo"));
+    private static final NodeIdentifier ID = NodeIdentifier.create(TestModel.ID_QNAME);
+    private static final NodeIdentifier NAME = NodeIdentifier.create(TestModel.NAME_QNAME);
+    private static final NodeIdentifier VALUE = NodeIdentifier.create(TestModel.VALUE_QNAME);
+
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() throws ReactorException, DataValidationFailedException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(new DataTreeConfiguration.Builder(
+            TreeType.OPERATIONAL).setPackedLeaves(true).build());
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)
+                .withChild(ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                    .withChild(innerEntry("bar"))
+                    .build())
+                .build())
+            .build());
+        commit(mod);
+    }
+
+    private static MapEntryNode innerEntry(final String value) {
+        return ImmutableNodes.mapEntryBuilder(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "foo")
+                .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, value))
+                .build();
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private NormalizedNode<?, ?> read(final YangInstanceIdentifier path) {
+        return dataTree.takeSnapshot().readNode(path).get();
+    }
+
+    @Test
+    public void testWrite() {
+        final MapEntryNode entry = (MapEntryNode) read(ENTRY_PATH);
+        assertTrue(entry instanceof PackedMapEntryNode);
+        assertEquals(1, entry.getChild(ID).get().getValue());
+        // Key leaf and inner list
+        assertEquals(2, entry.getValue().size());
+
+        final MapEntryNode inner = (MapEntryNode) read(INNER_ENTRY_PATH);
+        assertTrue(inner instanceof PackedMapEntryNode);
+        assertEquals("foo", inner.getChild(NAME).get().getValue());
+        assertEquals("bar", inner.getChild(VALUE).get().getValue());
+        assertEquals("bar", read(INNER_ENTRY_PATH.node(VALUE)).getValue());
+    }
+
+    @Test
+    public void testMergeAndDelete() throws DataValidationFailedException {
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.merge(INNER_ENTRY_PATH, innerEntry("baz"));
+        commit(mod);
+
+        MapEntryNode inner = (MapEntryNode) read(INNER_ENTRY_PATH);
+        assertTrue(inner instanceof PackedMapEntryNode);
+        assertEquals("baz", inner.getChild(VALUE).get().getValue());
+        assertEquals("foo", inner.getChild(NAME).get().getValue());
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.delete(INNER_ENTRY_PATH.node(VALUE));
+        commit(mod);
+
+        inner = (MapEntryNode) read(INNER_ENTRY_PATH);
+        assertTrue(inner instanceof PackedMapEntryNode);
+        assertFalse(inner.getChild(VALUE).isPresent());
+        assertEquals(1, inner.getValue().size());
+    }
+
+    @Test
+    public void testAttributes() throws DataValidationFailedException {
+        // Leaves carrying attributes cannot be packed, hence the entry has to retain them
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(INNER_ENTRY_PATH.node(VALUE), Builders.leafBuilder().withNodeIdentifier(VALUE).withValue("qux")
+            .withAttributes(ImmutableMap.of(TestModel.NAME_QNAME, "attr")).build());
+        commit(mod);
+
+        assertEquals("qux", read(INNER_ENTRY_PATH.node(VALUE)).getValue());
+        assertEquals(2, ((MapEntryNode) read(INNER_ENTRY_PATH)).getValue().size());
+    }
+
+    @Test
+    public void testEquality() {
+        final MapEntryNode first = (MapEntryNode) read(INNER_ENTRY_PATH);
+        final MapEntryNode second = (MapEntryNode) read(INNER_ENTRY_PATH);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void testEqualityWithUnpackedEntry() {
+        final MapEntryNode packed = (MapEntryNode) read(INNER_ENTRY_PATH);
+        final MapEntryNode unpacked = innerEntry("bar");
+        assertEquals(packed, unpacked);
+        assertEquals(unpacked, packed);
+        assertEquals(unpacked.hashCode(), packed.hashCode());
+
+        final MapEntryNode different = innerEntry("baz");
+        assertNotEquals(packed, different);
+        assertNotEquals(different, packed);
+    }
+
+    @Test
+    public void testCopyBuilder() {
+        final MapEntryNode packed = (MapEntryNode) read(INNER_ENTRY_PATH);
+        final MapEntryNode copy = ImmutableMapEntryNodeBuilder.create(packed).build();
+        assertFalse(copy instanceof PackedMapEntryNode);
+        assertEquals(packed, copy);
+        assertEquals(innerEntry("bar"), copy);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConfigurationRejected() {
+        new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setPackedLeaves(true);
+    }
+}
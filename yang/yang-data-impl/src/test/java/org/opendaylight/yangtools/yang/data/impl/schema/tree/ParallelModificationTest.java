@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModifiedNodeDoesNotExistException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class ParallelModificationTest {
+    private static final int ENTRY_COUNT = 200;
+
+    private static SchemaContext schemaContext;
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void beforeClass() throws ReactorException {
+        schemaContext = TestModel.createTestContext();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        pool.shutdown();
+        pool = null;
+        schemaContext = null;
+    }
+
+    private static DataTree createTree(final DataTreeConfiguration treeConfig) throws DataValidationFailedException {
+        final DataTree tree = InMemoryDataTreeFactory.getInstance().create(treeConfig);
+        tree.setSchemaContext(schemaContext);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            // Leave out entries which are going to be created
+            if (i % 4 != 1) {
+                mod.write(entryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            }
+        }
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+
+    private static DataTreeCandidate commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        final DataTreeCandidate candidate = tree.prepare(mod);
+        tree.commit(candidate);
+        return candidate;
+    }
+
+    private static DataTreeCandidate modify(final DataTree tree) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            switch (i % 4) {
+                case 0:
+                    mod.delete(entryPath(i));
+                    break;
+                case 1:
+                    mod.write(entryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+                    break;
+                case 2:
+                    mod.merge(entryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+                    break;
+                default:
+                    mod.merge(entryPath(i).node(TestModel.INNER_LIST_QNAME),
+                        ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME).withChild(ImmutableNodes.mapEntry(
+                            TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "name" + i)).build());
+            }
+        }
+        return commit(tree, mod);
+    }
+
+    private static void assertSameCandidateNode(final DataTreeCandidateNode expected,
+            final DataTreeCandidateNode actual) {
+        assertEquals(expected.getModificationType(), actual.getModificationType());
+        assertEquals(expected.getDataBefore(), actual.getDataBefore());
+        assertEquals(expected.getDataAfter(), actual.getDataAfter());
+        assertEquals(expected.getChildNodes().size(), actual.getChildNodes().size());
+
+        for (final DataTreeCandidateNode child : expected.getChildNodes()) {
+            final DataTreeCandidateNode actualChild = actual.getModifiedChild(child.getIdentifier());
+            assertNotNull(actualChild);
+            assertSameCandidateNode(child, actualChild);
+        }
+    }
+
+    @Test
+    public void testSameCandidate() throws DataValidationFailedException {
+        final DataTree sequential = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        final DataTree parallel = createTree(new DataTreeConfiguration.Builder(TreeType.OPERATIONAL)
+            .setParallelThreshold(8).setParallelPool(pool).build());
+
+        final DataTreeCandidate expected = modify(sequential);
+        final DataTreeCandidate actual = modify(parallel);
+        assertEquals(expected.getRootPath(), actual.getRootPath());
+        assertSameCandidateNode(expected.getRootNode(), actual.getRootNode());
+        assertEquals(sequential.takeSnapshot().readNode(TestModel.TEST_PATH),
+            parallel.takeSnapshot().readNode(TestModel.TEST_PATH));
+    }
+
+    @Test
+    public void testSameCandidateFromForeignPool() throws DataValidationFailedException, InterruptedException,
+            ExecutionException {
+        final DataTree sequential = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        final DataTree parallel = createTree(new DataTreeConfiguration.Builder(TreeType.OPERATIONAL)
+            .setParallelThreshold(8).setParallelPool(pool).build());
+
+        final DataTreeCandidate expected = modify(sequential);
+        // Prepare from a worker of a different pool, which must not be used to run the child tasks
+        final DataTreeCandidate actual = ForkJoinPool.commonPool().submit(new Callable<DataTreeCandidate>() {
+            @Override
+            public DataTreeCandidate call() throws DataValidationFailedException {
+                return modify(parallel);
+            }
+        }).get();
+        assertSameCandidateNode(expected.getRootNode(), actual.getRootNode());
+    }
+
+    private static YangInstanceIdentifier failedPath(final DataTree tree) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            mod.merge(entryPath(i).node(TestModel.INNER_LIST_QNAME),
+                ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME).build());
+        }
+        mod.ready();
+
+        try {
+            tree.validate(mod);
+            fail("Validation should have failed");
+            return null;
+        } catch (ModifiedNodeDoesNotExistException e) {
+            return e.getPath();
+        }
+    }
+
+    @Test
+    public void testSameFailureReported() throws DataValidationFailedException {
+        final DataTree sequential = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        final DataTree parallel = createTree(new DataTreeConfiguration.Builder(TreeType.OPERATIONAL)
+            .setParallelThreshold(2).setParallelPool(pool).build());
+
+        assertEquals(failedPath(sequential), failedPath(parallel));
+    }
+}
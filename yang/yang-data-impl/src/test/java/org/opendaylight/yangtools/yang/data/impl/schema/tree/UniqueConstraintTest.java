@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+public class UniqueConstraintTest {
+    private static final String NS = "unique-constraint-test";
+    private static final String REV = "2016-10-18";
+    private static final QName TASK_CONTAINER = QName.create(NS, REV, "task-container");
+    private static final QName TASK = QName.create(NS, REV, "task");
+    private static final QName TASK_ID = QName.create(NS, REV, "task-id");
+    private static final QName TASK_MANDATORY_LEAF = QName.create(NS, REV, "task-mandatory-leaf");
+    private static final QName TASK_LEAF = QName.create(NS, REV, "task-leaf");
+    private static final QName OTHER_CONTAINER = QName.create(NS, REV, "other-container");
+    private static final QName OTHER_LEAF = QName.create(NS, REV, "other-leaf");
+    private static final YangInstanceIdentifier TASK_PATH = YangInstanceIdentifier.of(TASK_CONTAINER).node(TASK);
+
+    private SchemaContext schemaContext;
+
+    @Before
+    public void prepare() throws ReactorException {
+        schemaContext = TestModel.createTestContext("/unique-constraint-test.yang");
+        assertNotNull("Schema context must not be null.", schemaContext);
+    }
+
+    private InMemoryDataTree initDataTree(final boolean uniqueIndex) throws DataValidationFailedException {
+        final InMemoryDataTree inMemoryDataTree = (InMemoryDataTree) InMemoryDataTreeFactory.getInstance().create(
+            new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setUniqueIndexes(uniqueIndex).build());
+        inMemoryDataTree.setSchemaContext(schemaContext);
+
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(TASK_PATH, Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(TASK)).build());
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+        return inMemoryDataTree;
+    }
+
+    private static MapEntryNode createTask(final String id, final String mandatoryLeaf, final String leaf,
+            final String otherLeaf) {
+        final DataContainerNodeAttrBuilder<NodeIdentifierWithPredicates, MapEntryNode> builder =
+                Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(TASK, TASK_ID, id))
+                .withChild(ImmutableNodes.leafNode(TASK_ID, id))
+                .withChild(ImmutableNodes.leafNode(TASK_MANDATORY_LEAF, mandatoryLeaf));
+        if (leaf != null) {
+            builder.withChild(ImmutableNodes.leafNode(TASK_LEAF, leaf));
+        }
+        if (otherLeaf != null) {
+            builder.withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(OTHER_CONTAINER))
+                .withChild(ImmutableNodes.leafNode(OTHER_LEAF, otherLeaf)).build());
+        }
+        return builder.build();
+    }
+
+    private static YangInstanceIdentifier taskPath(final String id) {
+        return TASK_PATH.node(new NodeIdentifierWithPredicates(TASK, TASK_ID, id));
+    }
+
+    private static void writeAndCommit(final InMemoryDataTree inMemoryDataTree, final MapEntryNode... tasks)
+            throws DataValidationFailedException {
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        for (final MapEntryNode task : tasks) {
+            modificationTree.write(TASK_PATH.node(task.getIdentifier()), task);
+        }
+        modificationTree.ready();
+
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+    }
+
+    private static void assertViolation(final InMemoryDataTree inMemoryDataTree, final MapEntryNode... tasks) {
+        try {
+            writeAndCommit(inMemoryDataTree, tasks);
+            fail("Unique constraint violation should have been detected");
+        } catch (final DataValidationFailedException e) {
+            assertTrue(e.getMessage().contains("violates unique constraint"));
+        }
+    }
+
+    @Test
+    public void testViolationInSingleModification() throws DataValidationFailedException {
+        assertViolation(initDataTree(true), createTask("1", "a", null, null), createTask("2", "a", null, null));
+    }
+
+    @Test
+    public void testViolationAcrossCommits() throws DataValidationFailedException {
+        final InMemoryDataTree inMemoryDataTree = initDataTree(true);
+        writeAndCommit(inMemoryDataTree, createTask("1", "a", "x", "y"), createTask("2", "b", "x", null));
+        writeAndCommit(inMemoryDataTree, createTask("3", "c", null, "y"));
+
+        assertViolation(inMemoryDataTree, createTask("4", "a", null, null));
+        assertViolation(inMemoryDataTree, createTask("4", "d", "x", "y"));
+
+        // Overwriting an entry with its own values is fine
+        writeAndCommit(inMemoryDataTree, createTask("1", "a", "x", "y"));
+    }
+
+    @Test
+    public void testValueMovedBetweenEntries() throws DataValidationFailedException {
+        final InMemoryDataTree inMemoryDataTree = initDataTree(true);
+        writeAndCommit(inMemoryDataTree, createTask("1", "a", null, null), createTask("2", "b", null, null));
+
+        // Swap values in a single transaction
+        writeAndCommit(inMemoryDataTree, createTask("1", "b", null, null), createTask("2", "a", null, null));
+
+        // Delete an entry and reuse its value
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.delete(taskPath("1"));
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+
+        writeAndCommit(inMemoryDataTree, createTask("3", "b", null, null));
+        assertViolation(inMemoryDataTree, createTask("4", "a", null, null));
+    }
+
+    @Test
+    public void testLeafModification() throws DataValidationFailedException {
+        final InMemoryDataTree inMemoryDataTree = initDataTree(true);
+        writeAndCommit(inMemoryDataTree, createTask("1", "a", null, null), createTask("2", "b", null, null));
+
+        final InMemoryDataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(taskPath("2").node(TASK_MANDATORY_LEAF), ImmutableNodes.leafNode(TASK_MANDATORY_LEAF,
+            "a"));
+        modificationTree.ready();
+        try {
+            inMemoryDataTree.validate(modificationTree);
+            fail("Unique constraint violation should have been detected");
+        } catch (final DataValidationFailedException e) {
+            assertTrue(e.getMessage().contains("violates unique constraint"));
+        }
+    }
+
+    @Test
+    public void testDisabledIndex() throws DataValidationFailedException {
+        writeAndCommit(initDataTree(false), createTask("1", "a", null, null), createTask("2", "a", null, null));
+    }
+}
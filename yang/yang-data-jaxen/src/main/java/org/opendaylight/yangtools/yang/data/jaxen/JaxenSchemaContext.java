@@ -9,6 +9,14 @@ package org.opendaylight.yangtools.yang.data.jaxen;
 
 import com.google.common.base.Converter;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import javax.xml.xpath.XPathExpressionException;
 import org.jaxen.JaxenException;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -20,6 +28,15 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 final class JaxenSchemaContext implements XPathSchemaContext {
+    private static final int MAX_CACHED_EXPRESSIONS = 4096;
+
+    /*
+     * Parsed expressions, keyed by the SchemaPath and the expression string. Expressions attached to the same schema
+     * node are typically compiled repeatedly, once for each data node they are evaluated at.
+     */
+    private final Cache<Entry<SchemaPath, String>, JaxenXPath.Parsed> expressions = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_EXPRESSIONS).build();
+
     // Will be needed for compileExpression()
     @SuppressWarnings("unused")
     private final SchemaContext context;
@@ -31,11 +48,21 @@ final class JaxenSchemaContext implements XPathSchemaContext {
     @Override
     public XPathExpression compileExpression(final SchemaPath schemaPath,
             final Converter<String, QNameModule> prefixes, final String xpath) throws XPathExpressionException {
+        final JaxenXPath.Parsed parsed;
         try {
-            return JaxenXPath.create(prefixes, schemaPath, xpath);
-        } catch (JaxenException e) {
-            throw new XPathExpressionException(e);
+            parsed = expressions.get(new SimpleImmutableEntry<>(schemaPath, xpath), new Callable<JaxenXPath.Parsed>() {
+                @Override
+                public JaxenXPath.Parsed call() throws JaxenException {
+                    return JaxenXPath.parse(xpath);
+                }
+            });
+        } catch (ExecutionException e) {
+            throw new XPathExpressionException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
         }
+
+        return JaxenXPath.create(prefixes, schemaPath, parsed);
     }
 
     @Override
@@ -11,14 +11,25 @@ import com.google.common.base.Converter;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
 import java.util.Collection;
 import java.util.List;
 import javax.xml.xpath.XPathExpressionException;
 import org.jaxen.BaseXPath;
 import org.jaxen.ContextSupport;
 import org.jaxen.JaxenException;
+import org.jaxen.expr.BinaryExpr;
 import org.jaxen.expr.Expr;
+import org.jaxen.expr.FilterExpr;
+import org.jaxen.expr.FunctionCallExpr;
+import org.jaxen.expr.LocationPath;
+import org.jaxen.expr.NameStep;
+import org.jaxen.expr.PathExpr;
+import org.jaxen.expr.Predicate;
+import org.jaxen.expr.Predicated;
+import org.jaxen.expr.UnaryExpr;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -45,16 +56,17 @@ final class JaxenXPath implements XPathExpression {
     private final Converter<String, QNameModule> converter;
     private final SchemaPath schemaPath;
     private final BaseXPath xpath;
+    private final ResolvedNames names;
 
     private JaxenXPath(final Converter<String, QNameModule> converter, final SchemaPath schemaPath,
-            final BaseXPath xpath) {
+            final BaseXPath xpath, final ResolvedNames names) {
         this.converter = Preconditions.checkNotNull(converter);
         this.schemaPath = Preconditions.checkNotNull(schemaPath);
         this.xpath = Preconditions.checkNotNull(xpath);
+        this.names = Preconditions.checkNotNull(names);
     }
 
-    static JaxenXPath create(final Converter<String, QNameModule> converter, final SchemaPath schemaPath,
-            final String xpath) throws JaxenException {
+    static Parsed parse(final String xpath) throws JaxenException {
         final BaseXPath compiled = new BaseXPath(xpath) {
             private static final long serialVersionUID = 1L;
 
@@ -69,7 +81,53 @@ final class JaxenXPath implements XPathExpression {
 
         // FIXME: perform expression introspection to understand things like apex, etc.
 
-        return new JaxenXPath(converter, schemaPath, compiled);
+        final ImmutableSetMultimap.Builder<String, String> nameTests = ImmutableSetMultimap.builder();
+        collectNameTests(expr, nameTests);
+        return new Parsed(compiled, nameTests.build());
+    }
+
+    static JaxenXPath create(final Converter<String, QNameModule> converter, final SchemaPath schemaPath,
+            final Parsed parsed) {
+        return new JaxenXPath(converter, schemaPath, parsed.xpath,
+            ResolvedNames.create(converter, schemaPath, parsed.nameTests));
+    }
+
+    private static void collectNameTests(final Expr expr, final ImmutableSetMultimap.Builder<String, String> builder) {
+        if (expr instanceof LocationPath) {
+            for (Object step : ((LocationPath) expr).getSteps()) {
+                if (step instanceof NameStep) {
+                    final NameStep nameStep = (NameStep) step;
+                    final String localName = nameStep.getLocalName();
+                    if (nameStep.getPrefix() != null && !"*".equals(localName)) {
+                        builder.put(nameStep.getPrefix(), localName);
+                    }
+                }
+                collectPredicates((Predicated) step, builder);
+            }
+        } else if (expr instanceof PathExpr) {
+            final PathExpr pathExpr = (PathExpr) expr;
+            collectNameTests(pathExpr.getFilterExpr(), builder);
+            collectNameTests(pathExpr.getLocationPath(), builder);
+        } else if (expr instanceof FilterExpr) {
+            collectNameTests(((FilterExpr) expr).getExpr(), builder);
+            collectPredicates((FilterExpr) expr, builder);
+        } else if (expr instanceof BinaryExpr) {
+            collectNameTests(((BinaryExpr) expr).getLHS(), builder);
+            collectNameTests(((BinaryExpr) expr).getRHS(), builder);
+        } else if (expr instanceof UnaryExpr) {
+            collectNameTests(((UnaryExpr) expr).getExpr(), builder);
+        } else if (expr instanceof FunctionCallExpr) {
+            for (Object param : ((FunctionCallExpr) expr).getParameters()) {
+                collectNameTests((Expr) param, builder);
+            }
+        }
+    }
+
+    private static void collectPredicates(final Predicated predicated,
+            final ImmutableSetMultimap.Builder<String, String> builder) {
+        for (Object predicate : predicated.getPredicates()) {
+            collectNameTests(((Predicate) predicate).getExpr(), builder);
+        }
     }
 
     @Override
@@ -78,7 +136,7 @@ final class JaxenXPath implements XPathExpression {
         Preconditions.checkArgument(document instanceof JaxenDocument);
 
         final NormalizedNodeContextSupport contextSupport = NormalizedNodeContextSupport.create(
-            (JaxenDocument)document, converter);
+            (JaxenDocument)document, converter, names);
 
         final Object result;
         try {
@@ -132,4 +190,18 @@ final class JaxenXPath implements XPathExpression {
         // TODO: improve this
         return SchemaPath.ROOT;
     }
+
+    /**
+     * An XPath expression parsed independently of the prefixes it is going to be evaluated with, along with the name
+     * tests it contains. Instances are immutable and can be shared.
+     */
+    static final class Parsed {
+        private final BaseXPath xpath;
+        private final SetMultimap<String, String> nameTests;
+
+        private Parsed(final BaseXPath xpath, final SetMultimap<String, String> nameTests) {
+            this.xpath = Preconditions.checkNotNull(xpath);
+            this.nameTests = Preconditions.checkNotNull(nameTests);
+        }
+    }
 }
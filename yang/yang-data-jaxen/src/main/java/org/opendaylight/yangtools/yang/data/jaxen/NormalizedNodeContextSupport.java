@@ -28,9 +28,10 @@ final class NormalizedNodeContextSupport extends ContextSupport {
         this.root = new NormalizedNodeContext(this, navigator.getRootNode(), null);
     }
 
-    static NormalizedNodeContextSupport create(final JaxenDocument document, final Converter<String, QNameModule> prefixes) {
+    static NormalizedNodeContextSupport create(final JaxenDocument document, final Converter<String, QNameModule> prefixes,
+            final ResolvedNames names) {
         final ConverterNamespaceContext context = new ConverterNamespaceContext(prefixes);
-        final NormalizedNodeNavigator navigator = new NormalizedNodeNavigator(context, document);
+        final NormalizedNodeNavigator navigator = new NormalizedNodeNavigator(context, document, names);
 
         return new NormalizedNodeContextSupport(context, navigator);
     }
@@ -45,10 +45,17 @@ final class NormalizedNodeNavigator extends DefaultNavigator implements NamedAcc
     private static final Joiner JOINER = Joiner.on(" ").skipNulls();
     private final ConverterNamespaceContext namespaceContext;
     private final JaxenDocument document;
+    private final ResolvedNames names;
 
     NormalizedNodeNavigator(final ConverterNamespaceContext context, final JaxenDocument document) {
+        this(context, document, ResolvedNames.EMPTY);
+    }
+
+    NormalizedNodeNavigator(final ConverterNamespaceContext context, final JaxenDocument document,
+            final ResolvedNames names) {
         this.namespaceContext = Preconditions.checkNotNull(context);
         this.document = document;
+        this.names = Preconditions.checkNotNull(names);
     }
 
     private static NormalizedNodeContext cast(final Object context) {
@@ -71,6 +78,12 @@ final class NormalizedNodeNavigator extends DefaultNavigator implements NamedAcc
         return QName.create(module, localName);
     }
 
+    private NodeIdentifier resolveNodeIdentifier(final NormalizedNode<?, ?> node, final String prefix,
+            final String localName) {
+        final NodeIdentifier resolved = names.lookup(node.getNodeType().getModule(), prefix, localName);
+        return resolved != null ? resolved : NodeIdentifier.create(resolveQName(node, prefix, localName));
+    }
+
     @SuppressWarnings("unchecked")
     private static Entry<QName, String> attribute(final Object attr) {
         Verify.verify(attr instanceof Entry, "Unhandled attribute %s", attr);
@@ -219,9 +232,9 @@ final class NormalizedNodeNavigator extends DefaultNavigator implements NamedAcc
             return null;
         }
 
-        final QName qname = resolveQName(node, namespacePrefix, localName);
         @SuppressWarnings({ "unchecked", "rawtypes" })
-        final Optional<NormalizedNode<?, ?>> maybeChild = ((DataContainerNode)node).getChild(new NodeIdentifier(qname));
+        final Optional<NormalizedNode<?, ?>> maybeChild = ((DataContainerNode)node).getChild(
+            resolveNodeIdentifier(node, namespacePrefix, localName));
         if (!maybeChild.isPresent()) {
             return null;
         }
@@ -248,7 +261,7 @@ final class NormalizedNodeNavigator extends DefaultNavigator implements NamedAcc
                 return null;
             }
 
-            final QName qname = resolveQName(node, namespacePrefix, localName);
+            final QName qname = resolveNodeIdentifier(node, namespacePrefix, localName).getNodeType();
             final String value = attributes.get(qname);
             return value == null ? null : Iterators.singletonIterator(new SimpleImmutableEntry<>(qname, value));
         }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.jaxen;
+
+import com.google.common.base.Converter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.SetMultimap;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Name tests of a compiled XPath expression, resolved to {@link NodeIdentifier}s ahead of evaluation. Prefixed names
+ * are resolved through the prefix converter, unprefixed names are resolved against the module of the node at which
+ * the expression is evaluated, as indicated by its {@link SchemaPath}.
+ */
+final class ResolvedNames {
+    private static final Logger LOG = LoggerFactory.getLogger(ResolvedNames.class);
+    static final ResolvedNames EMPTY = new ResolvedNames(ImmutableTable.<String, String, NodeIdentifier>of(), null,
+        ImmutableMap.<String, NodeIdentifier>of());
+
+    private final ImmutableTable<String, String, NodeIdentifier> prefixed;
+    private final ImmutableMap<String, NodeIdentifier> unprefixed;
+    private final QNameModule defaultModule;
+
+    private ResolvedNames(final ImmutableTable<String, String, NodeIdentifier> prefixed,
+            final QNameModule defaultModule, final ImmutableMap<String, NodeIdentifier> unprefixed) {
+        this.prefixed = prefixed;
+        this.defaultModule = defaultModule;
+        this.unprefixed = unprefixed;
+    }
+
+    static ResolvedNames create(final Converter<String, QNameModule> converter, final SchemaPath schemaPath,
+            final SetMultimap<String, String> nameTests) {
+        final QName last = schemaPath.getLastComponent();
+        final QNameModule defaultModule = last == null ? null : last.getModule();
+
+        final ImmutableTable.Builder<String, String, NodeIdentifier> prefixed = ImmutableTable.builder();
+        final ImmutableMap.Builder<String, NodeIdentifier> unprefixed = ImmutableMap.builder();
+        for (String prefix : nameTests.keySet()) {
+            if (prefix.isEmpty()) {
+                if (defaultModule != null) {
+                    for (String localName : nameTests.get(prefix)) {
+                        unprefixed.put(localName, NodeIdentifier.create(QName.create(defaultModule, localName)));
+                    }
+                }
+                continue;
+            }
+
+            final QNameModule module;
+            try {
+                module = converter.convert(prefix);
+            } catch (IllegalArgumentException e) {
+                // Unknown prefixes are reported when the expression is evaluated
+                LOG.debug("Prefix {} cannot be resolved, not resolving its names", prefix, e);
+                continue;
+            }
+
+            if (module != null) {
+                for (String localName : nameTests.get(prefix)) {
+                    prefixed.put(prefix, localName, NodeIdentifier.create(QName.create(module, localName)));
+                }
+            }
+        }
+
+        return new ResolvedNames(prefixed.build(), defaultModule, unprefixed.build());
+    }
+
+    /**
+     * Look up a pre-resolved name test.
+     *
+     * @param contextModule Module of the context node, used for unprefixed names
+     * @param prefix Name test prefix, empty if the name test is not prefixed
+     * @param localName Name test local name
+     * @return Resolved identifier, or null if the name test has not been resolved
+     */
+    @Nullable NodeIdentifier lookup(final QNameModule contextModule, final String prefix, final String localName) {
+        if (prefix.isEmpty()) {
+            return contextModule.equals(defaultModule) ? unprefixed.get(localName) : null;
+        }
+
+        return prefixed.get(prefix, localName);
+    }
+}
@@ -139,6 +139,25 @@ public class JaxenTest {
         assertEquals("two", value);
     }
 
+    @Test
+    public void testPrefixedXPath() throws XPathExpressionException {
+        final XPathExpression prefixedExpression = xpathSchemaContext.compileExpression(createSchemaPath(),
+                createPrefixes(), "/test2:container-a/test2:container-b/test2:leaf-d");
+
+        // Compiling the same expression again is served from the cache, but uses the new prefixes
+        final XPathExpression cachedExpression = xpathSchemaContext.compileExpression(createSchemaPath(),
+                createPrefixes(), "/test2:container-a/test2:container-b/test2:leaf-d");
+
+        for (XPathExpression expression : new XPathExpression[] { prefixedExpression, cachedExpression }) {
+            Optional<? extends XPathResult<?>> resultExpressionEvaluate = expression.evaluate(xpathDocument,
+                createYangInstanceIdentifier(false));
+            assertTrue(resultExpressionEvaluate.isPresent());
+            XPathResult<?> xPathResult = resultExpressionEvaluate.get();
+            Object value = ((XPathNodesetResult) xPathResult).getValue().iterator().next().getValue();
+            assertEquals("three", value);
+        }
+    }
+
     @Test(expected = VerifyException.class)
     public void testIsMethodsInNodeNavigator() {
         assertNotNull(navigator.isDocument("test"));
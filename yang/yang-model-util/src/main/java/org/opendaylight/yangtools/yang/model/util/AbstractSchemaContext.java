@@ -10,14 +10,14 @@ package org.opendaylight.yangtools.yang.model.util;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,7 +39,11 @@ import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.UsesNode;
 
-
+/**
+ * Base class for {@link SchemaContext} implementations. Aggregate views of the modules, such as
+ * {@link #getChildNodes()} or {@link #getNotifications()}, are computed once, hence subclasses are required to return
+ * the same immutable set from {@link #getModules()} for their entire lifetime.
+ */
 public abstract class AbstractSchemaContext implements SchemaContext {
 
     protected static final Supplier<TreeSet<Module>> MODULE_SET_SUPPLIER = new Supplier<TreeSet<Module>>() {
@@ -60,6 +64,29 @@ public abstract class AbstractSchemaContext implements SchemaContext {
         }
     };
 
+    // Aggregates of module contents, computed on first access
+    private final Supplier<Set<DataSchemaNode>> childNodes = ModuleAggregates.memoizeSet(this,
+        Module::getChildNodes);
+    private final Supplier<Set<NotificationDefinition>> notifications = ModuleAggregates.memoizeSet(this,
+        Module::getNotifications);
+    private final Supplier<Set<RpcDefinition>> operations = ModuleAggregates.memoizeSet(this, Module::getRpcs);
+    private final Supplier<Set<ExtensionDefinition>> extensions = ModuleAggregates.memoizeSet(this,
+        Module::getExtensionSchemaNodes);
+    private final Supplier<List<UnknownSchemaNode>> unknownSchemaNodes = ModuleAggregates.memoizeList(this,
+        Module::getUnknownSchemaNodes);
+    private final Supplier<Set<TypeDefinition<?>>> typeDefinitions = ModuleAggregates.memoizeSet(this,
+        Module::getTypeDefinitions);
+    private final Supplier<Set<GroupingDefinition>> groupings = ModuleAggregates.memoizeSet(this,
+        Module::getGroupings);
+    private final Supplier<Map<QName, DataSchemaNode>> dataChildren = Suppliers.memoize(() -> {
+        // Modules are iterated in order, hence the first module defining a child wins
+        final Map<QName, DataSchemaNode> map = new HashMap<>();
+        for (DataSchemaNode child : getChildNodes()) {
+            map.putIfAbsent(child.getQName(), child);
+        }
+        return ImmutableMap.copyOf(map);
+    });
+
     /**
      * @return yang sources where key is ModuleIdentifier
      */
@@ -77,38 +104,22 @@ public abstract class AbstractSchemaContext implements SchemaContext {
 
     @Override
     public Set<DataSchemaNode> getDataDefinitions() {
-        final Set<DataSchemaNode> dataDefs = new HashSet<>();
-        for (Module m : getModules()) {
-            dataDefs.addAll(m.getChildNodes());
-        }
-        return dataDefs;
+        return getChildNodes();
     }
 
     @Override
     public Set<NotificationDefinition> getNotifications() {
-        final Set<NotificationDefinition> notifications = new HashSet<>();
-        for (Module m : getModules()) {
-            notifications.addAll(m.getNotifications());
-        }
-        return notifications;
+        return notifications.get();
     }
 
     @Override
     public Set<RpcDefinition> getOperations() {
-        final Set<RpcDefinition> rpcs = new HashSet<>();
-        for (Module m : getModules()) {
-            rpcs.addAll(m.getRpcs());
-        }
-        return rpcs;
+        return operations.get();
     }
 
     @Override
     public Set<ExtensionDefinition> getExtensions() {
-        final Set<ExtensionDefinition> extensions = new HashSet<>();
-        for (Module m : getModules()) {
-            extensions.addAll(m.getExtensionSchemaNodes());
-        }
-        return extensions;
+        return extensions.get();
     }
 
     @Override
@@ -188,49 +199,27 @@ public abstract class AbstractSchemaContext implements SchemaContext {
 
     @Override
     public List<UnknownSchemaNode> getUnknownSchemaNodes() {
-        final List<UnknownSchemaNode> result = new ArrayList<>();
-        for (Module module : getModules()) {
-            result.addAll(module.getUnknownSchemaNodes());
-        }
-        return Collections.unmodifiableList(result);
+        return unknownSchemaNodes.get();
     }
 
     @Override
     public Set<TypeDefinition<?>> getTypeDefinitions() {
-        final Set<TypeDefinition<?>> result = new LinkedHashSet<>();
-        for (Module module : getModules()) {
-            result.addAll(module.getTypeDefinitions());
-        }
-        return Collections.unmodifiableSet(result);
+        return typeDefinitions.get();
     }
 
     @Override
     public Set<DataSchemaNode> getChildNodes() {
-        final Set<DataSchemaNode> result = new LinkedHashSet<>();
-        for (Module module : getModules()) {
-            result.addAll(module.getChildNodes());
-        }
-        return Collections.unmodifiableSet(result);
+        return childNodes.get();
     }
 
     @Override
     public Set<GroupingDefinition> getGroupings() {
-        final Set<GroupingDefinition> result = new LinkedHashSet<>();
-        for (Module module : getModules()) {
-            result.addAll(module.getGroupings());
-        }
-        return Collections.unmodifiableSet(result);
+        return groupings.get();
     }
 
     @Override
     public DataSchemaNode getDataChildByName(final QName name) {
-        for (Module module : getModules()) {
-            final DataSchemaNode result = module.getDataChildByName(name);
-            if (result != null) {
-                return result;
-            }
-        }
-        return null;
+        return dataChildren.get().get(name);
     }
 
     @Override
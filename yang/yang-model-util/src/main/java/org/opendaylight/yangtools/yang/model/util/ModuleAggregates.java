@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Utility methods for memoizing views which aggregate a property of all modules in a {@link SchemaContext}. Views are
+ * computed on first access, hence they may only be used with contexts whose modules do not change.
+ */
+@Beta
+public final class ModuleAggregates {
+    private ModuleAggregates() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Create a supplier of an immutable set containing the union of a property of all modules in a context.
+     *
+     * @param context Schema context
+     * @param property Function returning the property of a module
+     * @return Memoizing supplier
+     */
+    public static <T> Supplier<Set<T>> memoizeSet(final SchemaContext context,
+            final Function<Module, ? extends Collection<? extends T>> property) {
+        Preconditions.checkNotNull(context);
+        Preconditions.checkNotNull(property);
+        return Suppliers.memoize(() -> {
+            final ImmutableSet.Builder<T> builder = ImmutableSet.builder();
+            for (Module module : context.getModules()) {
+                builder.addAll(property.apply(module));
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Create a supplier of an immutable list concatenating a property of all modules in a context, in module order.
+     *
+     * @param context Schema context
+     * @param property Function returning the property of a module
+     * @return Memoizing supplier
+     */
+    public static <T> Supplier<List<T>> memoizeList(final SchemaContext context,
+            final Function<Module, ? extends Collection<? extends T>> property) {
+        Preconditions.checkNotNull(context);
+        Preconditions.checkNotNull(property);
+        return Suppliers.memoize(() -> {
+            final ImmutableList.Builder<T> builder = ImmutableList.builder();
+            for (Module module : context.getModules()) {
+                builder.addAll(property.apply(module));
+            }
+            return builder.build();
+        });
+    }
+}
@@ -9,6 +9,8 @@
 package org.opendaylight.yangtools.yang.model.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -24,8 +26,10 @@ import java.util.Set;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.yangtools.concepts.SemVer;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.ModuleImport;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -416,6 +420,25 @@ public class SchemaContextProxyTest {
         assertProxyContext(filteringSchemaContextProxy, moduleConfig, module2, module3, module4);
     }
 
+    @Test
+    public void testDataChildren() {
+        Module moduleConfig = mockModule(CONFIG_NAME);
+        Module module2 = mockModule(MODULE2_NAME);
+        mockModuleImport(module2, moduleConfig);
+
+        final DataSchemaNode configChild = mockDataChild(moduleConfig, "foo");
+        final DataSchemaNode module2Child = mockDataChild(module2, "bar");
+
+        SchemaContext schemaContext = mockSchema(moduleConfig, module2);
+        FilteringSchemaContextProxy filteringSchemaContextProxy = createProxySchemaCtx(schemaContext, null, moduleConfig);
+
+        assertEquals(Sets.newHashSet(configChild, module2Child), filteringSchemaContextProxy.getChildNodes());
+        assertSame(filteringSchemaContextProxy.getChildNodes(), filteringSchemaContextProxy.getDataDefinitions());
+        assertSame(configChild, filteringSchemaContextProxy.getDataChildByName(configChild.getQName()));
+        assertSame(module2Child, filteringSchemaContextProxy.getDataChildByName(module2Child.getQName()));
+        assertNull(filteringSchemaContextProxy.getDataChildByName(QName.create(moduleConfig.getQNameModule(), "bar")));
+    }
+
     private static void assertProxyContext(final FilteringSchemaContextProxy filteringSchemaContextProxy, final Module... expected) {
 
         Set<Module> modSet = Sets.newHashSet();
@@ -515,6 +538,13 @@ public class SchemaContextProxyTest {
         doReturn(mockedImports).when(importer).getImports();
     }
 
+    private static DataSchemaNode mockDataChild(final Module module, final String localName) {
+        final DataSchemaNode child = mock(DataSchemaNode.class);
+        doReturn(QName.create(module.getQNameModule(), localName)).when(child).getQName();
+        doReturn(Sets.newHashSet(child)).when(module).getChildNodes();
+        return child;
+    }
+
     //mock module with revision
     private static Module mockModule(final String name, final Date rev) {
 
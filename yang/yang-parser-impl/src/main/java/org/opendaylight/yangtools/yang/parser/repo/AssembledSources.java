@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.Deviation;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.impl.util.YangModelDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.impl.util.YangModelDependencyInfo.SubmoduleDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.effective.EffectiveSchemaContext;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.effective.ModuleEffectiveStatementImpl;
+
+/**
+ * Information retained about the sources which were assembled into an {@link EffectiveSchemaContext}, allowing
+ * a context for a slightly different set of sources to be assembled incrementally. Root statements of sources
+ * which are not affected by the difference are reused as they are, so only the affected sources need to go through
+ * the statement reactor.
+ *
+ * <p>
+ * A source is affected when it is added, when it depends on a source which is added or removed, or when its
+ * effective model is influenced by a source which is added or removed. The latter covers augmentations, deviations
+ * and identity derivation, which modify the module they target. The set of affected sources is then closed over
+ * dependencies and influencing sources, so that the reactor sees everything it needs to build those sources.
+ */
+final class AssembledSources {
+    private final Predicate<QName> isFeatureSupported;
+    private final Map<SourceIdentifier, YangModelDependencyInfo> dependencies;
+    private final Map<SourceIdentifier, DeclaredStatement<?>> declaredRoots;
+    private final Map<SourceIdentifier, EffectiveStatement<?, ?>> effectiveRoots;
+    // Maps a source onto the sources which augment, deviate or derive identities from it
+    private final SetMultimap<SourceIdentifier, SourceIdentifier> contributors;
+
+    private AssembledSources(final Predicate<QName> isFeatureSupported,
+            final Map<SourceIdentifier, YangModelDependencyInfo> dependencies,
+            final Map<SourceIdentifier, DeclaredStatement<?>> declaredRoots,
+            final Map<SourceIdentifier, EffectiveStatement<?, ?>> effectiveRoots,
+            final SetMultimap<SourceIdentifier, SourceIdentifier> contributors) {
+        this.isFeatureSupported = Preconditions.checkNotNull(isFeatureSupported);
+        this.dependencies = Preconditions.checkNotNull(dependencies);
+        this.declaredRoots = Preconditions.checkNotNull(declaredRoots);
+        this.effectiveRoots = Preconditions.checkNotNull(effectiveRoots);
+        this.contributors = Preconditions.checkNotNull(contributors);
+    }
+
+    /**
+     * Capture the state of an assembled context.
+     *
+     * @param dependencies Dependency information of the sources, in the order in which they were fed to the reactor
+     * @param context Context assembled from the sources
+     * @param isFeatureSupported Feature predicate used when assembling the context
+     * @return Captured state
+     */
+    static AssembledSources create(final Map<SourceIdentifier, YangModelDependencyInfo> dependencies,
+            final EffectiveSchemaContext context, final Predicate<QName> isFeatureSupported) {
+        final List<DeclaredStatement<?>> declared = context.getRootDeclaredStatements();
+        final List<EffectiveStatement<?, ?>> effective = context.getRootEffectiveStatements();
+        Preconditions.checkArgument(declared.size() == dependencies.size() && effective.size() == dependencies.size(),
+            "Context %s does not match sources %s", context, dependencies.keySet());
+
+        final ImmutableMap.Builder<SourceIdentifier, DeclaredStatement<?>> declaredBuilder = ImmutableMap.builder();
+        final ImmutableMap.Builder<SourceIdentifier, EffectiveStatement<?, ?>> effectiveBuilder =
+                ImmutableMap.builder();
+        final Map<QNameModule, SourceIdentifier> modules = new HashMap<>();
+        int i = 0;
+        for (final SourceIdentifier id : dependencies.keySet()) {
+            final EffectiveStatement<?, ?> stmt = effective.get(i);
+            declaredBuilder.put(id, declared.get(i));
+            effectiveBuilder.put(id, stmt);
+            if (stmt instanceof ModuleEffectiveStatementImpl) {
+                modules.put(((Module) stmt).getQNameModule(), id);
+            }
+            i++;
+        }
+
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> effectiveRoots = effectiveBuilder.build();
+        final ImmutableSetMultimap.Builder<SourceIdentifier, SourceIdentifier> contributors =
+                ImmutableSetMultimap.builder();
+        for (final Entry<SourceIdentifier, EffectiveStatement<?, ?>> e : effectiveRoots.entrySet()) {
+            if (e.getValue() instanceof Module) {
+                for (final QNameModule target : contributionTargets((Module) e.getValue())) {
+                    final SourceIdentifier targetId = modules.get(target);
+                    if (targetId != null && !targetId.equals(e.getKey())) {
+                        contributors.put(targetId, e.getKey());
+                    }
+                }
+            }
+        }
+
+        return new AssembledSources(isFeatureSupported, ImmutableMap.copyOf(dependencies), declaredBuilder.build(),
+            effectiveRoots, contributors.build());
+    }
+
+    private static Set<QNameModule> contributionTargets(final Module module) {
+        final Set<QNameModule> ret = new HashSet<>();
+        for (final AugmentationSchema augment : module.getAugmentations()) {
+            addTarget(ret, augment.getTargetPath());
+        }
+        for (final Deviation deviation : module.getDeviations()) {
+            addTarget(ret, deviation.getTargetPath());
+        }
+        for (final IdentitySchemaNode identity : module.getIdentities()) {
+            final IdentitySchemaNode base = identity.getBaseIdentity();
+            if (base != null) {
+                ret.add(base.getQName().getModule());
+            }
+        }
+        return ret;
+    }
+
+    private static void addTarget(final Set<QNameModule> targets, final SchemaPath path) {
+        if (path != null) {
+            final Iterator<QName> it = path.getPathFromRoot().iterator();
+            if (it.hasNext()) {
+                targets.add(it.next().getModule());
+            }
+        }
+    }
+
+    boolean isCompatible(final Predicate<QName> isFeatureSupported) {
+        return this.isFeatureSupported == isFeatureSupported;
+    }
+
+    /**
+     * Return the number of sources which need to be added or removed to get from this state to the requested sources.
+     *
+     * @param requested Requested sources
+     * @return Number of differing sources
+     */
+    int distanceTo(final Set<SourceIdentifier> requested) {
+        return Sets.symmetricDifference(dependencies.keySet(), requested).size();
+    }
+
+    /**
+     * Compute the sources which need to be rebuilt to get from this state to the requested sources.
+     *
+     * @param requested Dependency information of requested sources
+     * @return Sources which need to be rebuilt, in the order of requested sources
+     */
+    Set<SourceIdentifier> affectedSources(final Map<SourceIdentifier, YangModelDependencyInfo> requested) {
+        final Set<SourceIdentifier> added = Sets.difference(requested.keySet(), dependencies.keySet());
+        final Set<SourceIdentifier> removed = Sets.difference(dependencies.keySet(), requested.keySet());
+        final Set<SourceIdentifier> affected = new HashSet<>(added);
+
+        // Sources influenced by removed sources need to be rebuilt without them
+        for (final Entry<SourceIdentifier, SourceIdentifier> e : contributors.entries()) {
+            if (removed.contains(e.getValue()) && requested.containsKey(e.getKey())) {
+                affected.add(e.getKey());
+            }
+        }
+
+        // Sources which depend on a changed source, directly or indirectly, need to be rebuilt. Sources rebuilt without
+        // a removed contributor count as changed, as their importers would otherwise reference stale statements.
+        final Set<String> changedNames = new HashSet<>();
+        for (final SourceIdentifier id : Sets.union(affected, removed)) {
+            changedNames.add(id.getName());
+        }
+        boolean progress;
+        do {
+            progress = false;
+            for (final Entry<SourceIdentifier, YangModelDependencyInfo> e : requested.entrySet()) {
+                if (!affected.contains(e.getKey()) && dependsOn(e.getValue(), changedNames)) {
+                    affected.add(e.getKey());
+                    changedNames.add(e.getKey().getName());
+                    progress = true;
+                }
+            }
+        } while (progress);
+
+        // Rebuilt sources need all of their dependencies and all sources influencing them
+        final Multimap<String, SourceIdentifier> byName = HashMultimap.create();
+        for (final SourceIdentifier id : requested.keySet()) {
+            byName.put(id.getName(), id);
+        }
+        final Deque<SourceIdentifier> queue = new ArrayDeque<>(affected);
+        while (!queue.isEmpty()) {
+            final SourceIdentifier id = queue.poll();
+            for (final String name : dependencyNames(requested.get(id))) {
+                for (final SourceIdentifier dependency : byName.get(name)) {
+                    if (affected.add(dependency)) {
+                        queue.add(dependency);
+                    }
+                }
+            }
+            for (final SourceIdentifier contributor : contributors.get(id)) {
+                if (requested.containsKey(contributor) && affected.add(contributor)) {
+                    queue.add(contributor);
+                }
+            }
+        }
+
+        final Set<SourceIdentifier> ret = new LinkedHashSet<>();
+        for (final SourceIdentifier id : requested.keySet()) {
+            if (affected.contains(id)) {
+                ret.add(id);
+            }
+        }
+        return ret;
+    }
+
+    private static boolean dependsOn(final YangModelDependencyInfo info, final Set<String> names) {
+        for (final String name : dependencyNames(info)) {
+            if (names.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> dependencyNames(final YangModelDependencyInfo info) {
+        final Set<String> ret = new HashSet<>();
+        for (final ModuleImport dependency : info.getDependencies()) {
+            ret.add(dependency.getModuleName());
+        }
+        if (info instanceof SubmoduleDependencyInfo) {
+            ret.add(((SubmoduleDependencyInfo) info).getParentModule());
+        }
+        return ret;
+    }
+
+    /**
+     * Combine root statements of rebuilt sources with root statements of unaffected sources retained in this state.
+     *
+     * @param requested Requested sources
+     * @param rebuilt State of the rebuilt sources, may be null if no source needed to be rebuilt
+     * @return Context containing all requested sources
+     */
+    EffectiveSchemaContext combine(final Set<SourceIdentifier> requested, final AssembledSources rebuilt) {
+        final List<DeclaredStatement<?>> declared = new ArrayList<>(requested.size());
+        final List<EffectiveStatement<?, ?>> effective = new ArrayList<>(requested.size());
+        for (final SourceIdentifier id : requested) {
+            final AssembledSources source = rebuilt != null && rebuilt.effectiveRoots.containsKey(id) ? rebuilt : this;
+            declared.add(Preconditions.checkNotNull(source.declaredRoots.get(id), "Missing source %s", id));
+            effective.add(source.effectiveRoots.get(id));
+        }
+        return new EffectiveSchemaContext(declared, effective);
+    }
+}
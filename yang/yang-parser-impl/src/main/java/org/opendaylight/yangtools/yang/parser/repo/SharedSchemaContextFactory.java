@@ -10,10 +10,12 @@ package org.opendaylight.yangtools.yang.parser.repo;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.AsyncFunction;
@@ -46,6 +48,7 @@ import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
 import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
 import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
 import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.effective.EffectiveSchemaContext;
 import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +65,7 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
     };
     private final Cache<Collection<SourceIdentifier>, SchemaContext> cache = CacheBuilder.newBuilder().weakValues().build();
     private final Cache<Collection<SourceIdentifier>, SchemaContext> semVerCache = CacheBuilder.newBuilder().weakValues().build();
+    private final Cache<EffectiveSchemaContext, AssembledSources> assembled = CacheBuilder.newBuilder().weakKeys().build();
     private final SharedSchemaRepository repository;
     // FIXME: ignored right now
     private final SchemaSourceFilter filter;
@@ -76,9 +80,11 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
     public CheckedFuture<SchemaContext, SchemaResolutionException> createSchemaContext(
             final Collection<SourceIdentifier> requiredSources, final StatementParserMode statementParserMode,
             final java.util.function.Predicate<QName> isFeatureSupported) {
+        // Incremental assembly is supported only in default mode, as semantic version imports resolve differently
         return createSchemaContext(requiredSources,
                 statementParserMode == StatementParserMode.SEMVER_MODE ? this.semVerCache : this.cache,
-                new AssembleSources(isFeatureSupported, statementParserMode));
+                new AssembleSources(isFeatureSupported, statementParserMode,
+                    statementParserMode == StatementParserMode.SEMVER_MODE ? null : assembled));
     }
 
     private CheckedFuture<SchemaContext, SchemaResolutionException> createSchemaContext(final Collection<SourceIdentifier> requiredSources, final Cache<Collection<SourceIdentifier>, SchemaContext> cache, final AsyncFunction<List<ASTSchemaSource>, SchemaContext> assembleSources) {
@@ -176,11 +182,14 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
         private final java.util.function.Predicate<QName> isFeatureSupported;
         private final StatementParserMode statementParserMode;
         private final Function<ASTSchemaSource, SourceIdentifier> getIdentifier;
+        private final Cache<EffectiveSchemaContext, AssembledSources> assembled;
 
         private AssembleSources(final java.util.function.Predicate<QName> isFeatureSupported,
-                final StatementParserMode statementParserMode) {
+                final StatementParserMode statementParserMode,
+                @Nullable final Cache<EffectiveSchemaContext, AssembledSources> assembled) {
             this.isFeatureSupported = Preconditions.checkNotNull(isFeatureSupported);
             this.statementParserMode = Preconditions.checkNotNull(statementParserMode);
+            this.assembled = assembled;
             switch (statementParserMode) {
             case SEMVER_MODE:
                 this.getIdentifier = ASTSchemaSource.GET_SEMVER_IDENTIFIER;
@@ -207,6 +216,73 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
                         res.getResolvedSources(), res.getUnsatisfiedImports());
             }
 
+            final SchemaContext schemaContext;
+            if (assembled != null) {
+                final Map<SourceIdentifier, YangModelDependencyInfo> dependencies = ImmutableMap.copyOf(deps);
+                EffectiveSchemaContext effectiveContext = assembleIncrementally(srcs, dependencies);
+                if (effectiveContext == null) {
+                    effectiveContext = buildEffective(srcs);
+                }
+
+                assembled.put(effectiveContext, AssembledSources.create(dependencies, effectiveContext,
+                    isFeatureSupported));
+                schemaContext = effectiveContext;
+            } else {
+                schemaContext = buildEffective(srcs);
+            }
+
+            return Futures.immediateCheckedFuture(schemaContext);
+        }
+
+        /**
+         * Attempt to assemble a context by reusing the closest previously-assembled context and rebuilding only
+         * the sources affected by the difference.
+         *
+         * @return Assembled context, or null if the sources need to be assembled from scratch
+         */
+        @Nullable
+        private EffectiveSchemaContext assembleIncrementally(final Map<SourceIdentifier, ASTSchemaSource> srcs,
+                final Map<SourceIdentifier, YangModelDependencyInfo> dependencies) {
+            AssembledSources base = null;
+            int distance = srcs.size();
+            for (final AssembledSources candidate : assembled.asMap().values()) {
+                if (candidate.isCompatible(isFeatureSupported)) {
+                    final int candidateDistance = candidate.distanceTo(srcs.keySet());
+                    if (candidateDistance < distance) {
+                        base = candidate;
+                        distance = candidateDistance;
+                    }
+                }
+            }
+            if (base == null) {
+                return null;
+            }
+
+            final Set<SourceIdentifier> affected = base.affectedSources(dependencies);
+            if (affected.size() == srcs.size()) {
+                LOG.debug("All sources are affected, assembling from scratch");
+                return null;
+            }
+
+            AssembledSources rebuilt = null;
+            if (!affected.isEmpty()) {
+                final Map<SourceIdentifier, ASTSchemaSource> affectedSrcs =
+                        Maps.filterKeys(srcs, Predicates.in(affected));
+                LOG.debug("Rebuilding {} of {} sources: {}", affected.size(), srcs.size(), affected);
+                try {
+                    rebuilt = AssembledSources.create(Maps.filterKeys(dependencies, Predicates.in(affected)),
+                        buildEffective(affectedSrcs), isFeatureSupported);
+                } catch (ReactorException | SourceException e) {
+                    LOG.debug("Failed to rebuild sources {} incrementally, assembling from scratch", affected, e);
+                    return null;
+                }
+            }
+
+            return base.combine(srcs.keySet(), rebuilt);
+        }
+
+        private EffectiveSchemaContext buildEffective(final Map<SourceIdentifier, ASTSchemaSource> srcs)
+                throws ReactorException {
             final Map<SourceIdentifier, ParserRuleContext> asts = Maps.transformValues(srcs, ASTSchemaSource.GET_AST);
             final CrossSourceStatementReactor.BuildAction reactor =
                     YangInferencePipeline.RFC6020_REACTOR.newBuild(statementParserMode, isFeatureSupported);
@@ -219,9 +295,7 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
                 reactor.addSource(new YangStatementSourceImpl(e.getKey(), (StatementContext) parserRuleCtx));
             }
 
-            final SchemaContext schemaContext = reactor.buildEffective();
-
-            return Futures.immediateCheckedFuture(schemaContext);
+            return reactor.buildEffective();
         }
     }
 }
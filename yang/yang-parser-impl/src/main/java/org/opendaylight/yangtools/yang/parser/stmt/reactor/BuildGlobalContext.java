@@ -15,8 +15,8 @@ import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -62,7 +62,8 @@ class BuildGlobalContext extends NamespaceStorageSupport implements NamespaceBeh
     private final Map<Class<?>, NamespaceBehaviourWithListeners<?, ?, ?>> supportedNamespaces = new HashMap<>();
 
     private final Map<ModelProcessingPhase, StatementSupportBundle> supports;
-    private final Set<SourceSpecificContext> sources = new HashSet<>();
+    // Sources are processed in the order in which they were added, so that processing is repeatable
+    private final Set<SourceSpecificContext> sources = new LinkedHashSet<>();
 
     private ModelProcessingPhase currentPhase = ModelProcessingPhase.INIT;
     private ModelProcessingPhase finishedPhase = ModelProcessingPhase.INIT;
@@ -7,12 +7,17 @@
  */
 package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteSource;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -20,7 +25,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
+import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -93,8 +106,16 @@ public class CrossSourceStatementReactor {
         }
     }
 
+    private static void cancelAll(final List<? extends Future<?>> futures) {
+        // Parsers do not react to interruption, hence let any running parse finish on its own
+        for (final Future<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+
     public class BuildAction {
         private final BuildGlobalContext context;
+        private Executor sourceExecutor = MoreExecutors.directExecutor();
 
         public BuildAction() {
             this(StatementParserMode.DEFAULT_MODE, IfFeaturePredicates.ALL_FEATURES);
@@ -113,6 +134,19 @@ public class CrossSourceStatementReactor {
                     isFeatureSupported);
         }
 
+        /**
+         * Set the executor used to parse textual sources handed to {@link #buildEffective(Collection)} and
+         * {@link #buildEffective(List)}. Sources are lexed and parsed independently of each other, hence an executor
+         * backed by multiple threads allows them to be parsed concurrently. Parsed sources are added to the reactor
+         * in the order in which they were supplied, so the resulting context does not depend on the executor used.
+         * By default sources are parsed on the calling thread.
+         *
+         * @param executor Executor to use for parsing sources
+         */
+        public void setSourceExecutor(@Nonnull final Executor executor) {
+            this.sourceExecutor = Preconditions.checkNotNull(executor);
+        }
+
         public void addSource(final StatementStreamSource source) {
             context.addSource(source);
         }
@@ -137,21 +171,79 @@ public class CrossSourceStatementReactor {
 
         public SchemaContext buildEffective(final Collection<ByteSource> yangByteSources) throws ReactorException,
                 IOException {
+            final List<Callable<StatementStreamSource>> tasks = new ArrayList<>(yangByteSources.size());
             for (final ByteSource yangByteSource : yangByteSources) {
-                addSource(new YangStatementSourceImpl(yangByteSource.openStream()));
+                tasks.add(new Callable<StatementStreamSource>() {
+                    @Override
+                    public StatementStreamSource call() throws IOException {
+                        return new YangStatementSourceImpl(yangByteSource.openStream());
+                    }
+                });
             }
 
+            addParsedSources(tasks, IOException.class);
             return buildEffective();
         }
 
         public SchemaContext buildEffective(final List<InputStream> yangInputStreams) throws ReactorException {
+            final List<Callable<StatementStreamSource>> tasks = new ArrayList<>(yangInputStreams.size());
             for (final InputStream yangInputStream : yangInputStreams) {
-                addSource(new YangStatementSourceImpl(yangInputStream));
+                tasks.add(new Callable<StatementStreamSource>() {
+                    @Override
+                    public StatementStreamSource call() {
+                        return new YangStatementSourceImpl(yangInputStream);
+                    }
+                });
             }
 
+            addParsedSources(tasks, RuntimeException.class);
             return buildEffective();
         }
 
+        private <X extends Exception> void addParsedSources(final List<Callable<StatementStreamSource>> tasks,
+                final Class<X> exceptionClass) throws X {
+            // Failure of the first source to fail, cancelling parsing of all sources which have not started yet
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final List<FutureTask<StatementStreamSource>> futures = new ArrayList<>(tasks.size());
+            for (final Callable<StatementStreamSource> task : tasks) {
+                futures.add(new FutureTask<StatementStreamSource>(task) {
+                    @Override
+                    protected void done() {
+                        if (!isCancelled()) {
+                            try {
+                                Uninterruptibles.getUninterruptibly(this);
+                            } catch (ExecutionException e) {
+                                if (failure.compareAndSet(null, e.getCause())) {
+                                    cancelAll(futures);
+                                }
+                            }
+                        }
+                    }
+                });
+            }
+            for (final FutureTask<StatementStreamSource> future : futures) {
+                sourceExecutor.execute(future);
+            }
+
+            // Add sources in the order in which they were supplied, regardless of the order in which they completed
+            for (final FutureTask<StatementStreamSource> future : futures) {
+                final StatementStreamSource source;
+                try {
+                    source = Uninterruptibles.getUninterruptibly(future);
+                } catch (ExecutionException e) {
+                    cancelAll(futures);
+                    Throwables.propagateIfPossible(e.getCause(), exceptionClass);
+                    throw new IllegalStateException("Failed to parse source", e.getCause());
+                } catch (CancellationException e) {
+                    // Cancelled because another source failed
+                    final Throwable cause = failure.get();
+                    Throwables.propagateIfPossible(cause, exceptionClass);
+                    throw new IllegalStateException("Failed to parse source", cause);
+                }
+                addSource(source);
+            }
+        }
+
         /**
          * @deprecated This method was never used and relies on deprecated
          *             module methods.
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.concurrent.GuardedBy;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.StatementContext;
+import org.opendaylight.yangtools.util.concurrent.ExceptionMapper;
+import org.opendaylight.yangtools.util.concurrent.ReflectiveExceptionMapper;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource.Costs;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.model.repo.util.AbstractSchemaSourceCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of {@link ASTSchemaSource}s. Parsed sources are stored in a compact binary form in a directory,
+ * keyed by a hash of the YANG text they were parsed from. When a source is requested, its text is acquired from
+ * the repository and hashed. If a matching entry exists, the AST is restored from it without invoking the ANTLR
+ * parser, otherwise the request fails and the repository falls back to the next provider, typically
+ * {@link TextToASTTransformer}. The result of that transformation is then offered back to this cache.
+ *
+ * <p>
+ * Typical use, where repository is a {@code SharedSchemaRepository}:
+ * <pre>
+ *   final ASTSchemaSourceCache cache = ASTSchemaSourceCache.create(repository, repository, directory);
+ *   repository.registerSchemaSourceListener(cache);
+ *   repository.registerSchemaSourceListener(TextToASTTransformer.create(repository, repository));
+ * </pre>
+ *
+ * <p>
+ * Since a hit only requires reading the text and the cached tree, which is cheaper than parsing the text, this
+ * cache registers its sources with {@link Costs#IMMEDIATE} cost, so it is consulted before the transformer.
+ */
+@Beta
+public final class ASTSchemaSourceCache extends AbstractSchemaSourceCache<ASTSchemaSource> {
+    private static final Logger LOG = LoggerFactory.getLogger(ASTSchemaSourceCache.class);
+    private static final ExceptionMapper<SchemaSourceException> MAPPER = ReflectiveExceptionMapper.create(
+        "AST cache lookup", SchemaSourceException.class);
+    private static final String SUFFIX = ".ast";
+    private static final Pattern CACHED_FILE_PATTERN = Pattern.compile(
+        "(?<moduleName>[^@]+)(@(?<revision>" + SourceIdentifier.REVISION_PATTERN + "))?-(?<hash>[0-9a-f]{64})"
+            + Pattern.quote(SUFFIX));
+
+    @GuardedBy("this")
+    private final Map<String, File> files = new HashMap<>();
+    @GuardedBy("this")
+    private final Set<SourceIdentifier> registered = new HashSet<>();
+    private final SchemaRepository repository;
+    private final File storageDirectory;
+
+    private ASTSchemaSourceCache(final SchemaRepository repository, final SchemaSourceRegistry consumer,
+            final File storageDirectory) {
+        super(consumer, ASTSchemaSource.class, Costs.IMMEDIATE);
+        this.repository = Preconditions.checkNotNull(repository);
+        this.storageDirectory = Preconditions.checkNotNull(storageDirectory);
+
+        if (!storageDirectory.exists()) {
+            Preconditions.checkArgument(storageDirectory.mkdirs(), "Unable to create cache directory at %s",
+                storageDirectory);
+        }
+        Preconditions.checkArgument(storageDirectory.isDirectory());
+        Preconditions.checkArgument(storageDirectory.canWrite());
+        Preconditions.checkArgument(storageDirectory.canRead());
+
+        init();
+    }
+
+    /**
+     * Create a new cache backed by specified directory. Any entries already present in the directory are registered
+     * with the consumer.
+     *
+     * @param repository Repository from which YANG text sources are acquired
+     * @param consumer Registry with which cached sources are registered
+     * @param storageDirectory Directory where the cache is persisted
+     * @return A new cache instance
+     * @throws IllegalArgumentException if the directory cannot be created or is not accessible
+     */
+    public static ASTSchemaSourceCache create(final SchemaRepository repository, final SchemaSourceRegistry consumer,
+            final File storageDirectory) {
+        return new ASTSchemaSourceCache(repository, consumer, storageDirectory);
+    }
+
+    private synchronized void init() {
+        final File[] existing = storageDirectory.listFiles();
+        if (existing == null) {
+            LOG.warn("Unable to restore cache from {}. Starting with empty cache", storageDirectory);
+            return;
+        }
+
+        for (final File file : existing) {
+            final Matcher matcher = CACHED_FILE_PATTERN.matcher(file.getName());
+            if (!matcher.matches()) {
+                LOG.debug("Skipping file {}, it does not match {}", file, CACHED_FILE_PATTERN);
+                continue;
+            }
+
+            files.put(matcher.group("hash"), file);
+            registerOnce(RevisionSourceIdentifier.create(matcher.group("moduleName"),
+                Optional.fromNullable(matcher.group("revision"))));
+        }
+
+        LOG.debug("Restored {} cached sources from {}", files.size(), storageDirectory);
+    }
+
+    private void registerOnce(final SourceIdentifier sourceIdentifier) {
+        if (registered.add(sourceIdentifier)) {
+            register(sourceIdentifier);
+        }
+    }
+
+    private static String hash(final String text) {
+        return Hashing.sha256().hashString(text, Charsets.UTF_8).toString();
+    }
+
+    private synchronized File lookupFile(final String hash) {
+        return files.get(hash);
+    }
+
+    @Override
+    public CheckedFuture<? extends ASTSchemaSource, SchemaSourceException> getSource(
+            final SourceIdentifier sourceIdentifier) {
+        final CheckedFuture<YangTextSchemaSource, SchemaSourceException> f = repository.getSchemaSource(
+            sourceIdentifier, YangTextSchemaSource.class);
+
+        return Futures.makeChecked(Futures.transform(f, new AsyncFunction<YangTextSchemaSource, ASTSchemaSource>() {
+            @Override
+            public ListenableFuture<ASTSchemaSource> apply(final YangTextSchemaSource input) throws Exception {
+                return Futures.immediateFuture(restore(sourceIdentifier, input));
+            }
+        }), MAPPER);
+    }
+
+    private ASTSchemaSource restore(final SourceIdentifier sourceIdentifier, final YangTextSchemaSource input)
+            throws IOException, SchemaSourceException, YangSyntaxErrorException {
+        final String text = input.asCharSource(Charsets.UTF_8).read();
+        final File file = lookupFile(hash(text));
+        if (file == null) {
+            LOG.debug("Source {} not found in cache", sourceIdentifier);
+            throw new MissingSchemaSourceException("Source not found", sourceIdentifier);
+        }
+
+        final StatementContext tree;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            tree = StatementTreeCodec.read(in);
+        }
+
+        LOG.trace("Source {} restored from cache file {}", sourceIdentifier, file);
+        return ASTSchemaSource.create(sourceIdentifier, tree, text);
+    }
+
+    @Override
+    protected void offer(final ASTSchemaSource source) {
+        @SuppressWarnings("deprecation")
+        final String text = source.getYangText();
+        final ParserRuleContext tree = source.getAST();
+        if (text == null || !(tree instanceof StatementContext)) {
+            LOG.trace("Source {} does not have text or a statement tree, not caching it", source.getIdentifier());
+            return;
+        }
+
+        final String hash = hash(text);
+        synchronized (this) {
+            if (files.containsKey(hash)) {
+                LOG.trace("Source {} already in cache", source.getIdentifier());
+                return;
+            }
+
+            final File file = new File(storageDirectory, fileName(source.getIdentifier(), hash));
+            try {
+                store(file, (StatementContext) tree);
+            } catch (IOException e) {
+                LOG.warn("Failed to store source {} to {}", source.getIdentifier(), file, e);
+                return;
+            }
+
+            files.put(hash, file);
+            registerOnce(source.getIdentifier());
+        }
+        LOG.trace("Source {} stored in cache", source.getIdentifier());
+    }
+
+    private static String fileName(final SourceIdentifier identifier, final String hash) {
+        final StringBuilder sb = new StringBuilder(identifier.getName());
+        final String rev = identifier.getRevision();
+        if (rev != null && !rev.isEmpty()) {
+            sb.append('@').append(rev);
+        }
+        return sb.append('-').append(hash).append(SUFFIX).toString();
+    }
+
+    private void store(final File file, final StatementContext tree) throws IOException {
+        // Write to a temporary file first, so concurrent readers never observe a partial entry
+        final File tmp = File.createTempFile(file.getName(), ".tmp", storageDirectory);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                StatementTreeCodec.write(out, tree);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+}
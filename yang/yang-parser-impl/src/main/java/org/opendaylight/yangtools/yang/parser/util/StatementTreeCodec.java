@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import com.google.common.base.Charsets;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.ArgumentContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.KeywordContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.StatementContext;
+
+/**
+ * Compact binary form of a {@link StatementContext} tree. Only the parts of the tree which are consumed by the
+ * statement reactor are retained: statement keywords, argument tokens, source positions and substatements.
+ * Whitespace and punctuation tokens are not stored. Strings are written once and referenced by index afterwards,
+ * which takes care of the highly repetitive keywords and type names.
+ */
+final class StatementTreeCodec {
+    private static final int MAGIC = 0x59415354;
+    private static final byte VERSION = 1;
+
+    private static final byte ARGUMENT_NONE = 0;
+    private static final byte ARGUMENT_IDENTIFIER = 1;
+    private static final byte ARGUMENT_STRINGS = 2;
+
+    private final Map<String, Integer> writtenStrings = new HashMap<>();
+    private final List<String> readStrings = new ArrayList<>();
+
+    private StatementTreeCodec() {
+        // Single-use instances only
+    }
+
+    static void write(final DataOutput out, final StatementContext root) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        new StatementTreeCodec().writeStatement(out, root);
+    }
+
+    static StatementContext read(final DataInput in) throws IOException {
+        final int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException(String.format("Unexpected magic %08x", magic));
+        }
+        final byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+        return new StatementTreeCodec().readStatement(in, null);
+    }
+
+    private void writeStatement(final DataOutput out, final StatementContext stmt) throws IOException {
+        final Token start = stmt.getStart();
+        writeVarInt(out, start.getLine());
+        writeVarInt(out, start.getCharPositionInLine());
+        writeString(out, stmt.keyword().getText());
+
+        final ArgumentContext argument = stmt.argument();
+        if (argument == null) {
+            out.writeByte(ARGUMENT_NONE);
+        } else if (argument.IDENTIFIER() != null) {
+            out.writeByte(ARGUMENT_IDENTIFIER);
+            writeString(out, argument.IDENTIFIER().getText());
+        } else {
+            final List<TerminalNode> strings = argument.STRING();
+            out.writeByte(ARGUMENT_STRINGS);
+            writeVarInt(out, strings.size());
+            for (final TerminalNode string : strings) {
+                writeString(out, string.getText());
+            }
+        }
+
+        final List<StatementContext> substatements = stmt.statement();
+        writeVarInt(out, substatements.size());
+        for (final StatementContext substatement : substatements) {
+            writeStatement(out, substatement);
+        }
+    }
+
+    private StatementContext readStatement(final DataInput in, final ParserRuleContext parent) throws IOException {
+        final int line = readVarInt(in);
+        final int column = readVarInt(in);
+        final String keyword = readString(in);
+
+        final StatementContext stmt = new StatementContext(parent, 0);
+        final KeywordContext keywordCtx = new KeywordContext(stmt, 0);
+        final int colon = keyword.indexOf(':');
+        if (colon != -1) {
+            keywordCtx.addChild(token(YangStatementParser.IDENTIFIER, keyword.substring(0, colon), line, column));
+            keywordCtx.addChild(token(YangStatementParser.COLON, ":", line, column + colon));
+            keywordCtx.addChild(token(YangStatementParser.IDENTIFIER, keyword.substring(colon + 1), line,
+                column + colon + 1));
+        } else {
+            keywordCtx.addChild(token(YangStatementParser.IDENTIFIER, keyword, line, column));
+        }
+        keywordCtx.start = ((TerminalNode) keywordCtx.getChild(0)).getSymbol();
+        stmt.start = keywordCtx.start;
+        stmt.addChild(keywordCtx);
+
+        final byte argumentType = in.readByte();
+        switch (argumentType) {
+            case ARGUMENT_NONE:
+                break;
+            case ARGUMENT_IDENTIFIER:
+                stmt.addChild(argument(stmt, YangStatementParser.IDENTIFIER, readString(in), line));
+                break;
+            case ARGUMENT_STRINGS:
+                final int count = readVarInt(in);
+                final ArgumentContext argumentCtx = argument(stmt, YangStatementParser.STRING, readString(in), line);
+                for (int i = 1; i < count; ++i) {
+                    argumentCtx.addChild(token(YangStatementParser.PLUS, "+", line, 0));
+                    argumentCtx.addChild(token(YangStatementParser.STRING, readString(in), line, 0));
+                }
+                stmt.addChild(argumentCtx);
+                break;
+            default:
+                throw new IOException("Unhandled argument type " + argumentType);
+        }
+
+        final int substatements = readVarInt(in);
+        for (int i = 0; i < substatements; ++i) {
+            stmt.addChild(readStatement(in, stmt));
+        }
+        return stmt;
+    }
+
+    private static ArgumentContext argument(final StatementContext parent, final int type, final String text,
+            final int line) {
+        final ArgumentContext ret = new ArgumentContext(parent, 0);
+        ret.addChild(token(type, text, line, 0));
+        ret.start = ((TerminalNode) ret.getChild(0)).getSymbol();
+        return ret;
+    }
+
+    private static Token token(final int type, final String text, final int line, final int column) {
+        final CommonToken ret = new CommonToken(type, text);
+        ret.setLine(line);
+        ret.setCharPositionInLine(column);
+        return ret;
+    }
+
+    private void writeString(final DataOutput out, final String str) throws IOException {
+        final Integer index = writtenStrings.get(str);
+        if (index != null) {
+            writeVarInt(out, index);
+            return;
+        }
+
+        // Zero indicates a new string, which is assigned the next index
+        writeVarInt(out, 0);
+        final byte[] bytes = str.getBytes(Charsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+        writtenStrings.put(str, writtenStrings.size() + 1);
+    }
+
+    private String readString(final DataInput in) throws IOException {
+        final int index = readVarInt(in);
+        if (index != 0) {
+            if (index > readStrings.size()) {
+                throw new IOException("Invalid string reference " + index);
+            }
+            return readStrings.get(index - 1);
+        }
+
+        final byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        final String str = new String(bytes, Charsets.UTF_8);
+        readStrings.add(str);
+        return str;
+    }
+
+    private static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static int readVarInt(final DataInput in) throws IOException {
+        int ret = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            ret |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ret;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
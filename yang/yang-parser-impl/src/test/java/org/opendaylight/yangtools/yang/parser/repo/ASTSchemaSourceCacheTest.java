@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+import java.io.File;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
+import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSourceCache;
+import org.opendaylight.yangtools.yang.parser.util.TextToASTTransformer;
+
+public class ASTSchemaSourceCacheTest {
+    private static final SourceIdentifier INET_TYPES = RevisionSourceIdentifier.create("ietf-inet-types",
+        Optional.of("2010-09-24"));
+    private static final SourceIdentifier TOPOLOGY = RevisionSourceIdentifier.create("network-topology",
+        Optional.of("2013-10-21"));
+
+    private File storageDir;
+
+    @Before
+    public void setUp() {
+        storageDir = Files.createTempDir();
+    }
+
+    private static ByteSource resource(final SourceIdentifier id) {
+        return Resources.asByteSource(ASTSchemaSourceCacheTest.class.getResource("/ietf/" + id.toYangFilename()));
+    }
+
+    private static SourceIdentifier registerText(final SharedSchemaRepository repository, final SourceIdentifier id,
+            final ByteSource text) {
+        final YangTextSchemaSource source = YangTextSchemaSource.delegateForByteSource(id, text);
+        final SettableSchemaProvider<YangTextSchemaSource> provider = SettableSchemaProvider.createImmediate(source,
+            YangTextSchemaSource.class);
+        provider.setResult();
+        provider.register(repository);
+        return provider.getId();
+    }
+
+    private SharedSchemaRepository createRepository(final boolean withTransformer) {
+        final SharedSchemaRepository repository = new SharedSchemaRepository("ast-cache");
+        repository.registerSchemaSourceListener(ASTSchemaSourceCache.create(repository, repository, storageDir));
+        if (withTransformer) {
+            repository.registerSchemaSourceListener(TextToASTTransformer.create(repository, repository));
+        }
+        return repository;
+    }
+
+    private static SchemaContext createContext(final SharedSchemaRepository repository) throws Exception {
+        final List<SourceIdentifier> ids = ImmutableList.of(
+            registerText(repository, INET_TYPES, resource(INET_TYPES)),
+            registerText(repository, TOPOLOGY, resource(TOPOLOGY)));
+        return repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT).createSchemaContext(ids)
+                .checkedGet();
+    }
+
+    @Test
+    public void testWarmRestart() throws Exception {
+        final SchemaContext cold = createContext(createRepository(true));
+        assertEquals(2, storageDir.listFiles().length);
+
+        // No transformer: sources can only be provided by the cache
+        final SchemaContext warm = createContext(createRepository(false));
+        assertEquals(2, warm.getModules().size());
+        for (final Module module : cold.getModules()) {
+            final Module restored = warm.findModuleByNamespaceAndRevision(module.getNamespace(),
+                module.getRevision());
+            assertEquals(module.getChildNodes().size(), restored.getChildNodes().size());
+            assertEquals(module.getTypeDefinitions().size(), restored.getTypeDefinitions().size());
+            assertEquals(module.getImports(), restored.getImports());
+        }
+    }
+
+    @Test
+    public void testChangedText() throws Exception {
+        createContext(createRepository(true));
+
+        final SharedSchemaRepository repository = createRepository(false);
+        final SourceIdentifier id = registerText(repository, INET_TYPES, ByteSource.concat(resource(INET_TYPES),
+            ByteSource.wrap("\n// modified\n".getBytes(Charsets.UTF_8))));
+
+        try {
+            repository.getSchemaSource(id, ASTSchemaSource.class).checkedGet();
+            fail("Stale cache entry should not have been used");
+        } catch (SchemaSourceException e) {
+            assertTrue(e.getMessage().contains("exhausted"));
+        }
+    }
+}
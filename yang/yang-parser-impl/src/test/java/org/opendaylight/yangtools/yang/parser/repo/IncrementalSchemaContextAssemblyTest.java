@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableList;
+import java.net.URI;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
+
+public class IncrementalSchemaContextAssemblyTest {
+    private static final URI BASE_NS = URI.create("urn:opendaylight:incremental:base");
+    private static final Date REVISION = QName.parseRevision("2016-01-01");
+    private static final QName ROOT = QName.create(BASE_NS, REVISION, "root");
+    private static final QName AUGMENTED = QName.create("urn:opendaylight:incremental:augmenter", "2016-01-01",
+        "augmented");
+
+    private SharedSchemaRepository repository;
+    private SourceIdentifier base;
+    private SourceIdentifier user;
+    private SourceIdentifier user2;
+    private SourceIdentifier augmenter;
+    private SourceIdentifier standalone;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = new SharedSchemaRepository("incremental");
+        base = register("/incremental-assembly/base@2016-01-01.yang");
+        user = register("/incremental-assembly/user@2016-01-01.yang");
+        user2 = register("/incremental-assembly/user@2016-02-01.yang");
+        augmenter = register("/incremental-assembly/augmenter@2016-01-01.yang");
+        standalone = register("/incremental-assembly/standalone@2016-01-01.yang");
+    }
+
+    private SourceIdentifier register(final String resource) throws Exception {
+        final SettableSchemaProvider<ASTSchemaSource> provider =
+                SharedSchemaRepositoryTest.getImmediateYangSourceProviderFromResource(resource);
+        provider.setResult();
+        provider.register(repository);
+        return provider.getId();
+    }
+
+    private static SchemaContext create(final SharedSchemaContextFactory factory, final SourceIdentifier... sources)
+            throws Exception {
+        return factory.createSchemaContext(ImmutableList.copyOf(sources)).checkedGet();
+    }
+
+    private SchemaContext createFromScratch(final SourceIdentifier... sources) throws Exception {
+        return create(new SharedSchemaContextFactory(repository, SchemaSourceFilter.ALWAYS_ACCEPT), sources);
+    }
+
+    private static Module module(final SchemaContext context, final SourceIdentifier id) {
+        final Module ret = context.findModuleByName(id.getName(), QName.parseRevision(id.getRevision()));
+        assertNotNull(ret);
+        return ret;
+    }
+
+    private static ContainerSchemaNode root(final SchemaContext context) {
+        return (ContainerSchemaNode) context.getDataChildByName(ROOT);
+    }
+
+    private static Set<String> moduleIds(final SchemaContext context) {
+        final Set<String> ret = new HashSet<>();
+        for (final Module module : context.getModules()) {
+            ret.add(module.getName() + "@" + module.getQNameModule().getFormattedRevision());
+        }
+        return ret;
+    }
+
+    @Test
+    public void testAddIndependentModule() throws Exception {
+        final SharedSchemaContextFactory factory = new SharedSchemaContextFactory(repository,
+            SchemaSourceFilter.ALWAYS_ACCEPT);
+        final SchemaContext first = create(factory, base, user);
+        final SchemaContext second = create(factory, base, user, standalone);
+
+        assertNotSame(first, second);
+        assertEquals(moduleIds(createFromScratch(base, user, standalone)), moduleIds(second));
+        assertSame(module(first, base), module(second, base));
+        assertSame(module(first, user), module(second, user));
+        assertNotNull(second.getDataChildByName(QName.create("urn:opendaylight:incremental:standalone",
+            "2016-01-01", "standalone")));
+    }
+
+    @Test
+    public void testAddAugmentingModule() throws Exception {
+        final SharedSchemaContextFactory factory = new SharedSchemaContextFactory(repository,
+            SchemaSourceFilter.ALWAYS_ACCEPT);
+        final SchemaContext first = create(factory, base, user, standalone);
+        assertNull(root(first).getDataChildByName(AUGMENTED));
+
+        final SchemaContext second = create(factory, base, user, standalone, augmenter);
+        assertEquals(moduleIds(createFromScratch(base, user, standalone, augmenter)), moduleIds(second));
+
+        // The augmented module is rebuilt, modules which do not interact with the new one are reused
+        assertNotSame(module(first, base), module(second, base));
+        assertNotNull(root(second).getDataChildByName(AUGMENTED));
+        assertSame(module(first, user), module(second, user));
+        assertSame(module(first, standalone), module(second, standalone));
+
+        final IdentitySchemaNode baseIdentity = module(second, base).getIdentities().iterator().next();
+        assertEquals(1, baseIdentity.getDerivedIdentities().size());
+    }
+
+    @Test
+    public void testRemoveAugmentingModule() throws Exception {
+        final SharedSchemaContextFactory factory = new SharedSchemaContextFactory(repository,
+            SchemaSourceFilter.ALWAYS_ACCEPT);
+        final SchemaContext first = create(factory, base, user, standalone, augmenter);
+        assertNotNull(root(first).getDataChildByName(AUGMENTED));
+
+        final SchemaContext second = create(factory, base, user, standalone);
+        assertEquals(moduleIds(createFromScratch(base, user, standalone)), moduleIds(second));
+        assertNull(root(second).getDataChildByName(AUGMENTED));
+        assertSame(module(first, standalone), module(second, standalone));
+
+        // Base is rebuilt without the augmentation, hence its importers must not keep referencing its old statements
+        assertNotSame(module(first, base), module(second, base));
+        assertNotSame(module(first, user), module(second, user));
+    }
+
+    @Test
+    public void testReplaceModule() throws Exception {
+        final SharedSchemaContextFactory factory = new SharedSchemaContextFactory(repository,
+            SchemaSourceFilter.ALWAYS_ACCEPT);
+        final SchemaContext first = create(factory, base, user, standalone);
+        final SchemaContext second = create(factory, base, user2, standalone);
+
+        assertEquals(moduleIds(createFromScratch(base, user2, standalone)), moduleIds(second));
+        assertSame(module(first, standalone), module(second, standalone));
+        assertEquals(2, ((ContainerSchemaNode) module(second, user2).getDataChildByName(
+            QName.create("urn:opendaylight:incremental:user", "2016-02-01", "user"))).getChildNodes().size());
+    }
+}
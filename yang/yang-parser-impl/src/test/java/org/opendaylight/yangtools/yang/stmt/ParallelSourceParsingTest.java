@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+
+public class ParallelSourceParsingTest {
+    private ExecutorService executor;
+    private List<ByteSource> sources;
+
+    @Before
+    public void setUp() throws URISyntaxException {
+        executor = Executors.newFixedThreadPool(4);
+        sources = new ArrayList<>();
+        for (final File file : new File(getClass().getResource("/sal-broker-impl").toURI()).listFiles()) {
+            sources.add(Files.asByteSource(file));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Map<String, Set<String>> describe(final SchemaContext context) {
+        final Map<String, Set<String>> ret = new HashMap<>();
+        for (final Module module : context.getModules()) {
+            final Set<String> children = new TreeSet<>();
+            for (final DataSchemaNode child : module.getChildNodes()) {
+                children.add(child.getQName().toString());
+            }
+            ret.put(module.getName() + "@" + module.getQNameModule().getFormattedRevision(), children);
+        }
+        return ret;
+    }
+
+    @Test
+    public void testParallelParsing() throws ReactorException, IOException {
+        final SchemaContext sequential = YangInferencePipeline.RFC6020_REACTOR.newBuild().buildEffective(sources);
+
+        final BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.setSourceExecutor(executor);
+        final SchemaContext parallel = reactor.buildEffective(sources);
+
+        assertNotNull(parallel);
+        assertEquals(sources.size(), parallel.getModules().size());
+        assertEquals(describe(sequential), describe(parallel));
+    }
+
+    @Test
+    public void testSourceFailure() throws ReactorException {
+        final IOException cause = new IOException("test");
+        sources.add(new ByteSource() {
+            @Override
+            public InputStream openStream() throws IOException {
+                throw cause;
+            }
+        });
+
+        final BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.setSourceExecutor(executor);
+        try {
+            reactor.buildEffective(sources);
+            fail("Build should have failed");
+        } catch (IOException e) {
+            assertSame(cause, e);
+        }
+    }
+
+    @Test
+    public void testFailureCancelsRemainingSources() throws ReactorException {
+        final IOException cause = new IOException("test");
+        final List<ByteSource> failing = new ArrayList<>();
+        failing.add(new ByteSource() {
+            @Override
+            public InputStream openStream() throws IOException {
+                throw cause;
+            }
+        });
+        final AtomicInteger opened = new AtomicInteger();
+        for (final ByteSource source : sources) {
+            failing.add(new ByteSource() {
+                @Override
+                public InputStream openStream() throws IOException {
+                    opened.incrementAndGet();
+                    return source.openStream();
+                }
+            });
+        }
+
+        // A single thread runs the failing source first, hence none of the others should be parsed
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            final BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+            reactor.setSourceExecutor(single);
+            reactor.buildEffective(failing);
+            fail("Build should have failed");
+        } catch (IOException e) {
+            assertSame(cause, e);
+        } finally {
+            single.shutdownNow();
+        }
+        assertEquals(0, opened.get());
+    }
+}